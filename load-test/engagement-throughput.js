@@ -0,0 +1,97 @@
+// Throughput at a fixed p99 for the engagement read path (Feign enrichment + JDBC).
+//
+// The arrival rate ramps from START_RPS to MAX_RPS; the run aborts once p99 exceeds P99_MS,
+// so the request rate in the summary is the throughput the configuration sustains at that p99.
+// Run it once per threading mode and compare the two summaries (see README, Load Testing).
+//
+//   k6 run -e BASE_URL=http://localhost:8084 -e LABEL=platform load-test/engagement-throughput.js
+//
+// Optional: TOKEN (JWT) adds a like/unlike write scenario; CHAPTER_IDS / NOVEL_IDS / COMMENT_IDS
+// are comma-separated ids that exist in the target environment.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8084';
+const LABEL = __ENV.LABEL || 'run';
+const P99_MS = Number(__ENV.P99_MS || 250);
+const START_RPS = Number(__ENV.START_RPS || 50);
+const MAX_RPS = Number(__ENV.MAX_RPS || 2000);
+const RAMP = __ENV.RAMP || '5m';
+const TOKEN = __ENV.TOKEN || '';
+// First pages are served by the Redis page cache; later pages exercise Feign and JDBC
+const PAGE = __ENV.PAGE || '1';
+
+const ids = (name, fallback) => (__ENV[name] || fallback).split(',').map((id) => id.trim());
+const CHAPTER_IDS = ids('CHAPTER_IDS', '1,2,3,4,5');
+const NOVEL_IDS = ids('NOVEL_IDS', '1,2,3');
+const COMMENT_IDS = ids('COMMENT_IDS', '1,2,3');
+
+const pick = (values) => values[Math.floor(Math.random() * values.length)];
+
+const rampingRate = (exec, share) => ({
+    executor: 'ramping-arrival-rate',
+    exec,
+    startRate: Math.max(1, Math.round(START_RPS * share)),
+    timeUnit: '1s',
+    preAllocatedVUs: 200,
+    maxVUs: 2000,
+    stages: [{ target: Math.max(1, Math.round(MAX_RPS * share)), duration: RAMP }],
+});
+
+const scenarios = {
+    reads: rampingRate('reads', TOKEN ? 0.9 : 1),
+};
+if (TOKEN) {
+    scenarios.likes = rampingRate('likes', 0.1);
+}
+
+export const options = {
+    scenarios,
+    thresholds: {
+        http_req_duration: [{ threshold: `p(99)<${P99_MS}`, abortOnFail: true, delayAbortEval: '30s' }],
+        http_req_failed: ['rate<0.01'],
+    },
+    summaryTrendStats: ['med', 'p(95)', 'p(99)', 'max'],
+};
+
+export function reads() {
+    const roll = Math.random();
+    let res;
+    if (roll < 0.6) {
+        res = http.get(`${BASE_URL}/api/v1/comments/chapter/${pick(CHAPTER_IDS)}?page=${PAGE}&size=20`,
+            { tags: { name: 'chapter-comments' } });
+    } else if (roll < 0.9) {
+        res = http.get(`${BASE_URL}/api/v1/reviews/novel/${pick(NOVEL_IDS)}?page=${PAGE}&size=20`,
+            { tags: { name: 'novel-reviews' } });
+    } else {
+        res = http.get(`${BASE_URL}/api/v1/comments/chapter/${pick(CHAPTER_IDS)}/statistics`,
+            { tags: { name: 'chapter-statistics' } });
+    }
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
+
+export function likes() {
+    const params = { headers: { Authorization: `Bearer ${TOKEN}` }, tags: { name: 'comment-like' } };
+    const commentId = pick(COMMENT_IDS);
+    const like = http.post(`${BASE_URL}/api/v1/comments/${commentId}/like`, null, params);
+    const unlike = http.post(`${BASE_URL}/api/v1/comments/${commentId}/unlike`, null, params);
+    check(like, { 'like accepted': (r) => r.status < 500 });
+    check(unlike, { 'unlike accepted': (r) => r.status < 500 });
+}
+
+export function handleSummary(data) {
+    const duration = data.metrics.http_req_duration.values;
+    const result = {
+        label: LABEL,
+        p99Target: P99_MS,
+        requestsPerSecond: data.metrics.http_reqs.values.rate,
+        p50: duration.med,
+        p99: duration['p(99)'],
+        failedRate: data.metrics.http_req_failed.values.rate,
+        abortedOnP99: data.metrics.http_req_duration.thresholds[`p(99)<${P99_MS}`].ok === false,
+    };
+    return {
+        stdout: `\n${JSON.stringify(result, null, 2)}\n`,
+        [`${LABEL}-summary.json`]: JSON.stringify(result, null, 2),
+    };
+}
@@ -1,9 +1,15 @@
 package com.yushan.engagement_service.client;
 
+import com.yushan.engagement_service.config.CacheConfig;
 import com.yushan.engagement_service.config.FeignAuthConfig;
 import com.yushan.engagement_service.dto.common.ApiResponse;
 import com.yushan.engagement_service.dto.chapter.ChapterDetailResponseDTO;
 import com.yushan.engagement_service.dto.novel.NovelDetailResponseDTO;
+import com.yushan.engagement_service.enums.ErrorCode;
+import com.yushan.engagement_service.exception.ServiceUnavailableException;
+import feign.FeignException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cloud.openfeign.FeignClient;
 import feign.Response;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,30 +17,46 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 @FeignClient(name = "content-service", url = "${services.content.url:http://yushan-content-service:8082}", 
-            configuration = FeignAuthConfig.class)
+            configuration = FeignAuthConfig.class, fallbackFactory = ContentServiceClientFallbackFactory.class)
 public interface ContentServiceClient {
 
+    // Upper bound on IDs per batch request to keep request bodies small
+    int BATCH_SIZE = 100;
+
     @PostMapping("/api/v1/chapters/batch/get")
     ApiResponse<List<ChapterDetailResponseDTO>> getChaptersBatch(@RequestBody List<Integer> chapterIds);
 
     @PostMapping("/api/v1/novels/batch/get")
     ApiResponse<List<NovelDetailResponseDTO>> getNovelsBatch(@RequestBody List<Integer> novelIds);
 
+    @Cacheable(cacheNames = CacheConfig.NOVELS_CACHE, sync = true)
     @GetMapping("/api/v1/novels/{novelId}")
     ApiResponse<NovelDetailResponseDTO> getNovelById(@PathVariable("novelId") Integer novelId);
 
     @GetMapping("/api/v1/novels/{novelId}/vote-count")
     ApiResponse<Integer> getNovelVoteCount(@PathVariable("novelId") Integer novelId);
 
+    @CacheEvict(cacheNames = CacheConfig.NOVELS_CACHE, key = "#p0")
     @PostMapping("/api/v1/novels/{novelId}/vote")
     ApiResponse<String> incrementVoteCount(@PathVariable("novelId") Integer novelId);
 
+    // Adds several votes at once; a repeated idempotency key is applied only once
+    @CacheEvict(cacheNames = CacheConfig.NOVELS_CACHE, key = "#p0")
+    @PostMapping("/api/v1/novels/{novelId}/votes/batch")
+    ApiResponse<String> addVoteCount(@PathVariable("novelId") Integer novelId, @RequestParam("count") Integer count,
+                                     @RequestHeader("Idempotency-Key") String idempotencyKey);
+
+    @CacheEvict(cacheNames = CacheConfig.NOVELS_CACHE, key = "#p0")
     @PutMapping("/api/v1/novels/{novelId}/rating")
     ApiResponse<String> updateNovelRatingAndCount(
             @PathVariable("novelId") Integer novelId,
@@ -52,27 +74,70 @@ public interface ContentServiceClient {
     @GetMapping("/api/v1/novels/{novelId}")
     Response headlessGetNovelById(@PathVariable("novelId") Integer novelId);
 
+    /**
+     * Resolve one chapter; null when content-service does not know it.
+     *
+     * @throws ServiceUnavailableException when content-service fails or its breaker is open,
+     *         so an outage is never mistaken for a missing chapter
+     */
+    @Cacheable(cacheNames = CacheConfig.CHAPTERS_CACHE, sync = true)
     default ChapterDetailResponseDTO getChapter(Integer chapterId) {
+        ApiResponse<List<ChapterDetailResponseDTO>> response;
         try {
-            List<Integer> chapterIds = List.of(chapterId);
-            ApiResponse<List<ChapterDetailResponseDTO>> response = getChaptersBatch(chapterIds);
-            
-            if (response != null && response.getData() != null && !response.getData().isEmpty()) {
-                return response.getData().get(0);
-            }
-            return null;
-        } catch (Exception e) {
+            response = getChaptersBatch(List.of(chapterId));
+        } catch (FeignException.NotFound e) {
             return null;
+        } catch (ServiceUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ServiceUnavailableException("content-service is unavailable", e);
         }
+
+        if (response != null && response.getCode() == ErrorCode.SERVICE_UNAVAILABLE.getCode()) {
+            throw new ServiceUnavailableException(response.getMessage());
+        }
+        if (response != null && response.getData() != null && !response.getData().isEmpty()) {
+            return response.getData().get(0);
+        }
+        return null;
     }
 
-    default boolean chapterExists(Integer chapterId) {
-        try {
-            ChapterDetailResponseDTO chapter = getChapter(chapterId);
-            return chapter != null && Boolean.TRUE.equals(chapter.getIsValid());
-        } catch (Exception e) {
-            return false;
+    /**
+     * Resolve chapters for a set of IDs with one batch call per BATCH_SIZE IDs.
+     * Chapters that cannot be resolved are absent from the returned map.
+     */
+    default Map<Integer, ChapterDetailResponseDTO> getChaptersByIds(Collection<Integer> chapterIds) {
+        Map<Integer, ChapterDetailResponseDTO> chapters = new HashMap<>();
+        if (chapterIds == null || chapterIds.isEmpty()) {
+            return chapters;
+        }
+
+        List<Integer> ids = new ArrayList<>(chapterIds);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            try {
+                ApiResponse<List<ChapterDetailResponseDTO>> response = getChaptersBatch(new ArrayList<>(chunk));
+                if (response == null || response.getData() == null) {
+                    continue;
+                }
+                for (ChapterDetailResponseDTO chapter : response.getData()) {
+                    if (chapter != null && chapter.getId() != null) {
+                        chapters.put(chapter.getId(), chapter);
+                    }
+                }
+            } catch (Exception e) {
+                // Leave this chunk unresolved; callers fall back to a placeholder title
+            }
         }
+        return chapters;
+    }
+
+    // Keyed apart from getChapter; only positive answers are kept (see CacheConfig).
+    // Throws ServiceUnavailableException like getChapter rather than answering false during an outage
+    @Cacheable(cacheNames = CacheConfig.CHAPTERS_CACHE, key = "'exists:' + #p0", sync = true)
+    default boolean chapterExists(Integer chapterId) {
+        ChapterDetailResponseDTO chapter = getChapter(chapterId);
+        return chapter != null && Boolean.TRUE.equals(chapter.getIsValid());
     }
 
     default List<Integer> getChapterIdsByNovelId(Integer novelId) {
@@ -0,0 +1,88 @@
+package com.yushan.engagement_service.client;
+
+import com.yushan.engagement_service.dto.chapter.ChapterDetailResponseDTO;
+import com.yushan.engagement_service.dto.common.ApiResponse;
+import com.yushan.engagement_service.dto.common.PageResponseDTO;
+import com.yushan.engagement_service.dto.novel.NovelDetailResponseDTO;
+import com.yushan.engagement_service.enums.ErrorCode;
+import feign.FeignException;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Degraded answers when content-service fails, times out or is cut off by its circuit breaker.
+ * Batch lookups only decorate pages, so they answer with no data and the page is rendered
+ * without chapter or novel titles. The chapter batch answer keeps its 503 code, which
+ * {@link ContentServiceClient#getChapter} turns back into a 503 for lookups that validate a
+ * request; a 404 answers with no chapters. All other lookups and writes fail with a 503.
+ */
+@Slf4j
+@Component
+public class ContentServiceClientFallbackFactory implements FallbackFactory<ContentServiceClient> {
+
+    static final String SERVICE = "content-service";
+
+    @Override
+    public ContentServiceClient create(Throwable cause) {
+        log.debug("Serving {} fallback: {}", SERVICE, cause.toString());
+        return new ContentServiceClient() {
+            @Override
+            public ApiResponse<List<ChapterDetailResponseDTO>> getChaptersBatch(List<Integer> chapterIds) {
+                if (cause instanceof FeignException.NotFound) {
+                    return ApiResponse.success(List.of());
+                }
+                return ApiResponse.error(ErrorCode.SERVICE_UNAVAILABLE, SERVICE + " is unavailable", List.of());
+            }
+
+            @Override
+            public ApiResponse<List<NovelDetailResponseDTO>> getNovelsBatch(List<Integer> novelIds) {
+                return ApiResponse.error(ErrorCode.SERVICE_UNAVAILABLE, SERVICE + " is unavailable", List.of());
+            }
+
+            @Override
+            public ApiResponse<NovelDetailResponseDTO> getNovelById(Integer novelId) {
+                throw Fallbacks.unavailable(SERVICE, cause);
+            }
+
+            @Override
+            public ApiResponse<Integer> getNovelVoteCount(Integer novelId) {
+                throw Fallbacks.unavailable(SERVICE, cause);
+            }
+
+            @Override
+            public ApiResponse<String> incrementVoteCount(Integer novelId) {
+                throw Fallbacks.unavailable(SERVICE, cause);
+            }
+
+            @Override
+            public ApiResponse<String> addVoteCount(Integer novelId, Integer count, String idempotencyKey) {
+                throw Fallbacks.unavailable(SERVICE, cause);
+            }
+
+            @Override
+            public ApiResponse<String> updateNovelRatingAndCount(Integer novelId, Float avgRating, Integer reviewCount) {
+                throw Fallbacks.unavailable(SERVICE, cause);
+            }
+
+            @Override
+            public ApiResponse<PageResponseDTO<ChapterDetailResponseDTO>> getChaptersByNovelId(Integer novelId) {
+                throw Fallbacks.unavailable(SERVICE, cause);
+            }
+
+            @Override
+            public ApiResponse<Map<String, Object>> getNovelByIdRaw(Integer novelId) {
+                throw Fallbacks.unavailable(SERVICE, cause);
+            }
+
+            @Override
+            public Response headlessGetNovelById(Integer novelId) {
+                throw Fallbacks.unavailable(SERVICE, cause);
+            }
+        };
+    }
+}
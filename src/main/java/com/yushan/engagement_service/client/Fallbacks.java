@@ -0,0 +1,24 @@
+package com.yushan.engagement_service.client;
+
+import com.yushan.engagement_service.exception.ServiceUnavailableException;
+import feign.FeignException;
+
+/**
+ * Failure mapping shared by the Feign fallback factories.
+ */
+final class Fallbacks {
+
+    private Fallbacks() {
+    }
+
+    /**
+     * Exception for calls without a degraded answer. A 4xx is the downstream service's answer
+     * and passes through unchanged; timeouts, 5xx, an open circuit or a full bulkhead become a 503.
+     */
+    static RuntimeException unavailable(String service, Throwable cause) {
+        if (cause instanceof FeignException.FeignClientException clientError) {
+            return clientError;
+        }
+        return new ServiceUnavailableException(service + " is unavailable", cause);
+    }
+}
@@ -7,7 +7,7 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 
 @FeignClient(name = "gamification-service", url = "${services.gamification.url:http://yushan-gamification-service:8085}", 
-            configuration = FeignAuthConfig.class)
+            configuration = FeignAuthConfig.class, fallbackFactory = GamificationServiceClientFallbackFactory.class)
 public interface GamificationServiceClient {
 
     @GetMapping("/api/v1/gamification/votes/check")
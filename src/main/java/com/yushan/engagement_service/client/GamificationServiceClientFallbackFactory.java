@@ -0,0 +1,29 @@
+package com.yushan.engagement_service.client;
+
+import com.yushan.engagement_service.dto.common.ApiResponse;
+import com.yushan.engagement_service.dto.gamification.VoteCheckResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fallback for gamification-service: a vote cannot be allowed without its eligibility check,
+ * so the check fails fast with a 503 instead of waiting on an unhealthy service.
+ */
+@Slf4j
+@Component
+public class GamificationServiceClientFallbackFactory implements FallbackFactory<GamificationServiceClient> {
+
+    static final String SERVICE = "gamification-service";
+
+    @Override
+    public GamificationServiceClient create(Throwable cause) {
+        log.debug("Serving {} fallback: {}", SERVICE, cause.toString());
+        return new GamificationServiceClient() {
+            @Override
+            public ApiResponse<VoteCheckResponseDTO> checkVoteEligibility() {
+                throw Fallbacks.unavailable(SERVICE, cause);
+            }
+        };
+    }
+}
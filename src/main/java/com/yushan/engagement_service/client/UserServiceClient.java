@@ -1,21 +1,37 @@
 package com.yushan.engagement_service.client;
 
+import com.yushan.engagement_service.config.CacheConfig;
 import com.yushan.engagement_service.config.FeignAuthConfig;
 import com.yushan.engagement_service.dto.common.ApiResponse;
 import com.yushan.engagement_service.dto.user.UserProfileResponseDTO;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
-@FeignClient(name = "user-service", url = "${services.user.url:http://yushan-user-service:8081}", 
-            configuration = FeignAuthConfig.class)
+@FeignClient(name = "user-service", url = "${services.user.url:http://yushan-user-service:8081}",
+            configuration = FeignAuthConfig.class, fallbackFactory = UserServiceClientFallbackFactory.class)
 public interface UserServiceClient {
 
+    // Upper bound on IDs per batch request to keep request bodies small
+    int BATCH_SIZE = 100;
+
     @GetMapping("/api/v1/users/{userId}")
     ApiResponse<UserProfileResponseDTO> getUser(@PathVariable("userId") UUID userId);
 
+    @PostMapping("/api/v1/users/batch/get")
+    ApiResponse<List<UserProfileResponseDTO>> getUsersBatch(@RequestBody List<UUID> userIds);
+
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, sync = true)
     default String getUsernameById(UUID userId) {
         try {
             ApiResponse<UserProfileResponseDTO> response = getUser(userId);
@@ -27,4 +43,34 @@ public interface UserServiceClient {
             return "Unknown User";
         }
     }
+
+    /**
+     * Resolve usernames for a set of users with one batch call per BATCH_SIZE IDs.
+     * Users that cannot be resolved are absent from the returned map.
+     */
+    default Map<UUID, String> getUsernamesByIds(Collection<UUID> userIds) {
+        Map<UUID, String> usernames = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return usernames;
+        }
+
+        List<UUID> ids = new ArrayList<>(userIds);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            try {
+                ApiResponse<List<UserProfileResponseDTO>> response = getUsersBatch(new ArrayList<>(chunk));
+                if (response == null || response.getData() == null) {
+                    continue;
+                }
+                for (UserProfileResponseDTO user : response.getData()) {
+                    if (user != null && user.getUuid() != null) {
+                        usernames.put(UUID.fromString(user.getUuid()), user.getUsername());
+                    }
+                }
+            } catch (Exception e) {
+                // Leave this chunk unresolved; callers fall back to a placeholder name
+            }
+        }
+        return usernames;
+    }
 }
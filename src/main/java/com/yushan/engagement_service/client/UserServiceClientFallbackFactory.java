@@ -0,0 +1,38 @@
+package com.yushan.engagement_service.client;
+
+import com.yushan.engagement_service.dto.common.ApiResponse;
+import com.yushan.engagement_service.dto.user.UserProfileResponseDTO;
+import com.yushan.engagement_service.enums.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Degraded answers when user-service fails: usernames are only decoration, so every lookup
+ * answers with no data and callers show their placeholder name.
+ */
+@Slf4j
+@Component
+public class UserServiceClientFallbackFactory implements FallbackFactory<UserServiceClient> {
+
+    static final String SERVICE = "user-service";
+
+    @Override
+    public UserServiceClient create(Throwable cause) {
+        log.debug("Serving {} fallback: {}", SERVICE, cause.toString());
+        return new UserServiceClient() {
+            @Override
+            public ApiResponse<UserProfileResponseDTO> getUser(UUID userId) {
+                return ApiResponse.error(ErrorCode.SERVICE_UNAVAILABLE, SERVICE + " is unavailable");
+            }
+
+            @Override
+            public ApiResponse<List<UserProfileResponseDTO>> getUsersBatch(List<UUID> userIds) {
+                return ApiResponse.error(ErrorCode.SERVICE_UNAVAILABLE, SERVICE + " is unavailable", List.of());
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.yushan.engagement_service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yushan.engagement_service.dto.common.ApiResponse;
+import com.yushan.engagement_service.util.RedisUtil;
+import com.yushan.engagement_service.util.TwoTierCache;
+import com.yushan.engagement_service.util.TwoTierCacheMetrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Cache configuration for remote metadata (usernames, chapters, novels).
+ * Feign client methods annotated with @Cacheable are served from a bounded local
+ * Caffeine tier first and Redis second before calling the owning service.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS_CACHE = "users";
+    public static final String CHAPTERS_CACHE = "chapters";
+    public static final String NOVELS_CACHE = "novels";
+
+    // Placeholder returned by UserServiceClient when a lookup fails; never cache it
+    private static final String UNKNOWN_USER = "Unknown User";
+
+    @Value("${cache.metadata.local.ttl:60s}")
+    private Duration localTtl;
+
+    @Value("${cache.metadata.redis.ttl:10m}")
+    private Duration redisTtl;
+
+    @Value("${cache.metadata.users.maximum-size:10000}")
+    private long usersMaximumSize;
+
+    @Value("${cache.metadata.chapters.maximum-size:2000}")
+    private long chaptersMaximumSize;
+
+    @Value("${cache.metadata.novels.maximum-size:2000}")
+    private long novelsMaximumSize;
+
+    /**
+     * Cache manager holding the metadata caches.
+     * Caches are created eagerly so their meters are registered at startup.
+     */
+    @Bean
+    public CacheManager cacheManager(RedisUtil redisUtil) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                twoTierCache(USERS_CACHE, usersMaximumSize, redisUtil,
+                        value -> value instanceof String && !UNKNOWN_USER.equals(value)),
+                twoTierCache(CHAPTERS_CACHE, chaptersMaximumSize, redisUtil,
+                        value -> value instanceof Boolean exists ? exists : value != null),
+                twoTierCache(NOVELS_CACHE, novelsMaximumSize, redisUtil,
+                        value -> value instanceof ApiResponse<?> response && response.getData() != null)
+        ));
+        return cacheManager;
+    }
+
+    /**
+     * Export hit/miss/eviction meters for the two-tier caches to the actuator registry.
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        return new CacheMeterBinderProvider<TwoTierCache>() {
+            @Override
+            public MeterBinder getMeterBinder(TwoTierCache cache, Iterable<Tag> tags) {
+                return new TwoTierCacheMetrics(cache, tags);
+            }
+        };
+    }
+
+    private TwoTierCache twoTierCache(String name, long maximumSize, RedisUtil redisUtil, Predicate<Object> cacheable) {
+        return new TwoTierCache(name,
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(localTtl)
+                        .recordStats()
+                        .build(),
+                redisUtil, redisTtl, cacheable);
+    }
+}
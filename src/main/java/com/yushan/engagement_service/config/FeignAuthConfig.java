@@ -1,5 +1,6 @@
 package com.yushan.engagement_service.config;
 
+import com.yushan.engagement_service.util.RequestDeadline;
 import feign.RequestInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,6 +9,7 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
 
 @Configuration
 public class FeignAuthConfig {
@@ -20,6 +22,12 @@ public class FeignAuthConfig {
                 return;
             }
 
+            // Pass on what is left of the caller's budget so downstream work stops when the caller gives up
+            Duration remaining = RequestDeadline.remaining();
+            if (remaining != null) {
+                template.header(RequestDeadline.HEADER, String.valueOf(Math.max(0, remaining.toMillis())));
+            }
+
             HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
 
             String authorization = request.getHeader("Authorization");
@@ -29,5 +37,3 @@ public class FeignAuthConfig {
         };
     }
 }
-
-
@@ -0,0 +1,116 @@
+package com.yushan.engagement_service.config;
+
+import feign.Capability;
+import feign.Client;
+import feign.RequestTemplate;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-method bulkheads, deadlines and hedging for the Feign clients.
+ * Circuit breakers (one per method) and the per-client bulkhead come from Spring Cloud
+ * CircuitBreaker (spring.cloud.openfeign.circuitbreaker); this adds a semaphore bulkhead per
+ * HTTP method inside them, so one slow endpoint cannot take every permit of its client.
+ * Bulkheads are named like the circuit breakers, e.g. ContentServiceClientgetNovelByIdInteger.
+ */
+@Configuration
+public class FeignResilienceConfig {
+
+    @Value("${engagement.hedging.enabled:false}")
+    private boolean hedgingEnabled;
+
+    @Value("${engagement.hedging.methods:}")
+    private Set<String> hedgedMethods = Set.of();
+
+    @Value("${engagement.hedging.min-delay:20ms}")
+    private Duration hedgingMinDelay = Duration.ofMillis(20);
+
+    @Value("${engagement.hedging.min-samples:50}")
+    private long hedgingMinSamples = 50;
+
+    @Bean
+    public Capability methodBulkheadCapability(BulkheadRegistry bulkheadRegistry) {
+        return new MethodBulkheadCapability(bulkheadRegistry);
+    }
+
+    @Bean
+    public Capability hedgingCapability(MeterRegistry meterRegistry, Environment environment) {
+        return new HedgingCapability(hedgingExecutor(environment), meterRegistry,
+                hedgingEnabled ? hedgedMethods : Set.of(), hedgingMinDelay, hedgingMinSamples);
+    }
+
+    /**
+     * Unbounded on purpose: attempts are limited by the client bulkhead around the whole call,
+     * and a bounded pool shared with RemoteCalls could starve the calls waiting on it
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService hedgingExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("feign-hedge-", 0).factory());
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "feign-hedge-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Public because Feign invokes enrich reflectively
+     */
+    public static class MethodBulkheadCapability implements Capability, Ordered {
+
+        private final BulkheadRegistry bulkheadRegistry;
+
+        public MethodBulkheadCapability(BulkheadRegistry bulkheadRegistry) {
+            this.bulkheadRegistry = bulkheadRegistry;
+        }
+
+        @Override
+        public int getOrder() {
+            // Innermost, so every hedged attempt takes its own permit
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Client enrich(Client client) {
+            return (request, options) -> {
+                String name = methodName(request.requestTemplate());
+                if (name == null) {
+                    return client.execute(request, options);
+                }
+                Bulkhead bulkhead = bulkheadRegistry.bulkhead(name);
+                bulkhead.acquirePermission();
+                try {
+                    return client.execute(request, options);
+                } finally {
+                    bulkhead.onComplete();
+                }
+            };
+        }
+    }
+
+    /**
+     * Alphanumeric form of the method's config key, matching the circuit breaker id
+     */
+    static String methodName(RequestTemplate template) {
+        if (template == null || template.methodMetadata() == null || template.methodMetadata().configKey() == null) {
+            return null;
+        }
+        return template.methodMetadata().configKey().replaceAll("[^a-zA-Z0-9]", "");
+    }
+}
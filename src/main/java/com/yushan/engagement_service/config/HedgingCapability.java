@@ -0,0 +1,205 @@
+package com.yushan.engagement_service.config;
+
+import com.yushan.engagement_service.exception.DeadlineExceededException;
+import com.yushan.engagement_service.util.RequestDeadline;
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Outermost Feign capability: applies the caller's deadline to every call and hedges idempotent reads.
+ * A call made after the request's deadline fails fast, and each call's timeouts are cut to the
+ * time left. For the configured methods, once enough latencies are observed, a second attempt is
+ * sent when the first has not answered within the observed p95; the first successful answer wins
+ * and the other is closed. An attempt that fails before the hedge is sent is not hedged, so errors
+ * are not amplified. Each attempt takes its own per-method bulkhead permit (see
+ * FeignResilienceConfig), which bounds the extra load.
+ * Public because Feign invokes enrich reflectively.
+ */
+public class HedgingCapability implements Capability, Ordered {
+
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> hedgedMethods;
+    private final Duration minDelay;
+    private final long minSamples;
+
+    private final ConcurrentHashMap<String, Timer> latencies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> hedges = new ConcurrentHashMap<>();
+
+    public HedgingCapability(Executor executor, MeterRegistry meterRegistry, Set<String> hedgedMethods,
+                             Duration minDelay, long minSamples) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.hedgedMethods = Set.copyOf(hedgedMethods);
+        this.minDelay = minDelay;
+        this.minSamples = minSamples;
+    }
+
+    @Override
+    public int getOrder() {
+        // Capabilities are applied in order, so the last one wraps all others
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            Request.Options attemptOptions = withinDeadline(options);
+            String method = FeignResilienceConfig.methodName(request.requestTemplate());
+            if (method == null || !hedgedMethods.contains(method)) {
+                return client.execute(request, attemptOptions);
+            }
+
+            Timer latency = latencies.computeIfAbsent(method, this::latencyTimer);
+            Duration delay = hedgeDelay(latency);
+            if (delay == null) {
+                long start = System.nanoTime();
+                Response response = client.execute(request, attemptOptions);
+                latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return response;
+            }
+            return race(client, request, attemptOptions, method, latency, delay);
+        };
+    }
+
+    /**
+     * Observed p95 of the method, or null while too few calls have been seen
+     */
+    Duration hedgeDelay(Timer latency) {
+        if (latency.count() < minSamples) {
+            return null;
+        }
+        for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == HEDGE_PERCENTILE) {
+                double nanos = percentile.value(TimeUnit.NANOSECONDS);
+                if (Double.isNaN(nanos) || nanos <= 0) {
+                    return null;
+                }
+                Duration p95 = Duration.ofNanos((long) nanos);
+                return p95.compareTo(minDelay) < 0 ? minDelay : p95;
+            }
+        }
+        return null;
+    }
+
+    private Response race(Client client, Request request, Request.Options options, String method, Timer latency,
+                          Duration delay) throws IOException {
+        Race race = new Race(client, request, options, latency);
+        race.launch();
+        try {
+            try {
+                return race.winner.get(delay.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                hedges.computeIfAbsent(method, name -> Counter.builder("engagement.feign.hedges")
+                        .description("Second attempts sent for slow idempotent calls")
+                        .tag("method", name)
+                        .register(meterRegistry)).increment();
+                race.launch();
+                return race.winner.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + method);
+        }
+    }
+
+    private Request.Options withinDeadline(Request.Options options) {
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining == null) {
+            return options;
+        }
+        long remainingMillis = remaining.toMillis();
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before calling downstream service");
+        }
+        long connectMillis = Math.min(options.connectTimeoutUnit().toMillis(options.connectTimeout()), remainingMillis);
+        long readMillis = Math.min(options.readTimeoutUnit().toMillis(options.readTimeout()), remainingMillis);
+        return new Request.Options(connectMillis, TimeUnit.MILLISECONDS, readMillis, TimeUnit.MILLISECONDS,
+                options.isFollowRedirects());
+    }
+
+    private Timer latencyTimer(String method) {
+        return Timer.builder("engagement.feign.latency")
+                .description("Latency of hedgeable downstream calls")
+                .tag("method", method)
+                .publishPercentiles(HEDGE_PERCENTILE)
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Attempts of one call; the first successful response completes winner
+     */
+    private final class Race {
+
+        final CompletableFuture<Response> winner = new CompletableFuture<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        private final Client client;
+        private final Request request;
+        private final Request.Options options;
+        private final Timer latency;
+
+        Race(Client client, Request request, Request.Options options, Timer latency) {
+            this.client = client;
+            this.request = request;
+            this.options = options;
+            this.latency = latency;
+        }
+
+        void launch() {
+            running.incrementAndGet();
+            executor.execute(this::attempt);
+        }
+
+        private void attempt() {
+            long start = System.nanoTime();
+            try {
+                Response response = client.execute(request, options);
+                latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (!winner.complete(response)) {
+                    response.close();
+                }
+                running.decrementAndGet();
+            } catch (Throwable t) {
+                firstFailure.compareAndSet(null, t);
+                if (running.decrementAndGet() == 0) {
+                    winner.completeExceptionally(firstFailure.get());
+                }
+            }
+        }
+    }
+}
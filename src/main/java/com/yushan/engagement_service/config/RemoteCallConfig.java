@@ -0,0 +1,38 @@
+package com.yushan.engagement_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for remote calls a request fans out concurrently (see RemoteCalls).
+ * With virtual threads enabled each call gets its own virtual thread; otherwise calls share
+ * a bounded pool of platform threads.
+ */
+@Configuration
+public class RemoteCallConfig {
+
+    public static final String REMOTE_CALL_EXECUTOR = "remoteCallExecutor";
+
+    @Value("${engagement.remote-calls.pool-size:64}")
+    private int poolSize;
+
+    @Bean(name = REMOTE_CALL_EXECUTOR, destroyMethod = "shutdownNow")
+    public ExecutorService remoteCallExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("remote-call-", 0).factory());
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "remote-call-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
@@ -92,17 +93,24 @@ public class CommentController {
      * Get comments for a specific chapter (public)
      */
     @GetMapping("/chapter/{chapterId}")
-    @Operation(summary = "[PUBLIC] Get comments by chapter", description = "List comments for a chapter with pagination and sorting.")
+    @Operation(summary = "[PUBLIC] Get comments by chapter", description = "List comments for a chapter with pagination and sorting. "
+            + "sort=hot ranks by likes decayed by age, so well-liked recent comments come first. "
+            + "Pass a page's nextCursor as cursor to fetch the following page without an offset; sort and order are taken from the cursor "
+            + "and the exact total is only counted when includeTotal=true.")
     public ApiResponse<CommentListResponseDTO> getCommentsByChapter(
             @PathVariable Integer chapterId,
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "size", defaultValue = "20") Integer size,
             @RequestParam(value = "sort", defaultValue = "createTime") String sort,
             @RequestParam(value = "order", defaultValue = "desc") String order,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal,
             Authentication authentication) {
 
         UUID userId = getUserIdFromAuthenticationOrNull(authentication);
-        CommentListResponseDTO response = commentService.getCommentsByChapter(chapterId, userId, page, size, sort, order);
+        CommentListResponseDTO response = StringUtils.hasText(cursor)
+                ? commentService.getCommentsByChapterAfterCursor(chapterId, userId, PageCursor.decode(cursor), size, includeTotal)
+                : commentService.getCommentsByChapter(chapterId, userId, page, size, sort, order);
         return ApiResponse.success("Comments retrieved successfully", response);
     }
 
@@ -110,7 +118,9 @@ public class CommentController {
      * Get comments for a specific novel (public, across all chapters)
      */
     @GetMapping("/novel/{novelId}")
-    @Operation(summary = "[PUBLIC] Get comments by novel", description = "List comments across all chapters of a novel with filters.")
+    @Operation(summary = "[PUBLIC] Get comments by novel", description = "List comments across all chapters of a novel with filters. "
+            + "Pass a page's nextCursor as cursor to fetch the following page without an offset; "
+            + "with a search term, sort=relevance also matches near misses, ranks the closest first and pages by offset only.")
     public ApiResponse<CommentListResponseDTO> getCommentsByNovel(
             @PathVariable Integer novelId,
             @RequestParam(value = "page", defaultValue = "0") Integer page,
@@ -119,6 +129,8 @@ public class CommentController {
             @RequestParam(value = "order", defaultValue = "desc") String order,
             @RequestParam(value = "isSpoiler", required = false) Boolean isSpoiler,
             @RequestParam(value = "search", required = false) String search,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal,
             Authentication authentication) {
 
         UUID userId = getUserIdFromAuthenticationOrNull(authentication);
@@ -133,7 +145,13 @@ public class CommentController {
                 .size(size)
                 .build();
 
-        CommentListResponseDTO response = commentService.getCommentsByNovel(novelId, userId, request);
+        CommentListResponseDTO response;
+        if (StringUtils.hasText(cursor)) {
+            request.setCursor(PageCursor.decode(cursor));
+            response = commentService.getCommentsByNovelAfterCursor(novelId, userId, request, includeTotal);
+        } else {
+            response = commentService.getCommentsByNovel(novelId, userId, request);
+        }
         return ApiResponse.success("Comments retrieved successfully", response);
     }
 
@@ -198,6 +216,38 @@ public class CommentController {
         return ApiResponse.success("Comment statistics retrieved", stats);
     }
 
+    /**
+     * Get the most commented chapters (public)
+     */
+    @GetMapping("/leaderboards/chapters")
+    @Operation(summary = "[PUBLIC] Most commented chapters",
+            description = "Chapters ranked by comments written in the last 24h, 7d or all time (window=24h|7d|all), "
+                    + "across all novels or within novelId.")
+    public ApiResponse<List<LeaderboardEntryDTO>> getMostCommentedChapters(
+            @RequestParam(value = "novelId", required = false) Integer novelId,
+            @RequestParam(value = "window", defaultValue = "7d") String window,
+            @RequestParam(value = "limit", defaultValue = "10") Integer limit) {
+        List<LeaderboardEntryDTO> entries = commentService.getMostCommentedChapters(novelId, window, limit);
+        return ApiResponse.success("Leaderboard retrieved successfully", entries);
+    }
+
+    /**
+     * Get the most liked comments (public)
+     */
+    @GetMapping("/leaderboards/comments")
+    @Operation(summary = "[PUBLIC] Most liked comments",
+            description = "Comments ranked by likes received in the last 24h, 7d or all time (window=24h|7d|all), "
+                    + "across all novels or within novelId.")
+    public ApiResponse<List<LeaderboardEntryDTO>> getMostLikedComments(
+            @RequestParam(value = "novelId", required = false) Integer novelId,
+            @RequestParam(value = "window", defaultValue = "7d") String window,
+            @RequestParam(value = "limit", defaultValue = "10") Integer limit,
+            Authentication authentication) {
+        UUID userId = getUserIdFromAuthenticationOrNull(authentication);
+        List<LeaderboardEntryDTO> entries = commentService.getMostLikedComments(novelId, window, limit, userId);
+        return ApiResponse.success("Leaderboard retrieved successfully", entries);
+    }
+
     // ========================================
     // ADMIN MODERATION ENDPOINTS
     // ========================================
@@ -280,7 +330,8 @@ public class CommentController {
      */
     @GetMapping("/admin/search")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "[ADMIN] Search comments", description = "Advanced search for comments.")
+    @Operation(summary = "[ADMIN] Search comments", description = "Advanced search for comments. "
+            + "With a search term, sort=relevance also matches near misses and ranks the closest matches first.")
     public ApiResponse<CommentListResponseDTO> searchCommentsAdmin(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "size", defaultValue = "20") Integer size,
@@ -336,6 +387,34 @@ public class CommentController {
         return ApiResponse.success("Moderation statistics retrieved", stats);
     }
 
+    /**
+     * Get the most active commenters (admin only)
+     */
+    @GetMapping("/admin/leaderboards/users")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "[ADMIN] Most active commenters",
+            description = "Users ranked by comments written in the last 24h, 7d or all time (window=24h|7d|all), "
+                    + "across all novels or within novelId.")
+    public ApiResponse<List<LeaderboardEntryDTO>> getTopCommenters(
+            @RequestParam(value = "novelId", required = false) Integer novelId,
+            @RequestParam(value = "window", defaultValue = "7d") String window,
+            @RequestParam(value = "limit", defaultValue = "10") Integer limit) {
+        List<LeaderboardEntryDTO> entries = commentService.getTopCommenters(novelId, window, limit);
+        return ApiResponse.success("Leaderboard retrieved successfully", entries);
+    }
+
+    /**
+     * Rebuild the comment leaderboards from the database (admin only)
+     */
+    @PostMapping("/admin/leaderboards/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "[ADMIN] Rebuild leaderboards",
+            description = "Recompute every comment leaderboard from the database in the background.")
+    public ApiResponse<String> rebuildLeaderboards() {
+        commentService.rebuildLeaderboardsInBackground();
+        return ApiResponse.success("Leaderboard rebuild started in background");
+    }
+
     /**
      * Delete any comment (admin only)
      */
@@ -366,9 +445,16 @@ public class CommentController {
      */
     @DeleteMapping("/admin/user/{userId}/all")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "[ADMIN] Delete all user's comments", description = "Delete all comments of a user.")
-    public ApiResponse<String> deleteAllUserComments(@PathVariable String userId) {
+    @Operation(summary = "[ADMIN] Delete all user's comments",
+            description = "Delete all comments of a user. Set async=true to run the deletion in the background.")
+    public ApiResponse<String> deleteAllUserComments(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "false") boolean async) {
         UUID targetUserId = UUID.fromString(userId);
+        if (async) {
+            commentService.deleteAllUserCommentsInBackground(targetUserId);
+            return ApiResponse.success("Deletion of user's comments started in background");
+        }
         int deletedCount = commentService.deleteAllUserComments(targetUserId);
         return ApiResponse.success("Successfully deleted " + deletedCount + " comment(s) from user");
     }
@@ -378,8 +464,15 @@ public class CommentController {
      */
     @DeleteMapping("/admin/chapter/{chapterId}/all")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "[ADMIN] Delete all chapter comments", description = "Delete all comments in a chapter.")
-    public ApiResponse<String> deleteAllChapterComments(@PathVariable Integer chapterId) {
+    @Operation(summary = "[ADMIN] Delete all chapter comments",
+            description = "Delete all comments in a chapter. Set async=true to run the deletion in the background.")
+    public ApiResponse<String> deleteAllChapterComments(
+            @PathVariable Integer chapterId,
+            @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            commentService.deleteAllChapterCommentsInBackground(chapterId);
+            return ApiResponse.success("Deletion of chapter comments started in background");
+        }
         int deletedCount = commentService.deleteAllChapterComments(chapterId);
         return ApiResponse.success("Successfully deleted " + deletedCount + " comment(s) from chapter");
     }
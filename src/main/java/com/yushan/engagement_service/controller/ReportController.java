@@ -75,7 +75,8 @@ public class ReportController {
      */
     @GetMapping("/admin")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "[ADMIN] Get all reports", description = "Get all reports with pagination and filtering for admin dashboard.")
+    @Operation(summary = "[ADMIN] Get all reports", description = "Get all reports with pagination and filtering for admin dashboard. "
+            + "With a search term, sort=relevance also matches near misses and ranks the closest matches first.")
     public ApiResponse<PageResponseDTO<ReportResponseDTO>> getReportsForAdmin(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String reportType,
@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
@@ -98,15 +99,23 @@ public class ReviewController {
      * Get reviews for a specific novel (public)
      */
     @GetMapping("/novel/{novelId}")
-    @Operation(summary = "[PUBLIC] List novel reviews", description = "List reviews for a novel with pagination and sorting.")
+    @Operation(summary = "[PUBLIC] List novel reviews", description = "List reviews for a novel with pagination and sorting. "
+            + "sort=hot ranks by likes decayed by age, so well-liked recent reviews come first. "
+            + "sort=helpfulness ranks by how reliably readers who saw a review liked it. "
+            + "Pass a page's nextCursor as cursor to fetch the following page without an offset; sort and order are taken from the cursor "
+            + "and the exact total is only counted when includeTotal=true.")
     public ApiResponse<PageResponseDTO<ReviewResponseDTO>> getReviewsByNovel(
             @PathVariable Integer novelId,
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "size", defaultValue = "10") Integer size,
             @RequestParam(value = "sort", defaultValue = "createTime") String sort,
-            @RequestParam(value = "order", defaultValue = "desc") String order) {
+            @RequestParam(value = "order", defaultValue = "desc") String order,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
         
-        PageResponseDTO<ReviewResponseDTO> response = reviewService.getReviewsByNovel(novelId, page, size, sort, order);
+        PageResponseDTO<ReviewResponseDTO> response = StringUtils.hasText(cursor)
+                ? reviewService.getReviewsByNovelAfterCursor(novelId, PageCursor.decode(cursor), size, includeTotal)
+                : reviewService.getReviewsByNovel(novelId, page, size, sort, order);
         return ApiResponse.success("Reviews retrieved successfully", response);
     }
 
@@ -114,7 +123,9 @@ public class ReviewController {
      * Get all reviews with filtering and pagination (public)
      */
     @GetMapping
-    @Operation(summary = "[PUBLIC] List reviews", description = "List all reviews with filters and pagination.")
+    @Operation(summary = "[PUBLIC] List reviews", description = "List all reviews with filters and pagination. "
+            + "Pass a page's nextCursor as cursor to fetch the following page without an offset; "
+            + "with a search term, sort=relevance also matches near misses, ranks the closest first and pages by offset only.")
     public ApiResponse<PageResponseDTO<ReviewResponseDTO>> getAllReviews(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "size", defaultValue = "10") Integer size,
@@ -123,11 +134,19 @@ public class ReviewController {
             @RequestParam(value = "novelId", required = false) Integer novelId,
             @RequestParam(value = "rating", required = false) Integer rating,
             @RequestParam(value = "isSpoiler", required = false) Boolean isSpoiler,
-            @RequestParam(value = "search", required = false) String search) {
+            @RequestParam(value = "search", required = false) String search,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
         
         ReviewSearchRequestDTO request = new ReviewSearchRequestDTO(page, size, sort, order, 
                                                                    novelId, rating, isSpoiler, search);
-        PageResponseDTO<ReviewResponseDTO> response = reviewService.getAllReviews(request);
+        PageResponseDTO<ReviewResponseDTO> response;
+        if (StringUtils.hasText(cursor)) {
+            request.setCursor(PageCursor.decode(cursor));
+            response = reviewService.getAllReviewsAfterCursor(request, includeTotal);
+        } else {
+            response = reviewService.getAllReviews(request);
+        }
         return ApiResponse.success("Reviews retrieved successfully", response);
     }
 
@@ -0,0 +1,21 @@
+package com.yushan.engagement_service.dao;
+
+import com.yushan.engagement_service.dto.comment.CommentCountDTO;
+import com.yushan.engagement_service.dto.comment.CommentModerationStatsDTO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * Reads the trigger-maintained daily comment rollups (see V11 migration)
+ */
+@Mapper
+public interface CommentDailyStatsMapper {
+    /**
+     * All-time and today/7-day/30-day comment totals; the most active user and chapter are left unset
+     */
+    CommentModerationStatsDTO selectTotals();
+
+    CommentCountDTO selectMostActiveUser(@Param("days") int days);
+
+    CommentCountDTO selectMostCommentedChapter(@Param("days") int days);
+}
@@ -1,11 +1,18 @@
 package com.yushan.engagement_service.dao;
 
 import com.yushan.engagement_service.dto.comment.CommentSearchRequestDTO;
+import com.yushan.engagement_service.dto.comment.CommentStatisticsDTO;
+import com.yushan.engagement_service.dto.comment.LeaderboardCountDTO;
+import com.yushan.engagement_service.dto.common.PageCursor;
 import com.yushan.engagement_service.entity.Comment;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Mapper
@@ -15,6 +22,7 @@ public interface CommentMapper {
     int insert(Comment record);
     int insertSelective(Comment record);
     Comment selectByPrimaryKey(Integer id);
+    List<Comment> selectByIds(@Param("ids") List<Integer> ids);
     int updateByPrimaryKeySelective(Comment record);
     int updateByPrimaryKey(Comment record);
 
@@ -26,37 +34,67 @@ public interface CommentMapper {
     // Paginated queries
     List<Comment> selectCommentsWithPagination(CommentSearchRequestDTO searchRequest);
     List<Comment> selectCommentsByNovelWithPagination(
-            @Param("chapterIds") List<Integer> chapterIds,
+            @Param("novelId") Integer novelId,
+            @Param("unfilledChapterIds") List<Integer> unfilledChapterIds,
             @Param("isSpoiler") Boolean isSpoiler,
             @Param("search") String search,
             @Param("sort") String sort,
             @Param("order") String order,
             @Param("page") int page,
-            @Param("size") int size
+            @Param("size") int size,
+            @Param("cursor") PageCursor cursor
     );
 
     // Count queries
     long countComments(CommentSearchRequestDTO searchRequest);
     long countByChapterId(Integer chapterId);
-    long countByNovelId(List<Integer> chapterIds);
+    long countByNovelId(Integer novelId);
     long countCommentsByNovel(
-            @Param("chapterIds") List<Integer> chapterIds,
+            @Param("novelId") Integer novelId,
+            @Param("unfilledChapterIds") List<Integer> unfilledChapterIds,
             @Param("isSpoiler") Boolean isSpoiler,
-            @Param("search") String search
+            @Param("search") String search,
+            @Param("sort") String sort
     );
 
+    // Aggregate queries
+    CommentStatisticsDTO selectChapterCommentStats(Integer chapterId);
+
     // Like count update
     int updateLikeCount(@Param("id") Integer id, @Param("increment") Integer increment);
 
+    // Per-user likes
+    int insertLike(@Param("commentId") Integer commentId, @Param("userId") UUID userId);
+    int deleteLike(@Param("commentId") Integer commentId, @Param("userId") UUID userId);
+    int applyLikeDeltas(@Param("deltas") Map<Integer, Integer> deltas);
+    List<Integer> claimLikeChanges(@Param("graceSeconds") int graceSeconds, @Param("limit") int limit);
+    int recountLikes(@Param("ids") Collection<Integer> ids);
+
+    // Hot score backfill
+    int backfillHotScores(@Param("limit") int limit);
+
+    // Novel id backfill
+    List<Integer> selectChapterIdsMissingNovel(@Param("afterChapterId") Integer afterChapterId, @Param("limit") int limit);
+    int backfillNovelIds(@Param("novelIds") Map<Integer, Integer> novelIds, @Param("limit") int limit);
+
+    // Leaderboard rebuild, streamed row by row
+    void selectUserCommentCounts(ResultHandler<LeaderboardCountDTO> handler);
+    void selectChapterCommentCounts(ResultHandler<LeaderboardCountDTO> handler);
+    void selectHourlyCommentCounts(@Param("since") Date since, ResultHandler<LeaderboardCountDTO> handler);
+    void selectLikedCommentCounts(ResultHandler<LeaderboardCountDTO> handler);
+    void selectHourlyLikeCounts(@Param("since") Date since, ResultHandler<LeaderboardCountDTO> handler);
+
     // Validation/Check queries
     boolean existsByUserAndChapter(@Param("userId") UUID userId, @Param("chapterId") Integer chapterId);
 
     // Moderation queries
     long countCommentsInLastDays(@Param("days") int days);
     long countCommentsByUser(@Param("userId") UUID userId);
-    Comment selectMostActiveUser();
-    Comment selectMostCommentedChapter();
+    List<Integer> selectChapterIdsByIds(@Param("ids") List<Integer> ids);
+    List<Integer> selectChapterIdsByUserId(@Param("userId") UUID userId);
     int batchDeleteByIds(@Param("ids") List<Integer> ids);
+    int deleteByUserIdLimited(@Param("userId") UUID userId, @Param("limit") int limit);
+    int deleteByChapterIdLimited(@Param("chapterId") Integer chapterId, @Param("limit") int limit);
     int batchUpdateSpoilerStatus(@Param("ids") List<Integer> ids, @Param("isSpoiler") Boolean isSpoiler);
     List<Comment> selectCommentsByKeyword(@Param("keyword") String keyword, @Param("limit") int limit);
     List<Comment> selectPopularComments(@Param("minLikes") int minLikes, @Param("limit") int limit);
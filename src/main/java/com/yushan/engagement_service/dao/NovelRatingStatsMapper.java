@@ -0,0 +1,18 @@
+package com.yushan.engagement_service.dao;
+
+import com.yushan.engagement_service.entity.NovelRatingStats;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface NovelRatingStatsMapper {
+    NovelRatingStats selectByNovelId(@Param("novelId") Integer novelId);
+
+    /**
+     * Atomically move one review between star buckets.
+     * oldRating null means a review was added, newRating null means one was removed.
+     */
+    int applyRatingDelta(@Param("novelId") Integer novelId,
+                         @Param("oldRating") Integer oldRating,
+                         @Param("newRating") Integer newRating);
+}
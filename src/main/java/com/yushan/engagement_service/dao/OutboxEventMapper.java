@@ -0,0 +1,21 @@
+package com.yushan.engagement_service.dao;
+
+import com.yushan.engagement_service.entity.OutboxEvent;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface OutboxEventMapper {
+    int insert(OutboxEvent record);
+
+    // Relay queries
+    boolean tryRelayLock(@Param("lockKey") long lockKey);
+
+    List<OutboxEvent> claimBatch(@Param("limit") int limit, @Param("leaseSeconds") int leaseSeconds);
+
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    int releaseLease(@Param("ids") List<Long> ids);
+}
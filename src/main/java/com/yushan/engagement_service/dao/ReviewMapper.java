@@ -5,7 +5,9 @@ import com.yushan.engagement_service.entity.Review;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Mapper
@@ -35,4 +37,20 @@ public interface ReviewMapper {
     long countReviews(ReviewSearchRequestDTO request);
 
     int updateLikeCount(@Param("id") Integer id, @Param("increment") int increment);
+
+    int insertLike(@Param("reviewId") Integer reviewId, @Param("userId") UUID userId);
+
+    int deleteLike(@Param("reviewId") Integer reviewId, @Param("userId") UUID userId);
+
+    int applyLikeDeltas(@Param("deltas") Map<Integer, Integer> deltas);
+
+    List<Integer> claimLikeChanges(@Param("graceSeconds") int graceSeconds, @Param("limit") int limit);
+
+    int recountLikes(@Param("ids") Collection<Integer> ids);
+
+    int applyImpressionDeltas(@Param("deltas") Map<Integer, Integer> deltas);
+
+    List<Integer> selectNovelIdsByIds(@Param("ids") List<Integer> ids);
+
+    int backfillHotScores(@Param("limit") int limit);
 }
\ No newline at end of file
@@ -29,4 +29,19 @@ public interface VoteMapper {
     long countByUserId(UUID userId);
 
     List<Vote> selectByUserIdWithPagination(UUID userId, int offset, int limit);
+
+    // Novels with votes not yet added to content-service's vote count
+    List<Integer> selectNovelIdsWithUnsyncedVotes(@Param("limit") int limit);
+
+    int countUnsyncedVotes(@Param("novelId") Integer novelId);
+
+    // Group a novel's unsynced votes without a batch into one; the batch id is their highest vote id
+    int assignSyncBatch(@Param("novelId") Integer novelId);
+
+    Integer selectOldestSyncBatch(@Param("novelId") Integer novelId);
+
+    int countSyncBatch(@Param("novelId") Integer novelId, @Param("syncBatch") Integer syncBatch);
+
+    // Mark a batch as counted once content-service has accepted it
+    int markVotesSynced(@Param("novelId") Integer novelId, @Param("syncBatch") Integer syncBatch);
 }
\ No newline at end of file
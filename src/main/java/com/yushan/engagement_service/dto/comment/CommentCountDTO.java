@@ -0,0 +1,21 @@
+package com.yushan.engagement_service.dto.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Comment count of one chapter or one user, read from the daily rollups
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentCountDTO {
+    private Integer chapterId;
+    private UUID userId;
+    private Long commentCount;
+}
@@ -16,13 +16,23 @@ public class CommentListResponseDTO {
     private int totalPages;
     private int currentPage;
     private int pageSize;
+    // Keyset pagination: pass nextCursor back as "cursor" to fetch the following page
+    private boolean hasNext;
+    private String nextCursor;
 
     public CommentListResponseDTO(List<CommentResponseDTO> comments, long totalCount, int totalPages, int currentPage, int pageSize) {
+        this(comments, totalCount, totalPages, currentPage, pageSize, false, null);
+    }
+
+    public CommentListResponseDTO(List<CommentResponseDTO> comments, long totalCount, int totalPages, int currentPage,
+                                  int pageSize, boolean hasNext, String nextCursor) {
         this.comments = comments != null ? new ArrayList<>(comments) : null;
         this.totalCount = totalCount;
         this.totalPages = totalPages;
         this.currentPage = currentPage;
         this.pageSize = pageSize;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
     }
 
     public List<CommentResponseDTO> getComments() {
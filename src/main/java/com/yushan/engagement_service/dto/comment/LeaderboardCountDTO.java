@@ -0,0 +1,26 @@
+package com.yushan.engagement_service.dto.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Comment or like count of one leaderboard member, read from PostgreSQL to rebuild the leaderboards.
+ * hour is set for counts grouped by hour and null for all-time counts.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardCountDTO {
+    private Date hour;
+    private Integer novelId;
+    private UUID userId;
+    private Integer chapterId;
+    private Integer commentId;
+    private Long count;
+}
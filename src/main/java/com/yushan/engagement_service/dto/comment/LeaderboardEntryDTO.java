@@ -0,0 +1,23 @@
+package com.yushan.engagement_service.dto.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One ranked entry of a comment leaderboard.
+ * id is the user id, chapter id or comment id; name is the username or chapter title,
+ * and comment carries the comment itself on the most liked comments board.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDTO {
+    private Integer rank;
+    private String id;
+    private String name;
+    private Long score;
+    private CommentResponseDTO comment;
+}
@@ -0,0 +1,133 @@
+package com.yushan.engagement_service.dto.common;
+
+import com.yushan.engagement_service.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Opaque keyset cursor for listing endpoints.
+ * Holds the sort key and id of the last row of a page, plus the sort it was taken from,
+ * so the next page can seek past it instead of using OFFSET.
+ */
+public final class PageCursor {
+    private static final String VERSION = "v1";
+    private static final String CREATE_TIME = "createTime";
+
+    private final String sort;
+    private final String order;
+    private final long value;
+    private final Integer id;
+
+    private PageCursor(String sort, String order, long value, Integer id) {
+        this.sort = sort;
+        this.order = order;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Cursor positioned after a row sorted by create time; a Timestamp keeps its microseconds.
+     */
+    public static PageCursor afterTime(String order, Date createTime, Integer id) {
+        return new PageCursor(CREATE_TIME, normalizeOrder(order), toMicros(createTime), id);
+    }
+
+    /**
+     * Cursor positioned after a row sorted by a numeric column such as likeCnt or rating.
+     */
+    public static PageCursor afterNumber(String sort, String order, Integer number, Integer id) {
+        return new PageCursor(sort, normalizeOrder(order), number != null ? number : 0, id);
+    }
+
+    /**
+     * Cursor positioned after a row sorted by a floating-point score such as hot; the bits are kept exactly.
+     */
+    public static PageCursor afterScore(String sort, String order, Double score, Integer id) {
+        return new PageCursor(sort, normalizeOrder(order), Double.doubleToLongBits(score != null ? score : 0d), id);
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|");
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new ValidationException("Invalid cursor");
+            }
+            return new PageCursor(parts[1], normalizeOrder(parts[2]), Long.parseLong(parts[3]), Integer.valueOf(parts[4]));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Rejects a cursor taken from a sort the listing cannot seek on, rather than seeking by create time.
+     */
+    public PageCursor requireSortIn(Set<String> sorts) {
+        if (!sorts.contains(sort)) {
+            throw new ValidationException("Invalid cursor");
+        }
+        return this;
+    }
+
+    public String encode() {
+        String raw = String.join("|", VERSION, sort, order, Long.toString(value), Integer.toString(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public String getOrder() {
+        return order;
+    }
+
+    public boolean isDescending() {
+        return "desc".equals(order);
+    }
+
+    /**
+     * Sort key as a timestamp, for createTime cursors.
+     */
+    public Timestamp getTime() {
+        Timestamp time = new Timestamp(Math.floorDiv(value, 1_000_000L) * 1000L);
+        time.setNanos((int) Math.floorMod(value, 1_000_000L) * 1000);
+        return time;
+    }
+
+    /**
+     * Sort key as an integer, for likeCnt and rating cursors.
+     */
+    public Integer getNumber() {
+        return (int) value;
+    }
+
+    /**
+     * Sort key as a double, for hot cursors.
+     */
+    public Double getScore() {
+        return Double.longBitsToDouble(value);
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    private static long toMicros(Date time) {
+        if (time == null) {
+            return 0L;
+        }
+        if (time instanceof Timestamp timestamp) {
+            return Math.floorDiv(timestamp.getTime(), 1000L) * 1_000_000L + timestamp.getNanos() / 1000;
+        }
+        return time.getTime() * 1000L;
+    }
+
+    private static String normalizeOrder(String order) {
+        return "asc".equalsIgnoreCase(order) ? "asc" : "desc";
+    }
+}
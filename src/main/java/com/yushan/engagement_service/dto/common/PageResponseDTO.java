@@ -16,6 +16,7 @@ public class PageResponseDTO<T> {
     private boolean last;
     private boolean hasNext;
     private boolean hasPrevious;
+    private String nextCursor;
     
     // Constructors
     public PageResponseDTO() {
@@ -37,6 +38,24 @@ public class PageResponseDTO<T> {
         return new PageResponseDTO<>(content, totalElements, currentPage, size);
     }
     
+    /**
+     * Page fetched by keyset cursor. Page numbers do not apply, and totalElements/totalPages
+     * are -1 unless the caller asked for an exact count.
+     */
+    public static <T> PageResponseDTO<T> ofCursor(List<T> content, int size, boolean hasNext,
+                                                  String nextCursor, long totalElements) {
+        PageResponseDTO<T> page = new PageResponseDTO<>();
+        page.setContent(content);
+        page.size = size;
+        page.totalElements = totalElements;
+        page.totalPages = totalElements < 0 ? -1 : (int) Math.ceil((double) totalElements / size);
+        page.hasPrevious = true;
+        page.hasNext = hasNext;
+        page.last = !hasNext;
+        page.nextCursor = nextCursor;
+        return page;
+    }
+    
     // Getters and Setters
     public List<T> getContent() {
         return content != null ? new java.util.ArrayList<>(content) : new java.util.ArrayList<>();
@@ -109,4 +128,12 @@ public class PageResponseDTO<T> {
     public void setHasPrevious(boolean hasPrevious) {
         this.hasPrevious = hasPrevious;
     }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.yushan.engagement_service.dto.review;
 
+import com.yushan.engagement_service.dto.common.PageCursor;
 import lombok.Data;
 
 @Data
@@ -12,6 +13,8 @@ public class ReviewSearchRequestDTO {
     private Integer rating;
     private Boolean isSpoiler;
     private String search;
+    // Keyset pagination: seek past this row instead of using the page offset
+    private PageCursor cursor;
 
     public ReviewSearchRequestDTO() {
     }
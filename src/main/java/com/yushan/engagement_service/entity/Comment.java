@@ -10,24 +10,30 @@ public class Comment {
 
     private Integer chapterId;
 
+    private Integer novelId;
+
     private String content;
 
     private Integer likeCnt;
 
     private Boolean isSpoiler;
 
+    // Read as a java.sql.Timestamp; copies clone it so the microseconds reach the page cursor
     private Date createTime;
 
     private Date updateTime;
 
-    public Comment(Integer id, UUID userId, Integer chapterId, String content, Integer likeCnt, Boolean isSpoiler, Date createTime, Date updateTime) {
+    private Double hotScore;
+
+    public Comment(Integer id, UUID userId, Integer chapterId, Integer novelId, String content, Integer likeCnt, Boolean isSpoiler, Date createTime, Date updateTime) {
         this.id = id;
         this.userId = userId;
         this.chapterId = chapterId;
+        this.novelId = novelId;
         this.content = content;
         this.likeCnt = likeCnt;
         this.isSpoiler = isSpoiler;
-        this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
+        this.createTime = createTime != null ? (Date) createTime.clone() : null;
         this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
     }
 
@@ -59,6 +65,14 @@ public class Comment {
         this.chapterId = chapterId;
     }
 
+    public Integer getNovelId() {
+        return novelId;
+    }
+
+    public void setNovelId(Integer novelId) {
+        this.novelId = novelId;
+    }
+
     public String getContent() {
         return content;
     }
@@ -84,11 +98,11 @@ public class Comment {
     }
 
     public Date getCreateTime() {
-        return createTime != null ? new Date(createTime.getTime()) : null;
+        return createTime != null ? (Date) createTime.clone() : null;
     }
 
     public void setCreateTime(Date createTime) {
-        this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
+        this.createTime = createTime != null ? (Date) createTime.clone() : null;
     }
 
     public Date getUpdateTime() {
@@ -98,4 +112,12 @@ public class Comment {
     public void setUpdateTime(Date updateTime) {
         this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
     }
+
+    public Double getHotScore() {
+        return hotScore;
+    }
+
+    public void setHotScore(Double hotScore) {
+        this.hotScore = hotScore;
+    }
 }
\ No newline at end of file
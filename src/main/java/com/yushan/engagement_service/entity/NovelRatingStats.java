@@ -0,0 +1,112 @@
+package com.yushan.engagement_service.entity;
+
+import java.util.Date;
+
+public class NovelRatingStats {
+    private Integer novelId;
+
+    private Integer reviewCount;
+
+    private Long ratingSum;
+
+    private Integer rating1Cnt;
+
+    private Integer rating2Cnt;
+
+    private Integer rating3Cnt;
+
+    private Integer rating4Cnt;
+
+    private Integer rating5Cnt;
+
+    private Date updateTime;
+
+    public NovelRatingStats(Integer novelId, Integer reviewCount, Long ratingSum, Integer rating1Cnt, Integer rating2Cnt,
+                            Integer rating3Cnt, Integer rating4Cnt, Integer rating5Cnt, Date updateTime) {
+        this.novelId = novelId;
+        this.reviewCount = reviewCount;
+        this.ratingSum = ratingSum;
+        this.rating1Cnt = rating1Cnt;
+        this.rating2Cnt = rating2Cnt;
+        this.rating3Cnt = rating3Cnt;
+        this.rating4Cnt = rating4Cnt;
+        this.rating5Cnt = rating5Cnt;
+        this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
+    }
+
+    public NovelRatingStats() {
+        super();
+    }
+
+    public Integer getNovelId() {
+        return novelId;
+    }
+
+    public void setNovelId(Integer novelId) {
+        this.novelId = novelId;
+    }
+
+    public Integer getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(Integer reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public Long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(Long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public Integer getRating1Cnt() {
+        return rating1Cnt;
+    }
+
+    public void setRating1Cnt(Integer rating1Cnt) {
+        this.rating1Cnt = rating1Cnt;
+    }
+
+    public Integer getRating2Cnt() {
+        return rating2Cnt;
+    }
+
+    public void setRating2Cnt(Integer rating2Cnt) {
+        this.rating2Cnt = rating2Cnt;
+    }
+
+    public Integer getRating3Cnt() {
+        return rating3Cnt;
+    }
+
+    public void setRating3Cnt(Integer rating3Cnt) {
+        this.rating3Cnt = rating3Cnt;
+    }
+
+    public Integer getRating4Cnt() {
+        return rating4Cnt;
+    }
+
+    public void setRating4Cnt(Integer rating4Cnt) {
+        this.rating4Cnt = rating4Cnt;
+    }
+
+    public Integer getRating5Cnt() {
+        return rating5Cnt;
+    }
+
+    public void setRating5Cnt(Integer rating5Cnt) {
+        this.rating5Cnt = rating5Cnt;
+    }
+
+    public Date getUpdateTime() {
+        return updateTime != null ? new Date(updateTime.getTime()) : null;
+    }
+
+    public void setUpdateTime(Date updateTime) {
+        this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
+    }
+}
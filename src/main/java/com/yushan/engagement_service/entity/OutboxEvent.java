@@ -0,0 +1,67 @@
+package com.yushan.engagement_service.entity;
+
+import java.util.Date;
+
+public class OutboxEvent {
+    private Long id;
+
+    private String topic;
+
+    private String eventKey;
+
+    private String payload;
+
+    private Date createTime;
+
+    public OutboxEvent(Long id, String topic, String eventKey, String payload, Date createTime) {
+        this.id = id;
+        this.topic = topic;
+        this.eventKey = eventKey;
+        this.payload = payload;
+        this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
+    }
+
+    public OutboxEvent() {
+        super();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public String getEventKey() {
+        return eventKey;
+    }
+
+    public void setEventKey(String eventKey) {
+        this.eventKey = eventKey;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Date getCreateTime() {
+        return createTime != null ? new Date(createTime.getTime()) : null;
+    }
+
+    public void setCreateTime(Date createTime) {
+        this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
+    }
+}
@@ -22,10 +22,15 @@ public class Review {
 
     private Boolean isSpoiler;
 
+    // Read as a java.sql.Timestamp; copies clone it so the microseconds reach the page cursor
     private Date createTime;
 
     private Date updateTime;
 
+    private Double hotScore;
+
+    private Double helpfulnessScore;
+
     public Review(Integer id, UUID uuid, UUID userId, Integer novelId, Integer rating, String title, String content, Integer likeCnt, Boolean isSpoiler, Date createTime, Date updateTime) {
         this.id = id;
         this.uuid = uuid;
@@ -36,7 +41,7 @@ public class Review {
         this.content = content;
         this.likeCnt = likeCnt;
         this.isSpoiler = isSpoiler;
-        this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
+        this.createTime = createTime != null ? (Date) createTime.clone() : null;
         this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
     }
 
@@ -117,11 +122,11 @@ public class Review {
     }
 
     public Date getCreateTime() {
-        return createTime != null ? new Date(createTime.getTime()) : null;
+        return createTime != null ? (Date) createTime.clone() : null;
     }
 
     public void setCreateTime(Date createTime) {
-        this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
+        this.createTime = createTime != null ? (Date) createTime.clone() : null;
     }
 
     public Date getUpdateTime() {
@@ -131,4 +136,20 @@ public class Review {
     public void setUpdateTime(Date updateTime) {
         this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
     }
+
+    public Double getHotScore() {
+        return hotScore;
+    }
+
+    public void setHotScore(Double hotScore) {
+        this.hotScore = hotScore;
+    }
+
+    public Double getHelpfulnessScore() {
+        return helpfulnessScore;
+    }
+
+    public void setHelpfulnessScore(Double helpfulnessScore) {
+        this.helpfulnessScore = helpfulnessScore;
+    }
 }
\ No newline at end of file
@@ -11,7 +11,8 @@ public enum ErrorCode {
     NOT_FOUND(404, "Not Found"),
     
     // Server errors (5xx)
-    INTERNAL_SERVER_ERROR(500, "Internal Server Error");
+    INTERNAL_SERVER_ERROR(500, "Internal Server Error"),
+    SERVICE_UNAVAILABLE(503, "Service Unavailable");
     
     private final int code;
     private final String message;
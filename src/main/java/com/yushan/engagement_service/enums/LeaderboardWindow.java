@@ -0,0 +1,43 @@
+package com.yushan.engagement_service.enums;
+
+/**
+ * Time window a leaderboard is ranked over, named as in the API (?window=24h|7d|all).
+ * Sliding windows are kept at hour granularity.
+ */
+public enum LeaderboardWindow {
+    DAY("24h", 24),
+    WEEK("7d", 24 * 7),
+    ALL_TIME("all", 0);
+
+    private final String param;
+    private final int hours;
+
+    LeaderboardWindow(String param, int hours) {
+        this.param = param;
+        this.hours = hours;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public int getHours() {
+        return hours;
+    }
+
+    public boolean isSliding() {
+        return hours > 0;
+    }
+
+    public static LeaderboardWindow fromParam(String window) {
+        if (window == null) {
+            return WEEK;
+        }
+        for (LeaderboardWindow value : values()) {
+            if (value.param.equalsIgnoreCase(window)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid leaderboard window: " + window + " (expected 24h, 7d or all)");
+    }
+}
@@ -0,0 +1,12 @@
+package com.yushan.engagement_service.exception;
+
+/**
+ * Exception thrown instead of calling a downstream service once the caller's deadline has passed.
+ * The dependency is not at fault, so circuit breakers ignore it.
+ */
+public class DeadlineExceededException extends ServiceUnavailableException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
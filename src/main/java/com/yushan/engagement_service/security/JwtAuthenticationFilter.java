@@ -1,6 +1,6 @@
 package com.yushan.engagement_service.security;
 
-import com.yushan.engagement_service.util.JwtUtil;
+import com.yushan.engagement_service.util.JwtClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,15 +20,15 @@ import java.io.IOException;
  * 
  * This filter runs before every request and:
  * 1. Extracts JWT token from Authorization header
- * 2. Validates the token
- * 3. Extracts user information from token
+ * 2. Validates the token (once, or not at all when it was verified recently)
+ * 3. Extracts user information from the verified claims
  * 4. Sets authentication in SecurityContext
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
 
     /**
      * Filter method that processes each request
@@ -47,13 +47,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 1. Extract token from Authorization header
             String token = extractTokenFromRequest(request);
             
-            if (token != null && jwtUtil.validateToken(token) && jwtUtil.isAccessToken(token)) {
+            JwtClaims claims = token != null ? verifiedTokenCache.verify(token) : null;
+
+            if (claims != null && claims.isAccessToken()) {
                 // 2. Extract user information from token
-                String userId = jwtUtil.extractUserId(token);
-                String email = jwtUtil.extractEmail(token);
-                String username = jwtUtil.extractUsername(token);
-                String role = jwtUtil.extractRole(token);
-                Integer status = jwtUtil.extractStatus(token);
+                String userId = claims.userId();
+                String email = claims.email();
+                String username = claims.username();
+                String role = claims.role();
+                Integer status = claims.status();
                 
                 // 3. Check if user is not already authenticated
                 if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
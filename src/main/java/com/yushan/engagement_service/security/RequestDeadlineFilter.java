@@ -0,0 +1,56 @@
+package com.yushan.engagement_service.security;
+
+import com.yushan.engagement_service.util.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Starts the request's deadline (see RequestDeadline) before any other work.
+ * The caller's X-Request-Timeout-Ms is capped at max-budget; without the header the request
+ * gets default-budget. A request whose budget is already spent is rejected with 503.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    @Value("${engagement.deadline.default-budget:10s}")
+    private Duration defaultBudget = Duration.ofSeconds(10);
+
+    @Value("${engagement.deadline.max-budget:30s}")
+    private Duration maxBudget = Duration.ofSeconds(30);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Duration budget = RequestDeadline.parse(request.getHeader(RequestDeadline.HEADER));
+        if (budget == null) {
+            budget = defaultBudget;
+        } else if (budget.isZero() || budget.isNegative()) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Request deadline already exceeded");
+            return;
+        }
+
+        if (budget.compareTo(maxBudget) > 0) {
+            budget = maxBudget;
+        }
+        if (budget.isPositive()) {
+            RequestDeadline.start(request, budget);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+}
@@ -1,7 +1,6 @@
 package com.yushan.engagement_service.security;
 
-import com.yushan.engagement_service.dto.event.UserActivityEvent;
-import com.yushan.engagement_service.service.KafkaEventProducerService;
+import com.yushan.engagement_service.service.UserActivityTracker;
 import com.yushan.engagement_service.util.SecurityUtils;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -14,46 +13,34 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Records activity of authenticated API callers; publishing is coalesced by UserActivityTracker.
+ */
 @Slf4j
 @Component
 @Order(1)
 public class UserActivityFilter extends OncePerRequestFilter {
 
     @Autowired
-    private KafkaEventProducerService kafkaEventProducerService;
+    private UserActivityTracker userActivityTracker;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) 
             throws ServletException, IOException {
         
         try {
-            log.info("UserActivityFilter triggered for: {}", request.getRequestURI());
-            
             // Only track authenticated requests
             if (isAuthenticatedRequest(request)) {
-                log.info("Request is authenticated");
                 UUID userId = SecurityUtils.getCurrentUserId();
-                log.info("User ID from SecurityUtils: {}", userId);
-                
+
                 if (userId != null) {
-                    UserActivityEvent event = new UserActivityEvent(
-                            userId,
-                            "engagement-service",
-                            request.getRequestURI(),
-                            request.getMethod(),
-                            LocalDateTime.now()
-                    );
-                    
-                    kafkaEventProducerService.publishUserActivityEvent(event);
-                    log.info("Tracked user activity: userId={}, endpoint={}", userId, request.getRequestURI());
+                    userActivityTracker.record(userId, request.getRequestURI(), request.getMethod());
+                    log.debug("Tracked user activity: userId={}, endpoint={}", userId, request.getRequestURI());
                 } else {
-                    log.warn("User ID is null");
+                    log.debug("User ID is null for {}", request.getRequestURI());
                 }
-            } else {
-                log.info("Request is not authenticated");
             }
         } catch (Exception e) {
             log.warn("Failed to track user activity: {}", e.getMessage());
@@ -62,6 +49,12 @@ public class UserActivityFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Static resources, docs and actuator calls are not user activity
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
     private boolean isAuthenticatedRequest(HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
         return authHeader != null && authHeader.startsWith("Bearer ");
@@ -0,0 +1,105 @@
+package com.yushan.engagement_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.yushan.engagement_service.util.JwtClaims;
+import com.yushan.engagement_service.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Bounded cache of verified JWTs so repeat requests on a session skip signature verification.
+ * Entries are keyed by a SHA-256 digest of the token (raw bearer tokens are never held)
+ * and expire at the token's own exp claim.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final Clock clock;
+    private final Cache<String, JwtClaims> cache;
+
+    @Autowired
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${jwt.verified-cache.maximum-size:10000}") long maximumSize) {
+        this(jwtUtil, maximumSize, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(JwtUtil jwtUtil, long maximumSize, Clock clock) {
+        this.jwtUtil = jwtUtil;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, JwtClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+                        return Math.max(0, Duration.between(clock.instant(), claims.expiration()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtClaims claims, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtClaims claims, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Claims of a valid, unexpired token, or null if the token does not verify
+     */
+    public JwtClaims verify(String token) {
+        String key = digest(token);
+        Instant now = clock.instant();
+        JwtClaims claims = cache.getIfPresent(key);
+        if (claims != null) {
+            if (!claims.isExpired(now)) {
+                return claims;
+            }
+            cache.invalidate(key);
+        }
+
+        try {
+            claims = jwtUtil.parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (claims.isExpired(now)) {
+            return null;
+        }
+        cache.put(key, claims);
+        return claims;
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
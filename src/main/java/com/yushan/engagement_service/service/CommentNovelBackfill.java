@@ -0,0 +1,115 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.client.ContentServiceClient;
+import com.yushan.engagement_service.dao.CommentMapper;
+import com.yushan.engagement_service.dto.chapter.ChapterDetailResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills in comment.novel_id for rows written before the column existed, or whose chapter
+ * could not be resolved at insert time. Each run resolves one batch of chapters through
+ * content-service and updates their comments in id-ordered chunks, one short statement each.
+ * Chapters content-service does not know are skipped; the run walks chapter ids in order
+ * and wraps around, so they never hold up the rest of the backlog.
+ * Until a full pass finds nothing left to fill, {@link #isDone()} is false and novel-wide
+ * listings also reach unfilled comments through their chapter ids.
+ */
+@Slf4j
+@Service
+public class CommentNovelBackfill {
+
+    @Autowired
+    private CommentMapper commentMapper;
+
+    @Autowired
+    private ContentServiceClient contentServiceClient;
+
+    @Value("${engagement.comments.novel-backfill-batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${engagement.comments.novel-backfill-chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    // Last chapter id examined; the next run continues after it
+    private volatile int afterChapterId = 0;
+
+    // Whether the current pass has yet to fill in a row or fail
+    private volatile boolean passClean = true;
+
+    private volatile boolean done = false;
+
+    /**
+     * True once a full pass over the backlog found nothing content-service could resolve,
+     * so novel_id alone finds every comment of a novel.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.comments.novel-backfill-interval-ms:60000}")
+    public void backfill() {
+        List<Integer> chapterIds;
+        try {
+            chapterIds = commentMapper.selectChapterIdsMissingNovel(afterChapterId, batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Failed to look up comments without a novel id, will retry: {}", e.getMessage());
+            passClean = false;
+            return;
+        }
+        if (chapterIds.isEmpty()) {
+            finishPass();
+            return;
+        }
+
+        Map<Integer, Integer> novelIds = new LinkedHashMap<>();
+        Map<Integer, ChapterDetailResponseDTO> chapters = contentServiceClient.getChaptersByIds(chapterIds);
+        for (Integer chapterId : chapterIds) {
+            ChapterDetailResponseDTO chapter = chapters.get(chapterId);
+            if (chapter != null && chapter.getNovelId() != null) {
+                novelIds.put(chapterId, chapter.getNovelId());
+            }
+        }
+
+        if (!novelIds.isEmpty()) {
+            int updated = 0;
+            try {
+                int chunk;
+                do {
+                    chunk = commentMapper.backfillNovelIds(novelIds, chunkSize);
+                    updated += chunk;
+                } while (chunk >= chunkSize);
+            } catch (RuntimeException e) {
+                log.warn("Failed to backfill novel ids for {} chapters, will retry: {}", novelIds.size(), e.getMessage());
+                passClean = false;
+                return;
+            }
+            if (updated > 0) {
+                log.info("Backfilled novel id on {} comments across {} chapters", updated, novelIds.size());
+                passClean = false;
+                done = false;
+            }
+        }
+        if (chapterIds.size() < batchSize) {
+            finishPass();
+        } else {
+            afterChapterId = chapterIds.get(chapterIds.size() - 1);
+        }
+    }
+
+    private void finishPass() {
+        if (passClean && !done) {
+            log.info("Comment novel id backfill is done");
+            done = true;
+        }
+        passClean = true;
+        afterChapterId = 0;
+    }
+}
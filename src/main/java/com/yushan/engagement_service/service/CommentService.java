@@ -2,27 +2,59 @@ package com.yushan.engagement_service.service;
 
 import com.yushan.engagement_service.client.ContentServiceClient;
 import com.yushan.engagement_service.client.UserServiceClient;
+import com.yushan.engagement_service.dao.CommentDailyStatsMapper;
 import com.yushan.engagement_service.dao.CommentMapper;
 import com.yushan.engagement_service.dto.comment.*;
 import com.yushan.engagement_service.dto.chapter.ChapterDetailResponseDTO;
+import com.yushan.engagement_service.dto.common.PageCursor;
 import com.yushan.engagement_service.entity.Comment;
+import com.yushan.engagement_service.enums.LeaderboardWindow;
 import com.yushan.engagement_service.exception.ResourceNotFoundException;
+import com.yushan.engagement_service.exception.ServiceUnavailableException;
+import com.yushan.engagement_service.util.PageCache;
+import com.yushan.engagement_service.util.RedisUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 public class CommentService {
 
+    // First pages of these sorts are served from PageCache
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final List<String> CACHED_PAGE_VARIANTS = List.of("createTime:desc", "likeCnt:desc", "hot:desc");
+    private static final String RELEVANCE_SORT = "relevance";
+    // Sorts with a keyset seek in Cursor_Seek and a matching order by
+    private static final Set<String> CURSOR_SORTS = Set.of("createTime", "likeCnt", "hot");
+    private static final int MAX_LEADERBOARD_SIZE = 100;
+
     @Autowired
     private CommentMapper commentMapper;
 
+    @Autowired
+    private CommentDailyStatsMapper commentDailyStatsMapper;
+
     @Autowired
     private ContentServiceClient contentServiceClient;
 
@@ -32,6 +64,42 @@ public class CommentService {
     @Autowired
     private KafkaEventProducerService kafkaEventProducerService;
 
+    @Autowired
+    private LikeCounterService likeCounterService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private PageCache pageCache;
+
+    @Autowired
+    private RedisUtil redisUtil;
+
+    @Autowired
+    private CommentNovelBackfill commentNovelBackfill;
+
+    @Value("${engagement.moderation.chunk-size:1000}")
+    private int moderationChunkSize = 1000;
+
+    // Most active user and most commented chapter are ranked over this many days
+    @Value("${engagement.moderation.top-window-days:30}")
+    private int moderationTopWindowDays = 30;
+
+    // One worker so background purges run one after another instead of competing for row locks
+    private final ExecutorService moderationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "comment-moderation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void registerLikeFlushListener() {
+        // like_cnt changes when buffered likes are flushed, so that is when cached pages go stale
+        likeCounterService.onCommentLikesFlushed(
+                ids -> evictChapterPages(commentMapper.selectChapterIdsByIds(new ArrayList<>(ids))));
+    }
+
     /**
      * Create a new comment
      * Users can only have one comment per chapter
@@ -53,16 +121,23 @@ public class CommentService {
         Comment comment = new Comment();
         comment.setUserId(userId);
         comment.setChapterId(request.getChapterId());
+        // Cached by the existence check above; left null for CommentNovelBackfill if it cannot be resolved
+        ChapterDetailResponseDTO chapter = contentServiceClient.getChapter(request.getChapterId());
+        comment.setNovelId(chapter != null ? chapter.getNovelId() : null);
         comment.setContent(request.getContent().trim());
         comment.setLikeCnt(0);
         comment.setIsSpoiler(request.getIsSpoiler() != null ? request.getIsSpoiler() : false);
         Date now = new Date();
         comment.setCreateTime(now);
         comment.setUpdateTime(now);
+        // Resolved before the insert: its rollup triggers hold the chapter's row locks until commit
+        String username = usernameOf(userId);
 
         commentMapper.insertSelective(comment);
+        evictChapterPages(Collections.singletonList(request.getChapterId()));
+        leaderboardService.recordComment(comment);
 
-        // Publish Kafka event for gamification
+        // Queue Kafka event for gamification; the outbox relay sends it after commit
         kafkaEventProducerService.publishCommentCreatedEvent(
                 comment.getId(),
                 userId,
@@ -71,7 +146,7 @@ public class CommentService {
                 request.getIsSpoiler()
         );
 
-        return toResponseDTO(comment, userId);
+        return buildResponseDTO(comment, userId, username, chapter);
     }
 
      /**
@@ -108,7 +183,14 @@ public class CommentService {
 
         if (hasChanges) {
             existingComment.setUpdateTime(new Date());
-            commentMapper.updateByPrimaryKeySelective(existingComment);
+            // Write only the edited columns so a stale like_cnt does not overwrite flushed likes
+            Comment update = new Comment();
+            update.setId(existingComment.getId());
+            update.setContent(existingComment.getContent());
+            update.setIsSpoiler(existingComment.getIsSpoiler());
+            update.setUpdateTime(existingComment.getUpdateTime());
+            commentMapper.updateByPrimaryKeySelective(update);
+            evictChapterPages(Collections.singletonList(existingComment.getChapterId()));
         }
 
         return toResponseDTO(existingComment, userId);
@@ -131,6 +213,10 @@ public class CommentService {
         }
 
         int result = commentMapper.deleteByPrimaryKey(commentId);
+        if (result > 0) {
+            evictChapterPages(Collections.singletonList(comment.getChapterId()));
+            leaderboardService.removeComments(Collections.singletonList(comment));
+        }
         return result > 0;
     }
 
@@ -150,10 +236,7 @@ public class CommentService {
      */
     public CommentListResponseDTO getCommentsByChapter(Integer chapterId, UUID currentUserId,
                                                        int page, int size, String sort, String order) {
-        // Check if chapter exists via content service
-        if (!contentServiceClient.chapterExists(chapterId)) {
-            throw new ResourceNotFoundException("Chapter not found");
-        }
+        requireListedChapter(chapterId);
 
         // Validate and set defaults
         if (page < 0) page = 0;
@@ -172,22 +255,93 @@ public class CommentService {
                 .size(size)
                 .build();
 
+        String variant = sort + ":" + order.toLowerCase();
+        if (page == 0 && size == DEFAULT_PAGE_SIZE && CACHED_PAGE_VARIANTS.contains(variant)) {
+            // Cached without a viewer; ownership flags are filled in per request
+            CommentListResponseDTO cached = pageCache.get(() -> redisUtil.chapterCommentsKey(chapterId, variant),
+                    CommentListResponseDTO.class, () -> loadCommentsPage(request, null));
+            return withOwnership(cached, currentUserId);
+        }
+        return loadCommentsPage(request, currentUserId);
+    }
+
+    /**
+     * Existence check for the chapter listings. While content-service is unavailable the page is
+     * served unchecked, without chapter titles; an unknown chapter simply has no comments to list.
+     */
+    private void requireListedChapter(Integer chapterId) {
+        boolean exists;
+        try {
+            exists = contentServiceClient.chapterExists(chapterId);
+        } catch (ServiceUnavailableException e) {
+            log.debug("Listing comments of chapter {} unchecked: {}", chapterId, e.getMessage());
+            return;
+        }
+        if (!exists) {
+            throw new ResourceNotFoundException("Chapter not found");
+        }
+    }
+
+    private CommentListResponseDTO loadCommentsPage(CommentSearchRequestDTO request, UUID currentUserId) {
         List<Comment> comments = commentMapper.selectCommentsWithPagination(request);
         long totalCount = commentMapper.countComments(request);
 
-        List<CommentResponseDTO> commentDTOs = comments.stream()
-                .map(c -> toResponseDTO(c, currentUserId))
-                .collect(Collectors.toList());
+        List<CommentResponseDTO> commentDTOs = toResponseDTOs(comments, currentUserId);
 
+        int size = request.getSize();
         int totalPages = (int) Math.ceil((double) totalCount / size);
+        boolean hasNext = request.getPage() + 1 < totalPages;
 
         return CommentListResponseDTO.builder()
                 .comments(commentDTOs)
                 .totalCount(totalCount)
                 .totalPages(totalPages)
-                .currentPage(page)
+                .currentPage(request.getPage())
                 .pageSize(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? nextCursor(comments, request.getSort(), request.getOrder()) : null)
+                .build();
+    }
+
+    /**
+     * Copy of a shared cached page with isOwnComment set for the current user
+     */
+    private CommentListResponseDTO withOwnership(CommentListResponseDTO page, UUID currentUserId) {
+        List<CommentResponseDTO> comments = page.getComments() == null ? new ArrayList<>() : page.getComments().stream()
+                .map(c -> new CommentResponseDTO(c.getId(), c.getUserId(), c.getUsername(), c.getChapterId(),
+                        c.getChapterTitle(), c.getContent(), c.getLikeCnt(), c.getIsSpoiler(),
+                        c.getCreateTime(), c.getUpdateTime(),
+                        currentUserId != null && currentUserId.equals(c.getUserId())))
+                .collect(Collectors.toList());
+        return new CommentListResponseDTO(comments, page.getTotalCount(), page.getTotalPages(),
+                page.getCurrentPage(), page.getPageSize(), page.isHasNext(), page.getNextCursor());
+    }
+
+    /**
+     * Get the page of chapter comments after a keyset cursor.
+     * Sort and order come from the cursor; the exact total is only counted when requested.
+     */
+    public CommentListResponseDTO getCommentsByChapterAfterCursor(Integer chapterId, UUID currentUserId,
+                                                                  PageCursor cursor, int size, boolean includeTotal) {
+        cursor.requireSortIn(CURSOR_SORTS);
+        requireListedChapter(chapterId);
+        if (size <= 0) size = 20;
+        if (size > 100) size = 100;
+
+        // Fetch one extra row to know whether another page follows
+        CommentSearchRequestDTO request = CommentSearchRequestDTO.builder()
+                .chapterId(chapterId)
+                .sort(cursor.getSort())
+                .order(cursor.getOrder())
+                .page(0)
+                .size(size + 1)
+                .cursor(cursor)
                 .build();
+
+        List<Comment> comments = commentMapper.selectCommentsWithPagination(request);
+        long totalCount = includeTotal ? commentMapper.countComments(request) : -1;
+
+        return toCursorPage(comments, size, totalCount, cursor, currentUserId);
     }
 
     /**
@@ -212,40 +366,31 @@ public class CommentService {
             request.setOrder("desc");
         }
 
-        // Get chapter IDs for this novel from content service
-        List<Integer> chapterIds = contentServiceClient.getChapterIdsByNovelId(novelId);
-        if (chapterIds.isEmpty()) {
-            // No chapters found, return empty result
-            return CommentListResponseDTO.builder()
-                    .comments(new ArrayList<>())
-                    .totalCount(0L)
-                    .totalPages(0)
-                    .currentPage(request.getPage())
-                    .pageSize(request.getSize())
-                    .build();
-        }
-
+        List<Integer> unfilledChapterIds = unfilledChapterIds(novelId);
         List<Comment> comments = commentMapper.selectCommentsByNovelWithPagination(
-                chapterIds,
+                novelId,
+                unfilledChapterIds,
                 request.getIsSpoiler(),
                 request.getSearch(),
                 request.getSort(),
                 request.getOrder(),
                 request.getPage(),
-                request.getSize()
+                request.getSize(),
+                null
         );
 
         long totalCount = commentMapper.countCommentsByNovel(
-                chapterIds,
+                novelId,
+                unfilledChapterIds,
                 request.getIsSpoiler(),
-                request.getSearch()
+                request.getSearch(),
+                request.getSort()
         );
 
-        List<CommentResponseDTO> commentDTOs = comments.stream()
-                .map(c -> toResponseDTO(c, currentUserId))
-                .collect(Collectors.toList());
+        List<CommentResponseDTO> commentDTOs = toResponseDTOs(comments, currentUserId);
 
         int totalPages = (int) Math.ceil((double) totalCount / request.getSize());
+        boolean hasNext = request.getPage() + 1 < totalPages;
 
         return CommentListResponseDTO.builder()
                 .comments(commentDTOs)
@@ -253,9 +398,43 @@ public class CommentService {
                 .totalPages(totalPages)
                 .currentPage(request.getPage())
                 .pageSize(request.getSize())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? nextCursor(comments, request.getSort(), request.getOrder()) : null)
                 .build();
     }
 
+    /**
+     * Get the page of novel comments after the keyset cursor in the request.
+     * Sort and order come from the cursor; the exact total is only counted when requested.
+     */
+    public CommentListResponseDTO getCommentsByNovelAfterCursor(Integer novelId, UUID currentUserId,
+                                                                CommentSearchRequestDTO request, boolean includeTotal) {
+        PageCursor cursor = request.getCursor().requireSortIn(CURSOR_SORTS);
+        int size = request.getSize();
+        if (size <= 0) size = 20;
+        if (size > 100) size = 100;
+
+        // Fetch one extra row to know whether another page follows
+        List<Integer> unfilledChapterIds = unfilledChapterIds(novelId);
+        List<Comment> comments = commentMapper.selectCommentsByNovelWithPagination(
+                novelId,
+                unfilledChapterIds,
+                request.getIsSpoiler(),
+                request.getSearch(),
+                cursor.getSort(),
+                cursor.getOrder(),
+                0,
+                size + 1,
+                cursor
+        );
+        long totalCount = includeTotal
+                ? commentMapper.countCommentsByNovel(novelId, unfilledChapterIds, request.getIsSpoiler(), request.getSearch(),
+                        cursor.getSort())
+                : -1;
+
+        return toCursorPage(comments, size, totalCount, cursor, currentUserId);
+    }
+
     /**
      * Get all comments with pagination and filtering
      */
@@ -274,9 +453,7 @@ public class CommentService {
         List<Comment> comments = commentMapper.selectCommentsWithPagination(request);
         long totalCount = commentMapper.countComments(request);
 
-        List<CommentResponseDTO> commentDTOs = comments.stream()
-                .map(c -> toResponseDTO(c, currentUserId))
-                .collect(Collectors.toList());
+        List<CommentResponseDTO> commentDTOs = toResponseDTOs(comments, currentUserId);
 
         int totalPages = (int) Math.ceil((double) totalCount / request.getSize());
 
@@ -294,31 +471,37 @@ public class CommentService {
      */
     public List<CommentResponseDTO> getUserComments(UUID userId) {
         List<Comment> comments = commentMapper.selectByUserId(userId);
-        return comments.stream()
-                .map(c -> toResponseDTO(c, userId))
-                .collect(Collectors.toList());
+        return toResponseDTOs(comments, userId);
     }
 
     /**
-     * Toggle like on a comment (increment like count)
-     * In a real application, you would need a separate table to track user likes
+     * Like or unlike a comment
+     * Idempotent per user: repeating a like or unlike does not change the count.
+     * The like_cnt update is buffered and flushed in batches by LikeCounterService.
      */
-    @Transactional
     public CommentResponseDTO toggleLike(Integer commentId, UUID currentUserId, boolean isLiking) {
+        // The like statements only match an existing comment, so there is no lookup before the write
+        int changed;
+        try {
+            changed = isLiking
+                    ? commentMapper.insertLike(commentId, currentUserId)
+                    : commentMapper.deleteLike(commentId, currentUserId);
+        } catch (DataIntegrityViolationException e) {
+            // Deleted while the like was being inserted
+            throw new ResourceNotFoundException("Comment not found");
+        }
         Comment comment = commentMapper.selectByPrimaryKey(commentId);
         if (comment == null) {
             throw new ResourceNotFoundException("Comment not found");
         }
-
-        // Increment or decrement like count
-        int increment = isLiking ? 1 : -1;
-        int result = commentMapper.updateLikeCount(commentId, increment);
-
-        if (result > 0) {
-            // Fetch updated comment
-            comment = commentMapper.selectByPrimaryKey(commentId);
+        if (changed > 0) {
+            int delta = isLiking ? 1 : -1;
+            likeCounterService.addCommentLikes(commentId, delta);
+            leaderboardService.recordLike(comment, delta);
         }
 
+        int likeCnt = comment.getLikeCnt() != null ? comment.getLikeCnt() : 0;
+        comment.setLikeCnt(Math.max(likeCnt + likeCounterService.pendingCommentLikes(commentId), 0));
         return toResponseDTO(comment, currentUserId);
     }
 
@@ -338,40 +521,15 @@ public class CommentService {
             throw new ResourceNotFoundException("Chapter not found");
         }
 
-        List<Comment> comments = commentMapper.selectByChapterId(chapterId);
-
-        CommentStatisticsDTO stats = CommentStatisticsDTO.builder()
-                .chapterId(chapterId)
-                .chapterTitle(contentServiceClient.getChapter(chapterId).getTitle())
-                .totalComments((long) comments.size())
-                .build();
-
-        if (!comments.isEmpty()) {
-            long spoilerComments = comments.stream()
-                    .filter(Comment::getIsSpoiler)
-                    .count();
-
-            stats.setSpoilerComments(spoilerComments);
-            stats.setNonSpoilerComments(comments.size() - spoilerComments);
-
-            // Calculate average likes
-            double avgLikes = comments.stream()
-                    .mapToInt(Comment::getLikeCnt)
-                    .average()
-                    .orElse(0.0);
-            stats.setAvgLikesPerComment((int) Math.round(avgLikes));
-
-            // Find most liked comment
-            Comment mostLiked = comments.stream()
-                    .max((c1, c2) -> Integer.compare(c1.getLikeCnt(), c2.getLikeCnt()))
-                    .orElse(null);
+        // Counts, average likes and most liked comment are aggregated in the database
+        CommentStatisticsDTO stats = commentMapper.selectChapterCommentStats(chapterId);
+        if (stats == null) {
+            stats = new CommentStatisticsDTO();
+        }
 
-            if (mostLiked != null) {
-                stats.setMostLikedCommentId(mostLiked.getId());
-            }
-        } else {
-            stats.setSpoilerComments(0L);
-            stats.setNonSpoilerComments(0L);
+        stats.setChapterId(chapterId);
+        stats.setChapterTitle(contentServiceClient.getChapter(chapterId).getTitle());
+        if (stats.getAvgLikesPerComment() == null) {
             stats.setAvgLikesPerComment(0);
         }
 
@@ -380,8 +538,8 @@ public class CommentService {
 
     /**
      * Batch delete comments (Admin only)
+     * Deletes in chunks of engagement.moderation.chunk-size ids, each chunk committed on its own.
      */
-    @Transactional
     public int batchDeleteComments(CommentBatchDeleteRequestDTO request, boolean isAdmin) {
         if (!isAdmin) {
             throw new IllegalArgumentException("Only administrators can perform batch delete");
@@ -392,14 +550,11 @@ public class CommentService {
         }
 
         int deletedCount = 0;
-        for (Integer commentId : request.getCommentIds()) {
-            Comment comment = commentMapper.selectByPrimaryKey(commentId);
-            if (comment != null) {
-                int result = commentMapper.deleteByPrimaryKey(commentId);
-                if (result > 0) {
-                    deletedCount++;
-                }
-            }
+        for (List<Integer> chunk : chunks(request.getCommentIds())) {
+            List<Comment> comments = commentMapper.selectByIds(chunk);
+            deletedCount += commentMapper.batchDeleteByIds(chunk);
+            evictChapterPages(comments.stream().map(Comment::getChapterId).distinct().toList());
+            leaderboardService.removeComments(comments);
         }
 
         return deletedCount;
@@ -409,6 +564,112 @@ public class CommentService {
      * Convert Comment entity to CommentResponseDTO
      */
     private CommentResponseDTO toResponseDTO(Comment comment, UUID currentUserId) {
+        String username = usernameOf(comment.getUserId());
+
+        // Get chapter title from ContentService; rendered without it while content-service is down
+        ChapterDetailResponseDTO chapter;
+        try {
+            chapter = contentServiceClient.getChapter(comment.getChapterId());
+        } catch (ServiceUnavailableException e) {
+            chapter = null;
+        }
+
+        return buildResponseDTO(comment, currentUserId, username, chapter);
+    }
+
+    /**
+     * Username from UserService, or null when it cannot be resolved
+     */
+    private String usernameOf(UUID userId) {
+        try {
+            return userServiceClient.getUsernameById(userId);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Trim the look-ahead row and build a cursor page; totalCount -1 means not counted
+     */
+    private CommentListResponseDTO toCursorPage(List<Comment> comments, int size, long totalCount,
+                                                PageCursor cursor, UUID currentUserId) {
+        boolean hasNext = comments.size() > size;
+        List<Comment> page = hasNext ? comments.subList(0, size) : comments;
+
+        return CommentListResponseDTO.builder()
+                .comments(toResponseDTOs(page, currentUserId))
+                .totalCount(totalCount)
+                .totalPages(totalCount < 0 ? -1 : (int) Math.ceil((double) totalCount / size))
+                .pageSize(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? nextCursor(page, cursor.getSort(), cursor.getOrder()) : null)
+                .build();
+    }
+
+    /**
+     * Chapters of the novel to search for comments still missing novel_id, or null once the backfill is done
+     */
+    private List<Integer> unfilledChapterIds(Integer novelId) {
+        return commentNovelBackfill.isDone() ? null : contentServiceClient.getChapterIdsByNovelId(novelId);
+    }
+
+    /**
+     * Cursor positioned after the last comment of a page; relevance-ranked pages only page by offset
+     */
+    private String nextCursor(List<Comment> comments, String sort, String order) {
+        if (comments.isEmpty() || RELEVANCE_SORT.equals(sort)) {
+            return null;
+        }
+        Comment last = comments.get(comments.size() - 1);
+        if (last.getId() == null) {
+            return null;
+        }
+        PageCursor cursor;
+        if ("hot".equals(sort)) {
+            cursor = PageCursor.afterScore("hot", order, last.getHotScore(), last.getId());
+        } else if ("likeCnt".equals(sort)) {
+            cursor = PageCursor.afterNumber("likeCnt", order, last.getLikeCnt(), last.getId());
+        } else {
+            cursor = PageCursor.afterTime(order, last.getCreateTime(), last.getId());
+        }
+        return cursor.encode();
+    }
+
+    /**
+     * Convert a page of Comment entities to CommentResponseDTOs.
+     * Distinct users and chapters are resolved with one batch call each instead of per row.
+     */
+    private List<CommentResponseDTO> toResponseDTOs(List<Comment> comments, UUID currentUserId) {
+        if (comments == null || comments.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<UUID> userIds = new LinkedHashSet<>();
+        Set<Integer> chapterIds = new LinkedHashSet<>();
+        for (Comment comment : comments) {
+            if (comment.getUserId() != null) {
+                userIds.add(comment.getUserId());
+            }
+            if (comment.getChapterId() != null) {
+                chapterIds.add(comment.getChapterId());
+            }
+        }
+
+        Map<UUID, String> usernames = userServiceClient.getUsernamesByIds(userIds);
+        Map<Integer, ChapterDetailResponseDTO> chapters = contentServiceClient.getChaptersByIds(chapterIds);
+
+        return comments.stream()
+                .map(c -> buildResponseDTO(c, currentUserId,
+                        c.getUserId() != null ? usernames.getOrDefault(c.getUserId(), "Unknown User") : "Unknown User",
+                        c.getChapterId() != null ? chapters.get(c.getChapterId()) : null))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Assemble CommentResponseDTO from a comment and its already resolved remote metadata
+     */
+    private CommentResponseDTO buildResponseDTO(Comment comment, UUID currentUserId,
+                                                String username, ChapterDetailResponseDTO chapter) {
         CommentResponseDTO dto = CommentResponseDTO.builder()
                 .id(comment.getId())
                 .userId(comment.getUserId())
@@ -419,18 +680,9 @@ public class CommentService {
                 .createTime(comment.getCreateTime())
                 .updateTime(comment.getUpdateTime())
                 .isOwnComment(currentUserId != null && currentUserId.equals(comment.getUserId()))
+                .username(username)
                 .build();
 
-        // Get username from UserService
-        try {
-            String username = userServiceClient.getUsernameById(comment.getUserId());
-            dto.setUsername(username);
-        } catch (Exception e) {
-            dto.setUsername(null);
-        }
-
-        // Get chapter title from ChapterMapper
-        ChapterDetailResponseDTO chapter = contentServiceClient.getChapter(comment.getChapterId());
         if (chapter != null) {
             dto.setChapterTitle(chapter.getTitle());
         } else {
@@ -439,57 +691,36 @@ public class CommentService {
 
         return dto;
     }
+
     /**
      * Get moderation statistics for admin dashboard
      */
     public CommentModerationStatsDTO getModerationStatistics() {
-        CommentModerationStatsDTO stats = new CommentModerationStatsDTO();
-
-        // Get all comments for analysis
-        CommentSearchRequestDTO allCommentsRequest = CommentSearchRequestDTO.builder()
-                .page(0)
-                .size(Integer.MAX_VALUE)
-                .build();
-
-        long totalComments = commentMapper.countComments(allCommentsRequest);
-        stats.setTotalComments(totalComments);
+        // Served from the daily rollups, so the cost does not grow with the comment table
+        CommentModerationStatsDTO stats = commentDailyStatsMapper.selectTotals();
+        if (stats == null) {
+            stats = new CommentModerationStatsDTO();
+        }
 
-        // Count spoiler vs non-spoiler
-        CommentSearchRequestDTO spoilerRequest = CommentSearchRequestDTO.builder()
-                .isSpoiler(true)
-                .page(0)
-                .size(1)
-                .build();
-        long spoilerCount = commentMapper.countComments(spoilerRequest);
-        stats.setSpoilerComments(spoilerCount);
-        stats.setNonSpoilerComments(totalComments - spoilerCount);
-
-        // Time-based statistics
-        stats.setCommentsToday(commentMapper.countCommentsInLastDays(1));
-        stats.setCommentsThisWeek(commentMapper.countCommentsInLastDays(7));
-        stats.setCommentsThisMonth(commentMapper.countCommentsInLastDays(30));
-
-        // Get most active user
-        Comment mostActiveUserComment = commentMapper.selectMostActiveUser();
-        if (mostActiveUserComment != null) {
-            String username = userServiceClient.getUsernameById(mostActiveUserComment.getUserId());
+        CommentCountDTO mostActiveUser = commentDailyStatsMapper.selectMostActiveUser(moderationTopWindowDays);
+        if (mostActiveUser != null) {
+            String username = userServiceClient.getUsernameById(mostActiveUser.getUserId());
             stats.setMostActiveUsername(username != null ? username : "Unknown");
-            stats.setMostActiveUserCommentCount(
-                    commentMapper.countCommentsByUser(mostActiveUserComment.getUserId())
-            );
-        }
-
-        // Get most commented chapter
-        Comment mostCommentedChapterComment = commentMapper.selectMostCommentedChapter();
-        if (mostCommentedChapterComment != null) {
-            stats.setMostCommentedChapterId(mostCommentedChapterComment.getChapterId());
-            ChapterDetailResponseDTO chapter = contentServiceClient.getChapter(mostCommentedChapterComment.getChapterId());
-            if (chapter != null) {
-                stats.setMostCommentedChapterTitle(chapter.getTitle());
+            stats.setMostActiveUserCommentCount(mostActiveUser.getCommentCount());
+        }
+
+        CommentCountDTO mostCommentedChapter = commentDailyStatsMapper.selectMostCommentedChapter(moderationTopWindowDays);
+        if (mostCommentedChapter != null) {
+            stats.setMostCommentedChapterId(mostCommentedChapter.getChapterId());
+            try {
+                ChapterDetailResponseDTO chapter = contentServiceClient.getChapter(mostCommentedChapter.getChapterId());
+                if (chapter != null) {
+                    stats.setMostCommentedChapterTitle(chapter.getTitle());
+                }
+            } catch (ServiceUnavailableException e) {
+                log.debug("Most commented chapter {} left untitled: {}", mostCommentedChapter.getChapterId(), e.getMessage());
             }
-            stats.setMostCommentedChapterCount(
-                    commentMapper.countByChapterId(mostCommentedChapterComment.getChapterId())
-            );
+            stats.setMostCommentedChapterCount(mostCommentedChapter.getCommentCount());
         }
 
         return stats;
@@ -497,63 +728,179 @@ public class CommentService {
 
     /**
      * Delete all comments by a specific user (admin moderation)
+     * Runs as repeated bounded deletes, each committed on its own, so a large purge
+     * never holds one long transaction.
      */
-    @Transactional
     public int deleteAllUserComments(UUID userId) {
-        List<Comment> userComments = commentMapper.selectByUserId(userId);
-        int deletedCount = 0;
-
-        for (Comment comment : userComments) {
-            int result = commentMapper.deleteByPrimaryKey(comment.getId());
-            if (result > 0) {
-                deletedCount++;
-            }
-        }
-
+        List<Integer> chapterIds = commentMapper.selectChapterIdsByUserId(userId);
+        int deletedCount = deleteInChunks(() -> commentMapper.deleteByUserIdLimited(userId, moderationChunkSize));
+        evictChapterPages(chapterIds);
+        leaderboardService.removeMember(LeaderboardService.Board.USERS, userId.toString());
         return deletedCount;
     }
 
     /**
      * Delete all comments for a specific chapter (admin cleanup)
      */
-    @Transactional
     public int deleteAllChapterComments(Integer chapterId) {
-        List<Comment> chapterComments = commentMapper.selectByChapterId(chapterId);
-        int deletedCount = 0;
+        int deletedCount = deleteInChunks(() -> commentMapper.deleteByChapterIdLimited(chapterId, moderationChunkSize));
+        evictChapterPages(Collections.singletonList(chapterId));
+        leaderboardService.removeMember(LeaderboardService.Board.CHAPTERS, chapterId.toString());
+        return deletedCount;
+    }
 
-        for (Comment comment : chapterComments) {
-            int result = commentMapper.deleteByPrimaryKey(comment.getId());
-            if (result > 0) {
-                deletedCount++;
-            }
-        }
+    /**
+     * Queue deleteAllUserComments to run in the background
+     */
+    public void deleteAllUserCommentsInBackground(UUID userId) {
+        moderationExecutor.execute(() -> runModerationJob("user " + userId, () -> deleteAllUserComments(userId)));
+    }
 
-        return deletedCount;
+    /**
+     * Queue deleteAllChapterComments to run in the background
+     */
+    public void deleteAllChapterCommentsInBackground(Integer chapterId) {
+        moderationExecutor.execute(() -> runModerationJob("chapter " + chapterId, () -> deleteAllChapterComments(chapterId)));
     }
 
     /**
      * Bulk update spoiler status for multiple comments (admin moderation)
      */
-    @Transactional
     public int bulkUpdateSpoilerStatus(CommentBulkSpoilerUpdateRequestDTO request) {
         if (request.getCommentIds() == null || request.getCommentIds().isEmpty()) {
             throw new IllegalArgumentException("Comment IDs list cannot be empty");
         }
 
         int updatedCount = 0;
+        for (List<Integer> chunk : chunks(request.getCommentIds())) {
+            updatedCount += commentMapper.batchUpdateSpoilerStatus(chunk, request.getIsSpoiler());
+            evictChapterPages(commentMapper.selectChapterIdsByIds(chunk));
+        }
 
-        for (Integer commentId : request.getCommentIds()) {
-            Comment comment = commentMapper.selectByPrimaryKey(commentId);
-            if (comment != null) {
-                comment.setIsSpoiler(request.getIsSpoiler());
-                comment.setUpdateTime(new Date());
-                int result = commentMapper.updateByPrimaryKeySelective(comment);
-                if (result > 0) {
-                    updatedCount++;
-                }
+        return updatedCount;
+    }
+
+    /**
+     * Users with the most comments in the window, across all novels or within one
+     */
+    public List<LeaderboardEntryDTO> getTopCommenters(Integer novelId, String window, int limit) {
+        List<LeaderboardEntryDTO> entries = leaderboardService.top(LeaderboardService.Board.USERS, novelId,
+                LeaderboardWindow.fromParam(window), leaderboardSize(limit));
+        if (entries.isEmpty()) {
+            return entries;
+        }
+
+        Set<UUID> userIds = entries.stream()
+                .map(entry -> UUID.fromString(entry.getId()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<UUID, String> usernames = userServiceClient.getUsernamesByIds(userIds);
+        entries.forEach(entry -> entry.setName(usernames.getOrDefault(UUID.fromString(entry.getId()), "Unknown User")));
+        return entries;
+    }
+
+    /**
+     * Chapters with the most comments in the window, across all novels or within one
+     */
+    public List<LeaderboardEntryDTO> getMostCommentedChapters(Integer novelId, String window, int limit) {
+        List<LeaderboardEntryDTO> entries = leaderboardService.top(LeaderboardService.Board.CHAPTERS, novelId,
+                LeaderboardWindow.fromParam(window), leaderboardSize(limit));
+        if (entries.isEmpty()) {
+            return entries;
+        }
+
+        Set<Integer> chapterIds = entries.stream()
+                .map(entry -> Integer.valueOf(entry.getId()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Integer, ChapterDetailResponseDTO> chapters = contentServiceClient.getChaptersByIds(chapterIds);
+        entries.forEach(entry -> {
+            ChapterDetailResponseDTO chapter = chapters.get(Integer.valueOf(entry.getId()));
+            entry.setName(chapter != null ? chapter.getTitle() : "Chapter not found");
+        });
+        return entries;
+    }
+
+    /**
+     * Comments with the most likes received in the window, across all novels or within one.
+     * Comments deleted since they were ranked are left out and dropped from the board.
+     */
+    public List<LeaderboardEntryDTO> getMostLikedComments(Integer novelId, String window, int limit, UUID currentUserId) {
+        List<LeaderboardEntryDTO> entries = leaderboardService.top(LeaderboardService.Board.COMMENTS, novelId,
+                LeaderboardWindow.fromParam(window), leaderboardSize(limit));
+        if (entries.isEmpty()) {
+            return entries;
+        }
+
+        List<Integer> commentIds = entries.stream().map(entry -> Integer.valueOf(entry.getId())).toList();
+        Map<Integer, CommentResponseDTO> comments = toResponseDTOs(commentMapper.selectByIds(commentIds), currentUserId)
+                .stream()
+                .collect(Collectors.toMap(CommentResponseDTO::getId, dto -> dto));
+
+        List<LeaderboardEntryDTO> ranked = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        for (LeaderboardEntryDTO entry : entries) {
+            CommentResponseDTO comment = comments.get(Integer.valueOf(entry.getId()));
+            if (comment == null) {
+                deleted.add(entry.getId());
+                continue;
             }
+            entry.setRank(ranked.size() + 1);
+            entry.setComment(comment);
+            ranked.add(entry);
         }
+        leaderboardService.discard(LeaderboardService.Board.COMMENTS, novelId, deleted);
+        return ranked;
+    }
 
-        return updatedCount;
+    /**
+     * Queue a rebuild of the comment leaderboards from the database
+     */
+    public void rebuildLeaderboardsInBackground() {
+        leaderboardService.rebuildInBackground();
+    }
+
+    @PreDestroy
+    public void shutdownModerationExecutor() {
+        moderationExecutor.shutdownNow();
+    }
+
+    private void evictChapterPages(Collection<Integer> chapterIds) {
+        if (chapterIds == null || chapterIds.isEmpty()) {
+            return;
+        }
+        pageCache.evictAfterCommit(() -> chapterIds.stream()
+                .filter(Objects::nonNull)
+                .forEach(redisUtil::invalidateChapterComments));
+    }
+
+    private int deleteInChunks(IntSupplier deleteChunk) {
+        int deletedCount = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk.getAsInt();
+            deletedCount += deleted;
+        } while (deleted >= moderationChunkSize);
+        return deletedCount;
+    }
+
+    private void runModerationJob(String target, IntSupplier job) {
+        try {
+            int deletedCount = job.getAsInt();
+            log.info("Background moderation deleted {} comment(s) for {}", deletedCount, target);
+        } catch (RuntimeException e) {
+            log.error("Background moderation failed for {}", target, e);
+        }
+    }
+
+    private static int leaderboardSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LEADERBOARD_SIZE));
+    }
+
+    private List<List<Integer>> chunks(List<Integer> ids) {
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += moderationChunkSize) {
+            chunks.add(distinctIds.subList(from, Math.min(from + moderationChunkSize, distinctIds.size())));
+        }
+        return chunks;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package com.yushan.engagement_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yushan.engagement_service.dao.OutboxEventMapper;
+import com.yushan.engagement_service.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes engagement events to the event_outbox table inside the caller's transaction,
+ * so an event exists exactly when the row it describes was committed.
+ * OutboxRelay publishes the rows to Kafka afterwards.
+ */
+@Service
+public class EventOutbox {
+
+    @Autowired
+    private OutboxEventMapper outboxEventMapper;
+
+    // Same mapper settings as the Kafka JsonSerializer, so the relayed body is unchanged
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    /**
+     * Queue an event for a Kafka topic as part of the current transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String key, Object event) {
+        OutboxEvent row = new OutboxEvent();
+        row.setTopic(topic);
+        row.setEventKey(key);
+        row.setPayload(toJson(event));
+        outboxEventMapper.insert(row);
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.yushan.engagement_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yushan.engagement_service.util.SpoolFile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fire-and-forget Kafka publishing that never blocks the caller.
+ * Events go into a bounded in-memory queue; when it is full they are appended to a
+ * memory-mapped spool on local disk. A single drainer thread sends to Kafka, spooled events
+ * first, and spools whatever the broker does not acknowledge, backing off while it is down.
+ * Spooled events leave the disk only once Kafka has acknowledged them, so a crash mid-send
+ * replays them after the restart.
+ * Delivery is at-least-once and order is not preserved across a spill, so only events that
+ * tolerate reordering (user activity) belong here; events describing committed rows use the outbox.
+ * Events are dropped, and counted, only when both the queue and the spool are full.
+ */
+@Slf4j
+@Service
+public class EventSpool {
+
+    private static final long IDLE_POLL_MS = 100;
+    private static final long INITIAL_BACKOFF_MS = 100;
+    private static final CompletableFuture<?> SKIPPED =
+            CompletableFuture.failedFuture(new IllegalStateException("Skipped after send failure"));
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${engagement.spool.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${engagement.spool.directory:${java.io.tmpdir}/engagement-spool}")
+    private String directory = System.getProperty("java.io.tmpdir") + "/engagement-spool";
+
+    @Value("${engagement.spool.memory-capacity:10000}")
+    private int memoryCapacity = 10000;
+
+    @Value("${engagement.spool.segment-size:16MB}")
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+    @Value("${engagement.spool.max-segments:8}")
+    private int maxSegments = 8;
+
+    @Value("${engagement.spool.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${engagement.spool.send-timeout:10s}")
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    @Value("${engagement.spool.max-backoff:30s}")
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    private BlockingQueue<SpooledEvent> memory;
+    // Callers take diskLock only on overflow; a ReentrantLock rather than a monitor so a
+    // virtual thread writing the spool does not pin its carrier
+    private final ReentrantLock diskLock = new ReentrantLock();
+    private SpoolFile disk;
+    private Counter overflowed;
+    private Counter drained;
+    private Counter dropped;
+    private Thread drainer;
+    private volatile boolean running;
+
+    record SpooledEvent(String topic, String key, Object value) {
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        open();
+        running = true;
+        drainer = Thread.ofPlatform().name("event-spool-drainer").daemon().start(this::drainLoop);
+    }
+
+    /**
+     * Open the spool and register its metrics without starting the drainer
+     */
+    void open() throws IOException {
+        memory = new ArrayBlockingQueue<>(memoryCapacity);
+        disk = new SpoolFile(Path.of(directory), (int) segmentSize.toBytes(), maxSegments);
+        if (disk.pendingRecords() > 0) {
+            log.info("Replaying {} spooled events from {}", disk.pendingRecords(), directory);
+        }
+
+        Gauge.builder("engagement.spool.depth", memory, BlockingQueue::size)
+                .tag("tier", "memory").description("Events waiting in the in-memory queue").register(meterRegistry);
+        Gauge.builder("engagement.spool.depth", disk, SpoolFile::pendingRecords)
+                .tag("tier", "disk").description("Events waiting in the disk spool").register(meterRegistry);
+        overflowed = Counter.builder("engagement.spool.overflowed")
+                .description("Events written to disk because the queue was full or Kafka failed").register(meterRegistry);
+        drained = Counter.builder("engagement.spool.drained")
+                .description("Events acknowledged by Kafka").register(meterRegistry);
+        dropped = Counter.builder("engagement.spool.dropped")
+                .description("Events lost because the disk spool was full").register(meterRegistry);
+    }
+
+    /**
+     * Queue an event for Kafka without blocking
+     */
+    public void offer(String topic, String key, Object event) {
+        if (!enabled) {
+            kafkaTemplate.send(topic, key, event).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    log.error("Failed to send event to topic: {}", topic, ex);
+                }
+            });
+            return;
+        }
+        SpooledEvent spooled = new SpooledEvent(topic, key, event);
+        if (!memory.offer(spooled)) {
+            spill(spooled);
+        }
+    }
+
+    /**
+     * Send one batch, spooled events first
+     *
+     * @return false when Kafka did not acknowledge every event and the rest stayed in or went back to the spool
+     */
+    boolean drainOnce() throws InterruptedException {
+        List<byte[]> records;
+        diskLock.lock();
+        try {
+            records = disk.peek(batchSize);
+        } finally {
+            diskLock.unlock();
+        }
+        List<SpooledEvent> batch = new ArrayList<>(batchSize);
+        // Record position of each spooled event, so the commit stops at the first one not acknowledged
+        List<Integer> positions = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            SpooledEvent event = decodeSpooled(records.get(i));
+            if (event != null) {
+                batch.add(event);
+                positions.add(i);
+            }
+        }
+        int fromDisk = batch.size();
+        memory.drainTo(batch, batchSize - batch.size());
+        if (batch.isEmpty()) {
+            commitSpooled(records.size());
+            SpooledEvent event = memory.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+            if (event == null) {
+                return true;
+            }
+            batch.add(event);
+        }
+
+        // send() blocks for up to max.block.ms without broker metadata, so stop at the first
+        // synchronous failure rather than paying that wait for every event in the batch
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        boolean brokerDown = false;
+        for (SpooledEvent event : batch) {
+            CompletableFuture<?> send = brokerDown ? SKIPPED : send(event);
+            brokerDown = send.isCompletedExceptionally();
+            sends.add(send);
+        }
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        int delivered = 0;
+        int committed = records.size();
+        for (int i = 0; i < batch.size(); i++) {
+            if (acknowledged(sends.get(i), deadline)) {
+                delivered++;
+            } else if (i < fromDisk) {
+                // Still on disk; it and the records after it are sent again with the next batch
+                committed = Math.min(committed, positions.get(i));
+            } else {
+                spill(batch.get(i));
+            }
+        }
+        commitSpooled(committed);
+        drained.increment(delivered);
+        if (delivered < batch.size()) {
+            log.warn("Kafka did not acknowledge {} of {} events, spooled for retry",
+                    batch.size() - delivered, batch.size());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stop draining and move queued events to disk so they survive the restart
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (disk == null) {
+            return;
+        }
+        running = false;
+        if (drainer != null) {
+            drainer.interrupt();
+            drainer.join(sendTimeout.toMillis());
+        }
+        List<SpooledEvent> remaining = new ArrayList<>();
+        memory.drainTo(remaining);
+        remaining.forEach(this::spill);
+        diskLock.lock();
+        try {
+            disk.close();
+        } finally {
+            diskLock.unlock();
+        }
+    }
+
+    long memoryDepth() {
+        return memory.size();
+    }
+
+    long diskDepth() {
+        return disk.pendingRecords();
+    }
+
+    private void drainLoop() {
+        long backoffMs = INITIAL_BACKOFF_MS;
+        while (running) {
+            try {
+                if (!drainOnce()) {
+                    Thread.sleep(backoffMs);
+                    backoffMs = Math.min(backoffMs * 2, maxBackoff.toMillis());
+                } else {
+                    backoffMs = INITIAL_BACKOFF_MS;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Event spool drainer failed", e);
+            }
+        }
+    }
+
+    private void spill(SpooledEvent event) {
+        overflowed.increment();
+        try {
+            byte[] record = encode(event);
+            boolean appended;
+            diskLock.lock();
+            try {
+                appended = disk.append(record);
+            } finally {
+                diskLock.unlock();
+            }
+            if (!appended) {
+                dropped.increment();
+                log.debug("Event spool full, dropped event for topic: {}", event.topic());
+            }
+        } catch (IOException e) {
+            dropped.increment();
+            log.warn("Failed to spool event for topic {}: {}", event.topic(), e.getMessage());
+        }
+    }
+
+    private SpooledEvent decodeSpooled(byte[] record) {
+        try {
+            return decode(record);
+        } catch (IOException e) {
+            dropped.increment();
+            log.warn("Skipping unreadable spooled event: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void commitSpooled(int count) {
+        if (count == 0) {
+            return;
+        }
+        diskLock.lock();
+        try {
+            disk.commit(count);
+        } catch (IOException e) {
+            log.warn("Failed to trim event spool: {}", e.getMessage());
+        } finally {
+            diskLock.unlock();
+        }
+    }
+
+    private byte[] encode(SpooledEvent event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(event.topic());
+            out.writeUTF(event.key());
+            out.write(objectMapper.writeValueAsBytes(event.value()));
+        }
+        return bytes.toByteArray();
+    }
+
+    private SpooledEvent decode(byte[] record) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            String topic = in.readUTF();
+            String key = in.readUTF();
+            // Sent as a JSON tree, which the JsonSerializer writes unchanged
+            return new SpooledEvent(topic, key, objectMapper.readTree(in.readAllBytes()));
+        }
+    }
+
+    private CompletableFuture<?> send(SpooledEvent event) {
+        try {
+            return kafkaTemplate.send(event.topic(), event.key(), event.value());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static boolean acknowledged(CompletableFuture<?> send, long deadline) {
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Spooled event not acknowledged: {}", e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            // Shutting down; the rest of the batch goes back to the spool
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.dao.CommentMapper;
+import com.yushan.engagement_service.dao.ReviewMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Scores comments and reviews written before hot_score existed. New rows and like flushes are
+ * scored by a database trigger, so this only works through the backlog: one small batch per
+ * table per run, skipping rows a like flush is holding, until nothing is left unscored.
+ */
+@Slf4j
+@Service
+public class HotScoreSweep {
+
+    @Autowired
+    private CommentMapper commentMapper;
+
+    @Autowired
+    private ReviewMapper reviewMapper;
+
+    @Value("${engagement.hot-score.sweep-batch-size:500}")
+    private int batchSize = 500;
+
+    @Scheduled(fixedDelayString = "${engagement.hot-score.sweep-interval-ms:10000}")
+    public void sweep() {
+        sweep(commentMapper::backfillHotScores, "comments");
+        sweep(reviewMapper::backfillHotScores, "reviews");
+    }
+
+    private void sweep(IntUnaryOperator backfill, String target) {
+        try {
+            int scored = backfill.applyAsInt(batchSize);
+            if (scored > 0) {
+                log.info("Scored {} {} for the hot sort", scored, target);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to score {} for the hot sort, will retry: {}", target, e.getMessage());
+        }
+    }
+}
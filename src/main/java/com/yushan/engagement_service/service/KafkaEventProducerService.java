@@ -7,12 +7,10 @@ import com.yushan.engagement_service.dto.event.VoteCreatedEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * Kafka event producer service for publishing engagement events
@@ -22,13 +20,19 @@ import java.util.concurrent.CompletableFuture;
  * - Gamification Service: Award points and unlock achievements
  * - Content Service: Update engagement counts
  * - User Service: Update user activity feeds
+ *
+ * Events describing committed rows (comment, review, vote created) go through the
+ * transactional outbox; user activity goes through the non-blocking EventSpool.
  */
 @Slf4j
 @Service
 public class KafkaEventProducerService {
 
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private EventSpool eventSpool;
 
     @Value("${spring.kafka.producer.topic.comment-events:comment-events}")
     private String commentEventsTopic;
@@ -43,86 +47,64 @@ public class KafkaEventProducerService {
     private String serviceName;
 
     /**
-     * Generic method to publish events to Kafka
-     */
-    private void publishEvent(String topic, String key, Object event) {
-        CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(topic, key, event);
-        
-        future.whenComplete((result, ex) -> {
-            if (ex == null) {
-                log.debug("Successfully sent event to topic: {}, partition: {}, offset: {}", 
-                        topic, result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
-            } else {
-                log.error("Failed to send event to topic: {}", topic, ex);
-            }
-        });
-    }
-
-    /**
-     * Publish comment created event
+     * Queue comment created event in the current transaction
      */
     public void publishCommentCreatedEvent(Integer commentId, UUID userId, Integer chapterId, 
                                          String content, Boolean isSpoiler) {
-        try {
-            CommentCreatedEvent event = CommentCreatedEvent.builder()
-                    .commentId(commentId)
-                    .userId(userId)
-                    .build();
-            
-            publishEvent(commentEventsTopic, commentId.toString(), event);
-            log.info("Published COMMENT_CREATED event for comment ID: {}, user: {}", commentId, userId);
-        } catch (Exception e) {
-            log.error("Failed to publish COMMENT_CREATED event for comment ID: {}", commentId, e);
-        }
+        CommentCreatedEvent event = CommentCreatedEvent.builder()
+                .commentId(commentId)
+                .userId(userId)
+                .build();
+
+        eventOutbox.enqueue(commentEventsTopic, commentId.toString(), event);
+        log.info("Queued COMMENT_CREATED event for comment ID: {}, user: {}", commentId, userId);
     }
 
     /**
-     * Publish review created event
+     * Queue review created event in the current transaction
      */
     public void publishReviewCreatedEvent(Integer reviewId, UUID reviewUuid, UUID userId, 
                                         Integer rating, String title, 
                                         String content, Boolean isSpoiler) {
-        try {
-            ReviewCreatedEvent event = ReviewCreatedEvent.builder()
-                    .reviewId(reviewId)
-                    .userId(userId)
-                    .rating(rating)
-                    .build();
-            
-            publishEvent(reviewEventsTopic, reviewId.toString(), event);
-            log.info("Published REVIEW_CREATED event for review ID: {}, user: {}", reviewId, userId);
-        } catch (Exception e) {
-            log.error("Failed to publish REVIEW_CREATED event for review ID: {}", reviewId, e);
-        }
+        ReviewCreatedEvent event = ReviewCreatedEvent.builder()
+                .reviewId(reviewId)
+                .userId(userId)
+                .rating(rating)
+                .build();
+
+        eventOutbox.enqueue(reviewEventsTopic, reviewId.toString(), event);
+        log.info("Queued REVIEW_CREATED event for review ID: {}, user: {}", reviewId, userId);
     }
 
     /**
-     * Publish vote created event
+     * Queue vote created event in the current transaction
      */
     public void publishVoteCreatedEvent(Integer voteId, UUID userId) {
-        try {
-            VoteCreatedEvent event = VoteCreatedEvent.builder()
-                    .voteId(voteId)
-                    .userId(userId)
-                    .build();
-            
-            publishEvent(voteEventsTopic, voteId.toString(), event);
-            log.info("Published VOTE_CREATED event for vote ID: {}, user: {}", voteId, userId);
-        } catch (Exception e) {
-            log.error("Failed to publish VOTE_CREATED event for vote ID: {}", voteId, e);
-        }
+        VoteCreatedEvent event = VoteCreatedEvent.builder()
+                .voteId(voteId)
+                .userId(userId)
+                .build();
+
+        eventOutbox.enqueue(voteEventsTopic, voteId.toString(), event);
+        log.info("Queued VOTE_CREATED event for vote ID: {}, user: {}", voteId, userId);
     }
 
     /**
-     * Publish user activity event
+     * Publish user activity event without blocking the caller
      */
     public void publishUserActivityEvent(UserActivityEvent event) {
-        try {
-            publishEvent("active", event.userId().toString(), event);
-            log.info("Published user activity event for user: {}, service: {}, endpoint: {}", 
-                     event.userId(), event.serviceName(), event.endpoint());
-        } catch (Exception e) {
-            log.error("Failed to publish user activity event for user: {}", event.userId(), e);
+        eventSpool.offer("active", event.userId().toString(), event);
+        log.debug("Spooled user activity event for user: {}, service: {}, endpoint: {}",
+                event.userId(), event.serviceName(), event.endpoint());
+    }
+
+    /**
+     * Publish a window of coalesced user activity events without blocking the caller
+     */
+    public void publishUserActivityEvents(List<UserActivityEvent> events) {
+        for (UserActivityEvent event : events) {
+            eventSpool.offer("active", event.userId().toString(), event);
         }
+        log.info("Spooled {} user activity events", events.size());
     }
 }
@@ -0,0 +1,462 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.dao.CommentMapper;
+import com.yushan.engagement_service.dto.comment.LeaderboardCountDTO;
+import com.yushan.engagement_service.dto.comment.LeaderboardEntryDTO;
+import com.yushan.engagement_service.entity.Comment;
+import com.yushan.engagement_service.enums.LeaderboardWindow;
+import com.yushan.engagement_service.util.RedisUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Comment leaderboards in Redis sorted sets: users and chapters by comments written, and
+ * comments by likes received. Every board is kept globally and per novel, for the last 24 hours,
+ * the last 7 days and all time, so a top-K read is one ZREVRANGE in O(log N + K).
+ *
+ * Writes go to an hourly bucket and straight into each window's set. When a bucket leaves a
+ * window, expireBuckets subtracts it from that window's set; the boards written in each hour
+ * are recorded so expiry only touches those. Buckets outlive the 7 day window plus a catch-up
+ * period, so expiry that was missed while no instance ran is applied late rather than lost.
+ *
+ * The sets are derived from PostgreSQL and rebuild repopulates them, nightly and on demand.
+ * Bulk purges only drop the purged user or chapter outright; what they contributed to other
+ * boards is corrected by the next rebuild. Redis failures are logged and never fail a write.
+ */
+@Slf4j
+@Service
+public class LeaderboardService {
+
+    public enum Board {
+        USERS("users"),
+        CHAPTERS("chapters"),
+        COMMENTS("comments");
+
+        private final String key;
+
+        Board(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final String PREFIX = "leaderboard:";
+    private static final String TOUCHED_PREFIX = PREFIX + "touched:";
+    private static final String EXPIRED_PREFIX = PREFIX + "expired:";
+    private static final String REBUILD_LOCK = PREFIX + "lock:rebuild";
+    private static final String GLOBAL_SCOPE = "global";
+    private static final long HOUR_MS = Duration.ofHours(1).toMillis();
+    private static final int EXPIRY_CATCH_UP_HOURS = 48;
+    private static final Duration BUCKET_TTL = Duration.ofHours(LeaderboardWindow.WEEK.getHours() + EXPIRY_CATCH_UP_HOURS + 1);
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofHours(1);
+    private static final Set<LeaderboardWindow> ALL_WINDOWS = EnumSet.allOf(LeaderboardWindow.class);
+    private static final Set<LeaderboardWindow> SLIDING_WINDOWS = EnumSet.of(LeaderboardWindow.DAY, LeaderboardWindow.WEEK);
+
+    @Autowired
+    private CommentMapper commentMapper;
+
+    @Autowired
+    private RedisUtil redisUtil;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${engagement.leaderboards.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${engagement.leaderboards.rebuild-batch-size:500}")
+    private int rebuildBatchSize = 500;
+
+    private Clock clock = Clock.systemUTC();
+
+    // Last hour whose bucket this instance has expired per window; only touched by the scheduler
+    private final Map<LeaderboardWindow, Long> expiredThrough = new EnumMap<>(LeaderboardWindow.class);
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "leaderboard-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Count a new comment for its author and chapter
+     */
+    public void recordComment(Comment comment) {
+        long hour = currentHour();
+        afterCommit("comment " + comment.getId(), () -> redisUtil.pipelined(() -> {
+            add(Board.USERS, comment.getNovelId(), String.valueOf(comment.getUserId()), 1, hour, ALL_WINDOWS);
+            add(Board.CHAPTERS, comment.getNovelId(), String.valueOf(comment.getChapterId()), 1, hour, ALL_WINDOWS);
+        }));
+    }
+
+    /**
+     * Uncount deleted comments from the windows that still include the hour they were written,
+     * and drop them from the most liked comments
+     */
+    public void removeComments(List<Comment> comments) {
+        if (comments == null || comments.isEmpty()) {
+            return;
+        }
+        afterCommit(comments.size() + " deleted comment(s)", () -> {
+            long now = currentHour();
+            Map<Long, Set<LeaderboardWindow>> windowsByHour = new HashMap<>();
+            for (Comment comment : comments) {
+                windowsByHour.computeIfAbsent(hourOf(comment.getCreateTime()), hour -> windowsIncluding(hour, now));
+            }
+            Set<String> decremented = new HashSet<>();
+            redisUtil.pipelined(() -> {
+                for (Comment comment : comments) {
+                    long hour = hourOf(comment.getCreateTime());
+                    Set<LeaderboardWindow> windows = windowsByHour.get(hour);
+                    add(Board.USERS, comment.getNovelId(), String.valueOf(comment.getUserId()), -1, hour, windows);
+                    add(Board.CHAPTERS, comment.getNovelId(), String.valueOf(comment.getChapterId()), -1, hour, windows);
+                    for (Board board : List.of(Board.USERS, Board.CHAPTERS)) {
+                        for (String boardKey : boardKeys(board, comment.getNovelId())) {
+                            windows.forEach(window -> decremented.add(windowKey(boardKey, window)));
+                        }
+                    }
+                    for (String boardKey : boardKeys(Board.COMMENTS, comment.getNovelId())) {
+                        for (LeaderboardWindow window : ALL_WINDOWS) {
+                            redisUtil.removeScores(windowKey(boardKey, window), String.valueOf(comment.getId()));
+                        }
+                    }
+                }
+                decremented.forEach(redisUtil::removeNonPositiveScores);
+            });
+        });
+    }
+
+    /**
+     * Count a like (delta 1) or unlike (delta -1) for a comment
+     */
+    public void recordLike(Comment comment, int delta) {
+        long hour = currentHour();
+        afterCommit("like of comment " + comment.getId(), () -> redisUtil.pipelined(() -> {
+            add(Board.COMMENTS, comment.getNovelId(), String.valueOf(comment.getId()), delta, hour, ALL_WINDOWS);
+            if (delta < 0) {
+                for (String boardKey : boardKeys(Board.COMMENTS, comment.getNovelId())) {
+                    ALL_WINDOWS.forEach(window -> redisUtil.removeNonPositiveScores(windowKey(boardKey, window)));
+                }
+            }
+        }));
+    }
+
+    /**
+     * Drop a member from every scope, window and bucket of a board, e.g. a user whose comments were purged
+     */
+    public void removeMember(Board board, String member) {
+        afterCommit(board.key + " member " + member, () -> {
+            Set<String> keys = redisUtil.scanKeys(PREFIX + board.key + ":*");
+            redisUtil.pipelined(() -> keys.forEach(key -> redisUtil.removeScores(key, member)));
+        });
+    }
+
+    /**
+     * Drop members of one scope that no longer exist, e.g. comments deleted by a purge
+     */
+    public void discard(Board board, Integer novelId, Collection<String> members) {
+        if (members.isEmpty()) {
+            return;
+        }
+        afterCommit(members.size() + " stale " + board.key, () -> redisUtil.pipelined(() -> {
+            String boardKey = boardKey(board, novelId);
+            for (LeaderboardWindow window : ALL_WINDOWS) {
+                redisUtil.removeScores(windowKey(boardKey, window), members.toArray());
+            }
+        }));
+    }
+
+    /**
+     * Highest ranked members of a board, globally or for one novel; empty if Redis is unavailable
+     */
+    public List<LeaderboardEntryDTO> top(Board board, Integer novelId, LeaderboardWindow window, int limit) {
+        List<ZSetOperations.TypedTuple<Object>> scores;
+        try {
+            scores = redisUtil.getTopScores(windowKey(boardKey(board, novelId), window), limit);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read {} leaderboard: {}", board.key, e.getMessage());
+            return new ArrayList<>();
+        }
+
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(scores.size());
+        for (ZSetOperations.TypedTuple<Object> score : scores) {
+            entries.add(LeaderboardEntryDTO.builder()
+                    .rank(entries.size() + 1)
+                    .id(String.valueOf(score.getValue()))
+                    .score(score.getScore() != null ? Math.round(score.getScore()) : 0L)
+                    .build());
+        }
+        return entries;
+    }
+
+    /**
+     * Subtract buckets that have left a sliding window from that window's sets
+     */
+    @Scheduled(fixedDelayString = "${engagement.leaderboards.expire-interval-ms:60000}")
+    public void expireBuckets() {
+        if (!enabled) {
+            return;
+        }
+        long hour = currentHour();
+        for (LeaderboardWindow window : SLIDING_WINDOWS) {
+            long last = hour - window.getHours();
+            long from = Math.max(expiredThrough.getOrDefault(window, Long.MIN_VALUE) + 1, last - EXPIRY_CATCH_UP_HOURS);
+            try {
+                for (long bucket = from; bucket <= last; bucket++) {
+                    // Whichever instance claims the bucket first expires it
+                    if (redisUtil.setIfAbsent(expiredKey(window, bucket), "1", BUCKET_TTL)) {
+                        expireBucket(window, bucket);
+                    }
+                    expiredThrough.put(window, bucket);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to expire {} leaderboard buckets, will retry: {}", window.getParam(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Hands the nightly rebuild to the rebuild thread so it does not hold up the other scheduled jobs
+     */
+    @Scheduled(cron = "${engagement.leaderboards.rebuild-cron:0 30 4 * * *}")
+    public void scheduledRebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildInBackground();
+    }
+
+    /**
+     * Queue rebuild to run in the background
+     */
+    public void rebuildInBackground() {
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Leaderboard rebuild failed", e);
+            }
+        });
+    }
+
+    /**
+     * Replace every board with counts read from PostgreSQL.
+     * Boards read empty or partial while this runs; a write landing between the reset and the
+     * read of its row is counted twice until the next rebuild.
+     * @return false if another instance is already rebuilding
+     */
+    public boolean rebuild() {
+        if (!redisUtil.setIfAbsent(REBUILD_LOCK, "1", REBUILD_LOCK_TTL)) {
+            log.info("Leaderboard rebuild already running elsewhere, skipping");
+            return false;
+        }
+        try {
+            long hour = currentHour();
+            for (Board board : Board.values()) {
+                redisUtil.deleteByPattern(PREFIX + board.key + ":*");
+            }
+            redisUtil.deleteByPattern(TOUCHED_PREFIX + "*");
+            // Buckets that have already left a window are not added to it, so they must not be subtracted either
+            redisUtil.pipelined(() -> {
+                for (LeaderboardWindow window : SLIDING_WINDOWS) {
+                    long last = hour - window.getHours();
+                    for (long bucket = last - EXPIRY_CATCH_UP_HOURS; bucket <= last; bucket++) {
+                        redisUtil.setIfAbsent(expiredKey(window, bucket), "1", BUCKET_TTL);
+                    }
+                }
+            });
+
+            Set<LeaderboardWindow> allTime = EnumSet.of(LeaderboardWindow.ALL_TIME);
+            load(commentMapper::selectUserCommentCounts,
+                    row -> addToWindows(Board.USERS, row.getNovelId(), String.valueOf(row.getUserId()), row.getCount(), allTime));
+            load(commentMapper::selectChapterCommentCounts,
+                    row -> addToWindows(Board.CHAPTERS, row.getNovelId(), String.valueOf(row.getChapterId()), row.getCount(), allTime));
+            load(commentMapper::selectLikedCommentCounts,
+                    row -> addToWindows(Board.COMMENTS, row.getNovelId(), String.valueOf(row.getCommentId()), row.getCount(), allTime));
+
+            Date since = new Date((hour - LeaderboardWindow.WEEK.getHours() + 1) * HOUR_MS);
+            load(handler -> commentMapper.selectHourlyCommentCounts(since, handler), row -> {
+                long bucket = hourOf(row.getHour());
+                Set<LeaderboardWindow> windows = slidingWindowsIncluding(bucket, hour);
+                add(Board.USERS, row.getNovelId(), String.valueOf(row.getUserId()), row.getCount(), bucket, windows);
+                add(Board.CHAPTERS, row.getNovelId(), String.valueOf(row.getChapterId()), row.getCount(), bucket, windows);
+            });
+            load(handler -> commentMapper.selectHourlyLikeCounts(since, handler), row -> {
+                long bucket = hourOf(row.getHour());
+                add(Board.COMMENTS, row.getNovelId(), String.valueOf(row.getCommentId()), row.getCount(), bucket,
+                        slidingWindowsIncluding(bucket, hour));
+            });
+            log.info("Rebuilt comment leaderboards");
+            return true;
+        } finally {
+            redisUtil.delete(REBUILD_LOCK);
+        }
+    }
+
+    @PreDestroy
+    public void shutdownRebuildExecutor() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void expireBucket(LeaderboardWindow window, long bucket) {
+        Set<Object> boardKeys = redisUtil.getSetMembers(TOUCHED_PREFIX + bucket);
+        if (boardKeys.isEmpty()) {
+            return;
+        }
+        redisUtil.pipelined(() -> boardKeys.forEach(boardKey ->
+                redisUtil.subtractScores(windowKey(boardKey.toString(), window), bucketKey(boardKey.toString(), bucket))));
+    }
+
+    /**
+     * Add delta to the given windows, globally and for the member's novel, and to the hour's bucket
+     * while a sliding window still has to subtract it
+     */
+    private void add(Board board, Integer novelId, String member, double delta, long hour, Set<LeaderboardWindow> windows) {
+        if (windows.stream().noneMatch(LeaderboardWindow::isSliding)) {
+            addToWindows(board, novelId, member, delta, windows);
+            return;
+        }
+        for (String boardKey : boardKeys(board, novelId)) {
+            String bucketKey = bucketKey(boardKey, hour);
+            redisUtil.incrementScore(bucketKey, member, delta);
+            redisUtil.expire(bucketKey, BUCKET_TTL);
+            redisUtil.addToSet(TOUCHED_PREFIX + hour, boardKey);
+            redisUtil.expire(TOUCHED_PREFIX + hour, BUCKET_TTL);
+        }
+        addToWindows(board, novelId, member, delta, windows);
+    }
+
+    private void addToWindows(Board board, Integer novelId, String member, double delta, Set<LeaderboardWindow> windows) {
+        for (String boardKey : boardKeys(board, novelId)) {
+            for (LeaderboardWindow window : windows) {
+                redisUtil.incrementScore(windowKey(boardKey, window), member, delta);
+            }
+        }
+    }
+
+    /**
+     * All-time plus the sliding windows whose set still holds the given hour's bucket
+     */
+    private Set<LeaderboardWindow> windowsIncluding(long hour, long now) {
+        Set<LeaderboardWindow> windows = EnumSet.of(LeaderboardWindow.ALL_TIME);
+        for (LeaderboardWindow window : SLIDING_WINDOWS) {
+            if (hour > now - window.getHours()
+                    || (hour > now - window.getHours() - EXPIRY_CATCH_UP_HOURS && !redisUtil.exists(expiredKey(window, hour)))) {
+                windows.add(window);
+            }
+        }
+        return windows;
+    }
+
+    private static Set<LeaderboardWindow> slidingWindowsIncluding(long hour, long now) {
+        Set<LeaderboardWindow> windows = EnumSet.noneOf(LeaderboardWindow.class);
+        for (LeaderboardWindow window : SLIDING_WINDOWS) {
+            if (hour > now - window.getHours()) {
+                windows.add(window);
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * Stream a rebuild query into Redis, one pipelined round trip per batch of rows.
+     * The query runs in a read-only transaction because PgJDBC only honours the statement's
+     * fetchSize with autocommit off; otherwise it buffers the whole result before the first row.
+     */
+    private void load(Consumer<ResultHandler<LeaderboardCountDTO>> query, Consumer<LeaderboardCountDTO> apply) {
+        List<LeaderboardCountDTO> batch = new ArrayList<>(rebuildBatchSize);
+        Runnable flush = () -> {
+            if (!batch.isEmpty()) {
+                redisUtil.pipelined(() -> batch.forEach(apply));
+                batch.clear();
+            }
+        };
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> query.accept(context -> {
+            batch.add(context.getResultObject());
+            if (batch.size() >= rebuildBatchSize) {
+                flush.run();
+            }
+        }));
+        flush.run();
+    }
+
+    private void afterCommit(String change, Runnable update) {
+        if (!enabled) {
+            return;
+        }
+        Runnable quietly = () -> {
+            try {
+                update.run();
+            } catch (RuntimeException e) {
+                log.warn("Failed to update leaderboards for {}: {}", change, e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    quietly.run();
+                }
+            });
+        } else {
+            quietly.run();
+        }
+    }
+
+    private long currentHour() {
+        return clock.millis() / HOUR_MS;
+    }
+
+    private long hourOf(Date time) {
+        return time != null ? time.getTime() / HOUR_MS : currentHour();
+    }
+
+    private static List<String> boardKeys(Board board, Integer novelId) {
+        return novelId != null
+                ? List.of(boardKey(board, null), boardKey(board, novelId))
+                : List.of(boardKey(board, null));
+    }
+
+    private static String boardKey(Board board, Integer novelId) {
+        return PREFIX + board.key + ":" + (novelId != null ? "novel:" + novelId : GLOBAL_SCOPE);
+    }
+
+    private static String windowKey(String boardKey, LeaderboardWindow window) {
+        return boardKey + ":" + window.getParam();
+    }
+
+    private static String bucketKey(String boardKey, long hour) {
+        return boardKey + ":h:" + hour;
+    }
+
+    private static String expiredKey(LeaderboardWindow window, long hour) {
+        return EXPIRED_PREFIX + window.getParam() + ":" + hour;
+    }
+}
@@ -0,0 +1,240 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.dao.CommentMapper;
+import com.yushan.engagement_service.dao.ReviewMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Buffers like/unlike deltas in memory and flushes them to like_cnt in batches,
+ * so a popular comment or review is updated once per flush instead of once per like.
+ * The comment_like/review_like rows are the source of truth; like_cnt may lag by one flush interval.
+ * Deltas lost with the JVM are repaired by {@link #reconcile()}, which recounts like_cnt for every
+ * comment and review whose likes changed, on top of the like_cnt_base carried over from before
+ * likes were recorded per user.
+ * Review listing impressions are buffered and flushed to impression_cnt the same way.
+ */
+@Slf4j
+@Service
+public class LikeCounterService {
+
+    @Autowired
+    private CommentMapper commentMapper;
+
+    @Autowired
+    private ReviewMapper reviewMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${engagement.likes.flush-batch-size:500}")
+    private int flushBatchSize = 500;
+
+    @Value("${engagement.likes.reconcile-grace-seconds:300}")
+    private int reconcileGraceSeconds = 300;
+
+    @Value("${engagement.likes.reconcile-batch-size:1000}")
+    private int reconcileBatchSize = 1000;
+
+    // ConcurrentHashMap bins act as lock stripes; merge and remove are atomic per id
+    private final ConcurrentHashMap<Integer, Integer> commentDeltas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Integer> reviewDeltas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Integer> reviewImpressions = new ConcurrentHashMap<>();
+
+    private volatile Consumer<Set<Integer>> commentLikesFlushed = ids -> { };
+    private volatile Consumer<Set<Integer>> reviewLikesFlushed = ids -> { };
+
+    public void addCommentLikes(Integer commentId, int delta) {
+        commentDeltas.merge(commentId, delta, LikeCounterService::sumOrRemove);
+    }
+
+    public void addReviewLikes(Integer reviewId, int delta) {
+        reviewDeltas.merge(reviewId, delta, LikeCounterService::sumOrRemove);
+    }
+
+    /**
+     * Count one impression for each review shown on a novel listing page
+     */
+    public void addReviewImpressions(Collection<Integer> reviewIds) {
+        for (Integer reviewId : reviewIds) {
+            if (reviewId != null) {
+                reviewImpressions.merge(reviewId, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Called with the comment ids of each batch written to like_cnt
+     */
+    public void onCommentLikesFlushed(Consumer<Set<Integer>> listener) {
+        this.commentLikesFlushed = listener;
+    }
+
+    /**
+     * Called with the review ids of each batch written to like_cnt
+     */
+    public void onReviewLikesFlushed(Consumer<Set<Integer>> listener) {
+        this.reviewLikesFlushed = listener;
+    }
+
+    /**
+     * Delta not yet written to comment.like_cnt
+     */
+    public int pendingCommentLikes(Integer commentId) {
+        return commentDeltas.getOrDefault(commentId, 0);
+    }
+
+    /**
+     * Delta not yet written to review.like_cnt
+     */
+    public int pendingReviewLikes(Integer reviewId) {
+        return reviewDeltas.getOrDefault(reviewId, 0);
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.likes.flush-interval-ms:1000}")
+    public void flush() {
+        flush(commentDeltas, commentMapper::applyLikeDeltas, commentLikesFlushed, "comment like");
+        flush(reviewDeltas, reviewMapper::applyLikeDeltas, reviewLikesFlushed, "review like");
+        // Impressions only move the helpfulness score, so cached pages are left to expire
+        flush(reviewImpressions, reviewMapper::applyImpressionDeltas, ids -> { }, "review impression");
+    }
+
+    /**
+     * Recount like_cnt from the like rows for comments and reviews liked or unliked since the last pass.
+     * Changes are only claimed once older than the grace period. A target liked again since then still
+     * has a buffered delta whose like row the recount already includes, so the claimed targets' deltas
+     * are drained before the recount instead of being flushed on top of it.
+     */
+    @Scheduled(fixedDelayString = "${engagement.likes.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        reconcile(commentMapper::claimLikeChanges, commentMapper::recountLikes, commentDeltas,
+                commentLikesFlushed, "comment");
+        reconcile(reviewMapper::claimLikeChanges, reviewMapper::recountLikes, reviewDeltas,
+                reviewLikesFlushed, "review");
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(ConcurrentHashMap<Integer, Integer> deltas, Function<Map<Integer, Integer>, Integer> apply,
+                       Consumer<Set<Integer>> flushed, String target) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Drain atomically per id; likes arriving meanwhile start a fresh entry for the next flush
+        List<Integer> ids = new ArrayList<>(deltas.keySet());
+        ids.sort(null);
+        Map<Integer, Integer> batch = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            Integer delta = deltas.remove(id);
+            if (delta != null) {
+                batch.put(id, delta);
+            }
+            if (batch.size() >= flushBatchSize) {
+                applyBatch(batch, deltas, apply, flushed, target);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            applyBatch(batch, deltas, apply, flushed, target);
+        }
+    }
+
+    private void applyBatch(Map<Integer, Integer> batch, ConcurrentHashMap<Integer, Integer> deltas,
+                            Function<Map<Integer, Integer>, Integer> apply, Consumer<Set<Integer>> flushed,
+                            String target) {
+        try {
+            apply.apply(batch);
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            batch.forEach((id, delta) -> deltas.merge(id, delta, LikeCounterService::sumOrRemove));
+            log.warn("Failed to flush {} {} deltas, will retry: {}", batch.size(), target, e.getMessage());
+            return;
+        }
+
+        try {
+            flushed.accept(batch.keySet());
+        } catch (RuntimeException e) {
+            log.warn("Flush listener failed for {} {} deltas: {}", batch.size(), target, e.getMessage());
+        }
+    }
+
+    private void reconcile(BiFunction<Integer, Integer, List<Integer>> claim, Function<Collection<Integer>, Integer> recount,
+                           ConcurrentHashMap<Integer, Integer> deltas, Consumer<Set<Integer>> flushed, String target) {
+        try {
+            int claimed;
+            do {
+                claimed = reconcileBatch(claim, recount, deltas, flushed);
+            } while (claimed >= reconcileBatchSize);
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile {} like counts, will retry: {}", target, e.getMessage());
+        }
+    }
+
+    /**
+     * Claim one batch of changes and recount their targets in one transaction; returns the number of changes claimed
+     */
+    private int reconcileBatch(BiFunction<Integer, Integer, List<Integer>> claim, Function<Collection<Integer>, Integer> recount,
+                               ConcurrentHashMap<Integer, Integer> deltas, Consumer<Set<Integer>> flushed) {
+        Set<Integer> ids = new TreeSet<>();
+        Map<Integer, Integer> drained = new HashMap<>();
+        int claimed;
+        try {
+            claimed = transactionTemplate.execute(status -> {
+                List<Integer> changes = claim.apply(reconcileGraceSeconds, reconcileBatchSize);
+                ids.addAll(changes);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                // A delta is buffered only after its like row is committed, so the recount below already counts it
+                for (Integer id : ids) {
+                    Integer delta = deltas.remove(id);
+                    if (delta != null) {
+                        drained.put(id, delta);
+                    }
+                }
+                recount.apply(ids);
+                return changes.size();
+            });
+        } catch (RuntimeException e) {
+            // Nothing was recounted; let the next flush apply the deltas after all
+            drained.forEach((id, delta) -> deltas.merge(id, delta, LikeCounterService::sumOrRemove));
+            throw e;
+        }
+
+        if (!ids.isEmpty()) {
+            try {
+                flushed.accept(ids);
+            } catch (RuntimeException e) {
+                log.warn("Flush listener failed for {} reconciled like counts: {}", ids.size(), e.getMessage());
+            }
+        }
+        return claimed;
+    }
+
+    private static Integer sumOrRemove(Integer current, Integer delta) {
+        int sum = current + delta;
+        return sum == 0 ? null : sum;
+    }
+}
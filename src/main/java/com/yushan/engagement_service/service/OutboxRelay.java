@@ -0,0 +1,150 @@
+package com.yushan.engagement_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yushan.engagement_service.dao.OutboxEventMapper;
+import com.yushan.engagement_service.entity.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains event_outbox to Kafka in id order.
+ * A short transaction leases the oldest batch under a Postgres advisory lock; the batch is
+ * sent with no transaction or connection held, and a second short transaction deletes the
+ * rows the broker acknowledged and releases the rest. No batch is claimed while another is
+ * leased, so with several instances events for a key are still sent in commit order.
+ * Delivery is at-least-once: a batch whose lease runs out is sent again.
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    // Advisory lock id shared by all instances of this service
+    static final long RELAY_LOCK_KEY = 7_301_013L;
+
+    @Autowired
+    private OutboxEventMapper outboxEventMapper;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${engagement.outbox.relay-enabled:true}")
+    private boolean relayEnabled = true;
+
+    @Value("${engagement.outbox.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${engagement.outbox.send-timeout:30s}")
+    private Duration sendTimeout = Duration.ofSeconds(30);
+
+    @Value("${engagement.outbox.lease:60s}")
+    private Duration lease = Duration.ofSeconds(60);
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    @Scheduled(fixedDelayString = "${engagement.outbox.relay-interval-ms:200}")
+    public void relay() {
+        if (!relayEnabled) {
+            return;
+        }
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed >= batchSize);
+    }
+
+    /**
+     * Lease the oldest batch, send it and delete what the broker acknowledged
+     *
+     * @return number of events relayed, 0 when another instance holds the relay lock or a lease
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(send(event));
+        }
+
+        // A failed event keeps every later event with the same key, so they are retried in order
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        List<Long> delivered = new ArrayList<>(batch.size());
+        List<Long> kept = new ArrayList<>();
+        Set<String> failedKeys = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            if (!failedKeys.contains(event.getEventKey()) && acknowledged(sends.get(i), deadline)) {
+                delivered.add(event.getId());
+            } else {
+                failedKeys.add(event.getEventKey());
+                kept.add(event.getId());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxEventMapper.deleteByIds(delivered);
+            }
+            // Retry on the next run instead of waiting out the lease
+            if (!kept.isEmpty()) {
+                outboxEventMapper.releaseLease(kept);
+            }
+        });
+        if (!kept.isEmpty()) {
+            log.warn("Outbox relay kept {} of {} events for retry", kept.size(), batch.size());
+        }
+        return delivered.size();
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            if (!outboxEventMapper.tryRelayLock(RELAY_LOCK_KEY)) {
+                return List.of();
+            }
+            return outboxEventMapper.claimBatch(batchSize, (int) lease.toSeconds());
+        });
+        return batch != null ? batch : List.of();
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        try {
+            return kafkaTemplate.send(event.getTopic(), event.getEventKey(), objectMapper.readTree(event.getPayload()));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static boolean acknowledged(CompletableFuture<?> send, long deadline) {
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Outbox event not acknowledged: {}", e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
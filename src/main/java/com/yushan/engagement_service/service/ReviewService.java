@@ -1,18 +1,29 @@
 package com.yushan.engagement_service.service;
 
+import com.yushan.engagement_service.dao.NovelRatingStatsMapper;
 import com.yushan.engagement_service.dao.ReviewMapper;
 import com.yushan.engagement_service.dto.review.*;
 import com.yushan.engagement_service.dto.common.*;
 import com.yushan.engagement_service.dto.novel.NovelDetailResponseDTO;
 import com.yushan.engagement_service.dto.review.NovelRatingStatsDTO;
+import com.yushan.engagement_service.entity.NovelRatingStats;
 import com.yushan.engagement_service.entity.Review;
 import com.yushan.engagement_service.exception.ResourceNotFoundException;
+import com.yushan.engagement_service.util.PageCache;
+import com.yushan.engagement_service.util.RedisUtil;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -22,9 +33,19 @@ import com.yushan.engagement_service.client.UserServiceClient;
 @Service
 public class ReviewService {
 
+    // First pages of these sorts are served from PageCache
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final List<String> CACHED_PAGE_VARIANTS = List.of("createTime:desc", "likeCnt:desc", "hot:desc", "helpfulness:desc");
+    private static final String RELEVANCE_SORT = "relevance";
+    // Sorts with a keyset seek in Cursor_Seek and a matching order by
+    private static final Set<String> CURSOR_SORTS = Set.of("createTime", "likeCnt", "rating", "hot", "helpfulness");
+
     @Autowired
     private ReviewMapper reviewMapper;
 
+    @Autowired
+    private NovelRatingStatsMapper novelRatingStatsMapper;
+
     @Autowired
     private ContentServiceClient contentServiceClient;
 
@@ -34,6 +55,22 @@ public class ReviewService {
     @Autowired
     private KafkaEventProducerService kafkaEventProducerService;
 
+    @Autowired
+    private LikeCounterService likeCounterService;
+
+    @Autowired
+    private PageCache pageCache;
+
+    @Autowired
+    private RedisUtil redisUtil;
+
+    @PostConstruct
+    public void registerLikeFlushListener() {
+        // like_cnt changes when buffered likes are flushed, so that is when cached pages go stale
+        likeCounterService.onReviewLikesFlushed(
+                ids -> evictNovelPages(reviewMapper.selectNovelIdsByIds(new ArrayList<>(ids))));
+    }
+
     /**
      * Create a new review
      * Checks if user already reviewed the novel
@@ -66,11 +103,13 @@ public class ReviewService {
         review.setUpdateTime(now);
 
         reviewMapper.insertSelective(review);
+        evictNovelPages(Collections.singletonList(request.getNovelId()));
 
         // Update novel rating and review count
+        novelRatingStatsMapper.applyRatingDelta(request.getNovelId(), null, request.getRating());
         updateNovelRatingAndCount(request.getNovelId());
 
-        // Publish Kafka event for gamification
+        // Queue Kafka event for gamification; the outbox relay sends it after commit
         kafkaEventProducerService.publishReviewCreatedEvent(
                 review.getId(),
                 review.getUuid(),
@@ -103,6 +142,7 @@ public class ReviewService {
         // Update fields if provided
         boolean hasChanges = false;
         boolean ratingChanged = false;
+        Integer oldRating = existingReview.getRating();
         
         if (request.getRating() != null && !request.getRating().equals(existingReview.getRating())) {
             existingReview.setRating(request.getRating());
@@ -124,10 +164,20 @@ public class ReviewService {
 
         if (hasChanges) {
             existingReview.setUpdateTime(new Date());
-            reviewMapper.updateByPrimaryKeySelective(existingReview);
+            // Write only the edited columns so a stale like_cnt does not overwrite flushed likes
+            Review update = new Review();
+            update.setId(existingReview.getId());
+            update.setRating(existingReview.getRating());
+            update.setTitle(existingReview.getTitle());
+            update.setContent(existingReview.getContent());
+            update.setIsSpoiler(existingReview.getIsSpoiler());
+            update.setUpdateTime(existingReview.getUpdateTime());
+            reviewMapper.updateByPrimaryKeySelective(update);
+            evictNovelPages(Collections.singletonList(existingReview.getNovelId()));
 
             // Only update novel rating if rating changed
             if (ratingChanged) {
+                novelRatingStatsMapper.applyRatingDelta(existingReview.getNovelId(), oldRating, existingReview.getRating());
                 updateNovelRatingAndCount(existingReview.getNovelId());
             }
         }
@@ -155,7 +205,9 @@ public class ReviewService {
         int result = reviewMapper.deleteByPrimaryKey(reviewId);
 
         if (result > 0) {
+            evictNovelPages(Collections.singletonList(novelId));
             // Update novel rating and review count
+            novelRatingStatsMapper.applyRatingDelta(novelId, review.getRating(), null);
             updateNovelRatingAndCount(novelId);
             return true;
         }
@@ -176,6 +228,7 @@ public class ReviewService {
     /**
      * Get reviews for a specific novel with pagination
      */
+    @SuppressWarnings("unchecked")
     public PageResponseDTO<ReviewResponseDTO> getReviewsByNovel(Integer novelId, int page, int size, String sort, String order) {
         // Validate and set defaults
         if (page < 0) page = 0;
@@ -187,6 +240,26 @@ public class ReviewService {
         }
 
         ReviewSearchRequestDTO request = new ReviewSearchRequestDTO(page, size, sort, order, novelId, null, null, null);
+        String variant = sort + ":" + order.toLowerCase();
+        if (page == 0 && size == DEFAULT_PAGE_SIZE && CACHED_PAGE_VARIANTS.contains(variant)) {
+            return withImpressions(pageCache.get(() -> redisUtil.novelReviewsKey(novelId, variant), PageResponseDTO.class,
+                    () -> loadReviewsPage(request)));
+        }
+        return withImpressions(loadReviewsPage(request));
+    }
+
+    /**
+     * Count the reviews shown on a novel page as impressions; they are the trials of the helpfulness score
+     */
+    private PageResponseDTO<ReviewResponseDTO> withImpressions(PageResponseDTO<ReviewResponseDTO> page) {
+        if (page != null && page.getContent() != null) {
+            likeCounterService.addReviewImpressions(
+                    page.getContent().stream().map(ReviewResponseDTO::getId).collect(Collectors.toList()));
+        }
+        return page;
+    }
+
+    private PageResponseDTO<ReviewResponseDTO> loadReviewsPage(ReviewSearchRequestDTO request) {
         List<Review> reviews = reviewMapper.selectReviewsWithPagination(request);
         long totalElements = reviewMapper.countReviews(request);
 
@@ -194,7 +267,23 @@ public class ReviewService {
                 .map(this::toResponseDTO)
                 .collect(Collectors.toList());
 
-        return new PageResponseDTO<>(reviewDTOs, totalElements, page, size);
+        PageResponseDTO<ReviewResponseDTO> response =
+                new PageResponseDTO<>(reviewDTOs, totalElements, request.getPage(), request.getSize());
+        if (response.isHasNext()) {
+            response.setNextCursor(nextCursor(reviews, request.getSort(), request.getOrder()));
+        }
+        return response;
+    }
+
+    /**
+     * Get the page of novel reviews after a keyset cursor.
+     * Sort and order come from the cursor; the exact total is only counted when requested.
+     */
+    public PageResponseDTO<ReviewResponseDTO> getReviewsByNovelAfterCursor(Integer novelId, PageCursor cursor,
+                                                                          int size, boolean includeTotal) {
+        ReviewSearchRequestDTO request = new ReviewSearchRequestDTO(0, size, null, null, novelId, null, null, null);
+        request.setCursor(cursor);
+        return withImpressions(getAllReviewsAfterCursor(request, includeTotal));
     }
 
     /**
@@ -225,29 +314,67 @@ public class ReviewService {
                 .map(this::toResponseDTO)
                 .collect(Collectors.toList());
 
-        return new PageResponseDTO<>(reviewDTOs, totalElements, request.getPage(), request.getSize());
+        PageResponseDTO<ReviewResponseDTO> response =
+                new PageResponseDTO<>(reviewDTOs, totalElements, request.getPage(), request.getSize());
+        if (response.isHasNext()) {
+            response.setNextCursor(nextCursor(reviews, request.getSort(), request.getOrder()));
+        }
+        return response;
     }
 
     /**
-     * Toggle like on a review (increment or decrement like count)
-     * In a real application, you would need a separate table to track user likes
+     * Get the page of filtered reviews after the keyset cursor in the request.
+     * Sort and order come from the cursor; the exact total is only counted when requested.
+     */
+    public PageResponseDTO<ReviewResponseDTO> getAllReviewsAfterCursor(ReviewSearchRequestDTO request,
+                                                                      boolean includeTotal) {
+        PageCursor cursor = request.getCursor().requireSortIn(CURSOR_SORTS);
+        int size = request.getSize() == null || request.getSize() <= 0 ? 10 : Math.min(request.getSize(), 100);
+
+        // Fetch one extra row to know whether another page follows
+        request.setSort(cursor.getSort());
+        request.setOrder(cursor.getOrder());
+        request.setPage(0);
+        request.setSize(size + 1);
+        List<Review> reviews = reviewMapper.selectReviewsWithPagination(request);
+        long totalElements = includeTotal ? reviewMapper.countReviews(request) : -1;
+
+        boolean hasNext = reviews.size() > size;
+        List<Review> page = hasNext ? reviews.subList(0, size) : reviews;
+        List<ReviewResponseDTO> reviewDTOs = page.stream()
+                .map(this::toResponseDTO)
+                .collect(Collectors.toList());
+
+        return PageResponseDTO.ofCursor(reviewDTOs, size, hasNext,
+                hasNext ? nextCursor(page, cursor.getSort(), cursor.getOrder()) : null, totalElements);
+    }
+
+    /**
+     * Like or unlike a review
+     * Idempotent per user: repeating a like or unlike does not change the count.
+     * The like_cnt update is buffered and flushed in batches by LikeCounterService.
      */
-    @Transactional
     public ReviewResponseDTO toggleLike(Integer reviewId, UUID currentUserId, boolean isLiking) {
+        // The like statements only match an existing review, so there is no lookup before the write
+        int changed;
+        try {
+            changed = isLiking
+                    ? reviewMapper.insertLike(reviewId, currentUserId)
+                    : reviewMapper.deleteLike(reviewId, currentUserId);
+        } catch (DataIntegrityViolationException e) {
+            // Deleted while the like was being inserted
+            throw new ResourceNotFoundException("Review not found");
+        }
         Review review = reviewMapper.selectByPrimaryKey(reviewId);
         if (review == null) {
             throw new ResourceNotFoundException("Review not found");
         }
-
-        // Increment or decrement like count
-        int increment = isLiking ? 1 : -1;
-        int result = reviewMapper.updateLikeCount(reviewId, increment);
-
-        if (result > 0) {
-            // Fetch updated review
-            review = reviewMapper.selectByPrimaryKey(reviewId);
+        if (changed > 0) {
+            likeCounterService.addReviewLikes(reviewId, isLiking ? 1 : -1);
         }
 
+        int likeCnt = review.getLikeCnt() != null ? review.getLikeCnt() : 0;
+        review.setLikeCnt(Math.max(likeCnt + likeCounterService.pendingReviewLikes(reviewId), 0));
         return toResponseDTO(review);
     }
 
@@ -280,6 +407,40 @@ public class ReviewService {
         return toResponseDTO(review);
     }
 
+    /**
+     * Cursor positioned after the last review of a page; relevance-ranked pages only page by offset
+     */
+    private String nextCursor(List<Review> reviews, String sort, String order) {
+        if (reviews.isEmpty() || RELEVANCE_SORT.equals(sort)) {
+            return null;
+        }
+        Review last = reviews.get(reviews.size() - 1);
+        if (last.getId() == null) {
+            return null;
+        }
+        PageCursor cursor;
+        if ("hot".equals(sort)) {
+            cursor = PageCursor.afterScore("hot", order, last.getHotScore(), last.getId());
+        } else if ("helpfulness".equals(sort)) {
+            cursor = PageCursor.afterScore("helpfulness", order, last.getHelpfulnessScore(), last.getId());
+        } else if ("rating".equals(sort)) {
+            cursor = PageCursor.afterNumber("rating", order, last.getRating(), last.getId());
+        } else if ("likeCnt".equals(sort)) {
+            cursor = PageCursor.afterNumber("likeCnt", order, last.getLikeCnt(), last.getId());
+        } else {
+            cursor = PageCursor.afterTime(order, last.getCreateTime(), last.getId());
+        }
+        return cursor.encode();
+    }
+
+    private void evictNovelPages(Collection<Integer> novelIds) {
+        if (novelIds == null || novelIds.isEmpty()) {
+            return;
+        }
+        pageCache.evictAfterCommit(() -> novelIds.stream()
+                .filter(Objects::nonNull)
+                .forEach(redisUtil::invalidateNovelReviews));
+    }
 
     /**
      * Convert Review entity to ReviewResponseDTO
@@ -321,29 +482,24 @@ public class ReviewService {
 
     /**
      * Update novel's average rating and review count
-     * This method calculates the statistics and calls NovelService
+     * Reads the per-novel aggregate maintained alongside each review change and calls NovelService
      */
     private void updateNovelRatingAndCount(Integer novelId) {
-        // Get all reviews for this novel
-        List<Review> reviews = reviewMapper.selectByNovelId(novelId);
+        NovelRatingStats ratingStats = novelRatingStatsMapper.selectByNovelId(novelId);
         
         float avgRating;
         int reviewCount;
         
-        if (reviews.isEmpty()) {
+        if (ratingStats == null || ratingStats.getReviewCount() == null || ratingStats.getReviewCount() <= 0) {
             // No reviews, set to default values
             avgRating = 0.0f;
             reviewCount = 0;
         } else {
-            // Calculate average rating
-            double totalRating = reviews.stream()
-                    .mapToInt(Review::getRating)
-                    .sum();
-            avgRating = (float) (totalRating / reviews.size());
+            reviewCount = ratingStats.getReviewCount();
+            avgRating = (float) ((double) ratingStats.getRatingSum() / reviewCount);
             
             // Round to 1 decimal place
             avgRating = Math.round(avgRating * 10.0f) / 10.0f;
-            reviewCount = reviews.size();
         }
         
         // Call contentServiceClient with calculated values
@@ -357,35 +513,30 @@ public class ReviewService {
         // Get novel basic info through contentServiceClient
         ApiResponse<NovelDetailResponseDTO> novelDetail = contentServiceClient.getNovelById(novelId);
 
-        List<Review> reviews = reviewMapper.selectByNovelId(novelId);
+        // Every novel with reviews has an aggregate row, so a missing row means no reviews
+        NovelRatingStats ratingStats = novelRatingStatsMapper.selectByNovelId(novelId);
+        int total = ratingStats != null && ratingStats.getReviewCount() != null ? ratingStats.getReviewCount() : 0;
         
         NovelRatingStatsDTO stats = new NovelRatingStatsDTO();
         stats.setNovelId(novelId);
         stats.setNovelTitle(novelDetail.getData().getTitle());
-        stats.setTotalReviews(reviews.size());
+        stats.setTotalReviews(total);
         stats.setAverageRating(novelDetail.getData().getAvgRating());
         
-        if (!reviews.isEmpty()) {
-            // Calculate rating distribution
-            long rating5 = reviews.stream().mapToInt(r -> r.getRating() == 5 ? 1 : 0).sum();
-            long rating4 = reviews.stream().mapToInt(r -> r.getRating() == 4 ? 1 : 0).sum();
-            long rating3 = reviews.stream().mapToInt(r -> r.getRating() == 3 ? 1 : 0).sum();
-            long rating2 = reviews.stream().mapToInt(r -> r.getRating() == 2 ? 1 : 0).sum();
-            long rating1 = reviews.stream().mapToInt(r -> r.getRating() == 1 ? 1 : 0).sum();
-            
-            stats.setRating5Count((int) rating5);
-            stats.setRating4Count((int) rating4);
-            stats.setRating3Count((int) rating3);
-            stats.setRating2Count((int) rating2);
-            stats.setRating1Count((int) rating1);
+        if (total > 0) {
+            // Rating distribution
+            stats.setRating5Count(ratingStats.getRating5Cnt());
+            stats.setRating4Count(ratingStats.getRating4Cnt());
+            stats.setRating3Count(ratingStats.getRating3Cnt());
+            stats.setRating2Count(ratingStats.getRating2Cnt());
+            stats.setRating1Count(ratingStats.getRating1Cnt());
             
             // Calculate percentages
-            int total = reviews.size();
-            stats.setRating5Percentage((float) rating5 / total * 100);
-            stats.setRating4Percentage((float) rating4 / total * 100);
-            stats.setRating3Percentage((float) rating3 / total * 100);
-            stats.setRating2Percentage((float) rating2 / total * 100);
-            stats.setRating1Percentage((float) rating1 / total * 100);
+            stats.setRating5Percentage((float) ratingStats.getRating5Cnt() / total * 100);
+            stats.setRating4Percentage((float) ratingStats.getRating4Cnt() / total * 100);
+            stats.setRating3Percentage((float) ratingStats.getRating3Cnt() / total * 100);
+            stats.setRating2Percentage((float) ratingStats.getRating2Cnt() / total * 100);
+            stats.setRating1Percentage((float) ratingStats.getRating1Cnt() / total * 100);
         }
         
         return stats;
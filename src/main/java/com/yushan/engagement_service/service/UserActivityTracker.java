@@ -0,0 +1,92 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.dto.event.UserActivityEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Coalesces user activity before it is published to the active topic.
+ * Requests are folded into one pending record per user, holding the latest endpoint class
+ * (the path with ids replaced by {id}); each window publishes one record per active user.
+ * Pending users are capped; past the cap a new user's activity is published immediately.
+ */
+@Slf4j
+@Service
+public class UserActivityTracker {
+
+    private static final String SERVICE_NAME = "engagement-service";
+
+    // Numeric ids and UUIDs as whole path segments
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "(?<=/)(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})(?=/|$)");
+
+    @Autowired
+    private KafkaEventProducerService kafkaEventProducerService;
+
+    @Value("${engagement.activity.max-pending-users:100000}")
+    private int maxPendingUsers = 100_000;
+
+    private final ConcurrentHashMap<UUID, UserActivityEvent> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Record a request; repeated requests by the same user within a window collapse into one record
+     */
+    public void record(UUID userId, String requestUri, String method) {
+        String endpoint = endpointClass(requestUri);
+        UserActivityEvent current = pending.get(userId);
+        if (current != null && endpoint.equals(current.endpoint()) && method.equals(current.method())) {
+            // Same endpoint class as the pending record; the window already reports this user
+            return;
+        }
+
+        UserActivityEvent event = new UserActivityEvent(userId, SERVICE_NAME, endpoint, method, LocalDateTime.now());
+        if (current == null && pending.size() >= maxPendingUsers) {
+            kafkaEventProducerService.publishUserActivityEvent(event);
+            return;
+        }
+        pending.put(userId, event);
+    }
+
+    /**
+     * Number of users with activity not yet published
+     */
+    public int pendingUsers() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.activity.window-ms:60000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<UserActivityEvent> batch = new ArrayList<>(pending.size());
+        for (UUID userId : pending.keySet()) {
+            UserActivityEvent event = pending.remove(userId);
+            if (event != null) {
+                batch.add(event);
+            }
+        }
+        kafkaEventProducerService.publishUserActivityEvents(batch);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    static String endpointClass(String requestUri) {
+        return ID_SEGMENT.matcher(requestUri).replaceAll("{id}");
+    }
+}
@@ -0,0 +1,136 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.client.ContentServiceClient;
+import com.yushan.engagement_service.dao.VoteMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sends votes to content-service as one delta per novel instead of one call per vote,
+ * on an interval or as soon as a novel has flush-threshold unsynced votes.
+ * The vote table is the source of truth: rows are inserted unsynced, a flush groups a novel's
+ * unsynced rows into a batch, sends its size keyed by the batch id and then marks it synced.
+ * No locks are held during the call, and a batch left by a failed call or a crash is resent
+ * with the same key and count by the next flush on any instance.
+ */
+@Slf4j
+@Service
+public class VoteCountAggregator {
+
+    @Autowired
+    private VoteMapper voteMapper;
+
+    @Autowired
+    private ContentServiceClient contentServiceClient;
+
+    @Value("${engagement.votes.flush-threshold:100}")
+    private int flushThreshold = 100;
+
+    @Value("${engagement.votes.flush-batch-size:500}")
+    private int flushBatchSize = 500;
+
+    private final Set<Integer> thresholdFlushes = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService thresholdFlusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "vote-count-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Count a vote inserted in the current transaction; a flush starts once it commits if the
+     * novel has reached the threshold
+     *
+     * @return votes for the novel not yet sent to content-service, including this one
+     */
+    public int recordVote(Integer novelId) {
+        // Read from the voter's transaction, so this includes the vote just inserted and votes from every instance
+        int pending = voteMapper.countUnsyncedVotes(novelId);
+        if (pending >= flushThreshold) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        scheduleThresholdFlush(novelId);
+                    }
+                });
+            } else {
+                scheduleThresholdFlush(novelId);
+            }
+        }
+        return pending;
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.votes.flush-interval-ms:5000}")
+    public void flush() {
+        List<Integer> novelIds;
+        try {
+            novelIds = voteMapper.selectNovelIdsWithUnsyncedVotes(flushBatchSize);
+        } catch (RuntimeException e) {
+            log.warn("Failed to look up unsynced votes, will retry: {}", e.getMessage());
+            return;
+        }
+        for (Integer novelId : novelIds) {
+            flushNovel(novelId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdownThresholdFlusher() {
+        thresholdFlusher.shutdownNow();
+    }
+
+    /**
+     * Send a novel's unsynced votes, one delta per batch
+     *
+     * @return votes sent before the first failure
+     */
+    int flushNovel(Integer novelId) {
+        int sent = 0;
+        try {
+            voteMapper.assignSyncBatch(novelId);
+            Integer syncBatch;
+            while ((syncBatch = voteMapper.selectOldestSyncBatch(novelId)) != null) {
+                int count = voteMapper.countSyncBatch(novelId, syncBatch);
+                if (count > 0) {
+                    // A batch resent after a timeout, or by another instance, carries the same key
+                    contentServiceClient.addVoteCount(novelId, count, idempotencyKey(syncBatch));
+                }
+                voteMapper.markVotesSynced(novelId, syncBatch);
+                sent += count;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush votes for novel {}, will retry: {}", novelId, e.getMessage());
+        }
+        return sent;
+    }
+
+    private void scheduleThresholdFlush(Integer novelId) {
+        if (thresholdFlushes.add(novelId)) {
+            thresholdFlusher.execute(() -> {
+                try {
+                    flushNovel(novelId);
+                } finally {
+                    thresholdFlushes.remove(novelId);
+                }
+            });
+        }
+    }
+
+    // Vote ids are unique across novels, so the batch id alone identifies the delta
+    static String idempotencyKey(Integer syncBatch) {
+        return "novel-votes-" + syncBatch;
+    }
+}
@@ -11,12 +11,16 @@ import com.yushan.engagement_service.client.GamificationServiceClient;
 import com.yushan.engagement_service.dto.novel.NovelDetailResponseDTO;
 import com.yushan.engagement_service.dto.gamification.VoteCheckResponseDTO;
 import com.yushan.engagement_service.exception.ValidationException;
+import com.yushan.engagement_service.util.RemoteCalls;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.UUID;
@@ -36,11 +40,55 @@ public class VoteService {
     @Autowired
     private KafkaEventProducerService kafkaEventProducerService;
 
+    @Autowired
+    private RemoteCalls remoteCalls;
+
+    @Autowired
+    private VoteCountAggregator voteCountAggregator;
+
+    @Value("${engagement.votes.remote-call-deadline:3s}")
+    private Duration remoteCallDeadline = Duration.ofSeconds(3);
+
     /**
-     * Create vote for a novel
+     * Create vote for a novel.
+     * The novel lookup and the eligibility check are independent, so they run concurrently
+     * under one deadline; the first to fail cancels the other.
      */
     @Transactional
     public VoteResponseDTO createVote(Integer novelId, UUID userId) {
+        RemoteCalls.Scope scope = remoteCalls.open();
+        Supplier<NovelDetailResponseDTO> novelCall = scope.fork(() -> requireVotableNovel(novelId, userId));
+        Supplier<VoteCheckResponseDTO> eligibilityCall = scope.fork(this::requireVoteEligibility);
+        scope.join(remoteCallDeadline);
+        NovelDetailResponseDTO novel = novelCall.get();
+        VoteCheckResponseDTO voteCheck = eligibilityCall.get();
+        
+        // Calculate remained Yuan after voting (1 Yuan per vote)
+        Float remainedYuan = (float) (voteCheck.getCurrentYuanBalance() - 1.0);
+
+        // Create vote (no toggle per backend logic; always create and charge 1 yuan)
+        Vote vote = new Vote();
+        vote.setUserId(userId);
+        vote.setNovelId(novelId);
+        Date now = new Date();
+        vote.setCreateTime(now);
+        vote.setUpdateTime(now);
+        voteMapper.insertSelective(vote);
+       
+        // Content-service's count is updated in batches; echo its last count plus the votes not yet sent
+        int pendingVotes = voteCountAggregator.recordVote(novelId);
+        Integer updatedVoteCount = (novel.getVoteCnt() != null ? novel.getVoteCnt() : 0) + pendingVotes;
+
+        // Queue Kafka event for gamification; the outbox relay sends it after commit
+        kafkaEventProducerService.publishVoteCreatedEvent(
+                vote.getId(),
+                userId
+        );
+
+        return new VoteResponseDTO(novelId, updatedVoteCount, true, remainedYuan);
+    }
+
+    private NovelDetailResponseDTO requireVotableNovel(Integer novelId, UUID userId) {
         // Validate novel exists and get authorId via content service
         ApiResponse<NovelDetailResponseDTO> novelResp = contentServiceClient.getNovelById(novelId);
         if (novelResp == null || novelResp.getData() == null) {
@@ -52,7 +100,10 @@ public class VoteService {
         if (novel.getAuthorId() != null && novel.getAuthorId().equals(userId)) {
             throw new ValidationException("Cannot vote your own novel");
         }
+        return novel;
+    }
 
+    private VoteCheckResponseDTO requireVoteEligibility() {
         // Check if user can vote (has enough Yuan) via gamification service
         ApiResponse<VoteCheckResponseDTO> voteCheckResponse = gamificationServiceClient.checkVoteEligibility();
         if (voteCheckResponse == null) {
@@ -70,33 +121,7 @@ public class VoteService {
                 message != null ? message : "Not enough Yuan to vote"
             );
         }
-        
-        // Calculate remained Yuan after voting (1 Yuan per vote)
-        Float remainedYuan = (float) (voteCheck.getCurrentYuanBalance() - 1.0);
-
-        // Create vote (no toggle per backend logic; always create and charge 1 yuan)
-        Vote vote = new Vote();
-        vote.setUserId(userId);
-        vote.setNovelId(novelId);
-        Date now = new Date();
-        vote.setCreateTime(now);
-        vote.setUpdateTime(now);
-        voteMapper.insertSelective(vote);
-       
-        // Update novel vote count
-        contentServiceClient.incrementVoteCount(novelId);
-        // Get updated vote count
-        ApiResponse<Integer> voteCountResponse = contentServiceClient.getNovelVoteCount(novelId);
-        Integer updatedVoteCount = voteCountResponse != null && voteCountResponse.getData() != null 
-            ? voteCountResponse.getData() : 0;
-
-        // Publish Kafka event for gamification
-        kafkaEventProducerService.publishVoteCreatedEvent(
-                vote.getId(),
-                userId
-        );
-
-        return new VoteResponseDTO(novelId, updatedVoteCount, true, remainedYuan);
+        return voteCheck;
     }
 
     public PageResponseDTO<VoteUserResponseDTO> getUserVotes(UUID userId, int page, int size) {
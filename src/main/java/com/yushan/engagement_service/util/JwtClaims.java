@@ -0,0 +1,36 @@
+package com.yushan.engagement_service.util;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Immutable snapshot of the claims of a verified JWT, read once from the signed payload
+ */
+public record JwtClaims(String userId, String email, String username, String role, Integer status,
+                        String tokenType, Instant expiration) {
+
+    public static JwtClaims from(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return new JwtClaims(
+                claims.get("userId", String.class),
+                claims.get("email", String.class),
+                claims.get("username", String.class),
+                claims.get("role", String.class),
+                claims.get("status", Integer.class),
+                claims.get("tokenType", String.class),
+                expiration != null ? expiration.toInstant() : null);
+    }
+
+    public boolean isAccessToken() {
+        return "access".equals(tokenType);
+    }
+
+    /**
+     * Tokens without an expiration are treated as expired
+     */
+    public boolean isExpired(Instant now) {
+        return expiration == null || !expiration.isAfter(now);
+    }
+}
@@ -1,6 +1,7 @@
 package com.yushan.engagement_service.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -28,6 +29,9 @@ public class JwtUtil {
     @Value("${jwt.issuer}")
     private String issuer;
 
+    // Built on first use; deriving the key and parser per call dominated token parsing
+    private volatile JwtParser parser;
+
     /**
      * Get the secret key for JWT validation
      * 
@@ -38,6 +42,33 @@ public class JwtUtil {
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
+    /**
+     * Get the parser that verifies tokens with the signing key
+     *
+     * @return Shared, thread-safe JwtParser
+     */
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build();
+            parser = current;
+        }
+        return current;
+    }
+
+    /**
+     * Verify the token signature once and read all claims used for authentication
+     *
+     * @param token JWT token
+     * @return Immutable claims snapshot
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or badly signed
+     */
+    public JwtClaims parseToken(String token) {
+        return JwtClaims.from(extractAllClaims(token));
+    }
+
     /**
      * Extract user ID from JWT token
      * 
@@ -128,9 +159,7 @@ public class JwtUtil {
      * @return Claims object containing all token claims
      */
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
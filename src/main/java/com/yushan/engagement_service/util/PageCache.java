@@ -0,0 +1,201 @@
+package com.yushan.engagement_service.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Cache-aside store for pre-rendered list pages in Redis.
+ * A miss is rebuilt once: concurrent misses on this instance share one load, and across
+ * instances a short Redis lock lets one rebuild while the others briefly wait for its result.
+ * TTLs are jittered so pages cached together do not expire together.
+ * Keys are resolved per call because they carry RedisUtil namespace generations; a page loaded
+ * under an old generation is written to an orphaned key and can never shadow newer data.
+ * Redis failures are treated as misses so the cache never breaks a read path.
+ */
+@Slf4j
+@Component
+public class PageCache {
+
+    private static final String LOCK_SUFFIX = ":lock";
+
+    @Autowired
+    private RedisUtil redisUtil;
+
+    @Value("${engagement.page-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${engagement.page-cache.ttl:5m}")
+    private Duration ttl = Duration.ofMinutes(5);
+
+    @Value("${engagement.page-cache.lock-ttl:5s}")
+    private Duration lockTtl = Duration.ofSeconds(5);
+
+    @Value("${engagement.page-cache.lock-wait-ms:50}")
+    private long lockWaitMs = 50;
+
+    @Value("${engagement.page-cache.lock-wait-attempts:10}")
+    private int lockWaitAttempts = 10;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Cached page for the resolved key, or the loader's result which is then cached
+     */
+    public <T> T get(Supplier<String> keyResolver, Class<T> type, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        String key;
+        try {
+            key = keyResolver.get();
+        } catch (Exception e) {
+            log.warn("Redis unavailable for page cache, loading directly: {}", e.getMessage());
+            return loader.get();
+        }
+
+        T cached = read(key, type);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            return type.cast(await(existing));
+        }
+
+        try {
+            T value = loadOnce(key, type, loader);
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * Evict cached pages; inside a transaction the eviction waits for the commit
+     * so a concurrent reader cannot re-cache the pre-commit rows.
+     */
+    public void evictAfterCommit(Runnable eviction) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictQuietly(eviction);
+                }
+            });
+        } else {
+            evictQuietly(eviction);
+        }
+    }
+
+    private <T> T loadOnce(String key, Class<T> type, Supplier<T> loader) {
+        String lockKey = key + LOCK_SUFFIX;
+        if (!tryLock(lockKey)) {
+            // Another instance is rebuilding this page; give it a moment before loading ourselves
+            for (int attempt = 0; attempt < lockWaitAttempts; attempt++) {
+                if (!pause()) {
+                    break;
+                }
+                T cached = read(key, type);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            return loader.get();
+        }
+
+        try {
+            T value = loader.get();
+            write(key, value);
+            return value;
+        } finally {
+            // A load slower than lockTtl may release a successor's lock; that only costs one extra load
+            evictQuietly(() -> redisUtil.delete(lockKey));
+        }
+    }
+
+    private <T> T read(String key, Class<T> type) {
+        try {
+            return redisUtil.get(key, type);
+        } catch (Exception e) {
+            log.warn("Redis get failed for page cache key '{}': {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(String key, Object value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            redisUtil.set(key, value, jitter(ttl));
+        } catch (Exception e) {
+            log.warn("Redis set failed for page cache key '{}': {}", key, e.getMessage());
+        }
+    }
+
+    private boolean tryLock(String lockKey) {
+        try {
+            return redisUtil.setIfAbsent(lockKey, "1", lockTtl);
+        } catch (Exception e) {
+            // Without Redis there is nothing to coordinate; this instance still loads once per key
+            return true;
+        }
+    }
+
+    private void evictQuietly(Runnable eviction) {
+        try {
+            eviction.run();
+        } catch (Exception e) {
+            log.warn("Redis delete failed for page cache: {}", e.getMessage());
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(lockWaitMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Duration jitter(Duration base) {
+        // Spread expiry over +/-10% of the TTL
+        long millis = base.toMillis();
+        long spread = millis / 10;
+        return Duration.ofMillis(millis - spread + ThreadLocalRandom.current().nextLong(2 * spread + 1));
+    }
+}
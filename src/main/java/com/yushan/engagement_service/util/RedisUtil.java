@@ -1,16 +1,30 @@
 package com.yushan.engagement_service.util;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Redis utility class for caching engagement-related data.
  * Provides methods for caching comments, reviews, votes and related queries.
+ * Group invalidation never enumerates the keyspace: grouped keys embed the generation of their
+ * namespace (chapter, novel, user or a whole family), and bumping it orphans them in O(1).
+ * Orphaned keys expire on their own TTL.
  */
 @Component
 public class RedisUtil {
@@ -24,6 +38,13 @@ public class RedisUtil {
     private static final String VOTE_PREFIX = "vote:";
     private static final String LIKE_PREFIX = "like:";
     private static final String ENGAGEMENT_PREFIX = "engagement:";
+    private static final String NAMESPACE_PREFIX = "ns:";
+
+    // Namespaces whose generation is embedded in cache keys
+    private static final String CHAPTER_COMMENTS_NS = COMMENT_PREFIX + "chapter";
+    private static final String NOVEL_REVIEWS_NS = REVIEW_PREFIX + "novel";
+    private static final String USER_VOTES_NS = VOTE_PREFIX + "user";
+    private static final String ENGAGEMENT_NS = "engagement";
 
     // Cache TTL constants
     private static final Duration COMMENT_CACHE_TTL = Duration.ofHours(1);
@@ -31,6 +52,10 @@ public class RedisUtil {
     private static final Duration VOTE_CACHE_TTL = Duration.ofHours(1);
     private static final Duration LIKE_CACHE_TTL = Duration.ofMinutes(30);
     private static final Duration ENGAGEMENT_CACHE_TTL = Duration.ofMinutes(15);
+    // Outlives every cache TTL, so an expired generation never revives keys that are still live
+    private static final Duration NAMESPACE_TTL = Duration.ofDays(1);
+
+    private static final int SCAN_BATCH_SIZE = 500;
 
     /**
      * Set a key-value pair with TTL
@@ -79,6 +104,14 @@ public class RedisUtil {
         redisTemplate.delete(keys);
     }
 
+    /**
+     * Set a key only if it does not exist yet, with TTL
+     * @return true if this call created the key
+     */
+    public boolean setIfAbsent(String key, Object value, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, value, ttl));
+    }
+
     /**
      * Check if key exists
      */
@@ -108,10 +141,130 @@ public class RedisUtil {
     }
 
     /**
-     * Get keys matching pattern
+     * Get keys matching pattern with incremental SCAN instead of the blocking KEYS command
+     */
+    public Set<String> scanKeys(String pattern) {
+        Set<String> keys = new HashSet<>();
+        try (Cursor<String> cursor = redisTemplate.scan(scanOptions(pattern))) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+    /**
+     * Delete keys matching pattern, scanning and unlinking in batches
+     * @return number of keys removed
+     */
+    public long deleteByPattern(String pattern) {
+        long deleted = 0;
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        try (Cursor<String> cursor = redisTemplate.scan(scanOptions(pattern))) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    deleted += unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleted += unlink(batch);
+        }
+        return deleted;
+    }
+
+    /**
+     * Run the given calls in one pipelined round trip; their return values are discarded.
+     * Calls made through this RedisUtil inside the block share the pipelined connection.
+     */
+    public void pipelined(Runnable calls) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                calls.run();
+                return null;
+            }
+        });
+    }
+
+    // Set and sorted set methods
+
+    /**
+     * Add members to a set
+     */
+    public void addToSet(String key, Object... members) {
+        redisTemplate.opsForSet().add(key, members);
+    }
+
+    /**
+     * Get all members of a set
+     */
+    public Set<Object> getSetMembers(String key) {
+        Set<Object> members = redisTemplate.opsForSet().members(key);
+        return members != null ? members : new HashSet<>();
+    }
+
+    /**
+     * Add delta to a member's score in a sorted set, adding the member if missing
+     */
+    public void incrementScore(String key, Object member, double delta) {
+        redisTemplate.opsForZSet().incrementScore(key, member, delta);
+    }
+
+    /**
+     * Members with the highest scores, highest first, in O(log N + limit)
+     */
+    public List<ZSetOperations.TypedTuple<Object>> getTopScores(String key, int limit) {
+        Set<ZSetOperations.TypedTuple<Object>> top = redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1L);
+        return top != null ? new ArrayList<>(top) : new ArrayList<>();
+    }
+
+    /**
+     * Remove members from a sorted set
      */
-    public Set<String> keys(String pattern) {
-        return redisTemplate.keys(pattern);
+    public void removeScores(String key, Object... members) {
+        redisTemplate.opsForZSet().remove(key, members);
+    }
+
+    /**
+     * Remove members whose score dropped to zero or below
+     */
+    public void removeNonPositiveScores(String key) {
+        redisTemplate.opsForZSet().removeRangeByScore(key, Double.NEGATIVE_INFINITY, 0);
+    }
+
+    /**
+     * Subtract every score of otherKey from the same member in key, then drop members left at zero or below
+     */
+    public void subtractScores(String key, String otherKey) {
+        redisTemplate.opsForZSet().unionAndStore(key, List.of(otherKey), key, Aggregate.SUM, Weights.of(1, -1));
+        removeNonPositiveScores(key);
+    }
+
+    /**
+     * Current generation tag of the given namespaces, e.g. "v3.0", read in one round trip.
+     * Keys built with it are invalidated as a group by bumpNamespace.
+     */
+    public String namespaceVersion(String... namespaces) {
+        List<String> keys = Arrays.stream(namespaces).map(ns -> NAMESPACE_PREFIX + ns).toList();
+        List<Object> versions = redisTemplate.opsForValue().multiGet(keys);
+        StringBuilder tag = new StringBuilder("v");
+        for (int i = 0; i < namespaces.length; i++) {
+            if (i > 0) {
+                tag.append('.');
+            }
+            tag.append(versions != null && i < versions.size() ? asVersion(versions.get(i)) : 0L);
+        }
+        return tag.toString();
+    }
+
+    /**
+     * Invalidate every key built with this namespace's generation
+     */
+    public void bumpNamespace(String namespace) {
+        String key = NAMESPACE_PREFIX + namespace;
+        increment(key);
+        expire(key, NAMESPACE_TTL);
     }
 
     // Comment-specific cache methods
@@ -144,16 +297,28 @@ public class RedisUtil {
      * Cache comments for a chapter
      */
     public void cacheChapterComments(Integer chapterId, Object commentsData) {
-        String key = COMMENT_PREFIX + "chapter:" + chapterId;
-        set(key, commentsData, COMMENT_CACHE_TTL);
+        set(chapterCommentsKey(chapterId), commentsData, COMMENT_CACHE_TTL);
     }
 
     /**
      * Get cached comments for a chapter
      */
     public Object getCachedChapterComments(Integer chapterId) {
-        String key = COMMENT_PREFIX + "chapter:" + chapterId;
-        return get(key);
+        return get(chapterCommentsKey(chapterId));
+    }
+
+    /**
+     * Key of a cached chapter comment page; variant identifies the sort, e.g. "createTime:desc"
+     */
+    public String chapterCommentsKey(Integer chapterId, String variant) {
+        return chapterCommentsKey(chapterId) + ":" + variant;
+    }
+
+    /**
+     * Invalidate every cached comment list of a chapter
+     */
+    public void invalidateChapterComments(Integer chapterId) {
+        bumpNamespace(CHAPTER_COMMENTS_NS + ":" + chapterId);
     }
 
     /**
@@ -194,16 +359,28 @@ public class RedisUtil {
      * Cache reviews for a novel
      */
     public void cacheNovelReviews(Integer novelId, Object reviewsData) {
-        String key = REVIEW_PREFIX + "novel:" + novelId;
-        set(key, reviewsData, REVIEW_CACHE_TTL);
+        set(novelReviewsKey(novelId), reviewsData, REVIEW_CACHE_TTL);
     }
 
     /**
      * Get cached reviews for a novel
      */
     public Object getCachedNovelReviews(Integer novelId) {
-        String key = REVIEW_PREFIX + "novel:" + novelId;
-        return get(key);
+        return get(novelReviewsKey(novelId));
+    }
+
+    /**
+     * Key of a cached novel review page; variant identifies the sort, e.g. "createTime:desc"
+     */
+    public String novelReviewsKey(Integer novelId, String variant) {
+        return novelReviewsKey(novelId) + ":" + variant;
+    }
+
+    /**
+     * Invalidate every cached review list of a novel
+     */
+    public void invalidateNovelReviews(Integer novelId) {
+        bumpNamespace(NOVEL_REVIEWS_NS + ":" + novelId);
     }
 
     /**
@@ -252,16 +429,14 @@ public class RedisUtil {
      * Cache user votes
      */
     public void cacheUserVotes(String userId, Object votesData) {
-        String key = VOTE_PREFIX + "user:" + userId;
-        set(key, votesData, VOTE_CACHE_TTL);
+        set(userVotesKey(userId), votesData, VOTE_CACHE_TTL);
     }
 
     /**
      * Get cached user votes
      */
     public Object getCachedUserVotes(String userId) {
-        String key = VOTE_PREFIX + "user:" + userId;
-        return get(key);
+        return get(userVotesKey(userId));
     }
 
     // Like-specific cache methods
@@ -308,16 +483,14 @@ public class RedisUtil {
      * Cache engagement statistics
      */
     public void cacheEngagementStats(String entityType, Integer entityId, Object statsData) {
-        String key = ENGAGEMENT_PREFIX + entityType + ":" + entityId;
-        set(key, statsData, ENGAGEMENT_CACHE_TTL);
+        set(engagementStatsKey(entityType, entityId), statsData, ENGAGEMENT_CACHE_TTL);
     }
 
     /**
      * Get cached engagement statistics
      */
     public Object getCachedEngagementStats(String entityType, Integer entityId) {
-        String key = ENGAGEMENT_PREFIX + entityType + ":" + entityId;
-        return get(key);
+        return get(engagementStatsKey(entityType, entityId));
     }
 
     // Cache invalidation methods
@@ -327,12 +500,9 @@ public class RedisUtil {
      */
     public void invalidateCommentCaches(Integer commentId) {
         deleteCommentCache(commentId);
-        
+
         // Invalidate chapter comment caches
-        Set<String> commentKeys = keys(COMMENT_PREFIX + "chapter:*");
-        if (!commentKeys.isEmpty()) {
-            delete(commentKeys);
-        }
+        bumpNamespace(CHAPTER_COMMENTS_NS);
     }
 
     /**
@@ -340,47 +510,70 @@ public class RedisUtil {
      */
     public void invalidateReviewCaches(Integer reviewId) {
         deleteReviewCache(reviewId);
-        
+
         // Invalidate novel review caches
-        Set<String> reviewKeys = keys(REVIEW_PREFIX + "novel:*");
-        if (!reviewKeys.isEmpty()) {
-            delete(reviewKeys);
-        }
+        bumpNamespace(NOVEL_REVIEWS_NS);
     }
 
     /**
      * Invalidate all vote-related caches
      */
     public void invalidateVoteCaches(Integer novelId) {
-        Set<String> voteKeys = keys(VOTE_PREFIX + "novel:" + novelId);
-        if (!voteKeys.isEmpty()) {
-            delete(voteKeys);
-        }
-        
+        delete(VOTE_PREFIX + "novel:" + novelId);
+
         // Invalidate user vote caches
-        Set<String> userVoteKeys = keys(VOTE_PREFIX + "user:*");
-        if (!userVoteKeys.isEmpty()) {
-            delete(userVoteKeys);
-        }
+        bumpNamespace(USER_VOTES_NS);
     }
 
     /**
      * Invalidate all engagement caches
      */
     public void invalidateEngagementCaches() {
-        Set<String> engagementKeys = keys(ENGAGEMENT_PREFIX + "*");
-        if (!engagementKeys.isEmpty()) {
-            delete(engagementKeys);
-        }
+        bumpNamespace(ENGAGEMENT_NS);
     }
 
     /**
-     * Clear all caches (use with caution)
+     * Clear all caches owned by this service (use with caution)
+     * Scans only this service's prefixes; the Redis instance is shared with other services.
      */
     public void clearAllCaches() {
-        Set<String> allKeys = keys("*");
-        if (!allKeys.isEmpty()) {
-            delete(allKeys);
+        for (String prefix : List.of(COMMENT_PREFIX, REVIEW_PREFIX, VOTE_PREFIX, LIKE_PREFIX, ENGAGEMENT_PREFIX)) {
+            deleteByPattern(prefix + "*");
+        }
+    }
+
+    private String chapterCommentsKey(Integer chapterId) {
+        String scope = CHAPTER_COMMENTS_NS + ":" + chapterId;
+        return scope + ":" + namespaceVersion(CHAPTER_COMMENTS_NS, scope);
+    }
+
+    private String novelReviewsKey(Integer novelId) {
+        String scope = NOVEL_REVIEWS_NS + ":" + novelId;
+        return scope + ":" + namespaceVersion(NOVEL_REVIEWS_NS, scope);
+    }
+
+    private String userVotesKey(String userId) {
+        return VOTE_PREFIX + "user:" + namespaceVersion(USER_VOTES_NS) + ":" + userId;
+    }
+
+    private String engagementStatsKey(String entityType, Integer entityId) {
+        return ENGAGEMENT_PREFIX + namespaceVersion(ENGAGEMENT_NS) + ":" + entityType + ":" + entityId;
+    }
+
+    private long unlink(List<String> keys) {
+        // UNLINK frees memory in the background instead of blocking like DEL
+        Long removed = redisTemplate.unlink(keys);
+        return removed != null ? removed : 0L;
+    }
+
+    private static ScanOptions scanOptions(String pattern) {
+        return ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
+    }
+
+    private static long asVersion(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
         }
+        return value != null ? Long.parseLong(value.toString()) : 0L;
     }
 }
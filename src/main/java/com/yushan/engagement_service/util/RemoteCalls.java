@@ -0,0 +1,133 @@
+package com.yushan.engagement_service.util;
+
+import com.yushan.engagement_service.config.RemoteCallConfig;
+import com.yushan.engagement_service.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent remote calls of one request concurrently.
+ * Shaped like StructuredTaskScope.ShutdownOnFailure: fork the calls, join them under one
+ * deadline, then read the results. The first failure, or the deadline, interrupts the calls
+ * still running. Each call sees the caller's request attributes, so Feign keeps forwarding
+ * the caller's Authorization header.
+ */
+@Component
+public class RemoteCalls {
+
+    @Autowired
+    @Qualifier(RemoteCallConfig.REMOTE_CALL_EXECUTOR)
+    private Executor remoteCallExecutor;
+
+    public Scope open() {
+        return new Scope(remoteCallExecutor);
+    }
+
+    public static final class Scope {
+
+        private final Executor executor;
+        private final List<FutureTask<?>> forked = new ArrayList<>();
+        private final BlockingQueue<Future<?>> completed = new LinkedBlockingQueue<>();
+        private volatile boolean failed;
+
+        private Scope(Executor executor) {
+            this.executor = executor;
+        }
+
+        /**
+         * Start a call; its result is available from the returned supplier after join.
+         * Once a forked call has failed, later calls are not started.
+         */
+        public <T> Supplier<T> fork(Supplier<T> call) {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            FutureTask<T> task = new FutureTask<>(() -> {
+                RequestContextHolder.setRequestAttributes(attributes);
+                try {
+                    return call.get();
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            }) {
+                @Override
+                protected void done() {
+                    if (state() != State.SUCCESS) {
+                        failed = true;
+                    }
+                    completed.add(this);
+                }
+            };
+            forked.add(task);
+            if (failed) {
+                task.cancel(false);
+            } else {
+                executor.execute(task);
+            }
+            return () -> resultOf(task);
+        }
+
+        /**
+         * Wait for every forked call, rethrowing the first failure as it happens.
+         * The deadline is cut short by the request's own deadline (see RequestDeadline).
+         *
+         * @throws ServiceUnavailableException when the calls do not finish within the deadline
+         */
+        public void join(Duration timeout) {
+            Duration deadline = RequestDeadline.clamp(timeout);
+            long deadlineNanos = System.nanoTime() + deadline.toNanos();
+            try {
+                for (int done = 0; done < forked.size(); done++) {
+                    Future<?> next = completed.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        throw new ServiceUnavailableException(
+                                "Downstream services did not answer within " + deadline.toMillis() + " ms");
+                    }
+                    resultOf(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Interrupted while waiting for downstream services", e);
+            } finally {
+                // No-op for calls that already finished
+                forked.forEach(task -> task.cancel(true));
+            }
+        }
+
+        private static <T> T resultOf(Future<T> task) {
+            if (!task.isDone()) {
+                throw new IllegalStateException("Remote call read before join");
+            }
+            try {
+                return task.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (CancellationException e) {
+                throw new ServiceUnavailableException("Remote call was cancelled", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Interrupted while reading remote call result", e);
+            }
+        }
+    }
+}
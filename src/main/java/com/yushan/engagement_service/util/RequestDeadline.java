@@ -0,0 +1,77 @@
+package com.yushan.engagement_service.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Time budget of the current request.
+ * The budget arrives as X-Request-Timeout-Ms, is started by RequestDeadlineFilter and is sent
+ * on to downstream services with whatever is left, so they can stop working on a request the
+ * caller has given up on. The header carries remaining milliseconds rather than an instant so
+ * that services do not need synchronised clocks. Outside a request there is no deadline.
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Start the budget of a request now
+     */
+    public static void start(HttpServletRequest request, Duration budget) {
+        request.setAttribute(ATTRIBUTE, System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * Time left for the current request (negative once exceeded), or null without a deadline
+     */
+    public static Duration remaining() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object deadline;
+        try {
+            deadline = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        } catch (IllegalStateException e) {
+            // The request has already completed
+            return null;
+        }
+        if (!(deadline instanceof Long deadlineNanos)) {
+            return null;
+        }
+        return Duration.ofNanos(deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * The shorter of the given timeout and the time left for the current request
+     */
+    public static Duration clamp(Duration timeout) {
+        Duration remaining = remaining();
+        if (remaining == null || remaining.compareTo(timeout) >= 0) {
+            return timeout;
+        }
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    /**
+     * Budget carried by the header, or null when it is absent or malformed
+     */
+    public static Duration parse(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofMillis(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
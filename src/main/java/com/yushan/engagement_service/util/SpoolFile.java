@@ -0,0 +1,244 @@
+package com.yushan.engagement_service.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only FIFO of byte records kept in fixed-size memory-mapped segment files.
+ * Each segment starts with its write and read offsets. The write offset is updated only after
+ * a record is fully written, so a torn write is never read. The read offset moves only when the
+ * reader commits records it has handled, so records spooled or peeked before a crash or restart
+ * are replayed after it. Fully read segments are deleted.
+ * Not thread-safe; callers synchronize.
+ */
+public class SpoolFile implements Closeable {
+
+    private static final int HEADER_SIZE = 8;
+    private static final int WRITE_OFFSET_POS = 0;
+    private static final int READ_OFFSET_POS = 4;
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    // Oldest first; the last segment takes appends
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSequence;
+    private volatile long pendingRecords;
+
+    public SpoolFile(Path directory, int segmentSize, int maxSegments) throws IOException {
+        if (segmentSize <= HEADER_SIZE + 4) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+
+        Files.createDirectories(directory);
+        List<Path> existing;
+        try (Stream<Path> files = Files.list(directory)) {
+            existing = files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                    .toList();
+        }
+        long pending = 0;
+        for (Path path : existing) {
+            Segment segment = new Segment(path, segmentSize, false);
+            segments.addLast(segment);
+            pending += segment.countUnread();
+            nextSequence = sequenceOf(path) + 1;
+        }
+        pendingRecords = pending;
+    }
+
+    /**
+     * Append a record
+     *
+     * @return false when the record does not fit in the remaining spool space
+     */
+    public boolean append(byte[] record) throws IOException {
+        int needed = 4 + record.length;
+        if (needed > segmentSize - HEADER_SIZE) {
+            return false;
+        }
+        Segment tail = segments.peekLast();
+        if (tail == null || tail.remaining() < needed) {
+            if (segments.size() >= maxSegments) {
+                return false;
+            }
+            tail = new Segment(directory.resolve(String.format("%020d%s", nextSequence++, SEGMENT_SUFFIX)),
+                    segmentSize, true);
+            segments.addLast(tail);
+        }
+        tail.append(record);
+        pendingRecords++;
+        return true;
+    }
+
+    /**
+     * Return up to max of the oldest records without removing them; commit removes them once handled
+     */
+    public List<byte[]> peek(int max) {
+        List<byte[]> records = new ArrayList<>(Math.min(max, 64));
+        for (Segment segment : segments) {
+            if (records.size() >= max) {
+                break;
+            }
+            segment.peek(max, records);
+        }
+        return records;
+    }
+
+    /**
+     * Remove the oldest count records, as returned by peek, and delete segments left fully read
+     */
+    public void commit(int count) throws IOException {
+        while (true) {
+            Segment head = segments.peekFirst();
+            if (head == null) {
+                return;
+            }
+            int skipped = head.skip(count);
+            count -= skipped;
+            pendingRecords -= skipped;
+            if (head.hasUnread()) {
+                return;
+            }
+            if (segments.size() == 1) {
+                // Drained append segment: rewind it instead of creating a new file
+                head.rewind();
+                return;
+            }
+            segments.pollFirst();
+            head.delete();
+        }
+    }
+
+    /**
+     * Remove and return the oldest record, or null when the spool is empty
+     */
+    public byte[] poll() throws IOException {
+        List<byte[]> next = peek(1);
+        commit(next.size());
+        return next.isEmpty() ? null : next.get(0);
+    }
+
+    /**
+     * Records appended and not yet polled; safe to read without synchronization
+     */
+    public long pendingRecords() {
+        return pendingRecords;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Segment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+        private int readOffset;
+
+        Segment(Path path, int size, boolean create) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (create) {
+                rewind();
+            } else {
+                writeOffset = buffer.getInt(WRITE_OFFSET_POS);
+                readOffset = buffer.getInt(READ_OFFSET_POS);
+                if (writeOffset < HEADER_SIZE || writeOffset > size || readOffset < HEADER_SIZE
+                        || readOffset > writeOffset) {
+                    throw new IOException("Corrupt spool segment header: " + path);
+                }
+            }
+        }
+
+        int remaining() {
+            return buffer.capacity() - writeOffset;
+        }
+
+        boolean hasUnread() {
+            return readOffset < writeOffset;
+        }
+
+        void append(byte[] record) {
+            buffer.putInt(writeOffset, record.length);
+            buffer.put(writeOffset + 4, record);
+            writeOffset += 4 + record.length;
+            buffer.putInt(WRITE_OFFSET_POS, writeOffset);
+        }
+
+        void peek(int max, List<byte[]> records) {
+            for (int offset = readOffset; offset < writeOffset && records.size() < max; ) {
+                int length = buffer.getInt(offset);
+                byte[] record = new byte[length];
+                buffer.get(offset + 4, record);
+                records.add(record);
+                offset += 4 + length;
+            }
+        }
+
+        int skip(int count) {
+            int skipped = 0;
+            while (skipped < count && readOffset < writeOffset) {
+                readOffset += 4 + buffer.getInt(readOffset);
+                skipped++;
+            }
+            buffer.putInt(READ_OFFSET_POS, readOffset);
+            return skipped;
+        }
+
+        long countUnread() {
+            long count = 0;
+            for (int offset = readOffset; offset < writeOffset; offset += 4 + buffer.getInt(offset)) {
+                count++;
+            }
+            return count;
+        }
+
+        void rewind() {
+            writeOffset = HEADER_SIZE;
+            readOffset = HEADER_SIZE;
+            buffer.putInt(WRITE_OFFSET_POS, writeOffset);
+            buffer.putInt(READ_OFFSET_POS, readOffset);
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+
+        void delete() throws IOException {
+            close();
+            Files.deleteIfExists(path);
+        }
+    }
+}
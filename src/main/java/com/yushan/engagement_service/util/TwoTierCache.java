@@ -0,0 +1,251 @@
+package com.yushan.engagement_service.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Spring Cache backed by a bounded in-process Caffeine cache in front of Redis.
+ * Loads are single-flight per key on each instance: concurrent misses for the same
+ * key wait on one loader instead of fanning out to the remote service. The loader runs
+ * outside Caffeine's compute, so a slow remote call holds no map lock: it neither pins a
+ * virtual thread's carrier nor stalls other keys that share its hash bin.
+ * Redis failures are treated as misses so the cache never breaks a read path.
+ */
+@Slf4j
+public class TwoTierCache implements org.springframework.cache.Cache {
+
+    private static final String KEY_PREFIX = "metadata:";
+
+    // How long to bypass Redis after a failed call before trying it again
+    private static final long REDIS_RETRY_DELAY_MS = 30_000L;
+
+    private final String name;
+    private final Cache<Object, Object> local;
+    private final RedisUtil redisUtil;
+    private final Duration redisTtl;
+    private final Predicate<Object> cacheable;
+
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder redisMisses = new LongAdder();
+    private final LongAdder redisErrors = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private volatile long redisRetryAt;
+
+    public TwoTierCache(String name, Cache<Object, Object> local, RedisUtil redisUtil,
+                        Duration redisTtl, Predicate<Object> cacheable) {
+        this.name = name;
+        this.local = local;
+        this.redisUtil = redisUtil;
+        this.redisTtl = redisTtl;
+        this.cacheable = cacheable;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value == null) {
+            value = redisGet(key);
+            if (value == null) {
+                return null;
+            }
+            local.put(key, value);
+        }
+        return new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            return (T) value;
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            return (T) await(existing);
+        }
+
+        try {
+            // A load that finished after our miss has already filled the local tier
+            value = local.asMap().get(key);
+            if (value == null) {
+                value = loadThrough(key, valueLoader);
+                // Waiters for this key still share a fallback value; it just isn't kept around
+                if (value != null && cacheable.test(value)) {
+                    local.put(key, value);
+                }
+            }
+            load.complete(value);
+            return (T) value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null || !cacheable.test(value)) {
+            evict(key);
+            return;
+        }
+        local.put(key, value);
+        redisPut(key, value);
+        puts.increment();
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.invalidate(key);
+        if (redisAvailable()) {
+            try {
+                redisUtil.delete(redisKey(key));
+            } catch (Exception e) {
+                onRedisError("evict", e);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        if (redisAvailable()) {
+            try {
+                redisUtil.deleteByPattern(KEY_PREFIX + name + ":*");
+            } catch (Exception e) {
+                onRedisError("clear", e);
+            }
+        }
+    }
+
+    public long getRedisHitCount() {
+        return redisHits.sum();
+    }
+
+    public long getRedisMissCount() {
+        return redisMisses.sum();
+    }
+
+    public long getRedisErrorCount() {
+        return redisErrors.sum();
+    }
+
+    public long getPutCount() {
+        return puts.sum();
+    }
+
+    private Object loadThrough(Object key, Callable<?> valueLoader) {
+        Object value = redisGet(key);
+        if (value != null) {
+            return value;
+        }
+
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+
+        if (value != null && cacheable.test(value)) {
+            redisPut(key, value);
+            puts.increment();
+        }
+        return value;
+    }
+
+    private Object redisGet(Object key) {
+        if (!redisAvailable()) {
+            redisMisses.increment();
+            return null;
+        }
+        try {
+            Object value = redisUtil.get(redisKey(key));
+            if (value != null) {
+                redisHits.increment();
+            } else {
+                redisMisses.increment();
+            }
+            return value;
+        } catch (Exception e) {
+            redisMisses.increment();
+            onRedisError("get", e);
+            return null;
+        }
+    }
+
+    private void redisPut(Object key, Object value) {
+        if (!redisAvailable()) {
+            return;
+        }
+        try {
+            redisUtil.set(redisKey(key), value, redisTtl);
+        } catch (Exception e) {
+            onRedisError("put", e);
+        }
+    }
+
+    private boolean redisAvailable() {
+        return redisUtil != null && System.currentTimeMillis() >= redisRetryAt;
+    }
+
+    private void onRedisError(String operation, Exception e) {
+        redisErrors.increment();
+        redisRetryAt = System.currentTimeMillis() + REDIS_RETRY_DELAY_MS;
+        log.warn("Redis {} failed for cache '{}', serving from local tier only: {}", operation, name, e.getMessage());
+    }
+
+    private static Object await(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String redisKey(Object key) {
+        return KEY_PREFIX + name + ":" + key;
+    }
+}
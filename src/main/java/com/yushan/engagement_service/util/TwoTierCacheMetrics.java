@@ -0,0 +1,91 @@
+package com.yushan.engagement_service.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Micrometer binder for TwoTierCache.
+ * Standard cache.* meters report the combined view (a Redis hit counts as a hit);
+ * cache.tier.* meters break hits and misses down per tier.
+ */
+public class TwoTierCacheMetrics extends CacheMeterBinder<TwoTierCache> {
+
+    public TwoTierCacheMetrics(TwoTierCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        Cache<Object, Object> local = localCache();
+        return local != null ? local.estimatedSize() : null;
+    }
+
+    @Override
+    protected long hitCount() {
+        TwoTierCache cache = getCache();
+        return cache != null ? localStats(cache).hitCount() + cache.getRedisHitCount() : 0L;
+    }
+
+    @Override
+    protected Long missCount() {
+        TwoTierCache cache = getCache();
+        return cache != null ? cache.getRedisMissCount() : null;
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return localStats().evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        TwoTierCache cache = getCache();
+        return cache != null ? cache.getPutCount() : 0L;
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        TwoTierCache cache = getCache();
+        if (cache == null) {
+            return;
+        }
+
+        FunctionCounter.builder("cache.tier.gets", cache, c -> localStats(c).hitCount())
+                .tags(getTagsWithCacheName()).tag("tier", "local").tag("result", "hit")
+                .description("Lookups served by the in-process tier")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", cache, c -> localStats(c).missCount())
+                .tags(getTagsWithCacheName()).tag("tier", "local").tag("result", "miss")
+                .description("Lookups that fell through the in-process tier")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", cache, TwoTierCache::getRedisHitCount)
+                .tags(getTagsWithCacheName()).tag("tier", "redis").tag("result", "hit")
+                .description("Lookups served by the Redis tier")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", cache, TwoTierCache::getRedisMissCount)
+                .tags(getTagsWithCacheName()).tag("tier", "redis").tag("result", "miss")
+                .description("Lookups that fell through to the remote service")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.errors", cache, TwoTierCache::getRedisErrorCount)
+                .tags(getTagsWithCacheName()).tag("tier", "redis")
+                .description("Redis operations that failed and were treated as misses")
+                .register(registry);
+    }
+
+    private Cache<Object, Object> localCache() {
+        TwoTierCache cache = getCache();
+        return cache != null ? cache.getNativeCache() : null;
+    }
+
+    private CacheStats localStats() {
+        return localStats(getCache());
+    }
+
+    private static CacheStats localStats(TwoTierCache cache) {
+        return cache != null ? cache.getNativeCache().stats() : CacheStats.empty();
+    }
+}
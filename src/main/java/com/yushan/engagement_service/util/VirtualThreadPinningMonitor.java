@@ -0,0 +1,96 @@
+package com.yushan.engagement_service.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads pinned to their carrier, i.e. blocking inside a synchronized block
+ * or native frame, which is what caps virtual-thread throughput on the Feign and JDBC paths.
+ * Active only with spring.threads.virtual.enabled; it streams the JFR jdk.VirtualThreadPinned
+ * event in-process, records pin times in engagement.virtual-threads.pinned and logs each
+ * distinct pinning stack once.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int STACK_DEPTH = 16;
+    private static final int MAX_REPORTED_STACKS = 256;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${engagement.virtual-threads.pinning-threshold:20ms}")
+    private Duration pinningThreshold = Duration.ofMillis(20);
+
+    private final Set<String> reportedStacks = ConcurrentHashMap.newKeySet();
+    private Timer pinned;
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        pinned = Timer.builder("engagement.virtual-threads.pinned")
+                .description("Time virtual threads spent pinned to a carrier thread while blocked")
+                .register(meterRegistry);
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(pinningThreshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, event -> onPinned(event.getDuration(), frames(event)));
+            stream.startAsync();
+        } catch (RuntimeException e) {
+            log.warn("JFR unavailable, virtual thread pinning is not monitored: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void onPinned(Duration duration, List<String> frames) {
+        pinned.record(duration);
+        String stack = String.join("\n\tat ", frames);
+        if (reportedStacks.size() < MAX_REPORTED_STACKS && reportedStacks.add(stack)) {
+            log.warn("Virtual thread pinned for {} ms:\n\tat {}", duration.toMillis(), stack);
+        }
+    }
+
+    private static List<String> frames(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return List.of();
+        }
+        return stackTrace.getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(VirtualThreadPinningMonitor::describe)
+                .toList();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
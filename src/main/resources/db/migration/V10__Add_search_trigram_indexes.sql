@@ -0,0 +1,21 @@
+-- Substring search for comment, review and report filters
+-- The mappers search with like/ilike '%term%', which no b-tree index can serve.
+-- Trigram GIN indexes serve both operators for terms of three or more characters.
+-- sort=relevance also matches near misses by word similarity (<%) and ranks by its
+-- distance (<<->), over one text per row; the review and report texts join two
+-- columns, so they get expression indexes matching the mapper Search_Text fragments.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_comment_content_trgm ON comment USING gin (content gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_review_title_trgm ON review USING gin (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_review_content_trgm ON review USING gin (content gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_report_reason_trgm ON report USING gin (reason gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_report_admin_notes_trgm ON report USING gin (admin_notes gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_review_search_text_trgm
+    ON review USING gin ((coalesce(title, '') || ' ' || coalesce(content, '')) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_report_search_text_trgm
+    ON report USING gin ((coalesce(reason, '') || ' ' || coalesce(admin_notes, '')) gin_trgm_ops);
@@ -0,0 +1,148 @@
+-- Daily comment rollups for the moderation dashboard
+-- One row per day, per (day, chapter) and per (day, user), so totals, time windows and
+-- the most active user/chapter are read from a handful of rows instead of scanning comment.
+-- Kept current by triggers on comment: comments are also removed by bulk moderation deletes,
+-- which a per-row delta in application code could not see without reading the rows first.
+-- Inserts and deletes are applied once per statement, grouped by day/chapter/user.
+-- The day total and the per-chapter counts are split into slots picked by the writer's backend:
+-- every comment on a newly released chapter would otherwise update the same row and queue on
+-- its lock until each commenting transaction committed. Readers sum over the slots. A slot may
+-- go negative after moderation deletes while the sum stays right.
+
+CREATE TABLE IF NOT EXISTS comment_daily_stats (
+    day DATE NOT NULL,
+    slot SMALLINT NOT NULL DEFAULT 0,
+    comment_count BIGINT NOT NULL DEFAULT 0,
+    spoiler_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, slot)
+);
+
+CREATE TABLE IF NOT EXISTS comment_daily_chapter_stats (
+    day DATE NOT NULL,
+    chapter_id INTEGER NOT NULL,
+    slot SMALLINT NOT NULL DEFAULT 0,
+    comment_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, chapter_id, slot)
+);
+
+CREATE TABLE IF NOT EXISTS comment_daily_user_stats (
+    day DATE NOT NULL,
+    user_id UUID NOT NULL,
+    comment_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, user_id)
+);
+
+-- Backfill from existing comments
+INSERT INTO comment_daily_stats (day, comment_count, spoiler_count)
+SELECT create_time::date, COUNT(*), COUNT(*) FILTER (WHERE is_spoiler)
+FROM comment
+GROUP BY create_time::date
+ON CONFLICT (day, slot) DO NOTHING;
+
+INSERT INTO comment_daily_chapter_stats (day, chapter_id, comment_count)
+SELECT create_time::date, chapter_id, COUNT(*)
+FROM comment
+GROUP BY create_time::date, chapter_id
+ON CONFLICT (day, chapter_id, slot) DO NOTHING;
+
+INSERT INTO comment_daily_user_stats (day, user_id, comment_count)
+SELECT create_time::date, user_id, COUNT(*)
+FROM comment
+GROUP BY create_time::date, user_id
+ON CONFLICT (day, user_id) DO NOTHING;
+
+-- Add a signed delta for one (day, chapter, user) group to all three rollups.
+-- A user rarely comments from two connections at once, so only the day and chapter rows are
+-- slotted. All statements of a transaction use the same slot, so bulk statements still lock
+-- rollup rows in key order.
+CREATE OR REPLACE FUNCTION comment_rollup_add(p_day DATE, p_chapter_id INTEGER, p_user_id UUID,
+                                              p_comments BIGINT, p_spoilers BIGINT) RETURNS VOID AS $$
+DECLARE
+    v_slot SMALLINT := pg_backend_pid() % 16;
+BEGIN
+    INSERT INTO comment_daily_stats AS s (day, slot, comment_count, spoiler_count)
+    VALUES (p_day, v_slot, p_comments, p_spoilers)
+    ON CONFLICT (day, slot) DO UPDATE
+    SET comment_count = s.comment_count + excluded.comment_count,
+        spoiler_count = s.spoiler_count + excluded.spoiler_count;
+
+    INSERT INTO comment_daily_chapter_stats AS s (day, chapter_id, slot, comment_count)
+    VALUES (p_day, p_chapter_id, v_slot, p_comments)
+    ON CONFLICT (day, chapter_id, slot) DO UPDATE
+    SET comment_count = s.comment_count + excluded.comment_count;
+
+    INSERT INTO comment_daily_user_stats AS s (day, user_id, comment_count)
+    VALUES (p_day, p_user_id, p_comments)
+    ON CONFLICT (day, user_id) DO UPDATE
+    SET comment_count = s.comment_count + excluded.comment_count;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Groups are applied in key order so concurrent bulk statements lock rollup rows in the same order
+CREATE OR REPLACE FUNCTION comment_rollup_on_insert() RETURNS TRIGGER AS $$
+DECLARE
+    g RECORD;
+BEGIN
+    FOR g IN
+        SELECT create_time::date AS day, chapter_id, user_id,
+               COUNT(*) AS comments, COUNT(*) FILTER (WHERE is_spoiler) AS spoilers
+        FROM inserted_rows
+        GROUP BY 1, 2, 3
+        ORDER BY 1, 2, 3
+    LOOP
+        PERFORM comment_rollup_add(g.day, g.chapter_id, g.user_id, g.comments, g.spoilers);
+    END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION comment_rollup_on_delete() RETURNS TRIGGER AS $$
+DECLARE
+    g RECORD;
+BEGIN
+    FOR g IN
+        SELECT create_time::date AS day, chapter_id, user_id,
+               COUNT(*) AS comments, COUNT(*) FILTER (WHERE is_spoiler) AS spoilers
+        FROM deleted_rows
+        GROUP BY 1, 2, 3
+        ORDER BY 1, 2, 3
+    LOOP
+        PERFORM comment_rollup_add(g.day, g.chapter_id, g.user_id, -g.comments, -g.spoilers);
+    END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Moves a comment between groups when a rolled-up column changes
+CREATE OR REPLACE FUNCTION comment_rollup_on_update() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM comment_rollup_add(OLD.create_time::date, OLD.chapter_id, OLD.user_id,
+                               -1, CASE WHEN OLD.is_spoiler THEN -1 ELSE 0 END);
+    PERFORM comment_rollup_add(NEW.create_time::date, NEW.chapter_id, NEW.user_id,
+                               1, CASE WHEN NEW.is_spoiler THEN 1 ELSE 0 END);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS comment_rollup_insert ON comment;
+CREATE TRIGGER comment_rollup_insert
+    AFTER INSERT ON comment
+    REFERENCING NEW TABLE AS inserted_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION comment_rollup_on_insert();
+
+DROP TRIGGER IF EXISTS comment_rollup_delete ON comment;
+CREATE TRIGGER comment_rollup_delete
+    AFTER DELETE ON comment
+    REFERENCING OLD TABLE AS deleted_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION comment_rollup_on_delete();
+
+-- Like count and content updates do not touch the rollups
+DROP TRIGGER IF EXISTS comment_rollup_update ON comment;
+CREATE TRIGGER comment_rollup_update
+    AFTER UPDATE OF create_time, chapter_id, user_id, is_spoiler ON comment
+    FOR EACH ROW
+    WHEN (OLD.create_time::date IS DISTINCT FROM NEW.create_time::date
+          OR OLD.chapter_id IS DISTINCT FROM NEW.chapter_id
+          OR OLD.user_id IS DISTINCT FROM NEW.user_id
+          OR OLD.is_spoiler IS DISTINCT FROM NEW.is_spoiler)
+    EXECUTE FUNCTION comment_rollup_on_update();
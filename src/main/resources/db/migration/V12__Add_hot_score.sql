@@ -0,0 +1,44 @@
+-- Time-decayed "hot" ranking for chapter comments and novel reviews
+-- hot_score = log10(likes) + days since the epoch at creation, so a row needs ten times the
+-- likes to rank level with one posted a day later. Decay is anchored at the creation time
+-- rather than at "now", so a score only changes when its like count does and the ordering
+-- never has to be rewritten as rows age; the hot page is a top-N read of the listing index.
+
+CREATE OR REPLACE FUNCTION hot_score(p_like_cnt INTEGER, p_create_time TIMESTAMP) RETURNS DOUBLE PRECISION AS $$
+    SELECT log(greatest(coalesce(p_like_cnt, 0), 1)::double precision)
+           + extract(epoch FROM p_create_time)::double precision / 86400
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Constant default, so adding the columns does not rewrite the tables.
+-- Existing rows stay at 0 (below any real score) until HotScoreSweep scores them in batches.
+ALTER TABLE comment ADD COLUMN IF NOT EXISTS hot_score DOUBLE PRECISION NOT NULL DEFAULT 0;
+ALTER TABLE review ADD COLUMN IF NOT EXISTS hot_score DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+-- Rescore a row whenever its like count is written, i.e. when LikeCounterService flushes
+-- buffered likes, rather than on every individual like
+CREATE OR REPLACE FUNCTION set_hot_score() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.hot_score := hot_score(NEW.like_cnt, NEW.create_time);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS comment_hot_score ON comment;
+CREATE TRIGGER comment_hot_score
+    BEFORE INSERT OR UPDATE OF like_cnt, create_time ON comment
+    FOR EACH ROW EXECUTE FUNCTION set_hot_score();
+
+DROP TRIGGER IF EXISTS review_hot_score ON review;
+CREATE TRIGGER review_hot_score
+    BEFORE INSERT OR UPDATE OF like_cnt, create_time ON review
+    FOR EACH ROW EXECUTE FUNCTION set_hot_score();
+
+-- Same (sort key, id) shape as the V5 listing indexes
+CREATE INDEX IF NOT EXISTS idx_comment_chapter_hot_score_id ON comment (chapter_id, hot_score DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_review_novel_hot_score_id ON review (novel_id, hot_score DESC, id DESC);
+-- Novel-wide comment listing; same shape as the V9 novel indexes
+CREATE INDEX IF NOT EXISTS idx_comment_novel_hot_score_id ON comment (novel_id, hot_score DESC, id DESC);
+
+-- Rows the sweep still has to score; shrinks to nothing once it has caught up
+CREATE INDEX IF NOT EXISTS idx_comment_unscored ON comment (id) WHERE hot_score = 0;
+CREATE INDEX IF NOT EXISTS idx_review_unscored ON review (id) WHERE hot_score = 0;
@@ -0,0 +1,53 @@
+-- Helpfulness ranking for novel reviews
+-- helpfulness_score is the lower bound of the 95% Wilson score interval for the share of
+-- impressions (times a review was shown on its novel's listing) that turned into a like.
+-- A new review liked by most of the few readers who saw it can outrank an old one with more
+-- likes but a poor like rate, while a handful of lucky likes is not enough on its own.
+-- Impressions are buffered and flushed with the likes (see LikeCounterService).
+
+-- Plain Wilson lower bound; callers pass at least as many trials as positives
+CREATE OR REPLACE FUNCTION wilson_lower_bound(p_positive DOUBLE PRECISION, p_total DOUBLE PRECISION) RETURNS DOUBLE PRECISION AS $$
+DECLARE
+    z CONSTANT DOUBLE PRECISION := 1.96;
+    n DOUBLE PRECISION := coalesce(p_total, 0);
+    p DOUBLE PRECISION;
+BEGIN
+    IF n <= 0 THEN
+        RETURN 0;
+    END IF;
+    p := least(coalesce(p_positive, 0) / n, 1);
+    RETURN greatest((p + z * z / (2 * n) - z * sqrt((p * (1 - p) + z * z / (4 * n)) / n)) / (1 + z * z / n), 0);
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+-- Likes can also come from readers who never saw the listing (the novel page, a share link).
+-- Each like without a matching impression counts 1 / baseline rate pseudo-impressions, so
+-- 3 likes and no impressions score like 3 out of 30 rather than a 100% like rate of 3 out of 3
+CREATE OR REPLACE FUNCTION review_helpfulness(p_like_cnt INTEGER, p_impression_cnt INTEGER) RETURNS DOUBLE PRECISION AS $$
+    SELECT wilson_lower_bound(
+        coalesce(p_like_cnt, 0)::double precision,
+        coalesce(p_impression_cnt, 0)
+            + greatest(coalesce(p_like_cnt, 0) - coalesce(p_impression_cnt, 0), 0) / 0.1::double precision)
+$$ LANGUAGE sql IMMUTABLE;
+
+ALTER TABLE review ADD COLUMN IF NOT EXISTS impression_cnt INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE review ADD COLUMN IF NOT EXISTS helpfulness_score DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+-- Rescore a review whenever its likes or impressions are flushed
+CREATE OR REPLACE FUNCTION set_helpfulness_score() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.helpfulness_score := review_helpfulness(NEW.like_cnt, NEW.impression_cnt);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS review_helpfulness_score ON review;
+CREATE TRIGGER review_helpfulness_score
+    BEFORE INSERT OR UPDATE OF like_cnt, impression_cnt ON review
+    FOR EACH ROW EXECUTE FUNCTION set_helpfulness_score();
+
+-- Reviews without likes already score 0; only liked ones need scoring
+UPDATE review SET helpfulness_score = review_helpfulness(like_cnt, impression_cnt) WHERE like_cnt > 0;
+
+-- Same (sort key, id) shape as the V5 listing indexes
+CREATE INDEX IF NOT EXISTS idx_review_novel_helpfulness_id ON review (novel_id, helpfulness_score DESC, id DESC);
@@ -0,0 +1,30 @@
+-- Per-novel rating aggregate for Engagement Service
+-- Kept current by delta upserts in the same transaction as each review change,
+-- so publishing a novel's rating no longer rescans all of its reviews
+
+CREATE TABLE IF NOT EXISTS novel_rating_stats (
+    novel_id INTEGER PRIMARY KEY,
+    review_count INTEGER NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating1_cnt INTEGER NOT NULL DEFAULT 0,
+    rating2_cnt INTEGER NOT NULL DEFAULT 0,
+    rating3_cnt INTEGER NOT NULL DEFAULT 0,
+    rating4_cnt INTEGER NOT NULL DEFAULT 0,
+    rating5_cnt INTEGER NOT NULL DEFAULT 0,
+    update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Backfill from existing reviews
+INSERT INTO novel_rating_stats (novel_id, review_count, rating_sum,
+                                rating1_cnt, rating2_cnt, rating3_cnt, rating4_cnt, rating5_cnt)
+SELECT novel_id,
+       COUNT(*),
+       SUM(rating),
+       COUNT(*) FILTER (WHERE rating = 1),
+       COUNT(*) FILTER (WHERE rating = 2),
+       COUNT(*) FILTER (WHERE rating = 3),
+       COUNT(*) FILTER (WHERE rating = 4),
+       COUNT(*) FILTER (WHERE rating = 5)
+FROM review
+GROUP BY novel_id
+ON CONFLICT (novel_id) DO NOTHING;
@@ -0,0 +1,33 @@
+-- Secondary indexes for Engagement Service
+-- Each index backs the filter and sort columns of mapper statements in
+-- CommentMapper.xml, ReviewMapper.xml, VoteMapper.xml and ReportMapper.xml
+
+-- Comment: chapter pages sorted by time or likes, novel pages (chapter_id IN ...),
+-- per-chapter counts/stats and the "already commented" check
+CREATE INDEX IF NOT EXISTS idx_comment_chapter_create_time ON comment (chapter_id, create_time DESC);
+CREATE INDEX IF NOT EXISTS idx_comment_chapter_like_cnt ON comment (chapter_id, like_cnt DESC);
+
+-- Comment: a user's comments newest first, per-user counts, existsByUserAndChapter
+CREATE INDEX IF NOT EXISTS idx_comment_user_create_time ON comment (user_id, create_time DESC);
+
+-- Comment: unfiltered listings, recent-comment moderation queue, popular comments
+CREATE INDEX IF NOT EXISTS idx_comment_create_time ON comment (create_time DESC);
+CREATE INDEX IF NOT EXISTS idx_comment_like_cnt ON comment (like_cnt DESC, create_time DESC);
+
+-- Review: (user_id, novel_id) is already covered by unique_user_novel_review
+CREATE INDEX IF NOT EXISTS idx_review_uuid ON review (uuid);
+CREATE INDEX IF NOT EXISTS idx_review_novel_create_time ON review (novel_id, create_time DESC);
+CREATE INDEX IF NOT EXISTS idx_review_novel_like_cnt ON review (novel_id, like_cnt DESC);
+CREATE INDEX IF NOT EXISTS idx_review_user_create_time ON review (user_id, create_time DESC);
+CREATE INDEX IF NOT EXISTS idx_review_create_time ON review (create_time DESC);
+
+-- Vote: a user's votes newest first and per-user counts
+CREATE INDEX IF NOT EXISTS idx_vote_user_create_time ON vote (user_id, create_time DESC);
+
+-- Report: admin queue filtered by status/type, per-content and per-reporter lookups
+CREATE INDEX IF NOT EXISTS idx_report_uuid ON report (uuid);
+CREATE INDEX IF NOT EXISTS idx_report_status_created_at ON report (status, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_report_type_created_at ON report (report_type, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_report_created_at ON report (created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_report_content ON report (content_type, content_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_report_reporter ON report (reporter_id, created_at DESC);
@@ -0,0 +1,28 @@
+-- Keyset (cursor) pagination for comment and review listings
+-- Pages seek on (sort key, id), so the sort keys must be non-null and the
+-- listing indexes need id as the final tie-breaker column
+
+UPDATE comment SET like_cnt = 0 WHERE like_cnt IS NULL;
+UPDATE comment SET create_time = CURRENT_TIMESTAMP WHERE create_time IS NULL;
+ALTER TABLE comment ALTER COLUMN like_cnt SET NOT NULL;
+ALTER TABLE comment ALTER COLUMN create_time SET NOT NULL;
+
+UPDATE review SET like_cnt = 0 WHERE like_cnt IS NULL;
+UPDATE review SET create_time = CURRENT_TIMESTAMP WHERE create_time IS NULL;
+ALTER TABLE review ALTER COLUMN like_cnt SET NOT NULL;
+ALTER TABLE review ALTER COLUMN create_time SET NOT NULL;
+
+-- Replace the V4 listing indexes with (sort key, id) variants
+DROP INDEX IF EXISTS idx_comment_chapter_create_time;
+DROP INDEX IF EXISTS idx_comment_chapter_like_cnt;
+DROP INDEX IF EXISTS idx_comment_create_time;
+CREATE INDEX IF NOT EXISTS idx_comment_chapter_create_time_id ON comment (chapter_id, create_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_comment_chapter_like_cnt_id ON comment (chapter_id, like_cnt DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_comment_create_time_id ON comment (create_time DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_review_novel_create_time;
+DROP INDEX IF EXISTS idx_review_novel_like_cnt;
+DROP INDEX IF EXISTS idx_review_create_time;
+CREATE INDEX IF NOT EXISTS idx_review_novel_create_time_id ON review (novel_id, create_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_review_novel_like_cnt_id ON review (novel_id, like_cnt DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_review_create_time_id ON review (create_time DESC, id DESC);
@@ -0,0 +1,43 @@
+-- Per-user like tracking for comments and reviews
+-- The primary key makes a like idempotent: a retried like inserts nothing.
+-- like_cnt on comment/review stays the read-side counter and is updated in
+-- batches from the recorded likes (see LikeCounterService)
+
+CREATE TABLE IF NOT EXISTS comment_like (
+    comment_id INTEGER NOT NULL REFERENCES comment (id) ON DELETE CASCADE,
+    user_id UUID NOT NULL,
+    create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (comment_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS review_like (
+    review_id INTEGER NOT NULL REFERENCES review (id) ON DELETE CASCADE,
+    user_id UUID NOT NULL,
+    create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (review_id, user_id)
+);
+
+-- Likes counted before this migration have no rows behind them; like_cnt_base keeps that
+-- legacy count so a recount from the like rows is like_cnt_base + count(*)
+ALTER TABLE comment ADD COLUMN IF NOT EXISTS like_cnt_base INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE review ADD COLUMN IF NOT EXISTS like_cnt_base INTEGER NOT NULL DEFAULT 0;
+UPDATE comment SET like_cnt_base = like_cnt WHERE like_cnt IS NOT NULL AND like_cnt <> 0;
+UPDATE review SET like_cnt_base = like_cnt WHERE like_cnt IS NOT NULL AND like_cnt <> 0;
+
+-- Comments and reviews whose likes changed since the last reconcile pass
+-- LikeCounterService buffers like_cnt deltas in memory, so a crash loses up to one flush of them.
+-- Every like and unlike appends its target id here in the same statement; the reconcile pass
+-- deletes settled entries and recounts like_cnt for their ids from comment_like/review_like.
+-- Deleting an entry is the checkpoint, so each change is reconciled once across all instances.
+
+CREATE TABLE IF NOT EXISTS comment_like_change (
+    id BIGSERIAL PRIMARY KEY,
+    comment_id INTEGER NOT NULL,
+    create_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS review_like_change (
+    id BIGSERIAL PRIMARY KEY,
+    review_id INTEGER NOT NULL,
+    create_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
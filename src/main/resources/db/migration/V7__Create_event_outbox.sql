@@ -0,0 +1,21 @@
+-- Transactional outbox for engagement events
+-- Rows are written in the same transaction as the comment/review/vote they
+-- describe and drained to Kafka in id order by OutboxRelay, which deletes
+-- each row once the broker has acknowledged it.
+-- payload is the JSON body sent to Kafka as-is
+-- OutboxRelay claims a batch by stamping lease_until in a short transaction and
+-- sends it with no transaction or connection held. No batch is claimed while
+-- another one is leased, so events for a key still reach Kafka in id order; a
+-- lease left by a crashed instance expires and the batch is sent again.
+
+CREATE TABLE IF NOT EXISTS event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    event_key VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    lease_until TIMESTAMP
+);
+
+-- Only the batch in flight is leased, so the claim's "any live lease" check reads a tiny index
+CREATE INDEX IF NOT EXISTS idx_event_outbox_lease_until ON event_outbox (lease_until) WHERE lease_until IS NOT NULL;
@@ -0,0 +1,13 @@
+-- Votes not yet added to the novel's vote count in content-service
+-- New rows start unsynced. VoteCountAggregator stamps a novel's unsynced votes with the
+-- highest vote id among them (sync_batch) before calling content-service, sends that id as
+-- the idempotency key and marks the batch synced afterwards, so no row locks are held during
+-- the call and a retried or concurrent send of the same batch carries the same key and count.
+-- The pending per-novel deltas can always be rebuilt from this table.
+-- Rows that already exist were counted synchronously when they were cast.
+
+ALTER TABLE vote ADD COLUMN IF NOT EXISTS count_synced BOOLEAN NOT NULL DEFAULT TRUE;
+ALTER TABLE vote ALTER COLUMN count_synced SET DEFAULT FALSE;
+ALTER TABLE vote ADD COLUMN IF NOT EXISTS sync_batch INTEGER;
+
+CREATE INDEX IF NOT EXISTS idx_vote_unsynced_novel ON vote (novel_id) WHERE NOT count_synced;
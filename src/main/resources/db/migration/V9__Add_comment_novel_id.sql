@@ -0,0 +1,13 @@
+-- Novel of each comment, copied from its chapter at insert time so novel-wide
+-- listings and counts are one range scan instead of a chapter-id IN list.
+-- Existing rows start out null and are filled in by CommentNovelBackfill,
+-- which resolves their chapters through content-service.
+
+ALTER TABLE comment ADD COLUMN IF NOT EXISTS novel_id INTEGER;
+
+-- Same (sort key, id) shape as the V5 chapter listing indexes
+CREATE INDEX IF NOT EXISTS idx_comment_novel_create_time_id ON comment (novel_id, create_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_comment_novel_like_cnt_id ON comment (novel_id, like_cnt DESC, id DESC);
+
+-- Chapters whose comments still need a novel id; shrinks to nothing once the backfill is done
+CREATE INDEX IF NOT EXISTS idx_comment_missing_novel_chapter ON comment (chapter_id) WHERE novel_id IS NULL;
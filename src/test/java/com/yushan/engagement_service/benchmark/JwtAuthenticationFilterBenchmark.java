@@ -0,0 +1,135 @@
+package com.yushan.engagement_service.benchmark;
+
+import com.yushan.engagement_service.security.JwtAuthenticationFilter;
+import com.yushan.engagement_service.security.VerifiedTokenCache;
+import com.yushan.engagement_service.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT authentication.
+ * legacyClaimExtraction reproduces the old filter (seven full parses with a fresh parser each);
+ * the filter benchmarks run the current JwtAuthenticationFilter with a warm and a cold token cache.
+ *
+ * Run with: mvn -B test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.yushan.engagement_service.benchmark.JwtAuthenticationFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "BenchmarkJWTSecretKeyForEngagementServiceOnly2024";
+
+    private String token;
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter warmFilter;
+    private JwtAuthenticationFilter coldFilter;
+
+    @Setup
+    public void setUp() {
+        token = Jwts.builder()
+                .claim("userId", "550e8400-e29b-41d4-a716-446655440001")
+                .claim("email", "reader@example.com")
+                .claim("username", "reader")
+                .claim("role", "USER")
+                .claim("status", 0)
+                .claim("tokenType", "access")
+                .subject("reader@example.com")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+
+        warmFilter = filter(new VerifiedTokenCache(jwtUtil, 10_000));
+        // A zero-sized cache evicts immediately, so every request verifies the signature once
+        coldFilter = filter(new VerifiedTokenCache(jwtUtil, 0));
+    }
+
+    @Benchmark
+    public void legacyClaimExtraction(Blackhole blackhole) {
+        blackhole.consume(legacyParse().getExpiration().before(new Date()));
+        blackhole.consume("access".equals(legacyParse().get("tokenType", String.class)));
+        blackhole.consume(legacyParse().get("userId", String.class));
+        blackhole.consume(legacyParse().get("email", String.class));
+        blackhole.consume(legacyParse().get("username", String.class));
+        blackhole.consume(legacyParse().get("role", String.class));
+        blackhole.consume(legacyParse().get("status", Integer.class));
+    }
+
+    @Benchmark
+    public void parseOnce(Blackhole blackhole) {
+        blackhole.consume(jwtUtil.parseToken(token));
+    }
+
+    @Benchmark
+    public void filterWithColdTokenCache(Blackhole blackhole) throws Exception {
+        runFilter(coldFilter, blackhole);
+    }
+
+    @Benchmark
+    public void filterWithWarmTokenCache(Blackhole blackhole) throws Exception {
+        runFilter(warmFilter, blackhole);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private Claims legacyParse() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private void runFilter(JwtAuthenticationFilter filter, Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/comments/chapter/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static JwtAuthenticationFilter filter(VerifiedTokenCache cache) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", cache);
+        return filter;
+    }
+}
@@ -0,0 +1,109 @@
+package com.yushan.engagement_service.client;
+
+import com.yushan.engagement_service.dto.chapter.ChapterDetailResponseDTO;
+import com.yushan.engagement_service.dto.common.ApiResponse;
+import com.yushan.engagement_service.exception.ServiceUnavailableException;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentServiceClientFallbackFactoryTest {
+
+    private final ContentServiceClientFallbackFactory factory = new ContentServiceClientFallbackFactory();
+
+    @Test
+    void getChaptersBatch_ShouldDegradeToEmptyPage() {
+        // Arrange
+        ContentServiceClient fallback = factory.create(timeout());
+
+        // Act
+        ApiResponse<List<ChapterDetailResponseDTO>> response = fallback.getChaptersBatch(List.of(1, 2));
+
+        // Assert
+        assertEquals(503, response.getCode());
+        assertTrue(response.getData().isEmpty());
+        assertTrue(fallback.getChaptersByIds(List.of(1, 2)).isEmpty());
+    }
+
+    @Test
+    void getChapter_WhenContentServiceIsDown_ShouldFailWithServiceUnavailableRatherThanNotFound() {
+        // Arrange
+        ContentServiceClient fallback = factory.create(timeout());
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> fallback.getChapter(1));
+        assertThrows(ServiceUnavailableException.class, () -> fallback.chapterExists(1));
+    }
+
+    @Test
+    void getChapter_WhenChapterIsNotFound_ShouldAnswerMissing() {
+        // Arrange
+        ContentServiceClient fallback = factory.create(new FeignException.NotFound("Not Found", request(), null, null));
+
+        // Act & Assert
+        assertNull(fallback.getChapter(1));
+        assertFalse(fallback.chapterExists(1));
+    }
+
+    @Test
+    void getNovelsBatch_ShouldDegradeToEmptyPage() {
+        // Act
+        ApiResponse<?> response = factory.create(timeout()).getNovelsBatch(List.of(1));
+
+        // Assert
+        assertEquals(503, response.getCode());
+        assertEquals(List.of(), response.getData());
+    }
+
+    @Test
+    void getNovelById_WhenCircuitIsOpen_ShouldFailWithServiceUnavailable() {
+        // Arrange
+        CallNotPermittedException open = CallNotPermittedException.createCallNotPermittedException(
+                CircuitBreaker.ofDefaults("ContentServiceClientgetNovelByIdInteger"));
+
+        // Act
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> factory.create(open).getNovelById(1));
+
+        // Assert
+        assertSame(open, exception.getCause());
+    }
+
+    @Test
+    void writes_ShouldFailWithServiceUnavailable() {
+        // Arrange
+        ContentServiceClient fallback = factory.create(timeout());
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> fallback.addVoteCount(1, 3, "novel-votes-9"));
+        assertThrows(ServiceUnavailableException.class, () -> fallback.incrementVoteCount(1));
+        assertThrows(ServiceUnavailableException.class, () -> fallback.updateNovelRatingAndCount(1, 4.5f, 2));
+    }
+
+    @Test
+    void clientError_ShouldPassThroughUnchanged() {
+        // Arrange
+        FeignException.NotFound notFound = new FeignException.NotFound("Not Found", request(), null, null);
+
+        // Act & Assert
+        assertSame(notFound, assertThrows(FeignException.NotFound.class,
+                () -> factory.create(notFound).addVoteCount(1, 3, "novel-votes-9")));
+    }
+
+    private static RetryableException timeout() {
+        return new RetryableException(-1, "Read timed out", Request.HttpMethod.GET, (Long) null, request());
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, "/api/v1/novels/1", Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+}
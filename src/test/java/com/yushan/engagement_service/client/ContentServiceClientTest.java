@@ -289,6 +289,11 @@ class ContentServiceClientTest {
                 return stringResponse;
             }
 
+            @Override
+            public ApiResponse<String> addVoteCount(Integer novelId, Integer count, String idempotencyKey) {
+                return stringResponse;
+            }
+
             @Override
             public ApiResponse<String> updateNovelRatingAndCount(Integer novelId, Float avgRating, Integer reviewCount) {
                 return stringResponse;
@@ -348,6 +353,11 @@ class ContentServiceClientTest {
                 return null;
             }
 
+            @Override
+            public ApiResponse<String> addVoteCount(Integer novelId, Integer count, String idempotencyKey) {
+                return null;
+            }
+
             @Override
             public ApiResponse<String> updateNovelRatingAndCount(Integer novelId, Float avgRating, Integer reviewCount) {
                 return null;
@@ -405,6 +415,11 @@ class ContentServiceClientTest {
                 return null;
             }
 
+            @Override
+            public ApiResponse<String> addVoteCount(Integer novelId, Integer count, String idempotencyKey) {
+                return null;
+            }
+
             @Override
             public ApiResponse<String> updateNovelRatingAndCount(Integer novelId, Float avgRating, Integer reviewCount) {
                 return null;
@@ -463,6 +478,11 @@ class ContentServiceClientTest {
                 return null;
             }
 
+            @Override
+            public ApiResponse<String> addVoteCount(Integer novelId, Integer count, String idempotencyKey) {
+                return null;
+            }
+
             @Override
             public ApiResponse<String> updateNovelRatingAndCount(Integer novelId, Float avgRating, Integer reviewCount) {
                 return null;
@@ -520,6 +540,11 @@ class ContentServiceClientTest {
                 return null;
             }
 
+            @Override
+            public ApiResponse<String> addVoteCount(Integer novelId, Integer count, String idempotencyKey) {
+                return null;
+            }
+
             @Override
             public ApiResponse<String> updateNovelRatingAndCount(Integer novelId, Float avgRating, Integer reviewCount) {
                 return null;
@@ -549,4 +574,30 @@ class ContentServiceClientTest {
         assertEquals(1, result.size());
         assertEquals(testChapter.getId(), result.get(0));
     }
-}
\ No newline at end of file
+    @Test
+    void testGetChaptersByIds_DefaultMethod_SingleBatchCall() {
+        // Given
+        ContentServiceClient client = mock(ContentServiceClient.class, CALLS_REAL_METHODS);
+        doReturn(chapterListResponse).when(client).getChaptersBatch(anyList());
+
+        // When
+        Map<Integer, ChapterDetailResponseDTO> result = client.getChaptersByIds(Arrays.asList(1, 2));
+
+        // Then
+        assertEquals(testChapter.getTitle(), result.get(testChapter.getId()).getTitle());
+        verify(client, times(1)).getChaptersBatch(anyList());
+    }
+
+    @Test
+    void testGetChaptersByIds_DefaultMethod_Exception() {
+        // Given
+        ContentServiceClient client = mock(ContentServiceClient.class, CALLS_REAL_METHODS);
+        doThrow(new RuntimeException("Service error")).when(client).getChaptersBatch(anyList());
+
+        // When
+        Map<Integer, ChapterDetailResponseDTO> result = client.getChaptersByIds(List.of(1));
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+}
@@ -0,0 +1,19 @@
+package com.yushan.engagement_service.client;
+
+import com.yushan.engagement_service.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GamificationServiceClientFallbackFactoryTest {
+
+    @Test
+    void checkVoteEligibility_ShouldFailWithServiceUnavailable() {
+        // Arrange
+        GamificationServiceClient fallback = new GamificationServiceClientFallbackFactory()
+                .create(new RuntimeException("connection refused"));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, fallback::checkVoteEligibility);
+    }
+}
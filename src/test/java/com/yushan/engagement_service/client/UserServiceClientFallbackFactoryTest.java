@@ -0,0 +1,29 @@
+package com.yushan.engagement_service.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserServiceClientFallbackFactoryTest {
+
+    private final UserServiceClientFallbackFactory factory = new UserServiceClientFallbackFactory();
+
+    @Test
+    void lookups_ShouldDegradeToPlaceholderNames() {
+        // Arrange
+        UserServiceClient fallback = factory.create(
+                BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("user-service")));
+        UUID userId = UUID.randomUUID();
+
+        // Act & Assert
+        assertEquals(503, fallback.getUser(userId).getCode());
+        assertNull(fallback.getUser(userId).getData());
+        assertEquals("Unknown User", fallback.getUsernameById(userId));
+        assertTrue(fallback.getUsernamesByIds(List.of(userId)).isEmpty());
+    }
+}
@@ -10,8 +10,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -220,7 +226,7 @@ class UserServiceClientTest {
     @Test
     void testGetUsernameById_DefaultMethod_Success() {
         // Given
-        UserServiceClient client = new UserServiceClient() {
+        UserServiceClient client = new SingleUserClient() {
             @Override
             public ApiResponse<UserProfileResponseDTO> getUser(UUID userId) {
                 return userProfileResponse;
@@ -238,7 +244,7 @@ class UserServiceClientTest {
     @Test
     void testGetUsernameById_DefaultMethod_NullResponse() {
         // Given
-        UserServiceClient client = new UserServiceClient() {
+        UserServiceClient client = new SingleUserClient() {
             @Override
             public ApiResponse<UserProfileResponseDTO> getUser(UUID userId) {
                 return null;
@@ -256,7 +262,7 @@ class UserServiceClientTest {
     void testGetUsernameById_DefaultMethod_EmptyData() {
         // Given
         ApiResponse<UserProfileResponseDTO> emptyResponse = ApiResponse.success("Success", null);
-        UserServiceClient client = new UserServiceClient() {
+        UserServiceClient client = new SingleUserClient() {
             @Override
             public ApiResponse<UserProfileResponseDTO> getUser(UUID userId) {
                 return emptyResponse;
@@ -273,7 +279,7 @@ class UserServiceClientTest {
     @Test
     void testGetUsernameById_DefaultMethod_Exception() {
         // Given
-        UserServiceClient client = new UserServiceClient() {
+        UserServiceClient client = new SingleUserClient() {
             @Override
             public ApiResponse<UserProfileResponseDTO> getUser(UUID userId) {
                 throw new RuntimeException("Service error");
@@ -291,7 +297,7 @@ class UserServiceClientTest {
     void testGetUsernameById_DefaultMethod_NullUsername() {
         // Given
         testUserProfile.setUsername(null);
-        UserServiceClient client = new UserServiceClient() {
+        UserServiceClient client = new SingleUserClient() {
             @Override
             public ApiResponse<UserProfileResponseDTO> getUser(UUID userId) {
                 return userProfileResponse;
@@ -304,4 +310,97 @@ class UserServiceClientTest {
         // Then
         assertNull(result);
     }
+    @Test
+    void testGetUsernamesByIds_DefaultMethod_SingleBatchCall() {
+        // Given
+        UUID anotherUserId = UUID.randomUUID();
+        UserProfileResponseDTO anotherProfile = new UserProfileResponseDTO();
+        anotherProfile.setUuid(anotherUserId.toString());
+        anotherProfile.setUsername("anotheruser");
+        AtomicInteger calls = new AtomicInteger();
+        UserServiceClient client = new BatchUserClient() {
+            @Override
+            public ApiResponse<List<UserProfileResponseDTO>> getUsersBatch(List<UUID> userIds) {
+                calls.incrementAndGet();
+                return ApiResponse.success("Success", Arrays.asList(testUserProfile, anotherProfile));
+            }
+        };
+
+        // When
+        Map<UUID, String> result = client.getUsernamesByIds(Arrays.asList(testUserId, anotherUserId));
+
+        // Then
+        assertEquals(1, calls.get());
+        assertEquals("testuser", result.get(testUserId));
+        assertEquals("anotheruser", result.get(anotherUserId));
+    }
+
+    @Test
+    void testGetUsernamesByIds_DefaultMethod_ChunksLargeInput() {
+        // Given
+        List<UUID> ids = IntStream.range(0, UserServiceClient.BATCH_SIZE + 1)
+                .mapToObj(i -> UUID.randomUUID())
+                .collect(Collectors.toList());
+        AtomicInteger calls = new AtomicInteger();
+        UserServiceClient client = new BatchUserClient() {
+            @Override
+            public ApiResponse<List<UserProfileResponseDTO>> getUsersBatch(List<UUID> userIds) {
+                calls.incrementAndGet();
+                assertTrue(userIds.size() <= UserServiceClient.BATCH_SIZE);
+                return ApiResponse.success("Success", List.of());
+            }
+        };
+
+        // When
+        Map<UUID, String> result = client.getUsernamesByIds(ids);
+
+        // Then
+        assertEquals(2, calls.get());
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testGetUsernamesByIds_DefaultMethod_Exception() {
+        // Given
+        UserServiceClient client = new BatchUserClient() {
+            @Override
+            public ApiResponse<List<UserProfileResponseDTO>> getUsersBatch(List<UUID> userIds) {
+                throw new RuntimeException("Service error");
+            }
+        };
+
+        // When
+        Map<UUID, String> result = client.getUsernamesByIds(List.of(testUserId));
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testGetUsernamesByIds_DefaultMethod_EmptyInput() {
+        // Given
+        UserServiceClient client = new BatchUserClient() {
+            @Override
+            public ApiResponse<List<UserProfileResponseDTO>> getUsersBatch(List<UUID> userIds) {
+                throw new AssertionError("Should not be called");
+            }
+        };
+
+        // When / Then
+        assertTrue(client.getUsernamesByIds(List.of()).isEmpty());
+    }
+
+    private abstract static class SingleUserClient implements UserServiceClient {
+        @Override
+        public ApiResponse<List<UserProfileResponseDTO>> getUsersBatch(List<UUID> userIds) {
+            return null;
+        }
+    }
+
+    private abstract static class BatchUserClient implements UserServiceClient {
+        @Override
+        public ApiResponse<UserProfileResponseDTO> getUser(UUID userId) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.yushan.engagement_service.config;
+
+import com.yushan.engagement_service.util.RequestDeadline;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeignAuthConfigTest {
+
+    private final RequestInterceptor interceptor = new FeignAuthConfig().authForwardingInterceptor();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void apply_ShouldForwardAuthorizationAndRemainingBudget() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        RequestDeadline.start(request, Duration.ofSeconds(2));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        RequestTemplate template = new RequestTemplate();
+
+        // Act
+        interceptor.apply(template);
+
+        // Assert
+        assertEquals("Bearer token", template.headers().get("Authorization").iterator().next());
+        long budget = Long.parseLong(template.headers().get(RequestDeadline.HEADER).iterator().next());
+        assertTrue(budget > 1000 && budget <= 2000);
+    }
+
+    @Test
+    void apply_AfterDeadline_ShouldSendZeroBudget() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestDeadline.start(request, Duration.ofMillis(-10));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        RequestTemplate template = new RequestTemplate();
+
+        // Act
+        interceptor.apply(template);
+
+        // Assert
+        assertEquals("0", template.headers().get(RequestDeadline.HEADER).iterator().next());
+        assertNull(template.headers().get("Authorization"));
+    }
+
+    @Test
+    void apply_OutsideRequest_ShouldAddNothing() {
+        // Arrange
+        RequestTemplate template = new RequestTemplate();
+
+        // Act
+        interceptor.apply(template);
+
+        // Assert
+        Collection<String> budget = template.headers().get(RequestDeadline.HEADER);
+        assertNull(budget);
+        assertTrue(template.headers().isEmpty());
+    }
+}
@@ -0,0 +1,97 @@
+package com.yushan.engagement_service.config;
+
+import com.yushan.engagement_service.client.GamificationServiceClient;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeignResilienceConfigTest {
+
+    private static final String BULKHEAD = "GamificationServiceClientcheckVoteEligibility";
+
+    private BulkheadRegistry bulkheadRegistry;
+    private Client enriched;
+    private Client delegate;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        delegate = (request, options) -> {
+            calls.incrementAndGet();
+            return Response.builder().status(200).request(request).build();
+        };
+        enriched = new FeignResilienceConfig().methodBulkheadCapability(bulkheadRegistry).enrich(delegate);
+    }
+
+    @Test
+    void execute_ShouldRunInsideBulkheadNamedAfterMethod() throws Exception {
+        // Act
+        enriched.execute(request(), new Request.Options());
+
+        // Assert
+        assertEquals(1, calls.get());
+        assertEquals(1, bulkheadRegistry.bulkhead(BULKHEAD).getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void execute_WhenMethodBulkheadIsFull_ShouldRejectWithoutCalling() {
+        // Arrange
+        bulkheadRegistry.bulkhead(BULKHEAD).acquirePermission();
+
+        // Act & Assert
+        assertThrows(BulkheadFullException.class, () -> enriched.execute(request(), new Request.Options()));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void execute_WhenDelegateFails_ShouldReleasePermit() {
+        // Arrange
+        Client timingOut = (request, options) -> {
+            throw new IOException("Read timed out");
+        };
+        Client failing = new FeignResilienceConfig().methodBulkheadCapability(bulkheadRegistry).enrich(timingOut);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> failing.execute(request(), new Request.Options()));
+        assertEquals(1, bulkheadRegistry.bulkhead(BULKHEAD).getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void execute_WithoutMethodMetadata_ShouldBypassBulkheads() throws Exception {
+        // Act
+        enriched.execute(Request.create(Request.HttpMethod.GET, "http://localhost/", Map.of(), null,
+                StandardCharsets.UTF_8, null), new Request.Options());
+
+        // Assert
+        assertEquals(1, calls.get());
+        assertTrue(bulkheadRegistry.getAllBulkheads().isEmpty());
+    }
+
+    private static Request request() {
+        MethodMetadata metadata = new SpringMvcContract().parseAndValidateMetadata(GamificationServiceClient.class).get(0);
+        RequestTemplate template = new RequestTemplate();
+        template.methodMetadata(metadata);
+        return Request.create(Request.HttpMethod.GET, "http://localhost/api/v1/gamification/votes/check", Map.of(),
+                null, StandardCharsets.UTF_8, template);
+    }
+}
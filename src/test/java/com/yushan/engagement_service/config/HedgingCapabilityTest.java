@@ -0,0 +1,244 @@
+package com.yushan.engagement_service.config;
+
+import com.yushan.engagement_service.client.GamificationServiceClient;
+import com.yushan.engagement_service.exception.DeadlineExceededException;
+import com.yushan.engagement_service.util.RequestDeadline;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingCapabilityTest {
+
+    private static final String METHOD = "GamificationServiceClientcheckVoteEligibility";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final AtomicReference<Client> behaviour = new AtomicReference<>();
+    private ExecutorService executor;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        HedgingCapability capability = new HedgingCapability(executor, meterRegistry, Set.of(METHOD),
+                Duration.ofMillis(20), 3);
+        Client counting = (request, options) -> {
+            attempts.incrementAndGet();
+            return behaviour.get().execute(request, options);
+        };
+        client = capability.enrich(counting);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_WhenFirstAttemptIsSlow_ShouldReturnHedgedAnswerAndCloseTheOther() throws Exception {
+        // Arrange
+        warmUp();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean slowClosed = new AtomicBoolean();
+        AtomicInteger call = new AtomicInteger();
+        behaviour.set((request, options) -> {
+            if (call.incrementAndGet() == 1) {
+                awaitQuietly(release);
+                return response(request, 200, slowClosed);
+            }
+            return response(request, 201, new AtomicBoolean());
+        });
+
+        // Act
+        Response result = client.execute(request(), new Request.Options());
+        release.countDown();
+
+        // Assert
+        assertEquals(201, result.status());
+        assertEquals(2, call.get());
+        assertEquals(1.0, meterRegistry.get("engagement.feign.hedges").tag("method", METHOD).counter().count());
+        waitFor(slowClosed);
+    }
+
+    @Test
+    void execute_BeforeEnoughSamples_ShouldNotHedge() throws Exception {
+        // Arrange
+        behaviour.set((request, options) -> {
+            sleepQuietly(60);
+            return response(request, 200, new AtomicBoolean());
+        });
+
+        // Act
+        Response result = client.execute(request(), new Request.Options());
+
+        // Assert
+        assertEquals(200, result.status());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void execute_WhenFirstAttemptFailsFast_ShouldNotHedge() throws Exception {
+        // Arrange
+        warmUp();
+        behaviour.set((request, options) -> {
+            throw new IOException("Connection refused");
+        });
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> client.execute(request(), new Request.Options()));
+        Thread.sleep(50);
+        assertEquals(4, attempts.get());
+        assertTrue(meterRegistry.find("engagement.feign.hedges").counters().isEmpty());
+    }
+
+    @Test
+    void execute_WhenBothAttemptsFail_ShouldRethrowFirstFailure() throws Exception {
+        // Arrange
+        warmUp();
+        AtomicInteger call = new AtomicInteger();
+        behaviour.set((request, options) -> {
+            int attempt = call.incrementAndGet();
+            if (attempt == 1) {
+                sleepQuietly(100);
+            }
+            throw new IOException("attempt " + attempt);
+        });
+
+        // Act
+        IOException failure = assertThrows(IOException.class, () -> client.execute(request(), new Request.Options()));
+
+        // Assert
+        assertEquals("attempt 2", failure.getMessage());
+        assertEquals(2, call.get());
+    }
+
+    @Test
+    void execute_ForOtherMethods_ShouldRunOnCallerThread() throws Exception {
+        // Arrange
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        behaviour.set((request, options) -> {
+            ranOn.set(Thread.currentThread());
+            return response(request, 200, new AtomicBoolean());
+        });
+
+        // Act
+        client.execute(Request.create(Request.HttpMethod.GET, "http://localhost/", Map.of(), null,
+                StandardCharsets.UTF_8, null), new Request.Options());
+
+        // Assert
+        assertSame(caller, ranOn.get());
+    }
+
+    @Test
+    void execute_WithinDeadline_ShouldCutTimeoutsToTimeLeft() throws Exception {
+        // Arrange
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        RequestDeadline.start(servletRequest, Duration.ofMillis(300));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(servletRequest));
+        AtomicReference<Request.Options> used = new AtomicReference<>();
+        behaviour.set((request, options) -> {
+            used.set(options);
+            return response(request, 200, new AtomicBoolean());
+        });
+
+        // Act
+        client.execute(request(), new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS, true));
+
+        // Assert
+        assertTrue(used.get().readTimeoutMillis() <= 300);
+        assertTrue(used.get().connectTimeoutMillis() <= 300);
+        assertTrue(used.get().isFollowRedirects());
+    }
+
+    @Test
+    void execute_AfterDeadline_ShouldFailWithoutCalling() {
+        // Arrange
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        RequestDeadline.start(servletRequest, Duration.ofMillis(-1));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(servletRequest));
+
+        // Act & Assert
+        assertThrows(DeadlineExceededException.class, () -> client.execute(request(), new Request.Options()));
+        assertEquals(0, attempts.get());
+    }
+
+    private void warmUp() throws IOException {
+        behaviour.set((request, options) -> response(request, 200, new AtomicBoolean()));
+        for (int i = 0; i < 3; i++) {
+            client.execute(request(), new Request.Options());
+        }
+    }
+
+    private static Request request() {
+        MethodMetadata metadata = new SpringMvcContract().parseAndValidateMetadata(GamificationServiceClient.class).get(0);
+        RequestTemplate template = new RequestTemplate();
+        template.methodMetadata(metadata);
+        return Request.create(Request.HttpMethod.GET, "http://localhost/api/v1/gamification/votes/check", Map.of(),
+                null, StandardCharsets.UTF_8, template);
+    }
+
+    private static Response response(Request request, int status, AtomicBoolean closed) {
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .body(new ByteArrayInputStream(new byte[0]) {
+                    @Override
+                    public void close() {
+                        closed.set(true);
+                    }
+                }, 0)
+                .build();
+    }
+
+    private static void waitFor(AtomicBoolean flag) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!flag.get() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(flag.get(), "Losing response was not closed");
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.yushan.engagement_service.config;
+
+import com.yushan.engagement_service.dto.comment.CommentListResponseDTO;
+import com.yushan.engagement_service.dto.comment.CommentResponseDTO;
+import com.yushan.engagement_service.dto.common.PageResponseDTO;
+import com.yushan.engagement_service.dto.review.ReviewResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Round trips cached page payloads through the configured Redis value serializer.
+ */
+class RedisConfigTest {
+
+    private RedisSerializer<Object> serializer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        serializer = (RedisSerializer<Object>) new RedisConfig()
+                .redisTemplate(mock(RedisConnectionFactory.class))
+                .getValueSerializer();
+    }
+
+    @Test
+    void commentPage_ShouldSurviveRoundTrip() {
+        // Arrange
+        CommentResponseDTO comment = CommentResponseDTO.builder()
+                .id(1)
+                .userId(UUID.randomUUID())
+                .username("alice")
+                .chapterId(3)
+                .content("Great chapter")
+                .likeCnt(4)
+                .isSpoiler(false)
+                .createTime(new Date(1_700_000_000_000L))
+                .isOwnComment(false)
+                .build();
+        CommentListResponseDTO page = new CommentListResponseDTO(List.of(comment), 21, 2, 0, 20, true, "cursor");
+
+        // Act
+        Object result = serializer.deserialize(serializer.serialize(page));
+
+        // Assert
+        CommentListResponseDTO cached = assertInstanceOf(CommentListResponseDTO.class, result);
+        assertEquals(page, cached);
+    }
+
+    @Test
+    void reviewPage_ShouldSurviveRoundTrip() {
+        // Arrange
+        ReviewResponseDTO review = new ReviewResponseDTO();
+        review.setId(1);
+        review.setUuid(UUID.randomUUID());
+        review.setNovelId(7);
+        review.setRating(5);
+        review.setCreateTime(new Date(1_700_000_000_000L));
+        PageResponseDTO<ReviewResponseDTO> page = new PageResponseDTO<>(List.of(review), 11, 0, 10);
+        page.setNextCursor("cursor");
+
+        // Act
+        Object result = serializer.deserialize(serializer.serialize(page));
+
+        // Assert
+        PageResponseDTO<?> cached = assertInstanceOf(PageResponseDTO.class, result);
+        assertEquals(11, cached.getTotalElements());
+        assertEquals(2, cached.getTotalPages());
+        assertTrue(cached.isHasNext());
+        assertEquals("cursor", cached.getNextCursor());
+        assertEquals(review, assertInstanceOf(ReviewResponseDTO.class, cached.getContent().get(0)));
+    }
+}
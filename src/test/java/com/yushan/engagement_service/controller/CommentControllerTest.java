@@ -2,6 +2,7 @@ package com.yushan.engagement_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yushan.engagement_service.dto.comment.*;
+import com.yushan.engagement_service.dto.common.PageCursor;
 import com.yushan.engagement_service.service.CommentService;
 import com.yushan.engagement_service.security.CustomUserDetails;
 import org.junit.jupiter.api.BeforeEach;
@@ -218,6 +219,33 @@ class CommentControllerTest {
                 .andExpect(jsonPath("$.data.comments[0].content").value("Comment 1"));
     }
 
+    @Test
+    void getCommentsByChapter_WithCursor_ShouldUseKeysetPage() throws Exception {
+        // Setup
+        Integer testChapterId = 1;
+        UUID testUserId = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+        PageCursor cursor = PageCursor.afterNumber("likeCnt", "desc", 3, 12);
+
+        CommentListResponseDTO mockResponse = new CommentListResponseDTO();
+        mockResponse.setComments(Collections.emptyList());
+        mockResponse.setTotalCount(-1L);
+        mockResponse.setPageSize(20);
+        mockResponse.setHasNext(true);
+        mockResponse.setNextCursor("next-token");
+
+        when(commentService.getCommentsByChapterAfterCursor(eq(testChapterId), eq(testUserId), any(PageCursor.class),
+                eq(20), eq(false)))
+                .thenReturn(mockResponse);
+
+        // Execute & Verify
+        mockMvc.perform(get("/api/v1/comments/chapter/{chapterId}", testChapterId)
+                .param("cursor", cursor.encode())
+                .principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.data.hasNext").value(true));
+    }
+
     @Test
     void getUserComments_WithValidData_ShouldReturnSuccess() throws Exception {
         // Setup
@@ -662,6 +690,36 @@ class CommentControllerTest {
                 .andExpect(jsonPath("$.message").value("Successfully deleted 5 comment(s) from user"));
     }
 
+    @Test
+    void deleteAllUserComments_WithAsync_ShouldStartBackgroundDeletion() throws Exception {
+        // Setup ADMIN user
+        CustomUserDetails adminUserDetails = new CustomUserDetails(
+            UUID.fromString("550e8400-e29b-41d4-a716-446655440001").toString(),
+            "admin@example.com",
+            "admin",
+            "ADMIN",
+            0
+        );
+
+        Authentication adminAuth = new UsernamePasswordAuthenticationToken(
+            adminUserDetails, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN"))
+        );
+        SecurityContextHolder.getContext().setAuthentication(adminAuth);
+
+        String targetUserId = "550e8400-e29b-41d4-a716-446655440002";
+
+        // Execute & Verify
+        mockMvc.perform(delete("/api/v1/comments/admin/user/{userId}/all", targetUserId)
+                .param("async", "true")
+                .principal(adminAuth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.message").value("Deletion of user's comments started in background"));
+
+        verify(commentService).deleteAllUserCommentsInBackground(UUID.fromString(targetUserId));
+        verify(commentService, never()).deleteAllUserComments(any());
+    }
+
     @Test
     void deleteAllChapterComments_WithAdminUser_ShouldReturnSuccess() throws Exception {
         // Setup ADMIN user
@@ -724,6 +782,95 @@ class CommentControllerTest {
                 .andExpect(jsonPath("$.message").value("Successfully updated 3 comment(s)"));
     }
 
+    @Test
+    void getMostCommentedChapters_ShouldReturnLeaderboard() throws Exception {
+        // Setup
+        LeaderboardEntryDTO entry = LeaderboardEntryDTO.builder()
+                .rank(1).id("7").name("Chapter 7").score(12L).build();
+        when(commentService.getMostCommentedChapters(eq(3), eq("24h"), eq(5)))
+                .thenReturn(Collections.singletonList(entry));
+
+        // Execute & Verify
+        mockMvc.perform(get("/api/v1/comments/leaderboards/chapters")
+                .param("novelId", "3")
+                .param("window", "24h")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data[0].id").value("7"))
+                .andExpect(jsonPath("$.data[0].name").value("Chapter 7"))
+                .andExpect(jsonPath("$.data[0].score").value(12));
+    }
+
+    @Test
+    void getMostLikedComments_ShouldDefaultToSevenDays() throws Exception {
+        // Setup
+        when(commentService.getMostLikedComments(isNull(), eq("7d"), eq(10), any()))
+                .thenReturn(Collections.emptyList());
+
+        // Execute & Verify
+        mockMvc.perform(get("/api/v1/comments/leaderboards/comments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200));
+
+        verify(commentService).getMostLikedComments(isNull(), eq("7d"), eq(10), any());
+    }
+
+    @Test
+    void getTopCommenters_WithAdminUser_ShouldReturnLeaderboard() throws Exception {
+        // Setup ADMIN user
+        CustomUserDetails adminUserDetails = new CustomUserDetails(
+            UUID.fromString("550e8400-e29b-41d4-a716-446655440001").toString(),
+            "admin@example.com",
+            "admin",
+            "ADMIN",
+            0
+        );
+
+        Authentication adminAuth = new UsernamePasswordAuthenticationToken(
+            adminUserDetails, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN"))
+        );
+        SecurityContextHolder.getContext().setAuthentication(adminAuth);
+
+        LeaderboardEntryDTO entry = LeaderboardEntryDTO.builder()
+                .rank(1).id("550e8400-e29b-41d4-a716-446655440002").name("reader").score(4L).build();
+        when(commentService.getTopCommenters(isNull(), eq("all"), eq(10)))
+                .thenReturn(Collections.singletonList(entry));
+
+        // Execute & Verify
+        mockMvc.perform(get("/api/v1/comments/admin/leaderboards/users")
+                .param("window", "all")
+                .principal(adminAuth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name").value("reader"))
+                .andExpect(jsonPath("$.data[0].score").value(4));
+    }
+
+    @Test
+    void rebuildLeaderboards_WithAdminUser_ShouldStartBackgroundRebuild() throws Exception {
+        // Setup ADMIN user
+        CustomUserDetails adminUserDetails = new CustomUserDetails(
+            UUID.fromString("550e8400-e29b-41d4-a716-446655440001").toString(),
+            "admin@example.com",
+            "admin",
+            "ADMIN",
+            0
+        );
+
+        Authentication adminAuth = new UsernamePasswordAuthenticationToken(
+            adminUserDetails, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN"))
+        );
+        SecurityContextHolder.getContext().setAuthentication(adminAuth);
+
+        // Execute & Verify
+        mockMvc.perform(post("/api/v1/comments/admin/leaderboards/rebuild")
+                .principal(adminAuth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Leaderboard rebuild started in background"));
+
+        verify(commentService).rebuildLeaderboardsInBackground();
+    }
+
     // ========================================
     // HELPER METHOD TESTS
     // ========================================
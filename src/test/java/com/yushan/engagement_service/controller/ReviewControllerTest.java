@@ -5,6 +5,7 @@ import com.yushan.engagement_service.dto.review.ReviewCreateRequestDTO;
 import com.yushan.engagement_service.dto.review.ReviewResponseDTO;
 import com.yushan.engagement_service.dto.review.ReviewUpdateRequestDTO;
 import com.yushan.engagement_service.dto.review.NovelRatingStatsDTO;
+import com.yushan.engagement_service.dto.common.PageCursor;
 import com.yushan.engagement_service.dto.common.PageResponseDTO;
 import com.yushan.engagement_service.service.ReviewService;
 import com.yushan.engagement_service.security.CustomUserDetails;
@@ -204,6 +205,35 @@ class ReviewControllerTest {
                 .andExpect(jsonPath("$.data.content[0].content").value("Review 1"));
     }
 
+    @Test
+    void getReviewsByNovel_WithCursor_ShouldUseKeysetPage() throws Exception {
+        // Setup
+        Integer testNovelId = 1;
+        PageCursor cursor = PageCursor.afterTime("desc", new Date(), 7);
+
+        PageResponseDTO<ReviewResponseDTO> mockPageResponse = PageResponseDTO.ofCursor(
+                new ArrayList<>(), 10, true, "next-token", -1L);
+
+        when(reviewService.getReviewsByNovelAfterCursor(eq(testNovelId), any(PageCursor.class), eq(10), eq(false)))
+                .thenReturn(mockPageResponse);
+
+        // Execute & Verify
+        mockMvc.perform(get("/api/v1/reviews/novel/{novelId}", testNovelId)
+                .param("cursor", cursor.encode())
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.totalElements").value(-1));
+    }
+
+    @Test
+    void getReviewsByNovel_WithMalformedCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/reviews/novel/{novelId}", 1)
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void toggleLike_WithValidData_ShouldReturnSuccess() throws Exception {
         // Setup
@@ -0,0 +1,93 @@
+package com.yushan.engagement_service.dto.common;
+
+import com.yushan.engagement_service.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PageCursor encoding and decoding.
+ */
+@DisplayName("PageCursor Tests")
+class PageCursorTest {
+
+    @Test
+    @DisplayName("Time cursor should survive an encode/decode round trip")
+    void testTimeCursorRoundTrip() {
+        Date createTime = new Date(1_700_000_000_123L);
+
+        PageCursor cursor = PageCursor.decode(PageCursor.afterTime("desc", createTime, 42).encode());
+
+        assertEquals("createTime", cursor.getSort());
+        assertEquals("desc", cursor.getOrder());
+        assertTrue(cursor.isDescending());
+        assertEquals(createTime, cursor.getTime());
+        assertEquals(42, cursor.getId());
+    }
+
+    @Test
+    @DisplayName("Time cursor should keep the microseconds of a database timestamp")
+    void testTimeCursorKeepsMicroseconds() {
+        Timestamp createTime = Timestamp.valueOf("2025-03-01 12:34:56.123456");
+
+        PageCursor cursor = PageCursor.decode(PageCursor.afterTime("desc", createTime, 42).encode());
+
+        assertEquals(createTime, cursor.getTime());
+        assertEquals(123_456_000, cursor.getTime().getNanos());
+    }
+
+    @Test
+    @DisplayName("Cursors from a sort the listing cannot seek on should be rejected")
+    void testRequireSortIn() {
+        PageCursor cursor = PageCursor.afterNumber("rating", "desc", 5, 1);
+
+        assertSame(cursor, cursor.requireSortIn(Set.of("rating", "createTime")));
+        assertThrows(ValidationException.class, () -> cursor.requireSortIn(Set.of("createTime", "likeCnt")));
+    }
+
+    @Test
+    @DisplayName("Number cursor should survive an encode/decode round trip")
+    void testNumberCursorRoundTrip() {
+        PageCursor cursor = PageCursor.decode(PageCursor.afterNumber("likeCnt", "ASC", 17, 3).encode());
+
+        assertEquals("likeCnt", cursor.getSort());
+        assertEquals("asc", cursor.getOrder());
+        assertFalse(cursor.isDescending());
+        assertEquals(17, cursor.getNumber());
+        assertEquals(3, cursor.getId());
+    }
+
+    @Test
+    @DisplayName("Score cursor should keep the exact double through a round trip")
+    void testScoreCursorRoundTrip() {
+        double score = 20123.456789012345;
+
+        PageCursor cursor = PageCursor.decode(PageCursor.afterScore("hot", "desc", score, 8).encode());
+
+        assertEquals("hot", cursor.getSort());
+        assertTrue(cursor.isDescending());
+        assertEquals(score, cursor.getScore());
+        assertEquals(8, cursor.getId());
+    }
+
+    @Test
+    @DisplayName("Encoded cursor should be URL safe")
+    void testEncodedCursorIsUrlSafe() {
+        String token = PageCursor.afterTime("desc", new Date(), Integer.MAX_VALUE).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    @DisplayName("Malformed cursors should be rejected as validation errors")
+    void testDecodeMalformedCursor() {
+        assertThrows(ValidationException.class, () -> PageCursor.decode("not a cursor!"));
+        assertThrows(ValidationException.class, () -> PageCursor.decode("djF8Y3JlYXRlVGltZXxkZXNj"));
+        assertThrows(ValidationException.class, () -> PageCursor.decode("djF8Y3JlYXRlVGltZXxkZXNjfGFiY3wx"));
+    }
+}
@@ -258,6 +258,33 @@ class PageResponseDTOTest {
         assertFalse(pageResponse.isLast()); // currentPage = -1, not >= 2
     }
 
+    @Test
+    @DisplayName("Cursor page should carry next cursor and mark the total as unknown when not counted")
+    void testOfCursorWithoutTotal() {
+        PageResponseDTO<String> pageResponse = PageResponseDTO.ofCursor(Arrays.asList("a", "b"), 2, true, "next", -1L);
+
+        assertEquals(2, pageResponse.getContent().size());
+        assertEquals(2, pageResponse.getSize());
+        assertEquals(-1L, pageResponse.getTotalElements());
+        assertEquals(-1, pageResponse.getTotalPages());
+        assertTrue(pageResponse.isHasNext());
+        assertFalse(pageResponse.isLast());
+        assertTrue(pageResponse.isHasPrevious());
+        assertEquals("next", pageResponse.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Cursor page with an exact total should compute total pages")
+    void testOfCursorWithTotal() {
+        PageResponseDTO<String> pageResponse = PageResponseDTO.ofCursor(Collections.singletonList("a"), 10, false, null, 21L);
+
+        assertEquals(21L, pageResponse.getTotalElements());
+        assertEquals(3, pageResponse.getTotalPages());
+        assertFalse(pageResponse.isHasNext());
+        assertTrue(pageResponse.isLast());
+        assertNull(pageResponse.getNextCursor());
+    }
+
     // Helper class for testing generic types
     private static class TestObject {
         private String value;
@@ -29,6 +29,7 @@ class CommentTest {
         assertNull(newComment.getId());
         assertNull(newComment.getUserId());
         assertNull(newComment.getChapterId());
+        assertNull(newComment.getNovelId());
         assertNull(newComment.getContent());
         assertNull(newComment.getLikeCnt());
         assertNull(newComment.getIsSpoiler());
@@ -38,11 +39,12 @@ class CommentTest {
 
     @Test
     void testParameterizedConstructor() {
-        Comment newComment = new Comment(1, testUserId, 100, "Test content", 5, true, testCreateTime, testUpdateTime);
+        Comment newComment = new Comment(1, testUserId, 100, 10, "Test content", 5, true, testCreateTime, testUpdateTime);
         
         assertEquals(1, newComment.getId());
         assertEquals(testUserId, newComment.getUserId());
         assertEquals(100, newComment.getChapterId());
+        assertEquals(10, newComment.getNovelId());
         assertEquals("Test content", newComment.getContent());
         assertEquals(5, newComment.getLikeCnt());
         assertTrue(newComment.getIsSpoiler());
@@ -52,11 +54,12 @@ class CommentTest {
 
     @Test
     void testParameterizedConstructorWithNullDates() {
-        Comment newComment = new Comment(1, testUserId, 100, "Test content", 5, true, null, null);
+        Comment newComment = new Comment(1, testUserId, 100, 10, "Test content", 5, true, null, null);
         
         assertEquals(1, newComment.getId());
         assertEquals(testUserId, newComment.getUserId());
         assertEquals(100, newComment.getChapterId());
+        assertEquals(10, newComment.getNovelId());
         assertEquals("Test content", newComment.getContent());
         assertEquals(5, newComment.getLikeCnt());
         assertTrue(newComment.getIsSpoiler());
@@ -91,6 +94,15 @@ class CommentTest {
         assertNull(comment.getChapterId());
     }
 
+    @Test
+    void testNovelIdGetterAndSetter() {
+        comment.setNovelId(7);
+        assertEquals(7, comment.getNovelId());
+
+        comment.setNovelId(null);
+        assertNull(comment.getNovelId());
+    }
+
     @Test
     void testContentGetterAndSetter() {
         comment.setContent("Test content");
@@ -162,7 +174,7 @@ class CommentTest {
         Date originalCreateTime = new Date();
         Date originalUpdateTime = new Date(originalCreateTime.getTime() + 1000);
         
-        Comment newComment = new Comment(1, testUserId, 100, "Test", 0, false, originalCreateTime, originalUpdateTime);
+        Comment newComment = new Comment(1, testUserId, 100, 10, "Test", 0, false, originalCreateTime, originalUpdateTime);
         
         // Modify original dates
         originalCreateTime.setTime(originalCreateTime.getTime() + 5000);
@@ -0,0 +1,68 @@
+package com.yushan.engagement_service.entity;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+
+class NovelRatingStatsTest {
+
+    @Test
+    void testDefaultConstructor() {
+        NovelRatingStats stats = new NovelRatingStats();
+        assertNull(stats.getNovelId());
+        assertNull(stats.getReviewCount());
+        assertNull(stats.getRatingSum());
+        assertNull(stats.getRating1Cnt());
+        assertNull(stats.getRating5Cnt());
+        assertNull(stats.getUpdateTime());
+    }
+
+    @Test
+    void testParameterizedConstructor() {
+        Date updateTime = new Date();
+        NovelRatingStats stats = new NovelRatingStats(7, 3, 12L, 0, 0, 1, 1, 1, updateTime);
+
+        assertEquals(7, stats.getNovelId());
+        assertEquals(3, stats.getReviewCount());
+        assertEquals(12L, stats.getRatingSum());
+        assertEquals(0, stats.getRating1Cnt());
+        assertEquals(0, stats.getRating2Cnt());
+        assertEquals(1, stats.getRating3Cnt());
+        assertEquals(1, stats.getRating4Cnt());
+        assertEquals(1, stats.getRating5Cnt());
+        assertEquals(updateTime.getTime(), stats.getUpdateTime().getTime());
+    }
+
+    @Test
+    void testUpdateTimeDefensiveCopy() {
+        Date updateTime = new Date();
+        NovelRatingStats stats = new NovelRatingStats();
+        stats.setUpdateTime(updateTime);
+
+        assertNotSame(updateTime, stats.getUpdateTime());
+        assertEquals(updateTime, stats.getUpdateTime());
+
+        stats.setUpdateTime(null);
+        assertNull(stats.getUpdateTime());
+    }
+
+    @Test
+    void testSetters() {
+        NovelRatingStats stats = new NovelRatingStats();
+        stats.setNovelId(1);
+        stats.setReviewCount(2);
+        stats.setRatingSum(9L);
+        stats.setRating1Cnt(0);
+        stats.setRating2Cnt(0);
+        stats.setRating3Cnt(0);
+        stats.setRating4Cnt(1);
+        stats.setRating5Cnt(1);
+
+        assertEquals(1, stats.getNovelId());
+        assertEquals(2, stats.getReviewCount());
+        assertEquals(9L, stats.getRatingSum());
+        assertEquals(1, stats.getRating4Cnt());
+        assertEquals(1, stats.getRating5Cnt());
+    }
+}
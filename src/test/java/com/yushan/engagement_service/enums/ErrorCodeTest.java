@@ -51,19 +51,27 @@ class ErrorCodeTest {
         assertEquals("Internal Server Error", ErrorCode.INTERNAL_SERVER_ERROR.getMessage());
     }
 
+    @Test
+    void testServiceUnavailable() {
+        // Act & Assert
+        assertEquals(503, ErrorCode.SERVICE_UNAVAILABLE.getCode());
+        assertEquals("Service Unavailable", ErrorCode.SERVICE_UNAVAILABLE.getMessage());
+    }
+
     @Test
     void testEnumValues() {
         // Act
         ErrorCode[] values = ErrorCode.values();
 
         // Assert
-        assertEquals(6, values.length);
+        assertEquals(7, values.length);
         assertEquals(ErrorCode.SUCCESS, values[0]);
         assertEquals(ErrorCode.BAD_REQUEST, values[1]);
         assertEquals(ErrorCode.UNAUTHORIZED, values[2]);
         assertEquals(ErrorCode.FORBIDDEN, values[3]);
         assertEquals(ErrorCode.NOT_FOUND, values[4]);
         assertEquals(ErrorCode.INTERNAL_SERVER_ERROR, values[5]);
+        assertEquals(ErrorCode.SERVICE_UNAVAILABLE, values[6]);
     }
 
     @Test
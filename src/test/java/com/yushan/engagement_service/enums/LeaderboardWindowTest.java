@@ -0,0 +1,40 @@
+package com.yushan.engagement_service.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LeaderboardWindow enum
+ */
+class LeaderboardWindowTest {
+
+    @Test
+    void testFromParam() {
+        // Act & Assert
+        assertEquals(LeaderboardWindow.DAY, LeaderboardWindow.fromParam("24h"));
+        assertEquals(LeaderboardWindow.WEEK, LeaderboardWindow.fromParam("7D"));
+        assertEquals(LeaderboardWindow.ALL_TIME, LeaderboardWindow.fromParam("all"));
+    }
+
+    @Test
+    void testFromParamWithNull() {
+        // Act & Assert
+        assertEquals(LeaderboardWindow.WEEK, LeaderboardWindow.fromParam(null));
+    }
+
+    @Test
+    void testFromParamWithUnknownWindow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardWindow.fromParam("30d"));
+    }
+
+    @Test
+    void testHours() {
+        // Act & Assert
+        assertEquals(24, LeaderboardWindow.DAY.getHours());
+        assertEquals(168, LeaderboardWindow.WEEK.getHours());
+        assertTrue(LeaderboardWindow.WEEK.isSliding());
+        assertFalse(LeaderboardWindow.ALL_TIME.isSliding());
+    }
+}
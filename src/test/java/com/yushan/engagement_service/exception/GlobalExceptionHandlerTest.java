@@ -122,6 +122,24 @@ class GlobalExceptionHandlerTest {
         assertNull(response.getBody().getData());
     }
 
+    @Test
+    void testHandleServiceUnavailableException() {
+        // Given
+        String message = "Downstream services did not answer within 3000 ms";
+        ServiceUnavailableException exception = new ServiceUnavailableException(message);
+
+        // When
+        ResponseEntity<ApiResponse<Object>> response = globalExceptionHandler.handleServiceUnavailableException(exception, webRequest);
+
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(503, response.getBody().getCode());
+        assertEquals(message, response.getBody().getMessage());
+        assertNull(response.getBody().getData());
+    }
+
     @Test
     void testHandleMethodArgumentNotValidException_SingleError() {
         // Given
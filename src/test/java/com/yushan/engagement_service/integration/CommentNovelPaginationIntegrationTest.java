@@ -0,0 +1,139 @@
+package com.yushan.engagement_service.integration;
+
+import com.yushan.engagement_service.TestcontainersConfiguration;
+import com.yushan.engagement_service.dao.CommentMapper;
+import com.yushan.engagement_service.dto.common.PageCursor;
+import com.yushan.engagement_service.entity.Comment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Walks the novel-wide comment listing page by page against the Flyway-migrated schema,
+ * checking that keyset cursors continue exactly where the previous page stopped.
+ */
+@org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable(named = "CI", matches = "true")
+public class CommentNovelPaginationIntegrationTest {
+
+    private static final int NOVEL_ID = 900_001;
+    private static final int SAME_MILLISECOND_NOVEL_ID = 900_002;
+
+    private static SqlSessionFactory sqlSessionFactory;
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        dataSource = new DriverManagerDataSource(
+                TestcontainersConfiguration.postgres.getJdbcUrl(),
+                TestcontainersConfiguration.postgres.getUsername(),
+                TestcontainersConfiguration.postgres.getPassword());
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setConfigLocation(new ClassPathResource("config/mybatis-config.xml"));
+        factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver()
+                .getResources("classpath:/mapper/**Mapper.xml"));
+        sqlSessionFactory = factoryBean.getObject();
+
+        // Hot order (likes weighed against age) differs from creation order, and two rows tie on
+        // hot_score so the id tie-break has to carry across the page boundary
+        execute("insert into comment (user_id, chapter_id, novel_id, content, like_cnt, create_time) values "
+                + "(gen_random_uuid(), 1, " + NOVEL_ID + ", 'old classic', 1000, timestamp '2025-01-01 00:00:00'), "
+                + "(gen_random_uuid(), 2, " + NOVEL_ID + ", 'quiet', 1, timestamp '2025-01-02 00:00:00'), "
+                + "(gen_random_uuid(), 3, " + NOVEL_ID + ", 'rising', 100, timestamp '2025-01-03 00:00:00'), "
+                + "(gen_random_uuid(), 3, " + NOVEL_ID + ", 'newest', 1, timestamp '2025-01-04 00:00:00'), "
+                + "(gen_random_uuid(), 1, " + NOVEL_ID + ", 'unnoticed', 1, timestamp '2025-01-01 12:00:00'), "
+                + "(gen_random_uuid(), 2, " + NOVEL_ID + ", 'tied classic', 1000, timestamp '2025-01-01 00:00:00')");
+        // Created within the same millisecond; only the microseconds tell them apart
+        execute("insert into comment (user_id, chapter_id, novel_id, content, like_cnt, create_time) values "
+                + "(gen_random_uuid(), 1, " + SAME_MILLISECOND_NOVEL_ID + ", 'first', 0, timestamp '2025-01-05 00:00:00.000100'), "
+                + "(gen_random_uuid(), 1, " + SAME_MILLISECOND_NOVEL_ID + ", 'second', 0, timestamp '2025-01-05 00:00:00.000900'), "
+                + "(gen_random_uuid(), 1, " + SAME_MILLISECOND_NOVEL_ID + ", 'earlier', 0, timestamp '2025-01-04 00:00:00')");
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        execute("delete from comment where novel_id in (" + NOVEL_ID + ", " + SAME_MILLISECOND_NOVEL_ID + ")");
+    }
+
+    @Test
+    void selectCommentsByNovelWithPagination_SortedByHot_ShouldContinueFromCursor() {
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            // Arrange
+            CommentMapper mapper = session.getMapper(CommentMapper.class);
+            List<Integer> expected = ids(mapper.selectCommentsByNovelWithPagination(
+                    NOVEL_ID, null, null, null, "hot", "desc", 0, 100, null));
+
+            // Act
+            List<Comment> firstPage = mapper.selectCommentsByNovelWithPagination(
+                    NOVEL_ID, null, null, null, "hot", "desc", 0, 3, null);
+            Comment last = firstPage.get(firstPage.size() - 1);
+            List<Comment> secondPage = mapper.selectCommentsByNovelWithPagination(
+                    NOVEL_ID, null, null, null, "hot", "desc", 0, 3,
+                    PageCursor.afterScore("hot", "desc", last.getHotScore(), last.getId()));
+
+            // Assert
+            List<Integer> walked = new ArrayList<>(ids(firstPage));
+            walked.addAll(ids(secondPage));
+            assertEquals(expected, walked);
+            assertNotEquals(ids(mapper.selectCommentsByNovelWithPagination(
+                    NOVEL_ID, null, null, null, "createTime", "desc", 0, 100, null)), expected);
+        }
+    }
+
+    @Test
+    void selectCommentsByNovelWithPagination_SortedByCreateTime_ShouldSeekPastMicroseconds() {
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            // Arrange
+            CommentMapper mapper = session.getMapper(CommentMapper.class);
+            List<Integer> expected = ids(mapper.selectCommentsByNovelWithPagination(
+                    SAME_MILLISECOND_NOVEL_ID, null, null, null, "createTime", "desc", 0, 100, null));
+
+            // Act
+            List<Comment> firstPage = mapper.selectCommentsByNovelWithPagination(
+                    SAME_MILLISECOND_NOVEL_ID, null, null, null, "createTime", "desc", 0, 1, null);
+            Comment last = firstPage.get(0);
+            PageCursor cursor = PageCursor.decode(PageCursor.afterTime("desc", last.getCreateTime(), last.getId()).encode());
+            List<Comment> secondPage = mapper.selectCommentsByNovelWithPagination(
+                    SAME_MILLISECOND_NOVEL_ID, null, null, null, "createTime", "desc", 0, 2, cursor);
+
+            // Assert
+            List<Integer> walked = new ArrayList<>(ids(firstPage));
+            walked.addAll(ids(secondPage));
+            assertEquals(expected, walked);
+        }
+    }
+
+    private static List<Integer> ids(List<Comment> comments) {
+        return comments.stream().map(Comment::getId).toList();
+    }
+
+    private static void execute(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.yushan.engagement_service.integration;
+
+import com.yushan.engagement_service.TestcontainersConfiguration;
+import com.yushan.engagement_service.dao.CommentMapper;
+import com.yushan.engagement_service.dao.ReviewMapper;
+import com.yushan.engagement_service.service.LikeCounterService;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the like reconcile against comments and reviews liked before V6, when like_cnt had no
+ * like rows behind it, checking that the recount keeps the legacy likes and does not count a
+ * still-buffered delta twice.
+ */
+@org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable(named = "CI", matches = "true")
+public class LikeReconcileIntegrationTest {
+
+    // Migrated apart from the shared test database so the legacy rows can be seeded before V6
+    private static final String RECONCILE_DATABASE = "like_reconcile";
+    private static final int LEGACY_LIKES = 500;
+
+    private static DataSource dataSource;
+    private static CommentMapper commentMapper;
+    private static ReviewMapper reviewMapper;
+    private static TransactionTemplate transactionTemplate;
+    private static int commentId;
+    private static int reviewId;
+
+    private LikeCounterService likeCounterService;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        String jdbcUrl = TestcontainersConfiguration.postgres.getJdbcUrl();
+        String username = TestcontainersConfiguration.postgres.getUsername();
+        String password = TestcontainersConfiguration.postgres.getPassword();
+        try (Connection connection = new DriverManagerDataSource(jdbcUrl, username, password).getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop database if exists " + RECONCILE_DATABASE);
+            statement.execute("create database " + RECONCILE_DATABASE);
+        }
+        dataSource = new DriverManagerDataSource(
+                jdbcUrl.replaceFirst("/" + TestcontainersConfiguration.postgres.getDatabaseName() + "(?=\\?|$)",
+                        "/" + RECONCILE_DATABASE),
+                username, password);
+
+        migrate("5");
+        commentId = queryInt("insert into comment (user_id, chapter_id, content, like_cnt) "
+                + "values (gen_random_uuid(), 1, 'liked before per-user likes', " + LEGACY_LIKES + ") returning id");
+        reviewId = queryInt("insert into review (uuid, user_id, novel_id, rating, title, content, like_cnt) "
+                + "values (gen_random_uuid(), gen_random_uuid(), 1, 5, 'classic', 'liked before per-user likes', "
+                + LEGACY_LIKES + ") returning id");
+        migrate(null);
+
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setConfigLocation(new ClassPathResource("config/mybatis-config.xml"));
+        factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver()
+                .getResources("classpath:/mapper/**Mapper.xml"));
+        SqlSessionFactory sqlSessionFactory = factoryBean.getObject();
+        SqlSessionTemplate sqlSession = new SqlSessionTemplate(sqlSessionFactory);
+        commentMapper = sqlSession.getMapper(CommentMapper.class);
+        reviewMapper = sqlSession.getMapper(ReviewMapper.class);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @BeforeEach
+    void createService() {
+        likeCounterService = new LikeCounterService();
+        ReflectionTestUtils.setField(likeCounterService, "commentMapper", commentMapper);
+        ReflectionTestUtils.setField(likeCounterService, "reviewMapper", reviewMapper);
+        ReflectionTestUtils.setField(likeCounterService, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(likeCounterService, "reconcileGraceSeconds", 0);
+    }
+
+    @Test
+    void reconcile_WithLegacyCommentLikes_ShouldAddLikeRowsToTheLegacyCount() throws Exception {
+        // Arrange
+        likeComment(UUID.randomUUID());
+        likeCounterService.flush();
+
+        // Act
+        likeCounterService.reconcile();
+
+        // Assert
+        assertEquals(LEGACY_LIKES + 1, likeCount("comment", commentId));
+    }
+
+    @Test
+    void reconcile_WithBufferedReviewDelta_ShouldNotCountTheLikeTwice() throws Exception {
+        // Arrange
+        int before = likeCount("review", reviewId);
+        likeReview(UUID.randomUUID());
+        likeReview(UUID.randomUUID());
+
+        // Act
+        likeCounterService.reconcile();
+        likeCounterService.flush();
+
+        // Assert
+        assertEquals(before + 2, likeCount("review", reviewId));
+        assertEquals(0, likeCounterService.pendingReviewLikes(reviewId));
+    }
+
+    private void likeComment(UUID userId) {
+        assertEquals(1, commentMapper.insertLike(commentId, userId));
+        likeCounterService.addCommentLikes(commentId, 1);
+    }
+
+    private void likeReview(UUID userId) {
+        assertEquals(1, reviewMapper.insertLike(reviewId, userId));
+        likeCounterService.addReviewLikes(reviewId, 1);
+    }
+
+    private static void migrate(String target) {
+        FluentConfiguration configuration = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration");
+        if (target != null) {
+            configuration.target(target);
+        }
+        configuration.load().migrate();
+    }
+
+    private static int likeCount(String table, int id) throws Exception {
+        return queryInt("select like_cnt from " + table + " where id = " + id);
+    }
+
+    private static int queryInt(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.yushan.engagement_service.integration;
+
+import com.yushan.engagement_service.TestcontainersConfiguration;
+import com.yushan.engagement_service.dto.comment.CommentSearchRequestDTO;
+import com.yushan.engagement_service.dto.common.PageCursor;
+import com.yushan.engagement_service.dto.report.ReportSearchRequestDTO;
+import com.yushan.engagement_service.dto.review.ReviewSearchRequestDTO;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Query-plan regression suite for the mapper XML statements.
+ *
+ * Every select is bound with representative parameters and run through EXPLAIN
+ * with default planner settings against a Flyway-migrated database of its own,
+ * seeded with production-like volumes and analyzed, so a "Seq Scan" in the plan
+ * is what the planner would really pick for the statement.
+ */
+@org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable(named = "CI", matches = "true")
+public class MapperQueryPlanIntegrationTest {
+
+    private static final String COMMENT = "com.yushan.engagement_service.dao.CommentMapper.";
+    private static final String REVIEW = "com.yushan.engagement_service.dao.ReviewMapper.";
+    private static final String VOTE = "com.yushan.engagement_service.dao.VoteMapper.";
+    private static final String REPORT = "com.yushan.engagement_service.dao.ReportMapper.";
+    private static final String RATING_STATS = "com.yushan.engagement_service.dao.NovelRatingStatsMapper.";
+    private static final String OUTBOX = "com.yushan.engagement_service.dao.OutboxEventMapper.";
+    private static final String COMMENT_DAILY_STATS = "com.yushan.engagement_service.dao.CommentDailyStatsMapper.";
+
+    private static final UUID USER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    // Seeded apart from the shared test database so the volumes below do not leak into other suites
+    private static final String PLAN_DATABASE = "query_plans";
+
+    /**
+     * Rows per table, roughly in production proportions: 2,000 novels of 10 chapters each with two
+     * years of comments from 5,000 users, one search hit per 200 texts, most comments never liked,
+     * and a backlog of like changes, votes and outbox events still waiting for a background job.
+     */
+    private static final String[] SEED = {
+            "insert into comment (user_id, chapter_id, novel_id, content, like_cnt, is_spoiler, create_time) "
+                    + "select md5((i % 5000)::text)::uuid, 1 + i % 20000, 1 + (i % 20000) / 10, "
+                    + "case when i % 200 = 0 then 'a great chapter, spoiler free ' || i else md5(i::text) || ' ' || md5((i * 7)::text) end, "
+                    + "case when i % 20 = 0 then 1 + (i * 37) % 50 else 0 end, i % 10 = 0, localtimestamp - i * interval '10 minutes' "
+                    + "from generate_series(1, 100000) i",
+            "insert into comment_like (comment_id, user_id, create_time) "
+                    + "select c.id, md5(c.id || '-' || n)::uuid, c.create_time + n * interval '1 minute' "
+                    + "from comment c cross join lateral generate_series(1, c.like_cnt) n",
+            "insert into review (uuid, user_id, novel_id, rating, title, content, like_cnt, is_spoiler, create_time) "
+                    + "select gen_random_uuid(), md5('review' || i)::uuid, 1 + i % 2000, 1 + i % 5, "
+                    + "case when i % 200 = 0 then 'a slow burn' else md5(i::text) end, md5((i * 3)::text), "
+                    + "case when i % 20 = 0 then 1 + (i * 13) % 40 else 0 end, i % 10 = 0, localtimestamp - i * interval '10 minutes' "
+                    + "from generate_series(1, 100000) i",
+            "insert into review_like (review_id, user_id) "
+                    + "select r.id, md5(r.id || '-' || n)::uuid from review r cross join lateral generate_series(1, r.like_cnt) n",
+            "insert into vote (user_id, novel_id, count_synced, create_time, update_time) "
+                    + "select md5((i % 5000)::text)::uuid, 1 + i % 2000, i > 100, "
+                    + "localtimestamp - i * interval '10 minutes', localtimestamp - i * interval '10 minutes' "
+                    + "from generate_series(1, 50000) i",
+            "insert into report (reporter_id, report_type, reason, status, content_type, content_id, created_at) "
+                    + "select md5((i % 5000)::text)::uuid, "
+                    + "(array['PORNOGRAPHIC', 'HATE_BULLYING', 'PERSONAL_INFO', 'INAPPROPRIATE', 'SPAM'])[1 + i % 5]::report_type, "
+                    + "case when i % 200 = 0 then 'unmarked spoiler' else md5(i::text) end, "
+                    + "(case when i % 20 = 0 then 'IN_REVIEW' when i % 3 = 0 then 'DISMISSED' else 'RESOLVED' end)::report_status, "
+                    + "case when i % 4 = 0 then 'NOVEL' else 'COMMENT' end, 1 + i % 100000, localtimestamp - i * interval '10 minutes' "
+                    + "from generate_series(1, 50000) i",
+            "insert into novel_rating_stats (novel_id, review_count, rating_sum) "
+                    + "select novel_id, count(*), sum(rating) from review group by novel_id on conflict do nothing",
+            "insert into comment_like_change (comment_id, create_time) "
+                    + "select 1 + (i * 7919) % 100000, localtimestamp - i * interval '20 milliseconds' from generate_series(1, 30000) i",
+            "insert into review_like_change (review_id, create_time) "
+                    + "select 1 + (i * 7919) % 100000, localtimestamp - i * interval '60 milliseconds' from generate_series(1, 10000) i",
+            "insert into event_outbox (topic, event_key, payload) "
+                    + "select 'comment-events', (i % 100)::text, '{}' from generate_series(1, 20000) i",
+            "analyze"
+    };
+
+    /**
+     * Selects that are known not to be index-backed, with the reason.
+     * Remove an entry once the statement is fixed so the suite starts guarding it.
+     */
+    private static final Map<String, String> KNOWN_FULL_SCANS = Map.of(
+            COMMENT_DAILY_STATS + "selectTotals", "sums the striped rows for every day of history",
+            COMMENT + "selectUserCommentCounts", "leaderboard rebuild counts every comment",
+            COMMENT + "selectChapterCommentCounts", "leaderboard rebuild counts every comment",
+            COMMENT + "selectHourlyLikeCounts", "leaderboard rebuild reads a week of likes; comment_like has no time index"
+    );
+
+    private static SqlSessionFactory sqlSessionFactory;
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        String jdbcUrl = TestcontainersConfiguration.postgres.getJdbcUrl();
+        String username = TestcontainersConfiguration.postgres.getUsername();
+        String password = TestcontainersConfiguration.postgres.getPassword();
+        try (Connection connection = new DriverManagerDataSource(jdbcUrl, username, password).getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop database if exists " + PLAN_DATABASE);
+            statement.execute("create database " + PLAN_DATABASE);
+        }
+        dataSource = new DriverManagerDataSource(
+                jdbcUrl.replaceFirst("/" + TestcontainersConfiguration.postgres.getDatabaseName() + "(?=\\?|$)",
+                        "/" + PLAN_DATABASE),
+                username, password);
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : SEED) {
+                statement.execute(sql);
+            }
+        }
+
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setConfigLocation(new ClassPathResource("config/mybatis-config.xml"));
+        factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver()
+                .getResources("classpath:/mapper/**Mapper.xml"));
+        sqlSessionFactory = factoryBean.getObject();
+    }
+
+    static Stream<Arguments> indexedQueries() {
+        CommentSearchRequestDTO commentsByChapter = new CommentSearchRequestDTO();
+        commentsByChapter.setChapterId(1);
+        CommentSearchRequestDTO commentsByChapterLikes = new CommentSearchRequestDTO();
+        commentsByChapterLikes.setChapterId(1);
+        commentsByChapterLikes.setSort("likeCnt");
+        CommentSearchRequestDTO commentsByUser = new CommentSearchRequestDTO();
+        commentsByUser.setUserId(USER_ID);
+        CommentSearchRequestDTO allComments = new CommentSearchRequestDTO();
+        CommentSearchRequestDTO allCommentsByLikes = new CommentSearchRequestDTO();
+        allCommentsByLikes.setSort("likeCnt");
+        CommentSearchRequestDTO commentsByChapterAfterCursor = new CommentSearchRequestDTO();
+        commentsByChapterAfterCursor.setChapterId(1);
+        commentsByChapterAfterCursor.setCursor(PageCursor.afterTime("desc", new Date(), 100));
+        CommentSearchRequestDTO commentsByChapterLikesAfterCursor = new CommentSearchRequestDTO();
+        commentsByChapterLikesAfterCursor.setChapterId(1);
+        commentsByChapterLikesAfterCursor.setSort("likeCnt");
+        commentsByChapterLikesAfterCursor.setCursor(PageCursor.afterNumber("likeCnt", "desc", 5, 100));
+        CommentSearchRequestDTO commentsByChapterHot = new CommentSearchRequestDTO();
+        commentsByChapterHot.setChapterId(1);
+        commentsByChapterHot.setSort("hot");
+        CommentSearchRequestDTO commentsByChapterHotAfterCursor = new CommentSearchRequestDTO();
+        commentsByChapterHotAfterCursor.setChapterId(1);
+        commentsByChapterHotAfterCursor.setSort("hot");
+        commentsByChapterHotAfterCursor.setCursor(PageCursor.afterScore("hot", "desc", 20000.5, 100));
+        CommentSearchRequestDTO commentsBySearch = new CommentSearchRequestDTO();
+        commentsBySearch.setSearch("great chapter");
+        CommentSearchRequestDTO commentsBySearchRelevance = new CommentSearchRequestDTO();
+        commentsBySearchRelevance.setSearch("great chapter");
+        commentsBySearchRelevance.setSort("relevance");
+        CommentSearchRequestDTO commentsByNovel = new CommentSearchRequestDTO();
+        commentsByNovel.setNovelId(1);
+
+        ReviewSearchRequestDTO reviewsByNovel = new ReviewSearchRequestDTO();
+        reviewsByNovel.setNovelId(1);
+        ReviewSearchRequestDTO reviewsByNovelLikes = new ReviewSearchRequestDTO();
+        reviewsByNovelLikes.setNovelId(1);
+        reviewsByNovelLikes.setSort("likeCnt");
+        ReviewSearchRequestDTO reviewsByNovelHot = new ReviewSearchRequestDTO();
+        reviewsByNovelHot.setNovelId(1);
+        reviewsByNovelHot.setSort("hot");
+        ReviewSearchRequestDTO reviewsByNovelHotAfterCursor = new ReviewSearchRequestDTO();
+        reviewsByNovelHotAfterCursor.setNovelId(1);
+        reviewsByNovelHotAfterCursor.setSort("hot");
+        reviewsByNovelHotAfterCursor.setCursor(PageCursor.afterScore("hot", "desc", 20000.5, 100));
+        ReviewSearchRequestDTO reviewsByNovelHelpfulness = new ReviewSearchRequestDTO();
+        reviewsByNovelHelpfulness.setNovelId(1);
+        reviewsByNovelHelpfulness.setSort("helpfulness");
+        ReviewSearchRequestDTO reviewsByNovelHelpfulnessAfterCursor = new ReviewSearchRequestDTO();
+        reviewsByNovelHelpfulnessAfterCursor.setNovelId(1);
+        reviewsByNovelHelpfulnessAfterCursor.setSort("helpfulness");
+        reviewsByNovelHelpfulnessAfterCursor.setCursor(PageCursor.afterScore("helpfulness", "desc", 0.5, 100));
+        ReviewSearchRequestDTO allReviews = new ReviewSearchRequestDTO();
+        ReviewSearchRequestDTO reviewsByNovelAfterCursor = new ReviewSearchRequestDTO();
+        reviewsByNovelAfterCursor.setNovelId(1);
+        reviewsByNovelAfterCursor.setCursor(PageCursor.afterTime("desc", new Date(), 100));
+        ReviewSearchRequestDTO allReviewsAfterCursor = new ReviewSearchRequestDTO();
+        allReviewsAfterCursor.setCursor(PageCursor.afterTime("desc", new Date(), 100));
+        ReviewSearchRequestDTO reviewsBySearch = new ReviewSearchRequestDTO();
+        reviewsBySearch.setSearch("slow burn");
+        ReviewSearchRequestDTO reviewsBySearchRelevance = new ReviewSearchRequestDTO();
+        reviewsBySearchRelevance.setSearch("slow burn");
+        reviewsBySearchRelevance.setSort("relevance");
+
+        ReportSearchRequestDTO reportsByStatus = new ReportSearchRequestDTO();
+        reportsByStatus.setStatus("IN_REVIEW");
+        ReportSearchRequestDTO reportsByType = new ReportSearchRequestDTO();
+        reportsByType.setReportType("SPAM");
+        ReportSearchRequestDTO allReports = new ReportSearchRequestDTO();
+        ReportSearchRequestDTO reportsBySearch = new ReportSearchRequestDTO();
+        reportsBySearch.setSearch("spoiler");
+        ReportSearchRequestDTO reportsBySearchRelevance = new ReportSearchRequestDTO();
+        reportsBySearchRelevance.setSearch("spoiler");
+        reportsBySearchRelevance.setSort("relevance");
+
+        List<Integer> chapterIds = List.of(1, 2, 3);
+
+        return Stream.of(
+                Arguments.of(COMMENT + "selectByPrimaryKey", 1),
+                Arguments.of(COMMENT + "selectByChapterId", 1),
+                Arguments.of(COMMENT + "selectByUserId", USER_ID),
+                Arguments.of(COMMENT + "selectByNovelId", 1),
+                Arguments.of(COMMENT + "selectCommentsWithPagination", commentsByChapter),
+                Arguments.of(COMMENT + "selectCommentsWithPagination", commentsByChapterLikes),
+                Arguments.of(COMMENT + "selectCommentsWithPagination", commentsByUser),
+                Arguments.of(COMMENT + "selectCommentsWithPagination", allComments),
+                Arguments.of(COMMENT + "selectCommentsWithPagination", allCommentsByLikes),
+                Arguments.of(COMMENT + "selectCommentsWithPagination", commentsByChapterAfterCursor),
+                Arguments.of(COMMENT + "selectCommentsWithPagination", commentsByChapterLikesAfterCursor),
+                Arguments.of(COMMENT + "selectCommentsWithPagination", commentsByChapterHot),
+                Arguments.of(COMMENT + "selectCommentsWithPagination", commentsByChapterHotAfterCursor),
+                Arguments.of(COMMENT + "selectCommentsWithPagination", commentsBySearch),
+                Arguments.of(COMMENT + "selectCommentsWithPagination", commentsBySearchRelevance),
+                Arguments.of(COMMENT + "selectCommentsWithPagination", commentsByNovel),
+                Arguments.of(COMMENT + "selectCommentsByNovelWithPagination", params(
+                        "novelId", 1, "sort", "createTime", "order", "DESC", "page", 0, "size", 20)),
+                Arguments.of(COMMENT + "selectCommentsByNovelWithPagination", params(
+                        "novelId", 1, "sort", "likeCnt", "order", "DESC", "page", 0, "size", 20)),
+                Arguments.of(COMMENT + "selectCommentsByNovelWithPagination", params(
+                        "novelId", 1, "sort", "createTime", "order", "desc", "page", 0, "size", 21,
+                        "cursor", PageCursor.afterTime("desc", new Date(), 100))),
+                Arguments.of(COMMENT + "selectCommentsByNovelWithPagination", params(
+                        "novelId", 1, "sort", "hot", "order", "desc", "page", 0, "size", 20)),
+                Arguments.of(COMMENT + "selectCommentsByNovelWithPagination", params(
+                        "novelId", 1, "sort", "hot", "order", "desc", "page", 0, "size", 21,
+                        "cursor", PageCursor.afterScore("hot", "desc", 20000.5, 100))),
+                Arguments.of(COMMENT + "selectCommentsByNovelWithPagination", params(
+                        "novelId", 1, "search", "great chapter", "sort", "relevance", "page", 0, "size", 20)),
+                Arguments.of(COMMENT + "selectCommentsByNovelWithPagination", params(
+                        "novelId", 1, "unfilledChapterIds", chapterIds, "sort", "createTime", "order", "desc",
+                        "page", 0, "size", 20)),
+                Arguments.of(COMMENT + "countComments", commentsByChapter),
+                Arguments.of(COMMENT + "countComments", commentsByUser),
+                Arguments.of(COMMENT + "countComments", commentsBySearch),
+                Arguments.of(COMMENT + "countComments", commentsBySearchRelevance),
+                Arguments.of(COMMENT + "countByChapterId", 1),
+                Arguments.of(COMMENT + "selectChapterCommentStats", 1),
+                Arguments.of(COMMENT + "countByNovelId", 1),
+                Arguments.of(COMMENT + "countCommentsByNovel", params("novelId", 1)),
+                Arguments.of(COMMENT + "countCommentsByNovel", params("novelId", 1, "search", "great chapter")),
+                Arguments.of(COMMENT + "countCommentsByNovel", params("novelId", 1, "search", "great chapter", "sort", "relevance")),
+                Arguments.of(COMMENT + "countCommentsByNovel", params("novelId", 1, "unfilledChapterIds", chapterIds)),
+                Arguments.of(COMMENT + "selectChapterIdsMissingNovel", params("afterChapterId", 0, "limit", 200)),
+                Arguments.of(COMMENT + "claimLikeChanges", params("graceSeconds", 300, "limit", 1000)),
+                Arguments.of(COMMENT + "recountLikes", params("ids", List.of(1, 2, 3))),
+                Arguments.of(COMMENT + "existsByUserAndChapter", params("userId", USER_ID, "chapterId", 1)),
+                Arguments.of(COMMENT + "countCommentsByUser", params("userId", USER_ID)),
+                Arguments.of(COMMENT + "countCommentsInLastDays", params("days", 7)),
+                Arguments.of(COMMENT + "selectRecentComments", params("hours", 24, "limit", 50)),
+                Arguments.of(COMMENT + "selectPopularComments", params("minLikes", 10, "limit", 20)),
+                Arguments.of(COMMENT + "selectCommentsByKeyword", params("keyword", "spoiler", "limit", 50)),
+                Arguments.of(COMMENT + "selectChapterIdsByIds", params("ids", chapterIds)),
+                Arguments.of(COMMENT + "selectChapterIdsByUserId", params("userId", USER_ID)),
+                Arguments.of(COMMENT + "selectByIds", params("ids", List.of(1, 2, 3))),
+                Arguments.of(COMMENT + "selectHourlyCommentCounts", params("since", new Date())),
+                Arguments.of(COMMENT + "selectLikedCommentCounts", null),
+                Arguments.of(COMMENT + "deleteByUserIdLimited", params("userId", USER_ID, "limit", 1000)),
+                Arguments.of(COMMENT + "deleteByChapterIdLimited", params("chapterId", 1, "limit", 1000)),
+
+                Arguments.of(REVIEW + "selectByPrimaryKey", 1),
+                Arguments.of(REVIEW + "selectByUuid", USER_ID),
+                Arguments.of(REVIEW + "selectByUserAndNovel", params("userId", USER_ID, "novelId", 1)),
+                Arguments.of(REVIEW + "selectByNovelId", 1),
+                Arguments.of(REVIEW + "selectByUserId", USER_ID),
+                Arguments.of(REVIEW + "selectReviewsWithPagination", reviewsByNovel),
+                Arguments.of(REVIEW + "selectReviewsWithPagination", reviewsByNovelLikes),
+                Arguments.of(REVIEW + "selectReviewsWithPagination", reviewsByNovelHot),
+                Arguments.of(REVIEW + "selectReviewsWithPagination", reviewsByNovelHotAfterCursor),
+                Arguments.of(REVIEW + "selectReviewsWithPagination", reviewsByNovelHelpfulness),
+                Arguments.of(REVIEW + "selectReviewsWithPagination", reviewsByNovelHelpfulnessAfterCursor),
+                Arguments.of(REVIEW + "selectReviewsWithPagination", allReviews),
+                Arguments.of(REVIEW + "selectReviewsWithPagination", reviewsByNovelAfterCursor),
+                Arguments.of(REVIEW + "selectReviewsWithPagination", allReviewsAfterCursor),
+                Arguments.of(REVIEW + "selectReviewsWithPagination", reviewsBySearch),
+                Arguments.of(REVIEW + "selectReviewsWithPagination", reviewsBySearchRelevance),
+                Arguments.of(REVIEW + "countReviews", reviewsByNovel),
+                Arguments.of(REVIEW + "countReviews", reviewsBySearch),
+                Arguments.of(REVIEW + "countReviews", reviewsBySearchRelevance),
+                Arguments.of(REVIEW + "selectNovelIdsByIds", params("ids", List.of(1, 2, 3))),
+                Arguments.of(REVIEW + "claimLikeChanges", params("graceSeconds", 300, "limit", 1000)),
+                Arguments.of(REVIEW + "recountLikes", params("ids", List.of(1, 2, 3))),
+
+                Arguments.of(VOTE + "selectByPrimaryKey", 1),
+                Arguments.of(VOTE + "countByUserId", params("userId", USER_ID)),
+                Arguments.of(VOTE + "selectByUserIdWithPagination", params(
+                        "userId", USER_ID, "offset", 0, "limit", 20)),
+                Arguments.of(VOTE + "selectNovelIdsWithUnsyncedVotes", params("limit", 500)),
+                Arguments.of(VOTE + "countUnsyncedVotes", params("novelId", 1)),
+                Arguments.of(VOTE + "assignSyncBatch", params("novelId", 1)),
+                Arguments.of(VOTE + "selectOldestSyncBatch", params("novelId", 1)),
+                Arguments.of(VOTE + "countSyncBatch", params("novelId", 1, "syncBatch", 41)),
+                Arguments.of(VOTE + "markVotesSynced", params("novelId", 1, "syncBatch", 41)),
+
+                Arguments.of(REPORT + "selectByPrimaryKey", 1),
+                Arguments.of(REPORT + "selectByUuid", params("uuid", USER_ID)),
+                Arguments.of(REPORT + "selectReportsWithPagination", params("req", reportsByStatus)),
+                Arguments.of(REPORT + "selectReportsWithPagination", params("req", reportsByType)),
+                Arguments.of(REPORT + "selectReportsWithPagination", params("req", allReports)),
+                Arguments.of(REPORT + "selectReportsWithPagination", params("req", reportsBySearch)),
+                Arguments.of(REPORT + "selectReportsWithPagination", params("req", reportsBySearchRelevance)),
+                Arguments.of(REPORT + "countReports", params("req", reportsByStatus)),
+                Arguments.of(REPORT + "countReports", params("req", reportsBySearch)),
+                Arguments.of(REPORT + "countReports", params("req", reportsBySearchRelevance)),
+                Arguments.of(REPORT + "selectReportsByNovelId", params("novelId", 1)),
+                Arguments.of(REPORT + "selectReportsByCommentId", params("commentId", 1)),
+                Arguments.of(REPORT + "selectReportsByReporterId", params("reporterId", USER_ID)),
+                Arguments.of(REPORT + "existsReportByUserAndContent", params(
+                        "reporterId", USER_ID, "contentType", "COMMENT", "contentId", 1)),
+
+                Arguments.of(RATING_STATS + "selectByNovelId", params("novelId", 1)),
+
+                Arguments.of(COMMENT_DAILY_STATS + "selectMostActiveUser", params("days", 30)),
+                Arguments.of(COMMENT_DAILY_STATS + "selectMostCommentedChapter", params("days", 30)),
+
+                Arguments.of(OUTBOX + "tryRelayLock", params("lockKey", 1L)),
+                Arguments.of(OUTBOX + "claimBatch", params("limit", 500, "leaseSeconds", 60)),
+                Arguments.of(OUTBOX + "deleteByIds", params("ids", List.of(1L, 2L, 3L))),
+                Arguments.of(OUTBOX + "releaseLease", params("ids", List.of(1L, 2L, 3L)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("indexedQueries")
+    void selectStatement_ShouldBeServedByAnIndex(String statementId, Object parameter) throws Exception {
+        String plan = explain(statementId, parameter);
+
+        assertFalse(plan.contains("Seq Scan"), statementId + " has no usable index:\n" + plan);
+    }
+
+    @Test
+    void everySelectStatement_ShouldBeCoveredOrListedAsKnownFullScan() {
+        Set<String> covered = indexedQueries()
+                .map(arguments -> (String) arguments.get()[0])
+                .collect(Collectors.toSet());
+
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        Set<String> unchecked = new TreeSet<>();
+        for (String id : configuration.getMappedStatementNames()) {
+            // Statements are also registered under their (ambiguous) short names
+            if (!id.contains(".") || covered.contains(id) || KNOWN_FULL_SCANS.containsKey(id)) {
+                continue;
+            }
+            if (configuration.getMappedStatement(id).getSqlCommandType() == SqlCommandType.SELECT) {
+                unchecked.add(id);
+            }
+        }
+
+        assertEquals(Set.of(), unchecked, "Add a query-plan scenario for new select statements");
+    }
+
+    private String explain(String statementId, Object parameter) throws Exception {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        MappedStatement statement = configuration.getMappedStatement(statementId);
+        BoundSql boundSql = statement.getBoundSql(parameter);
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement ps = connection.prepareStatement("explain " + boundSql.getSql())) {
+                configuration.newParameterHandler(statement, parameter, boundSql).setParameters(ps);
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    private static Map<String, Object> params(Object... keyValues) {
+        Map<String, Object> params = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            params.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return params;
+    }
+}
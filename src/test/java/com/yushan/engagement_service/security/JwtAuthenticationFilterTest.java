@@ -1,6 +1,6 @@
 package com.yushan.engagement_service.security;
 
-import com.yushan.engagement_service.util.JwtUtil;
+import com.yushan.engagement_service.util.JwtClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +15,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,7 +24,7 @@ import static org.mockito.Mockito.*;
 class JwtAuthenticationFilterTest {
 
     @Mock
-    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
 
     @Mock
     private HttpServletRequest request;
@@ -47,13 +48,7 @@ class JwtAuthenticationFilterTest {
         // Arrange
         String token = "valid-jwt-token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.isAccessToken(token)).thenReturn(true);
-        when(jwtUtil.extractUserId(token)).thenReturn("user123");
-        when(jwtUtil.extractEmail(token)).thenReturn("user@example.com");
-        when(jwtUtil.extractUsername(token)).thenReturn("testuser");
-        when(jwtUtil.extractRole(token)).thenReturn("USER");
-        when(jwtUtil.extractStatus(token)).thenReturn(0);
+        when(verifiedTokenCache.verify(token)).thenReturn(claims("user123", "user@example.com", "testuser", "USER", 0, "access"));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -61,6 +56,7 @@ class JwtAuthenticationFilterTest {
         // Assert
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         assertTrue(SecurityContextHolder.getContext().getAuthentication() instanceof UsernamePasswordAuthenticationToken);
+        verify(verifiedTokenCache, times(1)).verify(token);
         verify(filterChain).doFilter(request, response);
     }
 
@@ -95,7 +91,7 @@ class JwtAuthenticationFilterTest {
         // Arrange
         String token = "invalid-jwt-token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(false);
+        when(verifiedTokenCache.verify(token)).thenReturn(null);
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -110,8 +106,7 @@ class JwtAuthenticationFilterTest {
         // Arrange
         String token = "refresh-token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.isAccessToken(token)).thenReturn(false);
+        when(verifiedTokenCache.verify(token)).thenReturn(claims("user123", "user@example.com", "testuser", "USER", 0, "refresh"));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -126,13 +121,7 @@ class JwtAuthenticationFilterTest {
         // Arrange
         String token = "valid-jwt-token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.isAccessToken(token)).thenReturn(true);
-        when(jwtUtil.extractUserId(token)).thenReturn("user123");
-        when(jwtUtil.extractEmail(token)).thenReturn("user@example.com");
-        when(jwtUtil.extractUsername(token)).thenReturn("testuser");
-        when(jwtUtil.extractRole(token)).thenReturn("USER");
-        when(jwtUtil.extractStatus(token)).thenReturn(1); // SUSPENDED
+        when(verifiedTokenCache.verify(token)).thenReturn(claims("user123", "user@example.com", "testuser", "USER", 1, "access")); // SUSPENDED
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -147,13 +136,7 @@ class JwtAuthenticationFilterTest {
         // Arrange
         String token = "valid-jwt-token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.isAccessToken(token)).thenReturn(true);
-        when(jwtUtil.extractUserId(token)).thenReturn("user123");
-        when(jwtUtil.extractEmail(token)).thenReturn("user@example.com");
-        when(jwtUtil.extractUsername(token)).thenReturn("testuser");
-        when(jwtUtil.extractRole(token)).thenReturn("USER");
-        when(jwtUtil.extractStatus(token)).thenReturn(2); // BANNED
+        when(verifiedTokenCache.verify(token)).thenReturn(claims("user123", "user@example.com", "testuser", "USER", 2, "access")); // BANNED
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -171,13 +154,7 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.getContext().setAuthentication(existingAuth);
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.isAccessToken(token)).thenReturn(true);
-        when(jwtUtil.extractUserId(token)).thenReturn("user123");
-        when(jwtUtil.extractEmail(token)).thenReturn("user@example.com");
-        when(jwtUtil.extractUsername(token)).thenReturn("testuser");
-        when(jwtUtil.extractRole(token)).thenReturn("USER");
-        when(jwtUtil.extractStatus(token)).thenReturn(0);
+        when(verifiedTokenCache.verify(token)).thenReturn(claims("user123", "user@example.com", "testuser", "USER", 0, "access"));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -192,7 +169,7 @@ class JwtAuthenticationFilterTest {
         // Arrange
         String token = "valid-jwt-token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenThrow(new RuntimeException("JWT validation error"));
+        when(verifiedTokenCache.verify(token)).thenThrow(new RuntimeException("JWT validation error"));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -207,9 +184,7 @@ class JwtAuthenticationFilterTest {
         // Arrange
         String token = "valid-jwt-token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.isAccessToken(token)).thenReturn(true);
-        when(jwtUtil.extractUserId(token)).thenReturn(null);
+        when(verifiedTokenCache.verify(token)).thenReturn(claims(null, "user@example.com", "testuser", "USER", 0, "access"));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -224,13 +199,7 @@ class JwtAuthenticationFilterTest {
         // Arrange
         String token = "valid-jwt-token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.isAccessToken(token)).thenReturn(true);
-        when(jwtUtil.extractUserId(token)).thenReturn("author123");
-        when(jwtUtil.extractEmail(token)).thenReturn("author@example.com");
-        when(jwtUtil.extractUsername(token)).thenReturn("testauthor");
-        when(jwtUtil.extractRole(token)).thenReturn("AUTHOR");
-        when(jwtUtil.extractStatus(token)).thenReturn(0);
+        when(verifiedTokenCache.verify(token)).thenReturn(claims("author123", "author@example.com", "testauthor", "AUTHOR", 0, "access"));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -246,13 +215,7 @@ class JwtAuthenticationFilterTest {
         // Arrange
         String token = "valid-jwt-token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.isAccessToken(token)).thenReturn(true);
-        when(jwtUtil.extractUserId(token)).thenReturn("admin123");
-        when(jwtUtil.extractEmail(token)).thenReturn("admin@example.com");
-        when(jwtUtil.extractUsername(token)).thenReturn("testadmin");
-        when(jwtUtil.extractRole(token)).thenReturn("ADMIN");
-        when(jwtUtil.extractStatus(token)).thenReturn(0);
+        when(verifiedTokenCache.verify(token)).thenReturn(claims("admin123", "admin@example.com", "testadmin", "ADMIN", 0, "access"));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -263,4 +226,8 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    private static JwtClaims claims(String userId, String email, String username, String role, Integer status,
+                                    String tokenType) {
+        return new JwtClaims(userId, email, username, role, status, tokenType, Instant.now().plusSeconds(3600));
+    }
 }
@@ -0,0 +1,121 @@
+package com.yushan.engagement_service.security;
+
+import com.yushan.engagement_service.util.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RequestDeadlineFilterTest {
+
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter();
+    private final FilterChain filterChain = mock(FilterChain.class);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void doFilter_WithCallerBudget_ShouldStartDeadline() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = apiRequest();
+        request.addHeader(RequestDeadline.HEADER, "800");
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+        Duration remaining = remainingFor(request);
+        assertTrue(remaining.compareTo(Duration.ofMillis(800)) <= 0);
+        assertTrue(remaining.compareTo(Duration.ofMillis(400)) > 0);
+    }
+
+    @Test
+    void doFilter_WithoutHeader_ShouldUseDefaultBudget() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = apiRequest();
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertTrue(remainingFor(request).compareTo(Duration.ofSeconds(9)) > 0);
+    }
+
+    @Test
+    void doFilter_ShouldCapCallerBudget() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(filter, "maxBudget", Duration.ofSeconds(1));
+        MockHttpServletRequest request = apiRequest();
+        request.addHeader(RequestDeadline.HEADER, "60000");
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertTrue(remainingFor(request).compareTo(Duration.ofSeconds(1)) <= 0);
+    }
+
+    @Test
+    void doFilter_WithSpentBudget_ShouldRejectWithoutWork() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = apiRequest();
+        request.addHeader(RequestDeadline.HEADER, "0");
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilter_WithDefaultBudgetDisabled_ShouldLeaveRequestUnbounded() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(filter, "defaultBudget", Duration.ZERO);
+        MockHttpServletRequest request = apiRequest();
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertNull(remainingFor(request));
+    }
+
+    @Test
+    void doFilter_OutsideApi_ShouldSkip() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+        request.addHeader(RequestDeadline.HEADER, "0");
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+        assertNull(remainingFor(request));
+    }
+
+    private static MockHttpServletRequest apiRequest() {
+        return new MockHttpServletRequest("GET", "/api/v1/comments/chapter/1");
+    }
+
+    private static Duration remainingFor(MockHttpServletRequest request) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return RequestDeadline.remaining();
+    }
+}
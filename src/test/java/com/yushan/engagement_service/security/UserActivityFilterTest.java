@@ -1,7 +1,6 @@
 package com.yushan.engagement_service.security;
 
-import com.yushan.engagement_service.dto.event.UserActivityEvent;
-import com.yushan.engagement_service.service.KafkaEventProducerService;
+import com.yushan.engagement_service.service.UserActivityTracker;
 import com.yushan.engagement_service.util.SecurityUtils;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -18,13 +17,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.IOException;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class UserActivityFilterTest {
 
     @Mock
-    private KafkaEventProducerService kafkaEventProducerService;
+    private UserActivityTracker userActivityTracker;
 
     @Mock
     private HttpServletRequest request;
@@ -44,7 +44,7 @@ class UserActivityFilterTest {
     }
 
     @Test
-    void doFilterInternal_WithAuthenticatedRequest_ShouldPublishUserActivityEvent() throws ServletException, IOException {
+    void doFilterInternal_WithAuthenticatedRequest_ShouldRecordUserActivity() throws ServletException, IOException {
         // Arrange
         UUID userId = UUID.randomUUID();
         when(request.getHeader("Authorization")).thenReturn("Bearer valid-token");
@@ -58,19 +58,13 @@ class UserActivityFilterTest {
             filter.doFilterInternal(request, response, filterChain);
 
             // Assert
-            verify(kafkaEventProducerService).publishUserActivityEvent(argThat(event -> 
-                event.userId().equals(userId) &&
-                event.serviceName().equals("engagement-service") &&
-                event.endpoint().equals("/api/v1/test") &&
-                event.method().equals("GET") &&
-                event.timestamp() != null
-            ));
+            verify(userActivityTracker).record(userId, "/api/v1/test", "GET");
             verify(filterChain).doFilter(request, response);
         }
     }
 
     @Test
-    void doFilterInternal_WithNonAuthenticatedRequest_ShouldNotPublishEvent() throws ServletException, IOException {
+    void doFilterInternal_WithNonAuthenticatedRequest_ShouldNotRecordActivity() throws ServletException, IOException {
         // Arrange
         when(request.getHeader("Authorization")).thenReturn(null);
 
@@ -78,12 +72,12 @@ class UserActivityFilterTest {
         filter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(kafkaEventProducerService, never()).publishUserActivityEvent(any(UserActivityEvent.class));
+        verify(userActivityTracker, never()).record(any(), any(), any());
         verify(filterChain).doFilter(request, response);
     }
 
     @Test
-    void doFilterInternal_WithInvalidAuthHeader_ShouldNotPublishEvent() throws ServletException, IOException {
+    void doFilterInternal_WithInvalidAuthHeader_ShouldNotRecordActivity() throws ServletException, IOException {
         // Arrange
         when(request.getHeader("Authorization")).thenReturn("Basic dXNlcjpwYXNz");
 
@@ -91,12 +85,12 @@ class UserActivityFilterTest {
         filter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(kafkaEventProducerService, never()).publishUserActivityEvent(any(UserActivityEvent.class));
+        verify(userActivityTracker, never()).record(any(), any(), any());
         verify(filterChain).doFilter(request, response);
     }
 
     @Test
-    void doFilterInternal_WithNullUserId_ShouldNotPublishEvent() throws ServletException, IOException {
+    void doFilterInternal_WithNullUserId_ShouldNotRecordActivity() throws ServletException, IOException {
         // Arrange
         when(request.getHeader("Authorization")).thenReturn("Bearer valid-token");
 
@@ -107,7 +101,7 @@ class UserActivityFilterTest {
             filter.doFilterInternal(request, response, filterChain);
 
             // Assert
-            verify(kafkaEventProducerService, never()).publishUserActivityEvent(any(UserActivityEvent.class));
+            verify(userActivityTracker, never()).record(any(), any(), any());
             verify(filterChain).doFilter(request, response);
         }
     }
@@ -122,8 +116,8 @@ class UserActivityFilterTest {
 
         try (MockedStatic<SecurityUtils> securityUtilsMock = mockStatic(SecurityUtils.class)) {
             securityUtilsMock.when(SecurityUtils::getCurrentUserId).thenReturn(userId);
-            doThrow(new RuntimeException("Kafka error")).when(kafkaEventProducerService)
-                .publishUserActivityEvent(any(UserActivityEvent.class));
+            doThrow(new RuntimeException("Kafka error")).when(userActivityTracker)
+                .record(any(), any(), any());
 
             // Act
             filter.doFilterInternal(request, response, filterChain);
@@ -145,13 +139,13 @@ class UserActivityFilterTest {
             filter.doFilterInternal(request, response, filterChain);
 
             // Assert
-            verify(kafkaEventProducerService, never()).publishUserActivityEvent(any(UserActivityEvent.class));
+            verify(userActivityTracker, never()).record(any(), any(), any());
             verify(filterChain).doFilter(request, response);
         }
     }
 
     @Test
-    void doFilterInternal_WithPostRequest_ShouldPublishCorrectEvent() throws ServletException, IOException {
+    void doFilterInternal_WithPostRequest_ShouldRecordCorrectActivity() throws ServletException, IOException {
         // Arrange
         UUID userId = UUID.randomUUID();
         when(request.getHeader("Authorization")).thenReturn("Bearer valid-token");
@@ -165,18 +159,13 @@ class UserActivityFilterTest {
             filter.doFilterInternal(request, response, filterChain);
 
             // Assert
-            verify(kafkaEventProducerService).publishUserActivityEvent(argThat(event -> 
-                event.userId().equals(userId) &&
-                event.serviceName().equals("engagement-service") &&
-                event.endpoint().equals("/api/v1/comments") &&
-                event.method().equals("POST")
-            ));
+            verify(userActivityTracker).record(userId, "/api/v1/comments", "POST");
             verify(filterChain).doFilter(request, response);
         }
     }
 
     @Test
-    void doFilterInternal_WithPutRequest_ShouldPublishCorrectEvent() throws ServletException, IOException {
+    void doFilterInternal_WithPutRequest_ShouldRecordCorrectActivity() throws ServletException, IOException {
         // Arrange
         UUID userId = UUID.randomUUID();
         when(request.getHeader("Authorization")).thenReturn("Bearer valid-token");
@@ -190,18 +179,13 @@ class UserActivityFilterTest {
             filter.doFilterInternal(request, response, filterChain);
 
             // Assert
-            verify(kafkaEventProducerService).publishUserActivityEvent(argThat(event -> 
-                event.userId().equals(userId) &&
-                event.serviceName().equals("engagement-service") &&
-                event.endpoint().equals("/api/v1/reviews/123") &&
-                event.method().equals("PUT")
-            ));
+            verify(userActivityTracker).record(userId, "/api/v1/reviews/123", "PUT");
             verify(filterChain).doFilter(request, response);
         }
     }
 
     @Test
-    void doFilterInternal_WithDeleteRequest_ShouldPublishCorrectEvent() throws ServletException, IOException {
+    void doFilterInternal_WithDeleteRequest_ShouldRecordCorrectActivity() throws ServletException, IOException {
         // Arrange
         UUID userId = UUID.randomUUID();
         when(request.getHeader("Authorization")).thenReturn("Bearer valid-token");
@@ -215,14 +199,18 @@ class UserActivityFilterTest {
             filter.doFilterInternal(request, response, filterChain);
 
             // Assert
-            verify(kafkaEventProducerService).publishUserActivityEvent(argThat(event -> 
-                event.userId().equals(userId) &&
-                event.serviceName().equals("engagement-service") &&
-                event.endpoint().equals("/api/v1/comments/456") &&
-                event.method().equals("DELETE")
-            ));
+            verify(userActivityTracker).record(userId, "/api/v1/comments/456", "DELETE");
             verify(filterChain).doFilter(request, response);
         }
     }
 
+    @Test
+    void shouldNotFilter_WithNonApiPath_ShouldSkipTracking() {
+        // Arrange
+        when(request.getRequestURI()).thenReturn("/swagger-ui/index.html", "/api/v1/comments");
+
+        // Act & Assert
+        assertTrue(filter.shouldNotFilter(request));
+        assertFalse(filter.shouldNotFilter(request));
+    }
 }
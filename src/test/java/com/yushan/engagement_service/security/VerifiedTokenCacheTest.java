@@ -0,0 +1,134 @@
+package com.yushan.engagement_service.security;
+
+import com.yushan.engagement_service.util.JwtClaims;
+import com.yushan.engagement_service.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for VerifiedTokenCache with real signed tokens.
+ */
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "TestJWTSecretKeyForEngagementServiceTestingPurposesOnly";
+
+    private Instant now;
+    private JwtUtil jwtUtil;
+    private Clock clock;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.now();
+        JwtUtil real = new JwtUtil();
+        ReflectionTestUtils.setField(real, "secret", SECRET);
+        jwtUtil = spy(real);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(now);
+        cache = new VerifiedTokenCache(jwtUtil, 100, clock);
+    }
+
+    @Test
+    void verify_ShouldReturnAllClaimsFromOneParse() {
+        // Arrange
+        String token = token("user123", "access", now.plusSeconds(3600), SECRET);
+
+        // Act
+        JwtClaims claims = cache.verify(token);
+
+        // Assert
+        assertNotNull(claims);
+        assertEquals("user123", claims.userId());
+        assertEquals("user@example.com", claims.email());
+        assertEquals("testuser", claims.username());
+        assertEquals("USER", claims.role());
+        assertEquals(0, claims.status());
+        assertTrue(claims.isAccessToken());
+        verify(jwtUtil, times(1)).parseToken(token);
+    }
+
+    @Test
+    void verify_RepeatedToken_ShouldSkipSignatureVerification() {
+        // Arrange
+        String token = token("user123", "access", now.plusSeconds(3600), SECRET);
+
+        // Act
+        JwtClaims first = cache.verify(token);
+        JwtClaims second = cache.verify(token);
+
+        // Assert
+        assertSame(first, second);
+        verify(jwtUtil, times(1)).parseToken(token);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void verify_AfterTokenExpires_ShouldRejectCachedEntry() {
+        // Arrange
+        String token = token("user123", "access", now.plusSeconds(60), SECRET);
+        assertNotNull(cache.verify(token));
+        when(clock.instant()).thenReturn(now.plusSeconds(61));
+
+        // Act
+        JwtClaims claims = cache.verify(token);
+
+        // Assert
+        assertNull(claims);
+    }
+
+    @Test
+    void verify_WithBadSignature_ShouldReturnNullAndNotCache() {
+        // Arrange
+        String token = token("user123", "access", now.plusSeconds(3600),
+                "AnotherSecretKeyThatIsLongEnoughForHmacSha256Signing");
+
+        // Act
+        JwtClaims claims = cache.verify(token);
+
+        // Assert
+        assertNull(claims);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void verify_WithMalformedToken_ShouldReturnNull() {
+        // Act & Assert
+        assertNull(cache.verify("invalid.token.here"));
+        assertNull(cache.verify(""));
+    }
+
+    @Test
+    void verify_WithTokenWithoutExpiration_ShouldReturnNull() {
+        // Arrange
+        String token = token("user123", "access", null, SECRET);
+
+        // Act & Assert
+        assertNull(cache.verify(token));
+        assertEquals(0, cache.size());
+    }
+
+    private static String token(String userId, String tokenType, Instant expiration, String secret) {
+        return Jwts.builder()
+                .claim("userId", userId)
+                .claim("email", "user@example.com")
+                .claim("username", "testuser")
+                .claim("role", "USER")
+                .claim("status", 0)
+                .claim("tokenType", tokenType)
+                .subject("user@example.com")
+                .expiration(expiration != null ? Date.from(expiration) : null)
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,158 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.client.ContentServiceClient;
+import com.yushan.engagement_service.dao.CommentMapper;
+import com.yushan.engagement_service.dto.chapter.ChapterDetailResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentNovelBackfillTest {
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private ContentServiceClient contentServiceClient;
+
+    @InjectMocks
+    private CommentNovelBackfill commentNovelBackfill;
+
+    @Test
+    void backfill_ShouldSetNovelIdOfResolvedChapters() {
+        // Arrange
+        when(commentMapper.selectChapterIdsMissingNovel(0, 200)).thenReturn(List.of(1, 2, 3));
+        when(contentServiceClient.getChaptersByIds(List.of(1, 2, 3)))
+                .thenReturn(Map.of(1, chapter(1, 10), 3, chapter(3, 30)));
+
+        // Act
+        commentNovelBackfill.backfill();
+
+        // Assert
+        verify(commentMapper).backfillNovelIds(Map.of(1, 10, 3, 30), 1000);
+    }
+
+    @Test
+    void backfill_WithNothingMissing_ShouldNotCallContentService() {
+        // Arrange
+        when(commentMapper.selectChapterIdsMissingNovel(0, 200)).thenReturn(List.of());
+
+        // Act
+        commentNovelBackfill.backfill();
+
+        // Assert
+        verifyNoInteractions(contentServiceClient);
+        verify(commentMapper, never()).backfillNovelIds(anyMap(), anyInt());
+    }
+
+    @Test
+    void backfill_WithFullBatch_ShouldContinueAfterLastChapterThenWrapAround() {
+        // Arrange
+        ReflectionTestUtils.setField(commentNovelBackfill, "batchSize", 2);
+        when(commentMapper.selectChapterIdsMissingNovel(0, 2)).thenReturn(List.of(1, 2));
+        when(commentMapper.selectChapterIdsMissingNovel(2, 2)).thenReturn(List.of(5));
+        when(contentServiceClient.getChaptersByIds(anyList())).thenReturn(Map.of());
+
+        // Act
+        commentNovelBackfill.backfill();
+        commentNovelBackfill.backfill();
+        commentNovelBackfill.backfill();
+
+        // Assert
+        verify(commentMapper, times(2)).selectChapterIdsMissingNovel(0, 2);
+        verify(commentMapper).selectChapterIdsMissingNovel(2, 2);
+        verify(commentMapper, never()).backfillNovelIds(anyMap(), anyInt());
+    }
+
+    @Test
+    void backfill_WhenUpdateFails_ShouldRetrySameChapters() {
+        // Arrange
+        ReflectionTestUtils.setField(commentNovelBackfill, "batchSize", 1);
+        when(commentMapper.selectChapterIdsMissingNovel(0, 1)).thenReturn(List.of(1));
+        when(contentServiceClient.getChaptersByIds(List.of(1))).thenReturn(Map.of(1, chapter(1, 10)));
+        when(commentMapper.backfillNovelIds(anyMap(), anyInt()))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(4);
+
+        // Act
+        commentNovelBackfill.backfill();
+        commentNovelBackfill.backfill();
+
+        // Assert
+        verify(commentMapper, times(2)).selectChapterIdsMissingNovel(0, 1);
+        verify(commentMapper, times(2)).backfillNovelIds(Map.of(1, 10), 1000);
+    }
+
+    @Test
+    void backfill_ShouldUpdateInChunksUntilAShortOne() {
+        // Arrange
+        ReflectionTestUtils.setField(commentNovelBackfill, "chunkSize", 2);
+        when(commentMapper.selectChapterIdsMissingNovel(0, 200)).thenReturn(List.of(1));
+        when(contentServiceClient.getChaptersByIds(List.of(1))).thenReturn(Map.of(1, chapter(1, 10)));
+        when(commentMapper.backfillNovelIds(Map.of(1, 10), 2)).thenReturn(2, 2, 1);
+
+        // Act
+        commentNovelBackfill.backfill();
+
+        // Assert
+        verify(commentMapper, times(3)).backfillNovelIds(Map.of(1, 10), 2);
+    }
+
+    @Test
+    void isDone_ShouldTurnTrueOnlyAfterAPassFillsNothing() {
+        // Arrange
+        when(commentMapper.selectChapterIdsMissingNovel(0, 200)).thenReturn(List.of(1), List.of(7));
+        when(contentServiceClient.getChaptersByIds(List.of(1))).thenReturn(Map.of(1, chapter(1, 10)));
+        when(commentMapper.backfillNovelIds(Map.of(1, 10), 1000)).thenReturn(5);
+        // Chapter 7 is unknown to content-service, so it stays unfilled without holding up the backfill
+        when(contentServiceClient.getChaptersByIds(List.of(7))).thenReturn(Map.of());
+
+        // Act
+        commentNovelBackfill.backfill();
+        boolean doneAfterFilling = commentNovelBackfill.isDone();
+        commentNovelBackfill.backfill();
+
+        // Assert
+        assertFalse(doneAfterFilling);
+        assertTrue(commentNovelBackfill.isDone());
+    }
+
+    @Test
+    void isDone_WhenLookupFails_ShouldStayFalse() {
+        // Arrange
+        when(commentMapper.selectChapterIdsMissingNovel(0, 200))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(List.of());
+
+        // Act
+        commentNovelBackfill.backfill();
+        boolean doneAfterFailure = commentNovelBackfill.isDone();
+        commentNovelBackfill.backfill();
+        boolean doneAfterFailedPass = commentNovelBackfill.isDone();
+        commentNovelBackfill.backfill();
+
+        // Assert
+        assertFalse(doneAfterFailure);
+        assertFalse(doneAfterFailedPass);
+        assertTrue(commentNovelBackfill.isDone());
+    }
+
+    private static ChapterDetailResponseDTO chapter(Integer id, Integer novelId) {
+        ChapterDetailResponseDTO chapter = new ChapterDetailResponseDTO();
+        chapter.setId(id);
+        chapter.setNovelId(novelId);
+        return chapter;
+    }
+}
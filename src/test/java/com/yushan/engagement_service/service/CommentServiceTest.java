@@ -2,20 +2,33 @@ package com.yushan.engagement_service.service;
 
 import com.yushan.engagement_service.client.ContentServiceClient;
 import com.yushan.engagement_service.client.UserServiceClient;
+import com.yushan.engagement_service.dao.CommentDailyStatsMapper;
 import com.yushan.engagement_service.dao.CommentMapper;
 import com.yushan.engagement_service.dto.comment.*;
 import com.yushan.engagement_service.dto.chapter.ChapterDetailResponseDTO;
+import com.yushan.engagement_service.dto.common.PageCursor;
 import com.yushan.engagement_service.entity.Comment;
+import com.yushan.engagement_service.enums.LeaderboardWindow;
 import com.yushan.engagement_service.exception.ResourceNotFoundException;
+import com.yushan.engagement_service.exception.ServiceUnavailableException;
+import com.yushan.engagement_service.exception.ValidationException;
+import com.yushan.engagement_service.util.PageCache;
+import com.yushan.engagement_service.util.RedisUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,17 +39,38 @@ import static org.mockito.Mockito.*;
 public class CommentServiceTest {
 
     private CommentMapper commentMapper;
+    private CommentDailyStatsMapper commentDailyStatsMapper;
     private ContentServiceClient contentServiceClient;
     private UserServiceClient userServiceClient;
     private KafkaEventProducerService kafkaEventProducerService;
+    private LikeCounterService likeCounterService;
+    private LeaderboardService leaderboardService;
+    private PageCache pageCache;
+    private RedisUtil redisUtil;
+    private CommentNovelBackfill commentNovelBackfill;
     private CommentService commentService;
 
     @BeforeEach
     void setUp() {
         commentMapper = Mockito.mock(CommentMapper.class);
+        commentDailyStatsMapper = Mockito.mock(CommentDailyStatsMapper.class);
         contentServiceClient = Mockito.mock(ContentServiceClient.class);
         userServiceClient = Mockito.mock(UserServiceClient.class);
         kafkaEventProducerService = Mockito.mock(KafkaEventProducerService.class);
+        likeCounterService = Mockito.mock(LikeCounterService.class);
+        leaderboardService = Mockito.mock(LeaderboardService.class);
+        pageCache = Mockito.mock(PageCache.class);
+        redisUtil = Mockito.mock(RedisUtil.class);
+        commentNovelBackfill = Mockito.mock(CommentNovelBackfill.class);
+        when(commentNovelBackfill.isDone()).thenReturn(true);
+        // Behave like a cold cache: always load, evict right away
+        when(pageCache.get(any(), any(), any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(2)).get());
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(pageCache).evictAfterCommit(any());
+        when(redisUtil.chapterCommentsKey(anyInt(), anyString()))
+                .thenAnswer(invocation -> "comment:chapter:" + invocation.getArgument(0) + ":" + invocation.getArgument(1));
 
         commentService = new CommentService();
         try {
@@ -55,6 +89,30 @@ public class CommentServiceTest {
             java.lang.reflect.Field f4 = CommentService.class.getDeclaredField("kafkaEventProducerService");
             f4.setAccessible(true);
             f4.set(commentService, kafkaEventProducerService);
+
+            java.lang.reflect.Field f5 = CommentService.class.getDeclaredField("likeCounterService");
+            f5.setAccessible(true);
+            f5.set(commentService, likeCounterService);
+
+            java.lang.reflect.Field f6 = CommentService.class.getDeclaredField("pageCache");
+            f6.setAccessible(true);
+            f6.set(commentService, pageCache);
+
+            java.lang.reflect.Field f7 = CommentService.class.getDeclaredField("redisUtil");
+            f7.setAccessible(true);
+            f7.set(commentService, redisUtil);
+
+            java.lang.reflect.Field f8 = CommentService.class.getDeclaredField("commentDailyStatsMapper");
+            f8.setAccessible(true);
+            f8.set(commentService, commentDailyStatsMapper);
+
+            java.lang.reflect.Field f9 = CommentService.class.getDeclaredField("leaderboardService");
+            f9.setAccessible(true);
+            f9.set(commentService, leaderboardService);
+
+            java.lang.reflect.Field f10 = CommentService.class.getDeclaredField("commentNovelBackfill");
+            f10.setAccessible(true);
+            f10.set(commentService, commentNovelBackfill);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -86,6 +144,32 @@ public class CommentServiceTest {
         assertFalse(result.getIsSpoiler());
         verify(commentMapper).insertSelective(any(Comment.class));
         verify(kafkaEventProducerService).publishCommentCreatedEvent(eq(123), eq(userId), eq(1), eq("Test comment"), eq(false));
+        verify(redisUtil).invalidateChapterComments(1);
+        verify(leaderboardService).recordComment(argThat(comment -> comment.getId() == 123));
+    }
+
+    @Test
+    void createComment_ShouldStoreNovelIdOfChapter() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        CommentCreateRequestDTO request = new CommentCreateRequestDTO();
+        request.setChapterId(1);
+        request.setContent("Test comment");
+        ChapterDetailResponseDTO chapter = new ChapterDetailResponseDTO();
+        chapter.setId(1);
+        chapter.setNovelId(7);
+
+        when(contentServiceClient.chapterExists(1)).thenReturn(true);
+        when(contentServiceClient.getChapter(1)).thenReturn(chapter);
+        when(commentMapper.existsByUserAndChapter(userId, 1)).thenReturn(false);
+
+        // Act
+        commentService.createComment(userId, request);
+
+        // Assert
+        ArgumentCaptor<Comment> captor = ArgumentCaptor.forClass(Comment.class);
+        verify(commentMapper).insertSelective(captor.capture());
+        assertEquals(7, captor.getValue().getNovelId());
     }
 
     @Test
@@ -105,6 +189,41 @@ public class CommentServiceTest {
         });
     }
 
+    @Test
+    void createComment_ShouldResolveUsernameBeforeTheInsert() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        CommentCreateRequestDTO request = new CommentCreateRequestDTO();
+        request.setChapterId(1);
+        request.setContent("Test comment");
+        when(contentServiceClient.chapterExists(1)).thenReturn(true);
+        when(userServiceClient.getUsernameById(userId)).thenReturn("reader");
+
+        // Act
+        CommentResponseDTO result = commentService.createComment(userId, request);
+
+        // Assert
+        assertEquals("reader", result.getUsername());
+        InOrder inOrder = inOrder(userServiceClient, commentMapper);
+        inOrder.verify(userServiceClient).getUsernameById(userId);
+        inOrder.verify(commentMapper).insertSelective(any(Comment.class));
+        verify(userServiceClient, times(1)).getUsernameById(userId);
+    }
+
+    @Test
+    void createComment_WhenContentServiceIsUnavailable_ShouldFailWithServiceUnavailable() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        CommentCreateRequestDTO request = new CommentCreateRequestDTO();
+        request.setChapterId(1);
+        request.setContent("Test comment");
+        when(contentServiceClient.chapterExists(1)).thenThrow(new ServiceUnavailableException("content-service is unavailable"));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> commentService.createComment(userId, request));
+        verify(commentMapper, never()).insertSelective(any(Comment.class));
+    }
+
     @Test
     void createComment_WithAlreadyCommented_ShouldThrowException() {
         // Arrange
@@ -335,6 +454,7 @@ public class CommentServiceTest {
         // Assert
         assertTrue(result);
         verify(commentMapper).deleteByPrimaryKey(commentId);
+        verify(leaderboardService).removeComments(List.of(existingComment));
     }
 
     @Test
@@ -413,6 +533,51 @@ public class CommentServiceTest {
         assertEquals("Comment 2", result.get(1).getContent());
     }
 
+    @Test
+    void getUserComments_ShouldResolveUsernamesAndChaptersInOneBatch() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        Comment first = createTestComment(1, userId, "Comment 1");
+        Comment second = createTestComment(2, userId, "Comment 2");
+        first.setChapterId(1);
+        second.setChapterId(2);
+        ChapterDetailResponseDTO chapter = new ChapterDetailResponseDTO();
+        chapter.setId(1);
+        chapter.setTitle("Chapter One");
+
+        when(commentMapper.selectByUserId(userId)).thenReturn(Arrays.asList(first, second));
+        when(userServiceClient.getUsernamesByIds(anyCollection())).thenReturn(Map.of(userId, "reader"));
+        when(contentServiceClient.getChaptersByIds(anyCollection())).thenReturn(Map.of(1, chapter));
+
+        // Act
+        List<CommentResponseDTO> result = commentService.getUserComments(userId);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("reader", result.get(0).getUsername());
+        assertEquals("Chapter One", result.get(0).getChapterTitle());
+        assertEquals("Chapter not found", result.get(1).getChapterTitle());
+        verify(userServiceClient, times(1)).getUsernamesByIds(anyCollection());
+        verify(contentServiceClient, times(1)).getChaptersByIds(anyCollection());
+        verify(userServiceClient, never()).getUsernameById(any());
+        verify(contentServiceClient, never()).getChapter(any());
+    }
+
+    @Test
+    void getUserComments_WithUnresolvedUser_ShouldUseUnknownUser() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        when(commentMapper.selectByUserId(userId)).thenReturn(List.of(createTestComment(1, userId, "Comment 1")));
+        when(userServiceClient.getUsernamesByIds(anyCollection())).thenReturn(Map.of());
+        when(contentServiceClient.getChaptersByIds(anyCollection())).thenReturn(Map.of());
+
+        // Act
+        List<CommentResponseDTO> result = commentService.getUserComments(userId);
+
+        // Assert
+        assertEquals("Unknown User", result.get(0).getUsername());
+    }
+
     @Test
     void getUserComments_WithEmptyList_ShouldReturnEmptyList() {
         // Arrange
@@ -448,39 +613,35 @@ public class CommentServiceTest {
         request.setCommentIds(Arrays.asList(1, 2, 3));
         boolean isAdmin = true;
 
-        Comment comment1 = new Comment();
-        comment1.setId(1);
-        comment1.setUserId(UUID.randomUUID());
-        comment1.setContent("Comment 1");
+        when(commentMapper.batchDeleteByIds(Arrays.asList(1, 2, 3))).thenReturn(3);
+
+        // Act
+        int result = commentService.batchDeleteComments(request, isAdmin);
 
-        Comment comment2 = new Comment();
-        comment2.setId(2);
-        comment2.setUserId(UUID.randomUUID());
-        comment2.setContent("Comment 2");
+        // Assert
+        assertEquals(3, result);
+        verify(commentMapper).batchDeleteByIds(Arrays.asList(1, 2, 3));
+        verify(commentMapper, never()).selectByPrimaryKey(anyInt());
+        verify(commentMapper, never()).deleteByPrimaryKey(anyInt());
+    }
 
-        Comment comment3 = new Comment();
-        comment3.setId(3);
-        comment3.setUserId(UUID.randomUUID());
-        comment3.setContent("Comment 3");
+    @Test
+    void batchDeleteComments_WithManyIds_ShouldDeleteInChunks() {
+        // Arrange
+        setModerationChunkSize(2);
+        CommentBatchDeleteRequestDTO request = new CommentBatchDeleteRequestDTO();
+        request.setCommentIds(Arrays.asList(1, 2, 2, 3, 4, 5));
 
-        when(commentMapper.selectByPrimaryKey(1)).thenReturn(comment1);
-        when(commentMapper.selectByPrimaryKey(2)).thenReturn(comment2);
-        when(commentMapper.selectByPrimaryKey(3)).thenReturn(comment3);
-        when(commentMapper.deleteByPrimaryKey(1)).thenReturn(1);
-        when(commentMapper.deleteByPrimaryKey(2)).thenReturn(1);
-        when(commentMapper.deleteByPrimaryKey(3)).thenReturn(1);
+        when(commentMapper.batchDeleteByIds(Arrays.asList(1, 2))).thenReturn(2);
+        when(commentMapper.batchDeleteByIds(Arrays.asList(3, 4))).thenReturn(1);
+        when(commentMapper.batchDeleteByIds(List.of(5))).thenReturn(1);
 
         // Act
-        int result = commentService.batchDeleteComments(request, isAdmin);
+        int result = commentService.batchDeleteComments(request, true);
 
         // Assert
-        assertEquals(3, result);
-        verify(commentMapper).selectByPrimaryKey(1);
-        verify(commentMapper).selectByPrimaryKey(2);
-        verify(commentMapper).selectByPrimaryKey(3);
-        verify(commentMapper).deleteByPrimaryKey(1);
-        verify(commentMapper).deleteByPrimaryKey(2);
-        verify(commentMapper).deleteByPrimaryKey(3);
+        assertEquals(4, result);
+        verify(commentMapper, times(3)).batchDeleteByIds(anyList());
     }
 
     @Test
@@ -509,6 +670,75 @@ public class CommentServiceTest {
         verify(commentMapper, never()).deleteByPrimaryKey(anyInt());
     }
 
+    @Test
+    void deleteAllUserComments_ShouldRepeatBoundedDeletesUntilShortChunk() {
+        // Arrange
+        setModerationChunkSize(2);
+        UUID userId = UUID.randomUUID();
+        when(commentMapper.deleteByUserIdLimited(userId, 2)).thenReturn(2, 2, 1);
+
+        // Act
+        int result = commentService.deleteAllUserComments(userId);
+
+        // Assert
+        assertEquals(5, result);
+        verify(commentMapper, times(3)).deleteByUserIdLimited(userId, 2);
+        verify(commentMapper, never()).selectByUserId(any());
+    }
+
+    @Test
+    void deleteAllChapterComments_WithNoComments_ShouldStopAfterOneStatement() {
+        // Arrange
+        when(commentMapper.deleteByChapterIdLimited(1, 1000)).thenReturn(0);
+
+        // Act
+        int result = commentService.deleteAllChapterComments(1);
+
+        // Assert
+        assertEquals(0, result);
+        verify(commentMapper, times(1)).deleteByChapterIdLimited(1, 1000);
+    }
+
+    @Test
+    void deleteAllUserCommentsInBackground_ShouldRunDeletion() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        when(commentMapper.deleteByUserIdLimited(userId, 1000)).thenReturn(3);
+
+        // Act
+        commentService.deleteAllUserCommentsInBackground(userId);
+
+        // Assert
+        verify(commentMapper, timeout(5000)).deleteByUserIdLimited(userId, 1000);
+    }
+
+    @Test
+    void bulkUpdateSpoilerStatus_ShouldUpdateInChunks() {
+        // Arrange
+        setModerationChunkSize(2);
+        CommentBulkSpoilerUpdateRequestDTO request = new CommentBulkSpoilerUpdateRequestDTO();
+        request.setCommentIds(Arrays.asList(1, 2, 3));
+        request.setIsSpoiler(true);
+
+        when(commentMapper.batchUpdateSpoilerStatus(Arrays.asList(1, 2), true)).thenReturn(2);
+        when(commentMapper.batchUpdateSpoilerStatus(List.of(3), true)).thenReturn(1);
+
+        // Act
+        int result = commentService.bulkUpdateSpoilerStatus(request);
+
+        // Assert
+        assertEquals(3, result);
+        verify(commentMapper, never()).updateByPrimaryKeySelective(any());
+    }
+
+    @Test
+    void bulkUpdateSpoilerStatus_WithEmptyList_ShouldThrowException() {
+        CommentBulkSpoilerUpdateRequestDTO request = new CommentBulkSpoilerUpdateRequestDTO();
+        request.setCommentIds(new ArrayList<>());
+
+        assertThrows(IllegalArgumentException.class, () -> commentService.bulkUpdateSpoilerStatus(request));
+    }
+
     @Test
     void toggleLike_WithValidData_ShouldToggleLike() {
         // Arrange
@@ -521,14 +751,81 @@ public class CommentServiceTest {
         comment.setLikeCnt(5);
 
         when(commentMapper.selectByPrimaryKey(commentId)).thenReturn(comment);
-        when(commentMapper.updateLikeCount(commentId, 1)).thenReturn(1);
+        when(commentMapper.insertLike(commentId, userId)).thenReturn(1);
+        when(likeCounterService.pendingCommentLikes(commentId)).thenReturn(1);
 
         // Act
         CommentResponseDTO result = commentService.toggleLike(commentId, userId, isLiking);
 
         // Assert
         assertNotNull(result);
-        verify(commentMapper).updateLikeCount(commentId, 1);
+        assertEquals(6, result.getLikeCnt());
+        // The like statement checks the comment exists itself; the row is only read for the response
+        InOrder inOrder = inOrder(commentMapper);
+        inOrder.verify(commentMapper).insertLike(commentId, userId);
+        inOrder.verify(commentMapper).selectByPrimaryKey(commentId);
+        verify(likeCounterService).addCommentLikes(commentId, 1);
+        verify(leaderboardService).recordLike(comment, 1);
+        verify(commentMapper, never()).updateLikeCount(anyInt(), anyInt());
+    }
+
+    @Test
+    void toggleLike_WhenAlreadyLiked_ShouldNotCountAgain() {
+        // Arrange
+        Integer commentId = 1;
+        UUID userId = UUID.randomUUID();
+
+        Comment comment = new Comment();
+        comment.setId(commentId);
+        comment.setLikeCnt(5);
+
+        when(commentMapper.selectByPrimaryKey(commentId)).thenReturn(comment);
+        when(commentMapper.insertLike(commentId, userId)).thenReturn(0);
+
+        // Act
+        CommentResponseDTO result = commentService.toggleLike(commentId, userId, true);
+
+        // Assert
+        assertEquals(5, result.getLikeCnt());
+        verify(likeCounterService, never()).addCommentLikes(anyInt(), anyInt());
+        verify(leaderboardService, never()).recordLike(any(), anyInt());
+    }
+
+    @Test
+    void toggleLike_WhenUnliking_ShouldBufferDecrement() {
+        // Arrange
+        Integer commentId = 1;
+        UUID userId = UUID.randomUUID();
+
+        Comment comment = new Comment();
+        comment.setId(commentId);
+        comment.setLikeCnt(5);
+
+        when(commentMapper.selectByPrimaryKey(commentId)).thenReturn(comment);
+        when(commentMapper.deleteLike(commentId, userId)).thenReturn(1);
+        when(likeCounterService.pendingCommentLikes(commentId)).thenReturn(-1);
+
+        // Act
+        CommentResponseDTO result = commentService.toggleLike(commentId, userId, false);
+
+        // Assert
+        assertEquals(4, result.getLikeCnt());
+        verify(likeCounterService).addCommentLikes(commentId, -1);
+        verify(commentMapper, never()).insertLike(anyInt(), any());
+    }
+
+    @Test
+    void toggleLike_WhenCommentDeletedConcurrently_ShouldThrowNotFound() {
+        // Arrange
+        Integer commentId = 1;
+        UUID userId = UUID.randomUUID();
+
+        when(commentMapper.insertLike(commentId, userId))
+                .thenThrow(new org.springframework.dao.DataIntegrityViolationException("fk"));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> commentService.toggleLike(commentId, userId, true));
+        verify(likeCounterService, never()).addCommentLikes(anyInt(), anyInt());
     }
 
     @Test
@@ -538,12 +835,14 @@ public class CommentServiceTest {
         UUID userId = UUID.randomUUID();
         boolean isLiking = true;
 
+        when(commentMapper.insertLike(commentId, userId)).thenReturn(0);
         when(commentMapper.selectByPrimaryKey(commentId)).thenReturn(null);
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             commentService.toggleLike(commentId, userId, isLiking);
         });
+        verify(likeCounterService, never()).addCommentLikes(anyInt(), anyInt());
     }
 
     @Test
@@ -582,27 +881,37 @@ public class CommentServiceTest {
     void getChapterCommentStats_WithValidData_ShouldReturnStats() {
         // Arrange
         Integer chapterId = 1;
-        List<Comment> comments = Arrays.asList(
-            createTestComment(1, UUID.randomUUID(), "Comment 1"),
-            createTestComment(2, UUID.randomUUID(), "Comment 2")
-        );
+        CommentStatisticsDTO aggregate = CommentStatisticsDTO.builder()
+                .totalComments(2L)
+                .spoilerComments(1L)
+                .nonSpoilerComments(1L)
+                .avgLikesPerComment(3)
+                .mostLikedCommentId(2)
+                .build();
 
         ChapterDetailResponseDTO chapter = new ChapterDetailResponseDTO();
         chapter.setTitle("Test Chapter");
 
         when(contentServiceClient.chapterExists(chapterId)).thenReturn(true);
         when(contentServiceClient.getChapter(chapterId)).thenReturn(chapter);
-        when(commentMapper.selectByChapterId(chapterId)).thenReturn(comments);
+        when(commentMapper.selectChapterCommentStats(chapterId)).thenReturn(aggregate);
 
         // Act
         CommentStatisticsDTO result = commentService.getChapterCommentStats(chapterId);
 
         // Assert
         assertNotNull(result);
+        assertEquals(chapterId, result.getChapterId());
+        assertEquals("Test Chapter", result.getChapterTitle());
         assertEquals(2, result.getTotalComments());
+        assertEquals(1, result.getSpoilerComments());
+        assertEquals(1, result.getNonSpoilerComments());
+        assertEquals(3, result.getAvgLikesPerComment());
+        assertEquals(2, result.getMostLikedCommentId());
         verify(contentServiceClient).chapterExists(chapterId);
         verify(contentServiceClient).getChapter(chapterId);
-        verify(commentMapper).selectByChapterId(chapterId);
+        verify(commentMapper).selectChapterCommentStats(chapterId);
+        verify(commentMapper, never()).selectByChapterId(any());
     }
 
     @Test
@@ -615,7 +924,7 @@ public class CommentServiceTest {
 
         when(contentServiceClient.chapterExists(chapterId)).thenReturn(true);
         when(contentServiceClient.getChapter(chapterId)).thenReturn(chapter);
-        when(commentMapper.selectByChapterId(chapterId)).thenReturn(new ArrayList<>());
+        when(commentMapper.selectChapterCommentStats(chapterId)).thenReturn(null);
 
         // Act
         CommentStatisticsDTO result = commentService.getChapterCommentStats(chapterId);
@@ -623,9 +932,12 @@ public class CommentServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(0, result.getTotalComments());
+        assertEquals(0, result.getSpoilerComments());
+        assertEquals(0, result.getAvgLikesPerComment());
+        assertNull(result.getMostLikedCommentId());
         verify(contentServiceClient).chapterExists(chapterId);
         verify(contentServiceClient).getChapter(chapterId);
-        verify(commentMapper).selectByChapterId(chapterId);
+        verify(commentMapper).selectChapterCommentStats(chapterId);
     }
 
     @Test
@@ -654,6 +966,62 @@ public class CommentServiceTest {
         verify(commentMapper).countComments(any(CommentSearchRequestDTO.class));
     }
 
+    @Test
+    void getCommentsByChapter_FirstPageOfHotSort_ShouldUseSharedCachedPage() {
+        // Arrange
+        UUID author = UUID.randomUUID();
+        CommentResponseDTO cachedComment = CommentResponseDTO.builder()
+                .id(1).userId(author).chapterId(1).content("Cached").isOwnComment(false).build();
+        CommentListResponseDTO cachedPage = new CommentListResponseDTO(List.of(cachedComment), 1, 1, 0, 20);
+        when(contentServiceClient.chapterExists(1)).thenReturn(true);
+        doAnswer(invocation -> {
+            assertEquals("comment:chapter:1:likeCnt:desc", ((Supplier<?>) invocation.getArgument(0)).get());
+            return cachedPage;
+        }).when(pageCache).get(any(), eq(CommentListResponseDTO.class), any());
+
+        // Act
+        CommentListResponseDTO forAuthor = commentService.getCommentsByChapter(1, author, 0, 20, "likeCnt", "DESC");
+        CommentListResponseDTO forOther = commentService.getCommentsByChapter(1, UUID.randomUUID(), 0, 20, "likeCnt", "desc");
+
+        // Assert
+        assertTrue(forAuthor.getComments().get(0).getIsOwnComment());
+        assertFalse(forOther.getComments().get(0).getIsOwnComment());
+        assertFalse(cachedPage.getComments().get(0).getIsOwnComment());
+        verify(commentMapper, never()).selectCommentsWithPagination(any());
+    }
+
+    @Test
+    void getCommentsByChapter_BeyondFirstPage_ShouldBypassCache() {
+        // Arrange
+        when(contentServiceClient.chapterExists(1)).thenReturn(true);
+        when(commentMapper.selectCommentsWithPagination(any(CommentSearchRequestDTO.class))).thenReturn(new ArrayList<>());
+        when(commentMapper.countComments(any(CommentSearchRequestDTO.class))).thenReturn(0L);
+
+        // Act
+        commentService.getCommentsByChapter(1, null, 1, 20, "createTime", "desc");
+
+        // Assert
+        verify(pageCache, never()).get(any(), any(), any());
+        verify(commentMapper).selectCommentsWithPagination(any(CommentSearchRequestDTO.class));
+    }
+
+    @Test
+    void registerLikeFlushListener_ShouldEvictChaptersOfFlushedComments() {
+        // Arrange
+        commentService.registerLikeFlushListener();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<Set<Integer>>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(likeCounterService).onCommentLikesFlushed(listener.capture());
+        when(commentMapper.selectChapterIdsByIds(anyList())).thenReturn(List.of(4, 5));
+
+        // Act
+        listener.getValue().accept(Set.of(10, 11));
+
+        // Assert
+        verify(redisUtil).invalidateChapterComments(4);
+        verify(redisUtil).invalidateChapterComments(5);
+    }
+
     @Test
     void getCommentsByChapter_WithNonExistentChapter_ShouldThrowException() {
         // Arrange
@@ -669,6 +1037,348 @@ public class CommentServiceTest {
         verify(contentServiceClient).chapterExists(chapterId);
     }
 
+    @Test
+    void getCommentsByChapter_WhenContentServiceIsUnavailable_ShouldServePageWithoutChapterTitles() {
+        // Arrange
+        Comment comment = createTestComment(1, UUID.randomUUID(), "Still readable");
+        when(contentServiceClient.chapterExists(1)).thenThrow(new ServiceUnavailableException("content-service is unavailable"));
+        when(commentMapper.selectCommentsWithPagination(any(CommentSearchRequestDTO.class))).thenReturn(List.of(comment));
+        when(commentMapper.countComments(any(CommentSearchRequestDTO.class))).thenReturn(1L);
+
+        // Act
+        CommentListResponseDTO result = commentService.getCommentsByChapter(1, null, 0, 10, "createTime", "desc");
+
+        // Assert
+        assertEquals(1, result.getComments().size());
+        assertEquals("Still readable", result.getComments().get(0).getContent());
+    }
+
+    @Test
+    void getCommentsByChapter_WithMorePages_ShouldReturnNextCursorFromLastRow() {
+        // Arrange
+        Comment first = createTestComment(2, UUID.randomUUID(), "Newest");
+        Comment last = createTestComment(1, UUID.randomUUID(), "Older");
+        when(contentServiceClient.chapterExists(1)).thenReturn(true);
+        when(commentMapper.selectCommentsWithPagination(any(CommentSearchRequestDTO.class)))
+                .thenReturn(Arrays.asList(first, last));
+        when(commentMapper.countComments(any(CommentSearchRequestDTO.class))).thenReturn(5L);
+
+        // Act
+        CommentListResponseDTO result = commentService.getCommentsByChapter(1, null, 0, 2, "createTime", "desc");
+
+        // Assert
+        assertTrue(result.isHasNext());
+        PageCursor cursor = PageCursor.decode(result.getNextCursor());
+        assertEquals("createTime", cursor.getSort());
+        assertTrue(cursor.isDescending());
+        assertEquals(1, cursor.getId());
+        assertEquals(last.getCreateTime(), cursor.getTime());
+    }
+
+    @Test
+    void getCommentsByChapter_SortedByHot_ShouldReturnScoreCursorFromLastRow() {
+        // Arrange
+        Comment first = createTestComment(2, UUID.randomUUID(), "Hot");
+        first.setHotScore(20100.25);
+        Comment last = createTestComment(1, UUID.randomUUID(), "Cooling");
+        last.setHotScore(20000.125);
+        when(contentServiceClient.chapterExists(1)).thenReturn(true);
+        when(commentMapper.selectCommentsWithPagination(any(CommentSearchRequestDTO.class)))
+                .thenReturn(Arrays.asList(first, last));
+        when(commentMapper.countComments(any(CommentSearchRequestDTO.class))).thenReturn(5L);
+
+        // Act
+        CommentListResponseDTO result = commentService.getCommentsByChapter(1, null, 0, 2, "hot", "desc");
+
+        // Assert
+        PageCursor cursor = PageCursor.decode(result.getNextCursor());
+        assertEquals("hot", cursor.getSort());
+        assertEquals(20000.125, cursor.getScore());
+        assertEquals(1, cursor.getId());
+    }
+
+    @Test
+    void getCommentsByChapterAfterCursor_ShouldSeekWithoutOffsetOrCount() {
+        // Arrange
+        PageCursor cursor = PageCursor.afterNumber("likeCnt", "desc", 7, 40);
+        List<Comment> rows = Arrays.asList(
+                createTestComment(39, UUID.randomUUID(), "a"),
+                createTestComment(38, UUID.randomUUID(), "b"),
+                createTestComment(37, UUID.randomUUID(), "look-ahead"));
+        when(contentServiceClient.chapterExists(1)).thenReturn(true);
+        when(commentMapper.selectCommentsWithPagination(any(CommentSearchRequestDTO.class))).thenReturn(rows);
+
+        // Act
+        CommentListResponseDTO result = commentService.getCommentsByChapterAfterCursor(1, null, cursor, 2, false);
+
+        // Assert
+        assertEquals(2, result.getComments().size());
+        assertTrue(result.isHasNext());
+        assertEquals(-1, result.getTotalCount());
+        assertEquals(38, PageCursor.decode(result.getNextCursor()).getId());
+        verify(commentMapper).selectCommentsWithPagination(argThat(request ->
+                request.getCursor() == cursor && request.getPage() == 0 && request.getSize() == 3
+                        && "likeCnt".equals(request.getSort()) && "desc".equals(request.getOrder())));
+        verify(commentMapper, never()).countComments(any(CommentSearchRequestDTO.class));
+    }
+
+    @Test
+    void getCommentsByChapterAfterCursor_OnLastPage_ShouldNotReturnCursor() {
+        // Arrange
+        PageCursor cursor = PageCursor.afterTime("desc", new Date(), 40);
+        when(contentServiceClient.chapterExists(1)).thenReturn(true);
+        when(commentMapper.selectCommentsWithPagination(any(CommentSearchRequestDTO.class)))
+                .thenReturn(List.of(createTestComment(39, UUID.randomUUID(), "a")));
+        when(commentMapper.countComments(any(CommentSearchRequestDTO.class))).thenReturn(41L);
+
+        // Act
+        CommentListResponseDTO result = commentService.getCommentsByChapterAfterCursor(1, null, cursor, 20, true);
+
+        // Assert
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        assertEquals(41, result.getTotalCount());
+        assertEquals(3, result.getTotalPages());
+    }
+
+    @Test
+    void getCommentsByChapterAfterCursor_WithReviewOnlyCursorSort_ShouldRejectCursor() {
+        // Arrange
+        PageCursor cursor = PageCursor.afterNumber("rating", "desc", 5, 40);
+
+        // Act & Assert
+        assertThrows(ValidationException.class,
+                () -> commentService.getCommentsByChapterAfterCursor(1, null, cursor, 20, false));
+        verifyNoInteractions(commentMapper, contentServiceClient);
+    }
+
+    @Test
+    void getCommentsByNovelAfterCursor_ShouldPassCursorToNovelQuery() {
+        // Arrange
+        PageCursor cursor = PageCursor.afterTime("asc", new Date(), 10);
+        CommentSearchRequestDTO request = new CommentSearchRequestDTO();
+        request.setSize(20);
+        request.setCursor(cursor);
+        when(commentMapper.selectCommentsByNovelWithPagination(anyInt(), any(), any(), any(), anyString(), anyString(),
+                anyInt(), anyInt(), any())).thenReturn(new ArrayList<>());
+
+        // Act
+        CommentListResponseDTO result = commentService.getCommentsByNovelAfterCursor(5, null, request, false);
+
+        // Assert
+        assertFalse(result.isHasNext());
+        verify(commentMapper).selectCommentsByNovelWithPagination(5, null, null, null,
+                "createTime", "asc", 0, 21, cursor);
+        verify(commentMapper, never()).countCommentsByNovel(anyInt(), any(), any(), any(), any());
+        verifyNoInteractions(contentServiceClient);
+    }
+
+    @Test
+    void getCommentsByNovel_SortedByRelevance_ShouldPageByOffsetOnly() {
+        // Arrange
+        CommentSearchRequestDTO request = new CommentSearchRequestDTO();
+        request.setPage(0);
+        request.setSize(1);
+        request.setSort("relevance");
+        request.setSearch("great chapter");
+        when(commentMapper.selectCommentsByNovelWithPagination(anyInt(), any(), any(), any(), anyString(), anyString(),
+                anyInt(), anyInt(), any())).thenReturn(new ArrayList<>(List.of(createTestComment(1, UUID.randomUUID(), "A great chapter"))));
+        when(commentMapper.countCommentsByNovel(5, null, null, "great chapter", "relevance")).thenReturn(3L);
+
+        // Act
+        CommentListResponseDTO result = commentService.getCommentsByNovel(5, null, request);
+
+        // Assert
+        assertTrue(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(commentMapper).selectCommentsByNovelWithPagination(5, null, null, "great chapter",
+                "relevance", "desc", 0, 1, null);
+    }
+
+    @Test
+    void getCommentsByNovel_ShouldQueryByNovelIdWithoutContentService() {
+        // Arrange
+        CommentSearchRequestDTO request = new CommentSearchRequestDTO();
+        request.setPage(0);
+        request.setSize(20);
+        when(commentMapper.selectCommentsByNovelWithPagination(anyInt(), any(), any(), any(), anyString(), anyString(),
+                anyInt(), anyInt(), any())).thenReturn(new ArrayList<>());
+        when(commentMapper.countCommentsByNovel(5, null, null, null, "createTime")).thenReturn(0L);
+
+        // Act
+        CommentListResponseDTO result = commentService.getCommentsByNovel(5, null, request);
+
+        // Assert
+        assertEquals(0, result.getTotalCount());
+        assertFalse(result.isHasNext());
+        verify(commentMapper).selectCommentsByNovelWithPagination(5, null, null, null,
+                "createTime", "desc", 0, 20, null);
+        verifyNoInteractions(contentServiceClient);
+    }
+
+    @Test
+    void getCommentsByNovel_BeforeBackfillIsDone_ShouldAlsoMatchNovelChapters() {
+        // Arrange
+        CommentSearchRequestDTO request = new CommentSearchRequestDTO();
+        request.setPage(0);
+        request.setSize(20);
+        when(commentNovelBackfill.isDone()).thenReturn(false);
+        when(contentServiceClient.getChapterIdsByNovelId(5)).thenReturn(List.of(11, 12));
+        when(commentMapper.selectCommentsByNovelWithPagination(anyInt(), any(), any(), any(), anyString(), anyString(),
+                anyInt(), anyInt(), any())).thenReturn(new ArrayList<>());
+        when(commentMapper.countCommentsByNovel(5, List.of(11, 12), null, null, "createTime")).thenReturn(0L);
+
+        // Act
+        commentService.getCommentsByNovel(5, null, request);
+
+        // Assert
+        verify(commentMapper).selectCommentsByNovelWithPagination(5, List.of(11, 12), null, null,
+                "createTime", "desc", 0, 20, null);
+        verify(commentMapper).countCommentsByNovel(5, List.of(11, 12), null, null, "createTime");
+    }
+
+
+    @Test
+    void getModerationStatistics_ShouldReadRollupsOnly() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        CommentModerationStatsDTO totals = CommentModerationStatsDTO.builder()
+                .totalComments(120L)
+                .spoilerComments(20L)
+                .nonSpoilerComments(100L)
+                .commentsToday(3L)
+                .commentsThisWeek(15L)
+                .commentsThisMonth(60L)
+                .build();
+        ChapterDetailResponseDTO chapter = new ChapterDetailResponseDTO();
+        chapter.setId(9);
+        chapter.setTitle("Chapter 9");
+        when(commentDailyStatsMapper.selectTotals()).thenReturn(totals);
+        when(commentDailyStatsMapper.selectMostActiveUser(30)).thenReturn(new CommentCountDTO(null, userId, 12L));
+        when(commentDailyStatsMapper.selectMostCommentedChapter(30)).thenReturn(new CommentCountDTO(9, null, 25L));
+        when(userServiceClient.getUsernameById(userId)).thenReturn("alice");
+        when(contentServiceClient.getChapter(9)).thenReturn(chapter);
+
+        // Act
+        CommentModerationStatsDTO result = commentService.getModerationStatistics();
+
+        // Assert
+        assertEquals(120L, result.getTotalComments());
+        assertEquals(20L, result.getSpoilerComments());
+        assertEquals(3L, result.getCommentsToday());
+        assertEquals(60L, result.getCommentsThisMonth());
+        assertEquals("alice", result.getMostActiveUsername());
+        assertEquals(12L, result.getMostActiveUserCommentCount());
+        assertEquals(9, result.getMostCommentedChapterId());
+        assertEquals("Chapter 9", result.getMostCommentedChapterTitle());
+        assertEquals(25L, result.getMostCommentedChapterCount());
+        verifyNoInteractions(commentMapper);
+    }
+
+    @Test
+    void getModerationStatistics_WithNoComments_ShouldLeaveTopEntriesEmpty() {
+        // Arrange
+        when(commentDailyStatsMapper.selectTotals()).thenReturn(CommentModerationStatsDTO.builder()
+                .totalComments(0L)
+                .build());
+
+        // Act
+        CommentModerationStatsDTO result = commentService.getModerationStatistics();
+
+        // Assert
+        assertEquals(0L, result.getTotalComments());
+        assertNull(result.getMostActiveUsername());
+        assertNull(result.getMostCommentedChapterId());
+        verifyNoInteractions(userServiceClient, contentServiceClient);
+    }
+
+    @Test
+    void batchDeleteComments_ShouldUncountDeletedCommentsFromLeaderboards() {
+        // Arrange
+        Comment comment = createTestComment(1, UUID.randomUUID(), "Spam");
+        comment.setChapterId(7);
+        CommentBatchDeleteRequestDTO request = new CommentBatchDeleteRequestDTO();
+        request.setCommentIds(List.of(1));
+        when(commentMapper.selectByIds(List.of(1))).thenReturn(List.of(comment));
+        when(commentMapper.batchDeleteByIds(List.of(1))).thenReturn(1);
+
+        // Act
+        commentService.batchDeleteComments(request, true);
+
+        // Assert
+        verify(leaderboardService).removeComments(List.of(comment));
+        verify(redisUtil).invalidateChapterComments(7);
+    }
+
+    @Test
+    void deleteAllUserComments_ShouldDropUserFromLeaderboards() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+
+        // Act
+        commentService.deleteAllUserComments(userId);
+
+        // Assert
+        verify(leaderboardService).removeMember(LeaderboardService.Board.USERS, userId.toString());
+    }
+
+    @Test
+    void getTopCommenters_ShouldResolveUsernames() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        when(leaderboardService.top(LeaderboardService.Board.USERS, 5, LeaderboardWindow.DAY, 10))
+                .thenReturn(new ArrayList<>(List.of(LeaderboardEntryDTO.builder().rank(1).id(userId.toString()).score(3L).build())));
+        when(userServiceClient.getUsernamesByIds(anyCollection())).thenReturn(Map.of(userId, "reader"));
+
+        // Act
+        List<LeaderboardEntryDTO> result = commentService.getTopCommenters(5, "24h", 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("reader", result.get(0).getName());
+        assertEquals(3L, result.get(0).getScore());
+    }
+
+    @Test
+    void getMostCommentedChapters_ShouldCapLimit() {
+        // Arrange
+        when(leaderboardService.top(any(), any(), any(), anyInt())).thenReturn(new ArrayList<>());
+
+        // Act
+        commentService.getMostCommentedChapters(null, "all", 1000);
+
+        // Assert
+        verify(leaderboardService).top(LeaderboardService.Board.CHAPTERS, null, LeaderboardWindow.ALL_TIME, 100);
+    }
+
+    @Test
+    void getMostCommentedChapters_WithUnknownWindow_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> commentService.getMostCommentedChapters(null, "1y", 10));
+        verifyNoInteractions(leaderboardService);
+    }
+
+    @Test
+    void getMostLikedComments_ShouldSkipAndDiscardDeletedComments() {
+        // Arrange
+        Comment liked = createTestComment(2, UUID.randomUUID(), "Great chapter");
+        when(leaderboardService.top(LeaderboardService.Board.COMMENTS, 5, LeaderboardWindow.WEEK, 10))
+                .thenReturn(new ArrayList<>(List.of(
+                        LeaderboardEntryDTO.builder().rank(1).id("1").score(9L).build(),
+                        LeaderboardEntryDTO.builder().rank(2).id("2").score(4L).build())));
+        when(commentMapper.selectByIds(List.of(1, 2))).thenReturn(List.of(liked));
+        when(userServiceClient.getUsernamesByIds(anyCollection())).thenReturn(Map.of());
+        when(contentServiceClient.getChaptersByIds(anyCollection())).thenReturn(Map.of());
+
+        // Act
+        List<LeaderboardEntryDTO> result = commentService.getMostLikedComments(5, "7d", 10, null);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getRank());
+        assertEquals("Great chapter", result.get(0).getComment().getContent());
+        verify(leaderboardService).discard(LeaderboardService.Board.COMMENTS, 5, List.of("1"));
+    }
 
     // Helper method to create test comments
     private Comment createTestComment(Integer id, UUID userId, String content) {
@@ -682,4 +1392,14 @@ public class CommentServiceTest {
         comment.setUpdateTime(new Date());
         return comment;
     }
-}
\ No newline at end of file
+
+    private void setModerationChunkSize(int chunkSize) {
+        try {
+            java.lang.reflect.Field field = CommentService.class.getDeclaredField("moderationChunkSize");
+            field.setAccessible(true);
+            field.set(commentService, chunkSize);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
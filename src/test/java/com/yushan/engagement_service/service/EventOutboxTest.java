@@ -0,0 +1,61 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.dao.OutboxEventMapper;
+import com.yushan.engagement_service.dto.event.CommentCreatedEvent;
+import com.yushan.engagement_service.entity.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventOutboxTest {
+
+    @Mock
+    private OutboxEventMapper outboxEventMapper;
+
+    @InjectMocks
+    private EventOutbox eventOutbox;
+
+    @Test
+    void enqueue_ShouldStoreTopicKeyAndKafkaJsonBody() {
+        // Arrange
+        CommentCreatedEvent event = CommentCreatedEvent.builder()
+                .commentId(7)
+                .userId(UUID.fromString("11111111-1111-1111-1111-111111111111"))
+                .build();
+
+        // Act
+        eventOutbox.enqueue("comment-events", "7", event);
+
+        // Assert
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventMapper).insert(captor.capture());
+        OutboxEvent row = captor.getValue();
+        assertEquals("comment-events", row.getTopic());
+        assertEquals("7", row.getEventKey());
+        try (JsonSerializer<Object> serializer = new JsonSerializer<>()) {
+            assertEquals(new String(serializer.serialize("comment-events", event), StandardCharsets.UTF_8),
+                    row.getPayload());
+        }
+    }
+
+    @Test
+    void enqueue_WhenInsertFails_ShouldPropagate() {
+        // Arrange
+        when(outboxEventMapper.insert(any())).thenThrow(new RuntimeException("DB error"));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () ->
+                eventOutbox.enqueue("comment-events", "7", CommentCreatedEvent.builder().commentId(7).build()));
+    }
+}
@@ -0,0 +1,232 @@
+package com.yushan.engagement_service.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.yushan.engagement_service.dto.event.UserActivityEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EventSpool with a mocked KafkaTemplate and a temporary spool directory.
+ * The drainer thread is not started; tests drive it through drainOnce.
+ */
+class EventSpoolTest {
+
+    @TempDir
+    Path directory;
+
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private MeterRegistry meterRegistry;
+    private EventSpool eventSpool;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        eventSpool = newSpool();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        eventSpool.stop();
+    }
+
+    @Test
+    void offer_ShouldNotTouchKafkaOnCallerThread() {
+        // Act
+        eventSpool.offer("active", "user-1", activity());
+
+        // Assert
+        verifyNoInteractions(kafkaTemplate);
+        assertEquals(1, eventSpool.memoryDepth());
+        assertEquals(1.0, meterRegistry.get("engagement.spool.depth").tag("tier", "memory").gauge().value());
+    }
+
+    @Test
+    void offer_WhenQueueFull_ShouldOverflowToDisk() {
+        // Act
+        eventSpool.offer("active", "user-1", activity());
+        eventSpool.offer("active", "user-2", activity());
+        eventSpool.offer("active", "user-3", activity());
+
+        // Assert
+        assertEquals(2, eventSpool.memoryDepth());
+        assertEquals(1, eventSpool.diskDepth());
+        assertEquals(1.0, meterRegistry.get("engagement.spool.overflowed").counter().count());
+        assertEquals(1.0, meterRegistry.get("engagement.spool.depth").tag("tier", "disk").gauge().value());
+    }
+
+    @Test
+    void drainOnce_ShouldSendSpooledEventsFirstAsJson() throws Exception {
+        // Arrange
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        UserActivityEvent spilled = activity();
+        eventSpool.offer("active", "user-1", activity());
+        eventSpool.offer("active", "user-2", activity());
+        eventSpool.offer("active", "user-3", spilled);
+
+        // Act
+        boolean healthy = eventSpool.drainOnce();
+
+        // Assert
+        assertTrue(healthy);
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object> values = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate, times(3)).send(eq("active"), keys.capture(), values.capture());
+        assertEquals("user-3", keys.getAllValues().get(0));
+        JsonNode json = assertInstanceOf(JsonNode.class, values.getAllValues().get(0));
+        assertEquals(spilled.userId().toString(), json.get("userId").asText());
+        assertEquals(0, eventSpool.memoryDepth());
+        assertEquals(0, eventSpool.diskDepth());
+        assertEquals(3.0, meterRegistry.get("engagement.spool.drained").counter().count());
+    }
+
+    @Test
+    void drainOnce_WhenBrokerDown_ShouldSpoolBatchAndStopSending() throws Exception {
+        // Arrange
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenThrow(new RuntimeException("Kafka down"));
+        eventSpool.offer("active", "user-1", activity());
+        eventSpool.offer("active", "user-2", activity());
+
+        // Act
+        boolean healthy = eventSpool.drainOnce();
+
+        // Assert
+        assertFalse(healthy);
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any());
+        assertEquals(0, eventSpool.memoryDepth());
+        assertEquals(2, eventSpool.diskDepth());
+        assertEquals(0.0, meterRegistry.get("engagement.spool.drained").counter().count());
+    }
+
+    @Test
+    void drainOnce_WhenSendNotAcknowledged_ShouldRetryFromDisk() throws Exception {
+        // Arrange
+        CompletableFuture<Object> failed = CompletableFuture.failedFuture(new RuntimeException("Timed out"));
+        doReturn(failed).doReturn(CompletableFuture.completedFuture(null))
+                .when(kafkaTemplate).send(anyString(), anyString(), any());
+        eventSpool.offer("active", "user-1", activity());
+
+        // Act
+        assertFalse(eventSpool.drainOnce());
+        assertTrue(eventSpool.drainOnce());
+
+        // Assert
+        verify(kafkaTemplate, times(2)).send(eq("active"), eq("user-1"), any());
+        assertEquals(0, eventSpool.diskDepth());
+    }
+
+    @Test
+    void drainOnce_WhenSpooledSendNotAcknowledged_ShouldKeepItOnDisk() throws Exception {
+        // Arrange
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        List<Long> diskDepthAtSend = new ArrayList<>();
+        doAnswer(invocation -> {
+            diskDepthAtSend.add(eventSpool.diskDepth());
+            if (diskDepthAtSend.size() == 1) {
+                return pending;
+            }
+            pending.completeExceptionally(new RuntimeException("Timed out"));
+            return CompletableFuture.completedFuture(null);
+        }).when(kafkaTemplate).send(anyString(), anyString(), any());
+        eventSpool.offer("active", "user-1", activity());
+        eventSpool.offer("active", "user-2", activity());
+        eventSpool.offer("active", "user-3", activity());
+
+        // Act
+        boolean healthy = eventSpool.drainOnce();
+        eventSpool.stop();
+        eventSpool = newSpool();
+
+        // Assert
+        assertFalse(healthy);
+        assertEquals(List.of(1L, 1L, 1L), diskDepthAtSend);
+        assertEquals(1, eventSpool.diskDepth());
+        assertTrue(eventSpool.drainOnce());
+        verify(kafkaTemplate, times(2)).send(eq("active"), eq("user-3"), any());
+    }
+
+    @Test
+    void offer_WhenQueueAndDiskFull_ShouldDropAndCount() {
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            eventSpool.offer("active", "user-" + i, activity());
+        }
+
+        // Assert
+        assertTrue(meterRegistry.get("engagement.spool.dropped").counter().count() > 0);
+    }
+
+    @Test
+    void stop_ShouldPersistQueuedEventsForNextStart() throws Exception {
+        // Arrange
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        eventSpool.offer("active", "user-1", activity());
+
+        // Act
+        eventSpool.stop();
+        eventSpool = newSpool();
+
+        // Assert
+        assertEquals(1, eventSpool.diskDepth());
+        assertTrue(eventSpool.drainOnce());
+        verify(kafkaTemplate).send(eq("active"), eq("user-1"), any(JsonNode.class));
+    }
+
+    @Test
+    void offer_WhenDisabled_ShouldSendDirectly() {
+        // Arrange
+        EventSpool disabled = new EventSpool();
+        ReflectionTestUtils.setField(disabled, "kafkaTemplate", kafkaTemplate);
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        UserActivityEvent event = activity();
+
+        // Act
+        disabled.offer("active", "user-1", event);
+
+        // Assert
+        verify(kafkaTemplate).send("active", "user-1", event);
+    }
+
+    private EventSpool newSpool() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        EventSpool spool = new EventSpool();
+        ReflectionTestUtils.setField(spool, "kafkaTemplate", kafkaTemplate);
+        ReflectionTestUtils.setField(spool, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(spool, "directory", directory.toString());
+        ReflectionTestUtils.setField(spool, "memoryCapacity", 2);
+        ReflectionTestUtils.setField(spool, "segmentSize", DataSize.ofKilobytes(4));
+        ReflectionTestUtils.setField(spool, "maxSegments", 2);
+        ReflectionTestUtils.setField(spool, "sendTimeout", Duration.ofSeconds(1));
+        spool.open();
+        return spool;
+    }
+
+    private static UserActivityEvent activity() {
+        return new UserActivityEvent(UUID.randomUUID(), "engagement-service", "/api/v1/comments", "GET",
+                LocalDateTime.now());
+    }
+}
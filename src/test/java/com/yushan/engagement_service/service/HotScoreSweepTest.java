@@ -0,0 +1,53 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.dao.CommentMapper;
+import com.yushan.engagement_service.dao.ReviewMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotScoreSweepTest {
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private ReviewMapper reviewMapper;
+
+    @InjectMocks
+    private HotScoreSweep hotScoreSweep;
+
+    @Test
+    void sweep_ShouldScoreOneBatchOfCommentsAndReviews() {
+        // Arrange
+        ReflectionTestUtils.setField(hotScoreSweep, "batchSize", 50);
+        when(commentMapper.backfillHotScores(50)).thenReturn(50);
+        when(reviewMapper.backfillHotScores(50)).thenReturn(0);
+
+        // Act
+        hotScoreSweep.sweep();
+
+        // Assert
+        verify(commentMapper, times(1)).backfillHotScores(50);
+        verify(reviewMapper, times(1)).backfillHotScores(50);
+    }
+
+    @Test
+    void sweep_WhenCommentsFail_ShouldStillScoreReviews() {
+        // Arrange
+        when(commentMapper.backfillHotScores(500)).thenThrow(new RuntimeException("DB down"));
+        when(reviewMapper.backfillHotScores(500)).thenReturn(3);
+
+        // Act
+        hotScoreSweep.sweep();
+
+        // Assert
+        verify(reviewMapper).backfillHotScores(500);
+    }
+}
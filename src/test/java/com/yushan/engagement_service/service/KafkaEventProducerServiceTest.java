@@ -10,14 +10,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -26,13 +25,10 @@ import static org.mockito.Mockito.*;
 class KafkaEventProducerServiceTest {
 
     @Mock
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private EventOutbox eventOutbox;
 
     @Mock
-    private SendResult<String, Object> sendResult;
-
-    @Mock
-    private org.apache.kafka.clients.producer.RecordMetadata recordMetadata;
+    private EventSpool eventSpool;
 
     @InjectMocks
     private KafkaEventProducerService kafkaEventProducerService;
@@ -47,200 +43,109 @@ class KafkaEventProducerServiceTest {
     }
 
     @Test
-    void publishCommentCreatedEvent_Success_ShouldPublishEvent() {
+    void publishCommentCreatedEvent_Success_ShouldQueueEventInOutbox() {
         // Arrange
         Integer commentId = 1;
         UUID userId = UUID.randomUUID();
-        Integer chapterId = 100;
-        String content = "Test comment";
-        Boolean isSpoiler = false;
-
-        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(sendResult);
-        when(kafkaTemplate.send(anyString(), anyString(), any(CommentCreatedEvent.class))).thenReturn(future);
-        when(sendResult.getRecordMetadata()).thenReturn(recordMetadata);
-        when(recordMetadata.partition()).thenReturn(0);
-        when(recordMetadata.offset()).thenReturn(1L);
 
         // Act
-        kafkaEventProducerService.publishCommentCreatedEvent(commentId, userId, chapterId, content, isSpoiler);
+        kafkaEventProducerService.publishCommentCreatedEvent(commentId, userId, 100, "Test comment", false);
 
         // Assert
-        verify(kafkaTemplate).send(eq("test-comment-events"), eq(commentId.toString()), any(CommentCreatedEvent.class));
+        verify(eventOutbox).enqueue(eq("test-comment-events"), eq(commentId.toString()),
+                eq(CommentCreatedEvent.builder().commentId(commentId).userId(userId).build()));
+        verifyNoInteractions(eventSpool);
     }
 
     @Test
-    void publishCommentCreatedEvent_Exception_ShouldLogError() {
+    void publishCommentCreatedEvent_WhenOutboxFails_ShouldPropagateToRollBack() {
         // Arrange
-        Integer commentId = 1;
-        UUID userId = UUID.randomUUID();
-        Integer chapterId = 100;
-        String content = "Test comment";
-        Boolean isSpoiler = false;
-
-        when(kafkaTemplate.send(anyString(), anyString(), any(CommentCreatedEvent.class)))
-                .thenThrow(new RuntimeException("Kafka error"));
+        doThrow(new RuntimeException("DB error")).when(eventOutbox)
+                .enqueue(anyString(), anyString(), any(CommentCreatedEvent.class));
 
-        // Act
-        kafkaEventProducerService.publishCommentCreatedEvent(commentId, userId, chapterId, content, isSpoiler);
-
-        // Assert
-        verify(kafkaTemplate).send(eq("test-comment-events"), eq(commentId.toString()), any(CommentCreatedEvent.class));
+        // Act & Assert
+        assertThrows(RuntimeException.class, () ->
+                kafkaEventProducerService.publishCommentCreatedEvent(1, UUID.randomUUID(), 100, "Test comment", false));
+        verifyNoInteractions(eventSpool);
     }
 
     @Test
-    void publishReviewCreatedEvent_Success_ShouldPublishEvent() {
+    void publishReviewCreatedEvent_Success_ShouldQueueEventInOutbox() {
         // Arrange
         Integer reviewId = 1;
-        UUID reviewUuid = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
-        Integer rating = 5;
-        String title = "Test review";
-        String content = "Test review content";
-        Boolean isSpoiler = false;
-
-        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(sendResult);
-        when(kafkaTemplate.send(anyString(), anyString(), any(ReviewCreatedEvent.class))).thenReturn(future);
-        when(sendResult.getRecordMetadata()).thenReturn(recordMetadata);
-        when(recordMetadata.partition()).thenReturn(0);
-        when(recordMetadata.offset()).thenReturn(1L);
 
         // Act
-        kafkaEventProducerService.publishReviewCreatedEvent(reviewId, reviewUuid, userId, rating, title, content, isSpoiler);
+        kafkaEventProducerService.publishReviewCreatedEvent(reviewId, UUID.randomUUID(), userId, 5,
+                "Test review", "Test review content", false);
 
         // Assert
-        verify(kafkaTemplate).send(eq("test-review-events"), eq(reviewId.toString()), any(ReviewCreatedEvent.class));
+        verify(eventOutbox).enqueue(eq("test-review-events"), eq(reviewId.toString()),
+                eq(ReviewCreatedEvent.builder().reviewId(reviewId).userId(userId).rating(5).build()));
+        verifyNoInteractions(eventSpool);
     }
 
     @Test
-    void publishReviewCreatedEvent_Exception_ShouldLogError() {
+    void publishReviewCreatedEvent_WhenOutboxFails_ShouldPropagateToRollBack() {
         // Arrange
-        Integer reviewId = 1;
-        UUID reviewUuid = UUID.randomUUID();
-        UUID userId = UUID.randomUUID();
-        Integer rating = 5;
-        String title = "Test review";
-        String content = "Test review content";
-        Boolean isSpoiler = false;
-
-        when(kafkaTemplate.send(anyString(), anyString(), any(ReviewCreatedEvent.class)))
-                .thenThrow(new RuntimeException("Kafka error"));
+        doThrow(new RuntimeException("DB error")).when(eventOutbox)
+                .enqueue(anyString(), anyString(), any(ReviewCreatedEvent.class));
 
-        // Act
-        kafkaEventProducerService.publishReviewCreatedEvent(reviewId, reviewUuid, userId, rating, title, content, isSpoiler);
-
-        // Assert
-        verify(kafkaTemplate).send(eq("test-review-events"), eq(reviewId.toString()), any(ReviewCreatedEvent.class));
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> kafkaEventProducerService.publishReviewCreatedEvent(
+                1, UUID.randomUUID(), UUID.randomUUID(), 5, "Test review", "Test review content", false));
     }
 
     @Test
-    void publishVoteCreatedEvent_Success_ShouldPublishEvent() {
+    void publishVoteCreatedEvent_Success_ShouldQueueEventInOutbox() {
         // Arrange
         Integer voteId = 1;
         UUID userId = UUID.randomUUID();
 
-        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(sendResult);
-        when(kafkaTemplate.send(anyString(), anyString(), any(VoteCreatedEvent.class))).thenReturn(future);
-        when(sendResult.getRecordMetadata()).thenReturn(recordMetadata);
-        when(recordMetadata.partition()).thenReturn(0);
-        when(recordMetadata.offset()).thenReturn(1L);
-
         // Act
         kafkaEventProducerService.publishVoteCreatedEvent(voteId, userId);
 
         // Assert
-        verify(kafkaTemplate).send(eq("test-vote-events"), eq(voteId.toString()), any(VoteCreatedEvent.class));
+        verify(eventOutbox).enqueue(eq("test-vote-events"), eq(voteId.toString()),
+                eq(VoteCreatedEvent.builder().voteId(voteId).userId(userId).build()));
+        verifyNoInteractions(eventSpool);
     }
 
     @Test
-    void publishVoteCreatedEvent_Exception_ShouldLogError() {
+    void publishVoteCreatedEvent_WhenOutboxFails_ShouldPropagateToRollBack() {
         // Arrange
-        Integer voteId = 1;
-        UUID userId = UUID.randomUUID();
-
-        when(kafkaTemplate.send(anyString(), anyString(), any(VoteCreatedEvent.class)))
-                .thenThrow(new RuntimeException("Kafka error"));
+        doThrow(new RuntimeException("DB error")).when(eventOutbox)
+                .enqueue(anyString(), anyString(), any(VoteCreatedEvent.class));
 
-        // Act
-        kafkaEventProducerService.publishVoteCreatedEvent(voteId, userId);
-
-        // Assert
-        verify(kafkaTemplate).send(eq("test-vote-events"), eq(voteId.toString()), any(VoteCreatedEvent.class));
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> kafkaEventProducerService.publishVoteCreatedEvent(1, UUID.randomUUID()));
     }
 
     @Test
-    void publishUserActivityEvent_Success_ShouldPublishEvent() {
+    void publishUserActivityEvent_ShouldOfferEventToSpool() {
         // Arrange
         UUID userId = UUID.randomUUID();
         UserActivityEvent event = new UserActivityEvent(userId, "test-service", "/test-endpoint", "GET", LocalDateTime.now());
 
-        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(sendResult);
-        when(kafkaTemplate.send(anyString(), anyString(), any(UserActivityEvent.class))).thenReturn(future);
-        when(sendResult.getRecordMetadata()).thenReturn(recordMetadata);
-        when(recordMetadata.partition()).thenReturn(0);
-        when(recordMetadata.offset()).thenReturn(1L);
-
         // Act
         kafkaEventProducerService.publishUserActivityEvent(event);
 
         // Assert
-        verify(kafkaTemplate).send(eq("active"), eq(userId.toString()), eq(event));
+        verify(eventSpool).offer("active", userId.toString(), event);
+        verifyNoInteractions(eventOutbox);
     }
 
     @Test
-    void publishUserActivityEvent_Exception_ShouldLogError() {
+    void publishUserActivityEvents_ShouldOfferEachEventToSpool() {
         // Arrange
-        UUID userId = UUID.randomUUID();
-        UserActivityEvent event = new UserActivityEvent(userId, "test-service", "/test-endpoint", "GET", LocalDateTime.now());
-
-        when(kafkaTemplate.send(anyString(), anyString(), any(UserActivityEvent.class)))
-                .thenThrow(new RuntimeException("Kafka error"));
-
-        // Act
-        kafkaEventProducerService.publishUserActivityEvent(event);
-
-        // Assert
-        verify(kafkaTemplate).send(eq("active"), eq(userId.toString()), eq(event));
-    }
-
-    @Test
-    void publishEvent_Success_ShouldLogDebugMessage() {
-        // Arrange
-        Integer commentId = 1;
-        UUID userId = UUID.randomUUID();
-        Integer chapterId = 100;
-        String content = "Test comment";
-        Boolean isSpoiler = false;
-
-        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(sendResult);
-        when(kafkaTemplate.send(anyString(), anyString(), any(CommentCreatedEvent.class))).thenReturn(future);
-        when(sendResult.getRecordMetadata()).thenReturn(recordMetadata);
-        when(recordMetadata.partition()).thenReturn(0);
-        when(recordMetadata.offset()).thenReturn(1L);
-
-        // Act
-        kafkaEventProducerService.publishCommentCreatedEvent(commentId, userId, chapterId, content, isSpoiler);
-
-        // Assert
-        verify(kafkaTemplate).send(eq("test-comment-events"), eq(commentId.toString()), any(CommentCreatedEvent.class));
-    }
-
-    @Test
-    void publishEvent_Failure_ShouldLogErrorMessage() {
-        // Arrange
-        Integer commentId = 1;
-        UUID userId = UUID.randomUUID();
-        Integer chapterId = 100;
-        String content = "Test comment";
-        Boolean isSpoiler = false;
-
-        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
-        future.completeExceptionally(new RuntimeException("Kafka error"));
-        when(kafkaTemplate.send(anyString(), anyString(), any(CommentCreatedEvent.class))).thenReturn(future);
+        UserActivityEvent first = new UserActivityEvent(UUID.randomUUID(), "engagement-service", "/api/v1/comments", "POST", LocalDateTime.now());
+        UserActivityEvent second = new UserActivityEvent(UUID.randomUUID(), "engagement-service", "/api/v1/reviews/{id}", "GET", LocalDateTime.now());
 
         // Act
-        kafkaEventProducerService.publishCommentCreatedEvent(commentId, userId, chapterId, content, isSpoiler);
+        kafkaEventProducerService.publishUserActivityEvents(List.of(first, second));
 
         // Assert
-        verify(kafkaTemplate).send(eq("test-comment-events"), eq(commentId.toString()), any(CommentCreatedEvent.class));
+        verify(eventSpool).offer("active", first.userId().toString(), first);
+        verify(eventSpool).offer("active", second.userId().toString(), second);
     }
 }
@@ -0,0 +1,358 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.dao.CommentMapper;
+import com.yushan.engagement_service.dto.comment.LeaderboardCountDTO;
+import com.yushan.engagement_service.dto.comment.LeaderboardEntryDTO;
+import com.yushan.engagement_service.entity.Comment;
+import com.yushan.engagement_service.enums.LeaderboardWindow;
+import com.yushan.engagement_service.util.RedisUtil;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+    private static final long HOUR = 500_000L;
+    private static final long HOUR_MS = 3_600_000L;
+    private static final UUID USER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private RedisUtil redisUtil;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(leaderboardService, "clock",
+                Clock.fixed(Instant.ofEpochMilli(HOUR * HOUR_MS + 1_800_000L), ZoneOffset.UTC));
+        lenient().doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(redisUtil).pipelined(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recordComment_ShouldCountAuthorAndChapterGloballyAndPerNovel() {
+        // Act
+        leaderboardService.recordComment(comment(1, 5, new Date()));
+
+        // Assert
+        for (String scope : List.of("global", "novel:5")) {
+            String users = "leaderboard:users:" + scope;
+            verify(redisUtil).incrementScore(users + ":24h", USER_ID.toString(), 1);
+            verify(redisUtil).incrementScore(users + ":7d", USER_ID.toString(), 1);
+            verify(redisUtil).incrementScore(users + ":all", USER_ID.toString(), 1);
+            verify(redisUtil).incrementScore(users + ":h:" + HOUR, USER_ID.toString(), 1);
+            verify(redisUtil).addToSet("leaderboard:touched:" + HOUR, users);
+            verify(redisUtil).incrementScore("leaderboard:chapters:" + scope + ":7d", "10", 1);
+        }
+    }
+
+    @Test
+    void recordComment_WithoutNovel_ShouldOnlyCountGlobally() {
+        // Act
+        leaderboardService.recordComment(comment(1, null, new Date()));
+
+        // Assert
+        verify(redisUtil).incrementScore("leaderboard:users:global:all", USER_ID.toString(), 1);
+        verify(redisUtil, never()).incrementScore(startsWith("leaderboard:users:novel:"), any(), anyDouble());
+    }
+
+    @Test
+    void recordComment_InTransaction_ShouldWaitForCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        leaderboardService.recordComment(comment(1, 5, new Date()));
+
+        // Assert
+        verify(redisUtil, never()).pipelined(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(redisUtil).pipelined(any());
+    }
+
+    @Test
+    void recordComment_WhenRedisFails_ShouldNotThrow() {
+        // Arrange
+        doThrow(new RuntimeException("Redis down")).when(redisUtil).pipelined(any());
+
+        // Act & Assert
+        assertDoesNotThrow(() -> leaderboardService.recordComment(comment(1, 5, new Date())));
+    }
+
+    @Test
+    void recordComment_WhenDisabled_ShouldNotTouchRedis() {
+        // Arrange
+        ReflectionTestUtils.setField(leaderboardService, "enabled", false);
+
+        // Act
+        leaderboardService.recordComment(comment(1, 5, new Date()));
+
+        // Assert
+        verifyNoInteractions(redisUtil);
+    }
+
+    @Test
+    void removeComments_OlderThanEveryWindow_ShouldOnlyUncountAllTime() {
+        // Arrange
+        Date created = new Date((HOUR - 24 * 30) * HOUR_MS);
+
+        // Act
+        leaderboardService.removeComments(List.of(comment(1, null, created)));
+
+        // Assert
+        verify(redisUtil).incrementScore("leaderboard:users:global:all", USER_ID.toString(), -1);
+        verify(redisUtil, never()).incrementScore(eq("leaderboard:users:global:7d"), any(), anyDouble());
+        verify(redisUtil, never()).incrementScore(contains(":h:"), any(), anyDouble());
+        verify(redisUtil).removeScores("leaderboard:comments:global:all", "1");
+        verify(redisUtil).removeNonPositiveScores("leaderboard:users:global:all");
+    }
+
+    @Test
+    void removeComments_WhenDayBucketAlreadyExpired_ShouldSkipDayWindow() {
+        // Arrange
+        long createdHour = HOUR - 30;
+        when(redisUtil.exists("leaderboard:expired:24h:" + createdHour)).thenReturn(true);
+
+        // Act
+        leaderboardService.removeComments(List.of(comment(1, null, new Date(createdHour * HOUR_MS))));
+
+        // Assert
+        verify(redisUtil, never()).incrementScore(eq("leaderboard:users:global:24h"), any(), anyDouble());
+        verify(redisUtil).incrementScore("leaderboard:users:global:7d", USER_ID.toString(), -1);
+        verify(redisUtil).incrementScore("leaderboard:users:global:h:" + createdHour, USER_ID.toString(), -1);
+        verify(redisUtil).incrementScore("leaderboard:users:global:all", USER_ID.toString(), -1);
+    }
+
+    @Test
+    void removeComments_WhenDayBucketNotExpiredYet_ShouldUncountDayWindow() {
+        // Arrange
+        long createdHour = HOUR - 24;
+        when(redisUtil.exists("leaderboard:expired:24h:" + createdHour)).thenReturn(false);
+
+        // Act
+        leaderboardService.removeComments(List.of(comment(1, null, new Date(createdHour * HOUR_MS))));
+
+        // Assert
+        verify(redisUtil).incrementScore("leaderboard:users:global:24h", USER_ID.toString(), -1);
+    }
+
+    @Test
+    void recordLike_WithUnlike_ShouldDropCommentsWithoutLikes() {
+        // Act
+        leaderboardService.recordLike(comment(1, 5, new Date()), -1);
+
+        // Assert
+        verify(redisUtil).incrementScore("leaderboard:comments:novel:5:24h", "1", -1);
+        verify(redisUtil).removeNonPositiveScores("leaderboard:comments:novel:5:24h");
+        verify(redisUtil).removeNonPositiveScores("leaderboard:comments:global:all");
+    }
+
+    @Test
+    void removeMember_ShouldRemoveFromEveryKeyOfBoard() {
+        // Arrange
+        when(redisUtil.scanKeys("leaderboard:users:*"))
+                .thenReturn(Set.of("leaderboard:users:global:all", "leaderboard:users:novel:5:h:" + HOUR));
+
+        // Act
+        leaderboardService.removeMember(LeaderboardService.Board.USERS, USER_ID.toString());
+
+        // Assert
+        verify(redisUtil).removeScores("leaderboard:users:global:all", USER_ID.toString());
+        verify(redisUtil).removeScores("leaderboard:users:novel:5:h:" + HOUR, USER_ID.toString());
+    }
+
+    @Test
+    void top_ShouldRankMembersByScore() {
+        // Arrange
+        when(redisUtil.getTopScores("leaderboard:chapters:novel:5:24h", 2)).thenReturn(List.of(
+                new DefaultTypedTuple<>("10", 7.0),
+                new DefaultTypedTuple<>("11", 3.0)));
+
+        // Act
+        List<LeaderboardEntryDTO> top = leaderboardService.top(LeaderboardService.Board.CHAPTERS, 5, LeaderboardWindow.DAY, 2);
+
+        // Assert
+        assertEquals(2, top.size());
+        assertEquals(1, top.get(0).getRank());
+        assertEquals("10", top.get(0).getId());
+        assertEquals(7L, top.get(0).getScore());
+        assertEquals(2, top.get(1).getRank());
+    }
+
+    @Test
+    void top_WhenRedisFails_ShouldReturnEmptyList() {
+        // Arrange
+        when(redisUtil.getTopScores(anyString(), anyInt())).thenThrow(new RuntimeException("Redis down"));
+
+        // Act
+        List<LeaderboardEntryDTO> top = leaderboardService.top(LeaderboardService.Board.USERS, null, LeaderboardWindow.ALL_TIME, 10);
+
+        // Assert
+        assertTrue(top.isEmpty());
+    }
+
+    @Test
+    void expireBuckets_ShouldSubtractClaimedBucketFromBoardsWrittenThatHour() {
+        // Arrange
+        long bucket = HOUR - 24;
+        when(redisUtil.setIfAbsent(anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0).equals("leaderboard:expired:24h:" + bucket));
+        when(redisUtil.getSetMembers("leaderboard:touched:" + bucket)).thenReturn(Set.of("leaderboard:users:novel:5"));
+
+        // Act
+        leaderboardService.expireBuckets();
+
+        // Assert
+        verify(redisUtil).subtractScores("leaderboard:users:novel:5:24h", "leaderboard:users:novel:5:h:" + bucket);
+        verify(redisUtil, never()).subtractScores(eq("leaderboard:users:novel:5:7d"), anyString());
+    }
+
+    @Test
+    void expireBuckets_ShouldNotReclaimHoursAlreadyExpired() {
+        // Act
+        leaderboardService.expireBuckets();
+        leaderboardService.expireBuckets();
+
+        // Assert
+        verify(redisUtil, times(2 * 49)).setIfAbsent(startsWith("leaderboard:expired:"), any(), any());
+    }
+
+    @Test
+    void expireBuckets_WhenRedisFails_ShouldRetryNextRun() {
+        // Arrange
+        when(redisUtil.setIfAbsent(startsWith("leaderboard:expired:"), any(), any()))
+                .thenThrow(new RuntimeException("Redis down"))
+                .thenReturn(false);
+
+        // Act
+        leaderboardService.expireBuckets();
+        leaderboardService.expireBuckets();
+
+        // Assert
+        verify(redisUtil, times(2)).setIfAbsent(eq("leaderboard:expired:24h:" + (HOUR - 24 - 48)), any(), any());
+    }
+
+    @Test
+    void rebuild_ShouldResetBoardsAndLoadCountsFromDatabase() {
+        // Arrange
+        when(redisUtil.setIfAbsent(anyString(), any(), any())).thenReturn(true);
+        feed(LeaderboardCountDTO.builder().novelId(5).userId(USER_ID).count(4L).build())
+                .when(commentMapper).selectUserCommentCounts(any());
+        feed(LeaderboardCountDTO.builder().novelId(5).commentId(1).count(9L).build())
+                .when(commentMapper).selectLikedCommentCounts(any());
+        feed(LeaderboardCountDTO.builder().hour(new Date((HOUR - 30) * HOUR_MS)).novelId(5)
+                .userId(USER_ID).chapterId(10).count(2L).build())
+                .when(commentMapper).selectHourlyCommentCounts(any(), any());
+
+        // Act
+        boolean rebuilt = leaderboardService.rebuild();
+
+        // Assert
+        assertTrue(rebuilt);
+        verify(redisUtil).deleteByPattern("leaderboard:users:*");
+        verify(redisUtil).deleteByPattern("leaderboard:touched:*");
+        verify(redisUtil).incrementScore("leaderboard:users:novel:5:all", USER_ID.toString(), 4);
+        verify(redisUtil).incrementScore("leaderboard:comments:global:all", "1", 9);
+        verify(redisUtil).incrementScore("leaderboard:users:global:7d", USER_ID.toString(), 2);
+        verify(redisUtil).incrementScore("leaderboard:chapters:novel:5:h:" + (HOUR - 30), "10", 2);
+        verify(redisUtil, never()).incrementScore(eq("leaderboard:users:global:24h"), any(), anyDouble());
+        verify(redisUtil).setIfAbsent(eq("leaderboard:expired:24h:" + (HOUR - 30)), any(), any());
+        verify(commentMapper).selectHourlyCommentCounts(eq(new Date((HOUR - 167) * HOUR_MS)), any());
+        verify(transactionManager, times(5)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(redisUtil).delete("leaderboard:lock:rebuild");
+    }
+
+    @Test
+    void scheduledRebuild_ShouldRunOnRebuildThread() throws Exception {
+        // Arrange
+        CompletableFuture<String> rebuildThread = new CompletableFuture<>();
+        when(redisUtil.setIfAbsent(eq("leaderboard:lock:rebuild"), any(), any())).thenAnswer(invocation -> {
+            rebuildThread.complete(Thread.currentThread().getName());
+            return false;
+        });
+
+        // Act
+        leaderboardService.scheduledRebuild();
+
+        // Assert
+        assertEquals("leaderboard-rebuild", rebuildThread.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rebuild_WhenAnotherInstanceHoldsLock_ShouldSkip() {
+        // Arrange
+        when(redisUtil.setIfAbsent(eq("leaderboard:lock:rebuild"), any(), any())).thenReturn(false);
+
+        // Act
+        boolean rebuilt = leaderboardService.rebuild();
+
+        // Assert
+        assertFalse(rebuilt);
+        verifyNoInteractions(commentMapper);
+        verify(redisUtil, never()).deleteByPattern(anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static org.mockito.stubbing.Stubber feed(LeaderboardCountDTO row) {
+        return doAnswer(invocation -> {
+            ResultHandler<LeaderboardCountDTO> handler = invocation.getArgument(invocation.getArguments().length - 1);
+            DefaultResultContext<LeaderboardCountDTO> context = new DefaultResultContext<>();
+            context.nextResultObject(row);
+            handler.handleResult(context);
+            return null;
+        });
+    }
+
+    private static Comment comment(Integer id, Integer novelId, Date createTime) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setUserId(USER_ID);
+        comment.setChapterId(10);
+        comment.setNovelId(novelId);
+        comment.setCreateTime(createTime);
+        return comment;
+    }
+}
@@ -0,0 +1,260 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.dao.CommentMapper;
+import com.yushan.engagement_service.dao.ReviewMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LikeCounterServiceTest {
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private ReviewMapper reviewMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private LikeCounterService likeCounterService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void addLikes_ShouldAccumulatePendingDeltaPerId() {
+        // Act
+        likeCounterService.addCommentLikes(1, 1);
+        likeCounterService.addCommentLikes(1, 1);
+        likeCounterService.addCommentLikes(2, -1);
+        likeCounterService.addReviewLikes(1, 1);
+
+        // Assert
+        assertEquals(2, likeCounterService.pendingCommentLikes(1));
+        assertEquals(-1, likeCounterService.pendingCommentLikes(2));
+        assertEquals(1, likeCounterService.pendingReviewLikes(1));
+        assertEquals(0, likeCounterService.pendingReviewLikes(2));
+    }
+
+    @Test
+    void flush_ShouldApplyBufferedDeltasAndClearThem() {
+        // Arrange
+        likeCounterService.addCommentLikes(3, 1);
+        likeCounterService.addCommentLikes(1, 2);
+        likeCounterService.addReviewLikes(7, -1);
+
+        // Act
+        likeCounterService.flush();
+
+        // Assert
+        verify(commentMapper).applyLikeDeltas(Map.of(1, 2, 3, 1));
+        verify(reviewMapper).applyLikeDeltas(Map.of(7, -1));
+        assertEquals(0, likeCounterService.pendingCommentLikes(1));
+        assertEquals(0, likeCounterService.pendingReviewLikes(7));
+    }
+
+    @Test
+    void flush_ShouldNotifyListenersWithFlushedIds() {
+        // Arrange
+        List<Set<Integer>> flushedComments = new ArrayList<>();
+        List<Set<Integer>> flushedReviews = new ArrayList<>();
+        likeCounterService.onCommentLikesFlushed(ids -> flushedComments.add(Set.copyOf(ids)));
+        likeCounterService.onReviewLikesFlushed(ids -> flushedReviews.add(Set.copyOf(ids)));
+        likeCounterService.addCommentLikes(1, 1);
+        likeCounterService.addCommentLikes(2, 1);
+        likeCounterService.addReviewLikes(9, -1);
+
+        // Act
+        likeCounterService.flush();
+
+        // Assert
+        assertEquals(List.of(Set.of(1, 2)), flushedComments);
+        assertEquals(List.of(Set.of(9)), flushedReviews);
+    }
+
+    @Test
+    void flush_ShouldApplyReviewImpressionsWithoutNotifyingListener() {
+        // Arrange
+        List<Set<Integer>> flushedReviews = new ArrayList<>();
+        likeCounterService.onReviewLikesFlushed(flushedReviews::add);
+        likeCounterService.addReviewImpressions(List.of(4, 5));
+        likeCounterService.addReviewImpressions(List.of(4));
+
+        // Act
+        likeCounterService.flush();
+
+        // Assert
+        verify(reviewMapper).applyImpressionDeltas(Map.of(4, 2, 5, 1));
+        verify(reviewMapper, never()).applyLikeDeltas(anyMap());
+        assertTrue(flushedReviews.isEmpty());
+    }
+
+    @Test
+    void flush_WhenUpdateFails_ShouldNotNotifyListener() {
+        // Arrange
+        List<Set<Integer>> flushed = new ArrayList<>();
+        likeCounterService.onCommentLikesFlushed(flushed::add);
+        likeCounterService.addCommentLikes(1, 1);
+        when(commentMapper.applyLikeDeltas(anyMap())).thenThrow(new RuntimeException("db down"));
+
+        // Act
+        likeCounterService.flush();
+
+        // Assert
+        assertTrue(flushed.isEmpty());
+    }
+
+    @Test
+    void flush_WithNothingBuffered_ShouldNotTouchDatabase() {
+        // Act
+        likeCounterService.flush();
+
+        // Assert
+        verifyNoInteractions(commentMapper, reviewMapper);
+    }
+
+    @Test
+    void flush_WhenLikeAndUnlikeCancelOut_ShouldSkipId() {
+        // Arrange
+        likeCounterService.addCommentLikes(1, 1);
+        likeCounterService.addCommentLikes(1, -1);
+
+        // Act
+        likeCounterService.flush();
+
+        // Assert
+        verify(commentMapper, never()).applyLikeDeltas(anyMap());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void flush_ShouldSplitIntoBatches() {
+        // Arrange
+        ReflectionTestUtils.setField(likeCounterService, "flushBatchSize", 2);
+        for (int id = 1; id <= 5; id++) {
+            likeCounterService.addCommentLikes(id, 1);
+        }
+
+        // Act
+        likeCounterService.flush();
+
+        // Assert
+        ArgumentCaptor<Map<Integer, Integer>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(commentMapper, times(3)).applyLikeDeltas(captor.capture());
+        List<Map<Integer, Integer>> batches = captor.getAllValues();
+        assertEquals(List.of(1, 2), List.copyOf(batches.get(0).keySet()));
+        assertEquals(List.of(3, 4), List.copyOf(batches.get(1).keySet()));
+        assertEquals(List.of(5), List.copyOf(batches.get(2).keySet()));
+    }
+
+    @Test
+    void flush_WhenUpdateFails_ShouldKeepDeltasForNextFlush() {
+        // Arrange
+        likeCounterService.addCommentLikes(1, 2);
+        when(commentMapper.applyLikeDeltas(anyMap()))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(1);
+
+        // Act
+        likeCounterService.flush();
+        likeCounterService.addCommentLikes(1, 1);
+
+        // Assert
+        assertEquals(3, likeCounterService.pendingCommentLikes(1));
+
+        likeCounterService.flush();
+        verify(commentMapper).applyLikeDeltas(Map.of(1, 3));
+        assertEquals(0, likeCounterService.pendingCommentLikes(1));
+    }
+
+    @Test
+    void reconcile_ShouldRecountSettledChangesUntilAShortBatch() {
+        // Arrange
+        ReflectionTestUtils.setField(likeCounterService, "reconcileBatchSize", 2);
+        when(commentMapper.claimLikeChanges(300, 2)).thenReturn(List.of(5, 5), List.of(3, 4), List.of());
+        when(reviewMapper.claimLikeChanges(300, 2)).thenReturn(List.of(9));
+
+        // Act
+        likeCounterService.reconcile();
+
+        // Assert
+        verify(commentMapper, times(3)).claimLikeChanges(300, 2);
+        verify(commentMapper).recountLikes(Set.of(5));
+        verify(commentMapper).recountLikes(Set.of(3, 4));
+        verify(reviewMapper).claimLikeChanges(300, 2);
+        verify(reviewMapper).recountLikes(Set.of(9));
+    }
+
+    @Test
+    void reconcile_ShouldDrainBufferedDeltasOfRecountedIds() {
+        // Arrange
+        List<Set<Integer>> notified = new ArrayList<>();
+        likeCounterService.onCommentLikesFlushed(ids -> notified.add(Set.copyOf(ids)));
+        likeCounterService.addCommentLikes(1, 3);
+        likeCounterService.addCommentLikes(2, 1);
+        when(commentMapper.claimLikeChanges(300, 1000)).thenReturn(List.of(1));
+        when(reviewMapper.claimLikeChanges(300, 1000)).thenReturn(List.of());
+
+        // Act
+        likeCounterService.reconcile();
+        likeCounterService.flush();
+
+        // Assert
+        verify(commentMapper).recountLikes(Set.of(1));
+        verify(commentMapper).applyLikeDeltas(Map.of(2, 1));
+        assertEquals(0, likeCounterService.pendingCommentLikes(1));
+        assertEquals(List.of(Set.of(1), Set.of(2)), notified);
+        verify(reviewMapper, never()).recountLikes(any());
+    }
+
+    @Test
+    void reconcile_WhenRecountFails_ShouldKeepDeltasForNextFlush() {
+        // Arrange
+        likeCounterService.addReviewLikes(7, 2);
+        when(commentMapper.claimLikeChanges(300, 1000)).thenReturn(List.of());
+        when(reviewMapper.claimLikeChanges(300, 1000)).thenReturn(List.of(7));
+        when(reviewMapper.recountLikes(any())).thenThrow(new RuntimeException("db down"));
+
+        // Act
+        likeCounterService.reconcile();
+
+        // Assert
+        assertEquals(2, likeCounterService.pendingReviewLikes(7));
+    }
+
+    @Test
+    void reconcile_WhenCommentsFail_ShouldStillReconcileReviews() {
+        // Arrange
+        when(commentMapper.claimLikeChanges(anyInt(), anyInt())).thenThrow(new RuntimeException("db down"));
+        when(reviewMapper.claimLikeChanges(300, 1000)).thenReturn(List.of());
+
+        // Act
+        likeCounterService.reconcile();
+
+        // Assert
+        verify(reviewMapper).claimLikeChanges(300, 1000);
+    }
+}
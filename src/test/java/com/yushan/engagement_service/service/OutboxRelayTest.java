@@ -0,0 +1,181 @@
+package com.yushan.engagement_service.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.yushan.engagement_service.dao.OutboxEventMapper;
+import com.yushan.engagement_service.entity.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventMapper outboxEventMapper;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeout", Duration.ofMillis(100));
+    }
+
+    @Test
+    void relayBatch_ShouldSendInIdOrderAndDeleteAcknowledgedRows() {
+        // Arrange
+        when(outboxEventMapper.tryRelayLock(OutboxRelay.RELAY_LOCK_KEY)).thenReturn(true);
+        when(outboxEventMapper.claimBatch(500, 60)).thenReturn(List.of(
+                row(1L, "comment-events", "7", "{\"commentId\":7}"),
+                row(2L, "vote-events", "3", "{\"voteId\":3}")));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        int relayed = outboxRelay.relayBatch();
+
+        // Assert
+        assertEquals(2, relayed);
+        var inOrder = inOrder(kafkaTemplate, outboxEventMapper);
+        inOrder.verify(outboxEventMapper).claimBatch(500, 60);
+        inOrder.verify(kafkaTemplate).send(eq("comment-events"), eq("7"),
+                argThat((Object body) -> ((JsonNode) body).get("commentId").asInt() == 7));
+        inOrder.verify(kafkaTemplate).send(eq("vote-events"), eq("3"), any());
+        inOrder.verify(outboxEventMapper).deleteByIds(List.of(1L, 2L));
+    }
+
+    @Test
+    void relayBatch_ShouldSendOutsideTheClaimAndSettleTransactions() {
+        // Arrange
+        when(outboxEventMapper.tryRelayLock(anyLong())).thenReturn(true);
+        when(outboxEventMapper.claimBatch(500, 60)).thenReturn(List.of(row(1L, "vote-events", "3", "{}")));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        outboxRelay.relayBatch();
+
+        // Assert
+        var inOrder = inOrder(transactionTemplate, kafkaTemplate);
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(kafkaTemplate).send(anyString(), anyString(), any());
+        inOrder.verify(transactionTemplate).executeWithoutResult(any());
+        verify(outboxEventMapper, never()).releaseLease(anyList());
+    }
+
+    @Test
+    void relayBatch_WhenSendFails_ShouldKeepLaterEventsForTheSameKey() {
+        // Arrange
+        when(outboxEventMapper.tryRelayLock(anyLong())).thenReturn(true);
+        when(outboxEventMapper.claimBatch(500, 60)).thenReturn(List.of(
+                row(1L, "comment-events", "7", "{}"),
+                row(2L, "comment-events", "8", "{}"),
+                row(3L, "comment-events", "7", "{}")));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        int relayed = outboxRelay.relayBatch();
+
+        // Assert
+        assertEquals(1, relayed);
+        verify(outboxEventMapper).deleteByIds(List.of(2L));
+        verify(outboxEventMapper).releaseLease(List.of(1L, 3L));
+    }
+
+    @Test
+    void relayBatch_WhenBrokerDoesNotAcknowledgeInTime_ShouldKeepRows() {
+        // Arrange
+        when(outboxEventMapper.tryRelayLock(anyLong())).thenReturn(true);
+        when(outboxEventMapper.claimBatch(500, 60)).thenReturn(List.of(row(1L, "vote-events", "3", "{}")));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        // Act
+        int relayed = outboxRelay.relayBatch();
+
+        // Assert
+        assertEquals(0, relayed);
+        verify(outboxEventMapper, never()).deleteByIds(anyList());
+        verify(outboxEventMapper).releaseLease(List.of(1L));
+    }
+
+    @Test
+    void relayBatch_WhenAnotherInstanceHoldsTheLock_ShouldDoNothing() {
+        // Arrange
+        when(outboxEventMapper.tryRelayLock(anyLong())).thenReturn(false);
+
+        // Act
+        int relayed = outboxRelay.relayBatch();
+
+        // Assert
+        assertEquals(0, relayed);
+        verify(outboxEventMapper, never()).claimBatch(anyInt(), anyInt());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void relay_ShouldKeepDrainingWhileBatchesAreFull() {
+        // Arrange
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 1);
+        when(outboxEventMapper.tryRelayLock(anyLong())).thenReturn(true);
+        when(outboxEventMapper.claimBatch(1, 60))
+                .thenReturn(List.of(row(1L, "vote-events", "3", "{}")))
+                .thenReturn(List.of(row(2L, "vote-events", "4", "{}")))
+                .thenReturn(List.of());
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        outboxRelay.relay();
+
+        // Assert
+        verify(outboxEventMapper, times(3)).claimBatch(1, 60);
+        verify(outboxEventMapper).deleteByIds(List.of(1L));
+        verify(outboxEventMapper).deleteByIds(List.of(2L));
+    }
+
+    @Test
+    void relay_WhenDisabled_ShouldNotTouchTheOutbox() {
+        // Arrange
+        ReflectionTestUtils.setField(outboxRelay, "relayEnabled", false);
+
+        // Act
+        outboxRelay.relay();
+
+        // Assert
+        verifyNoInteractions(outboxEventMapper, kafkaTemplate);
+    }
+
+    private static OutboxEvent row(Long id, String topic, String key, String payload) {
+        return new OutboxEvent(id, topic, key, payload, null);
+    }
+}
@@ -2,12 +2,19 @@ package com.yushan.engagement_service.service;
 
 import com.yushan.engagement_service.client.ContentServiceClient;
 import com.yushan.engagement_service.client.UserServiceClient;
+import com.yushan.engagement_service.dao.NovelRatingStatsMapper;
 import com.yushan.engagement_service.dao.ReviewMapper;
 import com.yushan.engagement_service.dto.common.ApiResponse;
+import com.yushan.engagement_service.dto.common.PageCursor;
+import com.yushan.engagement_service.dto.common.PageResponseDTO;
 import com.yushan.engagement_service.dto.novel.NovelDetailResponseDTO;
 import com.yushan.engagement_service.dto.review.*;
+import com.yushan.engagement_service.entity.NovelRatingStats;
 import com.yushan.engagement_service.entity.Review;
 import com.yushan.engagement_service.exception.ResourceNotFoundException;
+import com.yushan.engagement_service.exception.ValidationException;
+import com.yushan.engagement_service.util.PageCache;
+import com.yushan.engagement_service.util.RedisUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +23,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -27,6 +35,9 @@ class ReviewServiceTest {
     @Mock
     private ReviewMapper reviewMapper;
 
+    @Mock
+    private NovelRatingStatsMapper novelRatingStatsMapper;
+
     @Mock
     private ContentServiceClient contentServiceClient;
 
@@ -36,6 +47,15 @@ class ReviewServiceTest {
     @Mock
     private KafkaEventProducerService kafkaEventProducerService;
 
+    @Mock
+    private LikeCounterService likeCounterService;
+
+    @Mock
+    private PageCache pageCache;
+
+    @Mock
+    private RedisUtil redisUtil;
+
     @InjectMocks
     private ReviewService reviewService;
 
@@ -48,6 +68,14 @@ class ReviewServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Behave like a cold cache: always load, evict right away
+        lenient().when(pageCache.get(any(), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(2)).get());
+        lenient().doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(pageCache).evictAfterCommit(any());
+
         testUserId = UUID.randomUUID();
         testNovelId = 1;
         
@@ -96,7 +124,7 @@ class ReviewServiceTest {
             review.setId(1);
             return 1;
         });
-        when(reviewMapper.selectByNovelId(testNovelId)).thenReturn(Arrays.asList(testReview));
+        when(novelRatingStatsMapper.selectByNovelId(testNovelId)).thenReturn(ratingStats(1, 5L, 0, 0, 0, 0, 1));
         when(userServiceClient.getUsernameById(testUserId)).thenReturn("testuser");
         when(contentServiceClient.getNovelById(testNovelId)).thenReturn(novelResponse);
 
@@ -114,6 +142,10 @@ class ReviewServiceTest {
         verify(contentServiceClient, times(2)).getNovelById(testNovelId);
         verify(reviewMapper).selectByUserAndNovel(testUserId, testNovelId);
         verify(reviewMapper).insertSelective(any(Review.class));
+        verify(novelRatingStatsMapper).applyRatingDelta(testNovelId, null, 5);
+        verify(redisUtil).invalidateNovelReviews(testNovelId);
+        verify(contentServiceClient).updateNovelRatingAndCount(testNovelId, 5.0f, 1);
+        verify(reviewMapper, never()).selectByNovelId(anyInt());
         verify(kafkaEventProducerService).publishReviewCreatedEvent(anyInt(), any(UUID.class), eq(testUserId), eq(5), eq("Great novel!"), eq("I really enjoyed this novel."), eq(false));
     }
 
@@ -167,6 +199,21 @@ class ReviewServiceTest {
         
         verify(reviewMapper).selectByPrimaryKey(1);
         verify(reviewMapper).updateByPrimaryKeySelective(any(Review.class));
+        verify(novelRatingStatsMapper).applyRatingDelta(testNovelId, 5, 4);
+    }
+
+    @Test
+    void updateReview_WithRatingChange_ShouldPushAverageFromAggregate() {
+        // Arrange
+        when(reviewMapper.selectByPrimaryKey(1)).thenReturn(testReview);
+        when(novelRatingStatsMapper.selectByNovelId(testNovelId)).thenReturn(ratingStats(3, 11L, 0, 0, 0, 1, 2));
+
+        // Act
+        reviewService.updateReview(1, testUserId, testUpdateRequest);
+
+        // Assert
+        verify(novelRatingStatsMapper).applyRatingDelta(testNovelId, 5, 4);
+        verify(contentServiceClient).updateNovelRatingAndCount(testNovelId, 3.7f, 3);
     }
 
     @Test
@@ -203,7 +250,7 @@ class ReviewServiceTest {
         // Arrange
         when(reviewMapper.selectByPrimaryKey(1)).thenReturn(testReview);
         when(reviewMapper.deleteByPrimaryKey(1)).thenReturn(1);
-        when(reviewMapper.selectByNovelId(testNovelId)).thenReturn(Arrays.asList(testReview));
+        when(novelRatingStatsMapper.selectByNovelId(testNovelId)).thenReturn(ratingStats(0, 0L, 0, 0, 0, 0, 0));
 
         // Act
         boolean result = reviewService.deleteReview(1, testUserId, false);
@@ -212,6 +259,8 @@ class ReviewServiceTest {
         assertTrue(result);
         verify(reviewMapper).selectByPrimaryKey(1);
         verify(reviewMapper).deleteByPrimaryKey(1);
+        verify(novelRatingStatsMapper).applyRatingDelta(testNovelId, 5, null);
+        verify(contentServiceClient).updateNovelRatingAndCount(testNovelId, 0.0f, 0);
     }
 
     @Test
@@ -249,7 +298,7 @@ class ReviewServiceTest {
         UUID otherUserId = UUID.randomUUID();
         when(reviewMapper.selectByPrimaryKey(1)).thenReturn(testReview);
         when(reviewMapper.deleteByPrimaryKey(1)).thenReturn(1);
-        when(reviewMapper.selectByNovelId(testNovelId)).thenReturn(Arrays.asList(testReview));
+        when(novelRatingStatsMapper.selectByNovelId(testNovelId)).thenReturn(null);
 
         // Act
         boolean result = reviewService.deleteReview(1, otherUserId, true);
@@ -322,6 +371,37 @@ class ReviewServiceTest {
         verify(reviewMapper).countReviews(any(ReviewSearchRequestDTO.class));
     }
 
+    @Test
+    void getReviewsByNovel_FirstPageOfHotSort_ShouldServeCachedPage() {
+        // Arrange
+        PageResponseDTO<ReviewResponseDTO> cachedPage = new PageResponseDTO<>(List.of(new ReviewResponseDTO()), 1L, 0, 10);
+        when(redisUtil.novelReviewsKey(testNovelId, "likeCnt:desc")).thenReturn("review:novel:1:likeCnt:desc");
+        doAnswer(invocation -> {
+            assertEquals("review:novel:1:likeCnt:desc", ((Supplier<?>) invocation.getArgument(0)).get());
+            return cachedPage;
+        }).when(pageCache).get(any(), eq(PageResponseDTO.class), any());
+
+        // Act
+        var result = reviewService.getReviewsByNovel(testNovelId, 0, 10, "likeCnt", "desc");
+
+        // Assert
+        assertSame(cachedPage, result);
+        verify(reviewMapper, never()).selectReviewsWithPagination(any());
+    }
+
+    @Test
+    void getReviewsByNovel_WithUncachedSort_ShouldQueryDirectly() {
+        // Arrange
+        when(reviewMapper.selectReviewsWithPagination(any(ReviewSearchRequestDTO.class))).thenReturn(List.of());
+        when(reviewMapper.countReviews(any(ReviewSearchRequestDTO.class))).thenReturn(0L);
+
+        // Act
+        reviewService.getReviewsByNovel(testNovelId, 0, 10, "rating", "asc");
+
+        // Assert
+        verify(pageCache, never()).get(any(), any(), any());
+    }
+
     @Test
     void getAllReviews_WithValidData_ShouldReturnReviews() {
         // Arrange
@@ -348,12 +428,166 @@ class ReviewServiceTest {
         verify(reviewMapper).countReviews(request);
     }
 
+    @Test
+    void getReviewsByNovel_WithMorePages_ShouldReturnNextCursor() {
+        // Arrange
+        when(reviewMapper.selectReviewsWithPagination(any(ReviewSearchRequestDTO.class))).thenReturn(Arrays.asList(testReview));
+        when(reviewMapper.countReviews(any(ReviewSearchRequestDTO.class))).thenReturn(3L);
+        when(userServiceClient.getUsernameById(testUserId)).thenReturn("testuser");
+
+        ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
+        novelResponse.setData(testNovel);
+        when(contentServiceClient.getNovelById(testNovelId)).thenReturn(novelResponse);
+
+        // Act
+        var result = reviewService.getReviewsByNovel(testNovelId, 0, 1, "likeCnt", "desc");
+
+        // Assert
+        PageCursor cursor = PageCursor.decode(result.getNextCursor());
+        assertEquals("likeCnt", cursor.getSort());
+        assertEquals(10, cursor.getNumber());
+        assertEquals(1, cursor.getId());
+    }
+
+    @Test
+    void getReviewsByNovel_SortedByHot_ShouldReturnScoreCursor() {
+        // Arrange
+        testReview.setHotScore(20123.5);
+        when(reviewMapper.selectReviewsWithPagination(any(ReviewSearchRequestDTO.class))).thenReturn(Arrays.asList(testReview));
+        when(reviewMapper.countReviews(any(ReviewSearchRequestDTO.class))).thenReturn(3L);
+        when(userServiceClient.getUsernameById(testUserId)).thenReturn("testuser");
+
+        ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
+        novelResponse.setData(testNovel);
+        when(contentServiceClient.getNovelById(testNovelId)).thenReturn(novelResponse);
+
+        // Act
+        var result = reviewService.getReviewsByNovel(testNovelId, 0, 1, "hot", "desc");
+
+        // Assert
+        PageCursor cursor = PageCursor.decode(result.getNextCursor());
+        assertEquals("hot", cursor.getSort());
+        assertEquals(20123.5, cursor.getScore());
+        assertEquals(1, cursor.getId());
+    }
+
+    @Test
+    void getAllReviews_SortedByRelevance_ShouldPageByOffsetOnly() {
+        // Arrange
+        ReviewSearchRequestDTO request = new ReviewSearchRequestDTO(0, 1, "relevance", "desc", null, null, null, "slow burn");
+        when(reviewMapper.selectReviewsWithPagination(request)).thenReturn(Arrays.asList(testReview));
+        when(reviewMapper.countReviews(request)).thenReturn(3L);
+        when(userServiceClient.getUsernameById(testUserId)).thenReturn("testuser");
+
+        ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
+        novelResponse.setData(testNovel);
+        when(contentServiceClient.getNovelById(testNovelId)).thenReturn(novelResponse);
+
+        // Act
+        var result = reviewService.getAllReviews(request);
+
+        // Assert
+        assertTrue(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getReviewsByNovelAfterCursor_ShouldSeekAndTrimLookAheadRow() {
+        // Arrange
+        Review lookAhead = new Review();
+        lookAhead.setId(2);
+        lookAhead.setUserId(testUserId);
+        lookAhead.setNovelId(testNovelId);
+        lookAhead.setRating(4);
+        lookAhead.setCreateTime(new Date());
+        PageCursor cursor = PageCursor.afterNumber("rating", "desc", 5, 9);
+        when(reviewMapper.selectReviewsWithPagination(any(ReviewSearchRequestDTO.class)))
+                .thenReturn(Arrays.asList(testReview, lookAhead));
+        when(userServiceClient.getUsernameById(testUserId)).thenReturn("testuser");
+
+        ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
+        novelResponse.setData(testNovel);
+        when(contentServiceClient.getNovelById(testNovelId)).thenReturn(novelResponse);
+
+        // Act
+        var result = reviewService.getReviewsByNovelAfterCursor(testNovelId, cursor, 1, false);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(-1L, result.getTotalElements());
+        PageCursor next = PageCursor.decode(result.getNextCursor());
+        assertEquals("rating", next.getSort());
+        assertEquals(5, next.getNumber());
+        assertEquals(1, next.getId());
+        verify(reviewMapper).selectReviewsWithPagination(argThat(request ->
+                request.getCursor() == cursor && request.getPage() == 0 && request.getSize() == 2
+                        && testNovelId.equals(request.getNovelId()) && "rating".equals(request.getSort())));
+        verify(reviewMapper, never()).countReviews(any(ReviewSearchRequestDTO.class));
+        verify(likeCounterService).addReviewImpressions(List.of(1));
+    }
+
+    @Test
+    void getReviewsByNovel_SortedByHelpfulness_ShouldCountImpressionsAndReturnScoreCursor() {
+        // Arrange
+        testReview.setHelpfulnessScore(0.6543);
+        when(reviewMapper.selectReviewsWithPagination(any(ReviewSearchRequestDTO.class))).thenReturn(Arrays.asList(testReview));
+        when(reviewMapper.countReviews(any(ReviewSearchRequestDTO.class))).thenReturn(3L);
+        when(userServiceClient.getUsernameById(testUserId)).thenReturn("testuser");
+
+        ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
+        novelResponse.setData(testNovel);
+        when(contentServiceClient.getNovelById(testNovelId)).thenReturn(novelResponse);
+
+        // Act
+        var result = reviewService.getReviewsByNovel(testNovelId, 0, 1, "helpfulness", "desc");
+
+        // Assert
+        PageCursor cursor = PageCursor.decode(result.getNextCursor());
+        assertEquals("helpfulness", cursor.getSort());
+        assertEquals(0.6543, cursor.getScore());
+        assertEquals(1, cursor.getId());
+        verify(reviewMapper).selectReviewsWithPagination(argThat(request -> "helpfulness".equals(request.getSort())));
+        verify(likeCounterService).addReviewImpressions(List.of(1));
+    }
+
+    @Test
+    void getAllReviewsAfterCursor_WithUnsupportedCursorSort_ShouldRejectCursor() {
+        // Arrange
+        ReviewSearchRequestDTO request = new ReviewSearchRequestDTO(0, 10, null, null, testNovelId, null, null, null);
+        request.setCursor(PageCursor.afterNumber("relevance", "desc", 5, 9));
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> reviewService.getAllReviewsAfterCursor(request, false));
+        verifyNoInteractions(reviewMapper);
+    }
+
+    @Test
+    void getAllReviewsAfterCursor_WithIncludeTotal_ShouldCount() {
+        // Arrange
+        ReviewSearchRequestDTO request = new ReviewSearchRequestDTO(0, 10, null, null, null, 5, null, null);
+        request.setCursor(PageCursor.afterTime("desc", new Date(), 9));
+        when(reviewMapper.selectReviewsWithPagination(request)).thenReturn(new ArrayList<>());
+        when(reviewMapper.countReviews(request)).thenReturn(12L);
+
+        // Act
+        var result = reviewService.getAllReviewsAfterCursor(request, true);
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        assertEquals(12L, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+    }
+
     @Test
     void toggleLike_WithValidData_ShouldToggleLike() {
         // Arrange
+        testReview.setLikeCnt(5);
         when(reviewMapper.selectByPrimaryKey(1)).thenReturn(testReview);
-        when(reviewMapper.updateLikeCount(1, 1)).thenReturn(1);
-        when(reviewMapper.selectByPrimaryKey(1)).thenReturn(testReview);
+        when(reviewMapper.insertLike(1, testUserId)).thenReturn(1);
+        when(likeCounterService.pendingReviewLikes(1)).thenReturn(1);
         when(userServiceClient.getUsernameById(testUserId)).thenReturn("testuser");
         
         ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
@@ -366,9 +600,54 @@ class ReviewServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getId());
+        assertEquals(6, result.getLikeCnt());
         
-        verify(reviewMapper, times(2)).selectByPrimaryKey(1);
-        verify(reviewMapper).updateLikeCount(1, 1);
+        verify(reviewMapper).selectByPrimaryKey(1);
+        verify(likeCounterService).addReviewLikes(1, 1);
+        verify(reviewMapper, never()).updateLikeCount(anyInt(), anyInt());
+    }
+
+    @Test
+    void toggleLike_WhenAlreadyLiked_ShouldNotCountAgain() {
+        // Arrange
+        testReview.setLikeCnt(5);
+        when(reviewMapper.selectByPrimaryKey(1)).thenReturn(testReview);
+        when(reviewMapper.insertLike(1, testUserId)).thenReturn(0);
+        when(likeCounterService.pendingReviewLikes(1)).thenReturn(0);
+        when(userServiceClient.getUsernameById(testUserId)).thenReturn("testuser");
+
+        ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
+        novelResponse.setData(testNovel);
+        when(contentServiceClient.getNovelById(testNovelId)).thenReturn(novelResponse);
+
+        // Act
+        ReviewResponseDTO result = reviewService.toggleLike(1, testUserId, true);
+
+        // Assert
+        assertEquals(5, result.getLikeCnt());
+        verify(likeCounterService, never()).addReviewLikes(anyInt(), anyInt());
+    }
+
+    @Test
+    void toggleLike_WhenUnliking_ShouldBufferDecrement() {
+        // Arrange
+        testReview.setLikeCnt(5);
+        when(reviewMapper.selectByPrimaryKey(1)).thenReturn(testReview);
+        when(reviewMapper.deleteLike(1, testUserId)).thenReturn(1);
+        when(likeCounterService.pendingReviewLikes(1)).thenReturn(-1);
+        when(userServiceClient.getUsernameById(testUserId)).thenReturn("testuser");
+
+        ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
+        novelResponse.setData(testNovel);
+        when(contentServiceClient.getNovelById(testNovelId)).thenReturn(novelResponse);
+
+        // Act
+        ReviewResponseDTO result = reviewService.toggleLike(1, testUserId, false);
+
+        // Assert
+        assertEquals(4, result.getLikeCnt());
+        verify(likeCounterService).addReviewLikes(1, -1);
+        verify(reviewMapper, never()).insertLike(anyInt(), any());
     }
 
     @Test
@@ -381,8 +660,9 @@ class ReviewServiceTest {
             reviewService.toggleLike(1, testUserId, true);
         });
         
+        verify(reviewMapper).insertLike(1, testUserId);
         verify(reviewMapper).selectByPrimaryKey(1);
-        verify(reviewMapper, never()).updateLikeCount(anyInt(), anyInt());
+        verify(likeCounterService, never()).addReviewLikes(anyInt(), anyInt());
     }
 
     @Test
@@ -472,7 +752,7 @@ class ReviewServiceTest {
         ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
         novelResponse.setData(testNovel);
         when(contentServiceClient.getNovelById(testNovelId)).thenReturn(novelResponse);
-        when(reviewMapper.selectByNovelId(testNovelId)).thenReturn(Arrays.asList(testReview));
+        when(novelRatingStatsMapper.selectByNovelId(testNovelId)).thenReturn(ratingStats(1, 5L, 0, 0, 0, 0, 1));
 
         // Act
         NovelRatingStatsDTO result = reviewService.getNovelRatingStats(testNovelId);
@@ -483,9 +763,13 @@ class ReviewServiceTest {
         assertEquals("Test Novel", result.getNovelTitle());
         assertEquals(1, result.getTotalReviews());
         assertEquals(4.5f, result.getAverageRating());
+        assertEquals(1, result.getRating5Count());
+        assertEquals(0, result.getRating1Count());
+        assertEquals(100.0f, result.getRating5Percentage());
         
         verify(contentServiceClient).getNovelById(testNovelId);
-        verify(reviewMapper).selectByNovelId(testNovelId);
+        verify(novelRatingStatsMapper).selectByNovelId(testNovelId);
+        verify(reviewMapper, never()).selectByNovelId(anyInt());
     }
 
     @Test
@@ -494,7 +778,7 @@ class ReviewServiceTest {
         ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
         novelResponse.setData(testNovel);
         when(contentServiceClient.getNovelById(testNovelId)).thenReturn(novelResponse);
-        when(reviewMapper.selectByNovelId(testNovelId)).thenReturn(new ArrayList<>());
+        when(novelRatingStatsMapper.selectByNovelId(testNovelId)).thenReturn(null);
 
         // Act
         NovelRatingStatsDTO result = reviewService.getNovelRatingStats(testNovelId);
@@ -507,6 +791,10 @@ class ReviewServiceTest {
         assertEquals(4.5f, result.getAverageRating());
         
         verify(contentServiceClient).getNovelById(testNovelId);
-        verify(reviewMapper).selectByNovelId(testNovelId);
+        verify(novelRatingStatsMapper).selectByNovelId(testNovelId);
+    }
+
+    private NovelRatingStats ratingStats(int count, long sum, int r1, int r2, int r3, int r4, int r5) {
+        return new NovelRatingStats(testNovelId, count, sum, r1, r2, r3, r4, r5, new Date());
     }
-}
\ No newline at end of file
+}
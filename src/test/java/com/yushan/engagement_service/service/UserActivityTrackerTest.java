@@ -0,0 +1,120 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.dto.event.UserActivityEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserActivityTrackerTest {
+
+    @Mock
+    private KafkaEventProducerService kafkaEventProducerService;
+
+    @InjectMocks
+    private UserActivityTracker userActivityTracker;
+
+    @Test
+    void record_ShouldNotPublishPerRequest() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            userActivityTracker.record(userId, "/api/v1/comments/chapter/" + i, "GET");
+        }
+
+        // Assert
+        verifyNoInteractions(kafkaEventProducerService);
+        assertEquals(1, userActivityTracker.pendingUsers());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void flush_ShouldPublishOneRecordPerUserInOneBatch() {
+        // Arrange
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        userActivityTracker.record(alice, "/api/v1/comments/chapter/1", "GET");
+        userActivityTracker.record(alice, "/api/v1/comments/chapter/2", "GET");
+        userActivityTracker.record(alice, "/api/v1/reviews/" + UUID.randomUUID(), "PUT");
+        userActivityTracker.record(bob, "/api/v1/votes/novels/7", "POST");
+
+        // Act
+        userActivityTracker.flush();
+
+        // Assert
+        ArgumentCaptor<List<UserActivityEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(kafkaEventProducerService).publishUserActivityEvents(captor.capture());
+        List<UserActivityEvent> batch = captor.getValue();
+        assertEquals(2, batch.size());
+        assertEquals(Set.of(alice, bob), batch.stream().map(UserActivityEvent::userId).collect(Collectors.toSet()));
+        UserActivityEvent aliceEvent = batch.stream().filter(e -> e.userId().equals(alice)).findFirst().orElseThrow();
+        assertEquals("/api/v1/reviews/{id}", aliceEvent.endpoint());
+        assertEquals("PUT", aliceEvent.method());
+        assertEquals("engagement-service", aliceEvent.serviceName());
+        assertNotNull(aliceEvent.timestamp());
+        assertEquals(0, userActivityTracker.pendingUsers());
+    }
+
+    @Test
+    void flush_WithNoActivity_ShouldNotPublish() {
+        // Act
+        userActivityTracker.flush();
+
+        // Assert
+        verify(kafkaEventProducerService, never()).publishUserActivityEvents(anyList());
+    }
+
+    @Test
+    void record_WhenPendingUsersAtCapacity_ShouldPublishNewUserDirectly() {
+        // Arrange
+        ReflectionTestUtils.setField(userActivityTracker, "maxPendingUsers", 1);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        userActivityTracker.record(first, "/api/v1/comments", "POST");
+
+        // Act
+        userActivityTracker.record(second, "/api/v1/comments", "POST");
+        userActivityTracker.record(first, "/api/v1/reviews", "POST");
+
+        // Assert
+        verify(kafkaEventProducerService).publishUserActivityEvent(argThat(event -> event.userId().equals(second)));
+        verify(kafkaEventProducerService, never()).publishUserActivityEvent(argThat(event -> event.userId().equals(first)));
+        assertEquals(1, userActivityTracker.pendingUsers());
+    }
+
+    @Test
+    void flushOnShutdown_ShouldPublishPendingActivity() {
+        // Arrange
+        userActivityTracker.record(UUID.randomUUID(), "/api/v1/comments", "POST");
+
+        // Act
+        userActivityTracker.flushOnShutdown();
+
+        // Assert
+        verify(kafkaEventProducerService).publishUserActivityEvents(anyList());
+    }
+
+    @Test
+    void endpointClass_ShouldReplaceIdSegments() {
+        assertEquals("/api/v1/comments/chapter/{id}", UserActivityTracker.endpointClass("/api/v1/comments/chapter/12"));
+        assertEquals("/api/v1/reviews/{id}/like",
+                UserActivityTracker.endpointClass("/api/v1/reviews/550e8400-e29b-41d4-a716-446655440001/like"));
+        assertEquals("/api/v1/comments/v2", UserActivityTracker.endpointClass("/api/v1/comments/v2"));
+    }
+}
@@ -0,0 +1,176 @@
+package com.yushan.engagement_service.service;
+
+import com.yushan.engagement_service.client.ContentServiceClient;
+import com.yushan.engagement_service.dao.VoteMapper;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteCountAggregatorTest {
+
+    @Mock
+    private VoteMapper voteMapper;
+
+    @Mock
+    private ContentServiceClient contentServiceClient;
+
+    @InjectMocks
+    private VoteCountAggregator voteCountAggregator;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        voteCountAggregator.shutdownThresholdFlusher();
+    }
+
+    @Test
+    void recordVote_ShouldReturnUnsyncedVotesFromTheVoteTable() {
+        // Arrange
+        when(voteMapper.countUnsyncedVotes(7)).thenReturn(4);
+
+        // Act
+        int pending = voteCountAggregator.recordVote(7);
+
+        // Assert
+        assertEquals(4, pending);
+        verifyNoInteractions(contentServiceClient);
+    }
+
+    @Test
+    void recordVote_InTransaction_ShouldFlushOnlyAfterCommit() {
+        // Arrange
+        ReflectionTestUtils.setField(voteCountAggregator, "flushThreshold", 2);
+        when(voteMapper.countUnsyncedVotes(7)).thenReturn(2);
+        when(voteMapper.selectOldestSyncBatch(7)).thenReturn(41).thenReturn(null);
+        when(voteMapper.countSyncBatch(7, 41)).thenReturn(2);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        voteCountAggregator.recordVote(7);
+
+        // Assert
+        verify(contentServiceClient, after(200).never()).addVoteCount(anyInt(), anyInt(), anyString());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(contentServiceClient, timeout(5000)).addVoteCount(7, 2, "novel-votes-41");
+    }
+
+    @Test
+    void flush_ShouldSendOneKeyedDeltaPerBatchAndMarkItSynced() {
+        // Arrange
+        when(voteMapper.selectNovelIdsWithUnsyncedVotes(500)).thenReturn(List.of(7, 9));
+        when(voteMapper.selectOldestSyncBatch(7)).thenReturn(41).thenReturn(null);
+        when(voteMapper.countSyncBatch(7, 41)).thenReturn(5);
+        when(voteMapper.selectOldestSyncBatch(9)).thenReturn(44).thenReturn(null);
+        when(voteMapper.countSyncBatch(9, 44)).thenReturn(1);
+
+        // Act
+        voteCountAggregator.flush();
+
+        // Assert
+        var inOrder = inOrder(voteMapper, contentServiceClient);
+        inOrder.verify(voteMapper).assignSyncBatch(7);
+        inOrder.verify(contentServiceClient).addVoteCount(7, 5, "novel-votes-41");
+        inOrder.verify(voteMapper).markVotesSynced(7, 41);
+        inOrder.verify(contentServiceClient).addVoteCount(9, 1, "novel-votes-44");
+        inOrder.verify(voteMapper).markVotesSynced(9, 44);
+        verify(contentServiceClient, never()).incrementVoteCount(anyInt());
+    }
+
+    @Test
+    void flushNovel_WhenNothingIsUnsynced_ShouldNotCallContentService() {
+        // Arrange
+        when(voteMapper.selectOldestSyncBatch(7)).thenReturn(null);
+
+        // Act
+        int sent = voteCountAggregator.flushNovel(7);
+
+        // Assert
+        assertEquals(0, sent);
+        verifyNoInteractions(contentServiceClient);
+    }
+
+    @Test
+    void flushNovel_WhenContentServiceFails_ShouldLeaveTheBatchForRetryWithTheSameKey() {
+        // Arrange
+        when(voteMapper.selectOldestSyncBatch(7)).thenReturn(41);
+        when(voteMapper.countSyncBatch(7, 41)).thenReturn(3);
+        when(contentServiceClient.addVoteCount(7, 3, "novel-votes-41"))
+                .thenThrow(new RuntimeException("Read timed out"))
+                .thenReturn(null);
+
+        // Act
+        int firstAttempt = voteCountAggregator.flushNovel(7);
+        when(voteMapper.selectOldestSyncBatch(7)).thenReturn(41).thenReturn(null);
+        int retry = voteCountAggregator.flushNovel(7);
+
+        // Assert
+        assertEquals(0, firstAttempt);
+        assertEquals(3, retry);
+        verify(contentServiceClient, times(2)).addVoteCount(7, 3, "novel-votes-41");
+        verify(voteMapper, times(1)).markVotesSynced(7, 41);
+    }
+
+    @Test
+    void flushNovel_WithoutBatchEndpoint_ShouldNotFallBackToSingleIncrements() {
+        // Arrange
+        when(voteMapper.selectOldestSyncBatch(7)).thenReturn(41);
+        when(voteMapper.countSyncBatch(7, 41)).thenReturn(3);
+        Request request = Request.create(Request.HttpMethod.POST, "/api/v1/novels/7/votes/batch", Map.of(),
+                null, StandardCharsets.UTF_8, null);
+        when(contentServiceClient.addVoteCount(7, 3, "novel-votes-41"))
+                .thenThrow(new FeignException.NotFound("Not Found", request, null, null));
+
+        // Act
+        int sent = voteCountAggregator.flushNovel(7);
+
+        // Assert
+        assertEquals(0, sent);
+        verify(contentServiceClient, never()).incrementVoteCount(anyInt());
+        verify(voteMapper, never()).markVotesSynced(anyInt(), anyInt());
+    }
+
+    @Test
+    void recordVote_WhenThresholdReached_ShouldFlushInBackground() {
+        // Arrange
+        ReflectionTestUtils.setField(voteCountAggregator, "flushThreshold", 2);
+        when(voteMapper.countUnsyncedVotes(7)).thenReturn(1).thenReturn(2);
+        when(voteMapper.selectOldestSyncBatch(7)).thenReturn(41).thenReturn(null);
+        when(voteMapper.countSyncBatch(7, 41)).thenReturn(2);
+
+        // Act
+        voteCountAggregator.recordVote(7);
+        voteCountAggregator.recordVote(7);
+
+        // Assert
+        verify(contentServiceClient, timeout(5000)).addVoteCount(7, 2, "novel-votes-41");
+    }
+
+    @Test
+    void flush_WhenLookupFails_ShouldSkipThisRound() {
+        // Arrange
+        when(voteMapper.selectNovelIdsWithUnsyncedVotes(anyInt())).thenThrow(new RuntimeException("db down"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> voteCountAggregator.flush());
+        verifyNoInteractions(contentServiceClient);
+    }
+}
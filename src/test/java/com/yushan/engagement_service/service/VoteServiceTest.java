@@ -10,15 +10,24 @@ import com.yushan.engagement_service.dto.novel.NovelDetailResponseDTO;
 import com.yushan.engagement_service.dto.vote.VoteResponseDTO;
 import com.yushan.engagement_service.dto.vote.VoteUserResponseDTO;
 import com.yushan.engagement_service.entity.Vote;
+import com.yushan.engagement_service.exception.ServiceUnavailableException;
 import com.yushan.engagement_service.exception.ValidationException;
+import com.yushan.engagement_service.util.RemoteCalls;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -39,9 +48,14 @@ class VoteServiceTest {
     @Mock
     private KafkaEventProducerService kafkaEventProducerService;
 
+    @Mock
+    private VoteCountAggregator voteCountAggregator;
+
     @InjectMocks
     private VoteService voteService;
 
+    private final RemoteCalls remoteCalls = new RemoteCalls();
+
     private UUID testUserId;
     private Integer testNovelId;
     private Vote testVote;
@@ -68,20 +82,22 @@ class VoteServiceTest {
         testVoteCheck = new VoteCheckResponseDTO();
         testVoteCheck.setCanVote(true);
         testVoteCheck.setMessage("Can vote");
+
+        // Run forked calls inline and in fork order so interactions are deterministic
+        ReflectionTestUtils.setField(remoteCalls, "remoteCallExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(voteService, "remoteCalls", remoteCalls);
     }
 
     @Test
     void createVote_WithValidData_ShouldCreateVote() {
         // Arrange
+        testNovel.setVoteCnt(41);
         ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
         novelResponse.setData(testNovel);
         
         ApiResponse<VoteCheckResponseDTO> voteCheckResponse = new ApiResponse<>();
         voteCheckResponse.setData(testVoteCheck);
         
-        ApiResponse<Integer> voteCountResponse = new ApiResponse<>();
-        voteCountResponse.setData(5);
-        
         when(contentServiceClient.getNovelById(testNovelId)).thenReturn(novelResponse);
         when(gamificationServiceClient.checkVoteEligibility()).thenReturn(voteCheckResponse);
         when(voteMapper.insertSelective(any(Vote.class))).thenAnswer(invocation -> {
@@ -89,8 +105,7 @@ class VoteServiceTest {
             vote.setId(1);
             return 1;
         });
-        when(contentServiceClient.incrementVoteCount(testNovelId)).thenReturn(new ApiResponse<>());
-        when(contentServiceClient.getNovelVoteCount(testNovelId)).thenReturn(voteCountResponse);
+        when(voteCountAggregator.recordVote(testNovelId)).thenReturn(3);
 
         // Act
         VoteResponseDTO result = voteService.createVote(testNovelId, testUserId);
@@ -98,17 +113,94 @@ class VoteServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(testNovelId, result.getNovelId());
-        assertEquals(5, result.getVoteCount());
+        assertEquals(44, result.getVoteCount());
         assertTrue(result.getIsVoted());
         
         verify(contentServiceClient).getNovelById(testNovelId);
         verify(gamificationServiceClient).checkVoteEligibility();
         verify(voteMapper).insertSelective(any(Vote.class));
-        verify(contentServiceClient).incrementVoteCount(testNovelId);
-        verify(contentServiceClient).getNovelVoteCount(testNovelId);
+        verify(voteCountAggregator).recordVote(testNovelId);
+        verify(contentServiceClient, never()).incrementVoteCount(anyInt());
+        verify(contentServiceClient, never()).getNovelVoteCount(anyInt());
         verify(kafkaEventProducerService).publishVoteCreatedEvent(anyInt(), eq(testUserId));
     }
 
+    @Test
+    void createVote_WithNovelMissingVoteCount_ShouldCountPendingVotesOnly() {
+        // Arrange
+        ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
+        novelResponse.setData(testNovel);
+        ApiResponse<VoteCheckResponseDTO> voteCheckResponse = new ApiResponse<>();
+        voteCheckResponse.setData(testVoteCheck);
+
+        when(contentServiceClient.getNovelById(testNovelId)).thenReturn(novelResponse);
+        when(gamificationServiceClient.checkVoteEligibility()).thenReturn(voteCheckResponse);
+        when(voteCountAggregator.recordVote(testNovelId)).thenReturn(1);
+
+        // Act
+        VoteResponseDTO result = voteService.createVote(testNovelId, testUserId);
+
+        // Assert
+        assertEquals(1, result.getVoteCount());
+    }
+
+    @Test
+    void createVote_ShouldRunNovelLookupAndEligibilityCheckConcurrently() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(remoteCalls, "remoteCallExecutor", executor);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        ApiResponse<NovelDetailResponseDTO> novelResponse = new ApiResponse<>();
+        novelResponse.setData(testNovel);
+        ApiResponse<VoteCheckResponseDTO> voteCheckResponse = new ApiResponse<>();
+        voteCheckResponse.setData(testVoteCheck);
+
+        when(contentServiceClient.getNovelById(testNovelId)).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS), "Eligibility check did not start concurrently");
+            return novelResponse;
+        });
+        when(gamificationServiceClient.checkVoteEligibility()).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS), "Novel lookup did not start concurrently");
+            return voteCheckResponse;
+        });
+
+        // Act
+        try {
+            VoteResponseDTO result = voteService.createVote(testNovelId, testUserId);
+
+            // Assert
+            assertTrue(result.getIsVoted());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void createVote_WhenDownstreamMissesDeadline_ShouldFailWithoutInserting() {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(remoteCalls, "remoteCallExecutor", executor);
+        ReflectionTestUtils.setField(voteService, "remoteCallDeadline", Duration.ofMillis(50));
+        ApiResponse<VoteCheckResponseDTO> voteCheckResponse = new ApiResponse<>();
+        voteCheckResponse.setData(testVoteCheck);
+
+        when(contentServiceClient.getNovelById(testNovelId)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return null;
+        });
+        lenient().when(gamificationServiceClient.checkVoteEligibility()).thenReturn(voteCheckResponse);
+
+        // Act & Assert
+        try {
+            assertThrows(ServiceUnavailableException.class, () -> voteService.createVote(testNovelId, testUserId));
+            verify(voteMapper, never()).insertSelective(any(Vote.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void createVote_WithNonExistentNovel_ShouldThrowException() {
         // Arrange
@@ -167,6 +167,28 @@ class JwtUtilTest {
         assertEquals("access", result.get("tokenType"));
     }
 
+    @Test
+    void parseToken_WithValidToken_ReturnsAllClaims() {
+        // Act
+        JwtClaims claims = jwtUtil.parseToken(validToken);
+
+        // Assert
+        assertEquals("550e8400-e29b-41d4-a716-446655440001", claims.userId());
+        assertEquals("test@example.com", claims.email());
+        assertEquals("test_user", claims.username());
+        assertEquals("AUTHOR", claims.role());
+        assertEquals(0, claims.status());
+        assertTrue(claims.isAccessToken());
+        assertEquals(jwtUtil.extractExpiration(validToken).toInstant(), claims.expiration());
+    }
+
+    @Test
+    void parseToken_WithExpiredOrInvalidToken_ThrowsException() {
+        // Act & Assert
+        assertThrows(Exception.class, () -> jwtUtil.parseToken(expiredToken));
+        assertThrows(Exception.class, () -> jwtUtil.parseToken(invalidToken));
+    }
+
     @Test
     void isTokenExpired_WithValidToken_ReturnsFalse() {
         // Act
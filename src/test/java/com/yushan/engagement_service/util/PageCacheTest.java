@@ -0,0 +1,212 @@
+package com.yushan.engagement_service.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PageCache with a mocked Redis.
+ */
+class PageCacheTest {
+
+    private static final String KEY = "comment:chapter:1:createTime:desc";
+
+    private RedisUtil redisUtil;
+    private PageCache pageCache;
+
+    @BeforeEach
+    void setUp() {
+        redisUtil = mock(RedisUtil.class);
+        pageCache = new PageCache();
+        ReflectionTestUtils.setField(pageCache, "redisUtil", redisUtil);
+        ReflectionTestUtils.setField(pageCache, "lockWaitMs", 1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_OnHit_ShouldNotRunLoader() {
+        // Arrange
+        when(redisUtil.get(KEY, String.class)).thenReturn("page");
+
+        // Act
+        String result = pageCache.get(() -> KEY, String.class, () -> fail("Loader should not run on a hit"));
+
+        // Assert
+        assertEquals("page", result);
+        verify(redisUtil, never()).setIfAbsent(anyString(), any(), any());
+    }
+
+    @Test
+    void get_OnMiss_ShouldLoadUnderLockAndCacheWithJitteredTtl() {
+        // Arrange
+        when(redisUtil.setIfAbsent(eq(KEY + ":lock"), any(), any())).thenReturn(true);
+
+        // Act
+        String result = pageCache.get(() -> KEY, String.class, () -> "page");
+
+        // Assert
+        assertEquals("page", result);
+        verify(redisUtil).set(eq(KEY), eq("page"), argThat((Duration ttl) ->
+                ttl.compareTo(Duration.ofSeconds(270)) >= 0 && ttl.compareTo(Duration.ofSeconds(330)) <= 0));
+        verify(redisUtil).delete(KEY + ":lock");
+    }
+
+    @Test
+    void get_WhenAnotherInstanceHoldsLock_ShouldWaitForItsResult() {
+        // Arrange
+        when(redisUtil.setIfAbsent(eq(KEY + ":lock"), any(), any())).thenReturn(false);
+        when(redisUtil.get(KEY, String.class)).thenReturn(null, null, "rebuilt");
+
+        // Act
+        String result = pageCache.get(() -> KEY, String.class, () -> fail("Loader should not run while the page is rebuilt"));
+
+        // Assert
+        assertEquals("rebuilt", result);
+        verify(redisUtil, never()).set(anyString(), any(), any(Duration.class));
+        verify(redisUtil, never()).delete(KEY + ":lock");
+    }
+
+    @Test
+    void get_WhenLockHolderNeverFinishes_ShouldFallBackToLoader() {
+        // Arrange
+        when(redisUtil.setIfAbsent(eq(KEY + ":lock"), any(), any())).thenReturn(false);
+
+        // Act
+        String result = pageCache.get(() -> KEY, String.class, () -> "page");
+
+        // Assert
+        assertEquals("page", result);
+        verify(redisUtil, times(11)).get(KEY, String.class);
+    }
+
+    @Test
+    void get_WithConcurrentMisses_ShouldLoadOncePerInstance() throws Exception {
+        // Arrange
+        when(redisUtil.setIfAbsent(eq(KEY + ":lock"), any(), any())).thenReturn(true);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            results.add(executor.submit(() -> pageCache.get(() -> KEY, String.class, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                awaitQuietly(release);
+                return "page";
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> pageCache.get(() -> KEY, String.class, () -> {
+                    loads.incrementAndGet();
+                    return "page";
+                })));
+            }
+            Thread.sleep(50);
+            release.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                assertEquals("page", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WhenRedisFails_ShouldServeFromLoader() {
+        // Arrange
+        when(redisUtil.get(KEY, String.class)).thenThrow(new RuntimeException("Redis down"));
+        when(redisUtil.setIfAbsent(anyString(), any(), any())).thenThrow(new RuntimeException("Redis down"));
+        doThrow(new RuntimeException("Redis down")).when(redisUtil).set(anyString(), any(), any(Duration.class));
+
+        // Act
+        String result = pageCache.get(() -> KEY, String.class, () -> "page");
+
+        // Assert
+        assertEquals("page", result);
+    }
+
+    @Test
+    void get_WhenKeyCannotBeResolved_ShouldServeFromLoader() {
+        // Act
+        String result = pageCache.get(() -> {
+            throw new RuntimeException("Redis down");
+        }, String.class, () -> "page");
+
+        // Assert
+        assertEquals("page", result);
+        verifyNoInteractions(redisUtil);
+    }
+
+    @Test
+    void get_WhenDisabled_ShouldBypassRedis() {
+        // Arrange
+        ReflectionTestUtils.setField(pageCache, "enabled", false);
+
+        // Act
+        String result = pageCache.get(() -> KEY, String.class, () -> "page");
+
+        // Assert
+        assertEquals("page", result);
+        verifyNoInteractions(redisUtil);
+    }
+
+    @Test
+    void evictAfterCommit_WithoutTransaction_ShouldEvictImmediately() {
+        // Act
+        pageCache.evictAfterCommit(() -> redisUtil.delete(KEY));
+
+        // Assert
+        verify(redisUtil).delete(KEY);
+    }
+
+    @Test
+    void evictAfterCommit_InTransaction_ShouldWaitForCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        pageCache.evictAfterCommit(() -> redisUtil.delete(KEY));
+
+        // Assert
+        verify(redisUtil, never()).delete(KEY);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(redisUtil).delete(KEY);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,11 +6,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -30,6 +43,9 @@ class RedisUtilTest {
     @Mock
     private ValueOperations<String, Object> valueOperations;
 
+    @Mock
+    private ZSetOperations<String, Object> zSetOperations;
+
     @InjectMocks
     private RedisUtil redisUtil;
 
@@ -232,22 +248,77 @@ class RedisUtilTest {
     }
 
     @Test
-    void keys_ShouldReturnMatchingKeys() {
+    @SuppressWarnings("unchecked")
+    void scanKeys_ShouldUseScanInsteadOfKeys() {
+        // Arrange
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn("test:key1", "test:key2");
+        doCallRealMethod().when(cursor).forEachRemaining(any());
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+
+        // Act
+        Set<String> result = redisUtil.scanKeys("test:*");
+
+        // Assert
+        assertEquals(Set.of("test:key1", "test:key2"), result);
+        verify(redisTemplate, never()).keys(anyString());
+        verify(cursor).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteByPattern_ShouldUnlinkScannedKeysInBatches() {
         // Arrange
-        String pattern = "test:*";
-        Set<String> expectedKeys = new HashSet<>();
-        expectedKeys.add("test:key1");
-        expectedKeys.add("test:key2");
-        when(redisTemplate.keys(pattern)).thenReturn(expectedKeys);
+        Cursor<String> cursor = mock(Cursor.class);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            keys.add("test:key" + i);
+        }
+        Iterator<String> iterator = keys.iterator();
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(redisTemplate.unlink(anyCollection())).thenAnswer(invocation ->
+                (long) ((Collection<?>) invocation.getArgument(0)).size());
 
         // Act
-        Set<String> result = redisUtil.keys(pattern);
+        long deleted = redisUtil.deleteByPattern("test:*");
 
         // Assert
-        assertEquals(expectedKeys, result);
-        verify(redisTemplate).keys(pattern);
+        assertEquals(501, deleted);
+        verify(redisTemplate, times(2)).unlink(anyCollection());
+        verify(redisTemplate, never()).keys(anyString());
     }
 
+    @Test
+    void namespaceVersion_ShouldReadAllGenerationsInOneCall() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("ns:comment:chapter", "ns:comment:chapter:1")))
+                .thenReturn(Arrays.asList(3, null));
+
+        // Act
+        String version = redisUtil.namespaceVersion("comment:chapter", "comment:chapter:1");
+
+        // Assert
+        assertEquals("v3.0", version);
+    }
+
+    @Test
+    void bumpNamespace_ShouldIncrementGenerationWithTtl() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        // Act
+        redisUtil.bumpNamespace("comment:chapter:1");
+
+        // Assert
+        verify(valueOperations).increment("ns:comment:chapter:1");
+        verify(redisTemplate).expire("ns:comment:chapter:1", Duration.ofDays(1));
+    }
+
+
     // Comment-specific cache methods tests
 
     @Test
@@ -307,7 +378,7 @@ class RedisUtilTest {
         redisUtil.cacheChapterComments(chapterId, commentsData);
 
         // Assert
-        verify(valueOperations).set("comment:chapter:1", commentsData, Duration.ofHours(1));
+        verify(valueOperations).set("comment:chapter:1:v0.0", commentsData, Duration.ofHours(1));
     }
 
     @Test
@@ -316,14 +387,55 @@ class RedisUtilTest {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         Integer chapterId = 1;
         String expectedData = "comments data";
-        when(valueOperations.get("comment:chapter:1")).thenReturn(expectedData);
+        when(valueOperations.get("comment:chapter:1:v0.0")).thenReturn(expectedData);
 
         // Act
         Object result = redisUtil.getCachedChapterComments(chapterId);
 
         // Assert
         assertEquals(expectedData, result);
-        verify(valueOperations).get("comment:chapter:1");
+        verify(valueOperations).get("comment:chapter:1:v0.0");
+    }
+
+    @Test
+    void invalidateChapterComments_ShouldMoveChapterToNewGeneration() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("ns:comment:chapter", "ns:comment:chapter:1")))
+                .thenReturn(Arrays.asList(null, 4));
+
+        // Act
+        redisUtil.invalidateChapterComments(1);
+        String key = redisUtil.chapterCommentsKey(1, "createTime:desc");
+
+        // Assert
+        verify(valueOperations).increment("ns:comment:chapter:1");
+        assertEquals("comment:chapter:1:v0.4:createTime:desc", key);
+        verify(redisTemplate, never()).keys(anyString());
+    }
+
+    @Test
+    void invalidateNovelReviews_ShouldMoveNovelToNewGeneration() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        // Act
+        redisUtil.invalidateNovelReviews(7);
+
+        // Assert
+        assertEquals("review:novel:7:v0.0:createTime:desc", redisUtil.novelReviewsKey(7, "createTime:desc"));
+        verify(valueOperations).increment("ns:review:novel:7");
+    }
+
+    @Test
+    void setIfAbsent_ShouldReportWhetherKeyWasCreated() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent("lock", "1", Duration.ofSeconds(5))).thenReturn(true, false);
+
+        // Act & Assert
+        assertTrue(redisUtil.setIfAbsent("lock", "1", Duration.ofSeconds(5)));
+        assertFalse(redisUtil.setIfAbsent("lock", "1", Duration.ofSeconds(5)));
     }
 
     @Test
@@ -397,7 +509,7 @@ class RedisUtilTest {
         redisUtil.cacheNovelReviews(novelId, reviewsData);
 
         // Assert
-        verify(valueOperations).set("review:novel:1", reviewsData, Duration.ofHours(2));
+        verify(valueOperations).set("review:novel:1:v0.0", reviewsData, Duration.ofHours(2));
     }
 
     @Test
@@ -406,14 +518,14 @@ class RedisUtilTest {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         Integer novelId = 1;
         String expectedData = "reviews data";
-        when(valueOperations.get("review:novel:1")).thenReturn(expectedData);
+        when(valueOperations.get("review:novel:1:v0.0")).thenReturn(expectedData);
 
         // Act
         Object result = redisUtil.getCachedNovelReviews(novelId);
 
         // Assert
         assertEquals(expectedData, result);
-        verify(valueOperations).get("review:novel:1");
+        verify(valueOperations).get("review:novel:1:v0.0");
     }
 
     @Test
@@ -501,7 +613,7 @@ class RedisUtilTest {
         redisUtil.cacheUserVotes(userId, votesData);
 
         // Assert
-        verify(valueOperations).set("vote:user:user123", votesData, Duration.ofHours(1));
+        verify(valueOperations).set("vote:user:v0:user123", votesData, Duration.ofHours(1));
     }
 
     @Test
@@ -510,14 +622,14 @@ class RedisUtilTest {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         String userId = "user123";
         String expectedData = "votes data";
-        when(valueOperations.get("vote:user:user123")).thenReturn(expectedData);
+        when(valueOperations.get("vote:user:v0:user123")).thenReturn(expectedData);
 
         // Act
         Object result = redisUtil.getCachedUserVotes(userId);
 
         // Assert
         assertEquals(expectedData, result);
-        verify(valueOperations).get("vote:user:user123");
+        verify(valueOperations).get("vote:user:v0:user123");
     }
 
     // Like-specific cache methods tests
@@ -604,7 +716,7 @@ class RedisUtilTest {
         redisUtil.cacheEngagementStats(entityType, entityId, statsData);
 
         // Assert
-        verify(valueOperations).set("engagement:novel:1", statsData, Duration.ofMinutes(15));
+        verify(valueOperations).set("engagement:v0:novel:1", statsData, Duration.ofMinutes(15));
     }
 
     @Test
@@ -614,132 +726,137 @@ class RedisUtilTest {
         String entityType = "novel";
         Integer entityId = 1;
         String expectedData = "stats data";
-        when(valueOperations.get("engagement:novel:1")).thenReturn(expectedData);
+        when(valueOperations.get("engagement:v0:novel:1")).thenReturn(expectedData);
 
         // Act
         Object result = redisUtil.getCachedEngagementStats(entityType, entityId);
 
         // Assert
         assertEquals(expectedData, result);
-        verify(valueOperations).get("engagement:novel:1");
+        verify(valueOperations).get("engagement:v0:novel:1");
     }
 
     // Cache invalidation methods tests
 
     @Test
-    void invalidateCommentCaches_ShouldDeleteCommentAndChapterCaches() {
+    void invalidateCommentCaches_ShouldDeleteCommentAndBumpChapterFamily() {
         // Arrange
-        Integer commentId = 1;
-        Set<String> commentKeys = new HashSet<>();
-        commentKeys.add("comment:chapter:1");
-        commentKeys.add("comment:chapter:2");
-        when(redisTemplate.keys("comment:chapter:*")).thenReturn(commentKeys);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
         // Act
-        redisUtil.invalidateCommentCaches(commentId);
+        redisUtil.invalidateCommentCaches(1);
 
         // Assert
         verify(redisTemplate).delete("comment:1");
-        verify(redisTemplate).keys("comment:chapter:*");
-        verify(redisTemplate).delete(commentKeys);
+        verify(valueOperations).increment("ns:comment:chapter");
+        verify(redisTemplate, never()).keys(anyString());
     }
 
     @Test
-    void invalidateCommentCaches_WhenNoChapterKeys_ShouldOnlyDeleteComment() {
+    void invalidateReviewCaches_ShouldDeleteReviewAndBumpNovelFamily() {
         // Arrange
-        Integer commentId = 1;
-        when(redisTemplate.keys("comment:chapter:*")).thenReturn(new HashSet<>());
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
         // Act
-        redisUtil.invalidateCommentCaches(commentId);
+        redisUtil.invalidateReviewCaches(1);
 
         // Assert
-        verify(redisTemplate).delete("comment:1");
-        verify(redisTemplate).keys("comment:chapter:*");
-        verify(redisTemplate, never()).delete(any(Set.class));
+        verify(redisTemplate).delete("review:1");
+        verify(valueOperations).increment("ns:review:novel");
+        verify(redisTemplate, never()).keys(anyString());
     }
 
     @Test
-    void invalidateReviewCaches_ShouldDeleteReviewAndNovelCaches() {
+    void invalidateVoteCaches_ShouldDeleteNovelVotesAndBumpUserVotes() {
         // Arrange
-        Integer reviewId = 1;
-        Set<String> reviewKeys = new HashSet<>();
-        reviewKeys.add("review:novel:1");
-        reviewKeys.add("review:novel:2");
-        when(redisTemplate.keys("review:novel:*")).thenReturn(reviewKeys);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
         // Act
-        redisUtil.invalidateReviewCaches(reviewId);
+        redisUtil.invalidateVoteCaches(1);
 
         // Assert
-        verify(redisTemplate).delete("review:1");
-        verify(redisTemplate).keys("review:novel:*");
-        verify(redisTemplate).delete(reviewKeys);
+        verify(redisTemplate).delete("vote:novel:1");
+        verify(valueOperations).increment("ns:vote:user");
+        verify(redisTemplate, never()).keys(anyString());
     }
 
     @Test
-    void invalidateVoteCaches_ShouldDeleteVoteCaches() {
+    void invalidateEngagementCaches_ShouldBumpEngagementGeneration() {
         // Arrange
-        Integer novelId = 1;
-        Set<String> voteKeys = new HashSet<>();
-        voteKeys.add("vote:novel:1");
-        Set<String> userVoteKeys = new HashSet<>();
-        userVoteKeys.add("vote:user:user1");
-        when(redisTemplate.keys("vote:novel:1")).thenReturn(voteKeys);
-        when(redisTemplate.keys("vote:user:*")).thenReturn(userVoteKeys);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
         // Act
-        redisUtil.invalidateVoteCaches(novelId);
+        redisUtil.invalidateEngagementCaches();
 
         // Assert
-        verify(redisTemplate).keys("vote:novel:1");
-        verify(redisTemplate).keys("vote:user:*");
-        verify(redisTemplate).delete(voteKeys);
-        verify(redisTemplate).delete(userVoteKeys);
+        verify(valueOperations).increment("ns:engagement");
+        verify(redisTemplate, never()).keys(anyString());
     }
 
     @Test
-    void invalidateEngagementCaches_ShouldDeleteEngagementCaches() {
+    @SuppressWarnings("unchecked")
+    void clearAllCaches_ShouldScanOnlyServicePrefixes() {
         // Arrange
-        Set<String> engagementKeys = new HashSet<>();
-        engagementKeys.add("engagement:novel:1");
-        engagementKeys.add("engagement:comment:1");
-        when(redisTemplate.keys("engagement:*")).thenReturn(engagementKeys);
+        Cursor<String> empty = mock(Cursor.class);
+        when(empty.hasNext()).thenReturn(false);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(empty);
 
         // Act
-        redisUtil.invalidateEngagementCaches();
+        redisUtil.clearAllCaches();
 
         // Assert
-        verify(redisTemplate).keys("engagement:*");
-        verify(redisTemplate).delete(engagementKeys);
+        ArgumentCaptor<ScanOptions> options = ArgumentCaptor.forClass(ScanOptions.class);
+        verify(redisTemplate, times(5)).scan(options.capture());
+        assertEquals(List.of("comment:*", "review:*", "vote:*", "like:*", "engagement:*"),
+                options.getAllValues().stream().map(ScanOptions::getPattern).toList());
+        verify(redisTemplate, never()).keys(anyString());
+        verify(redisTemplate, never()).unlink(anyCollection());
     }
 
     @Test
-    void clearAllCaches_ShouldDeleteAllKeys() {
+    void getTopScores_ShouldReadHighestScoresFirst() {
         // Arrange
-        Set<String> allKeys = new HashSet<>();
-        allKeys.add("key1");
-        allKeys.add("key2");
-        when(redisTemplate.keys("*")).thenReturn(allKeys);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        Set<ZSetOperations.TypedTuple<Object>> top = new java.util.LinkedHashSet<>(List.of(
+                new DefaultTypedTuple<>("a", 5.0), new DefaultTypedTuple<>("b", 2.0)));
+        when(zSetOperations.reverseRangeWithScores("board", 0, 9)).thenReturn(top);
 
         // Act
-        redisUtil.clearAllCaches();
+        List<ZSetOperations.TypedTuple<Object>> result = redisUtil.getTopScores("board", 10);
 
         // Assert
-        verify(redisTemplate).keys("*");
-        verify(redisTemplate).delete(allKeys);
+        assertEquals(2, result.size());
+        assertEquals("a", result.get(0).getValue());
     }
 
     @Test
-    void clearAllCaches_WhenNoKeys_ShouldNotDelete() {
+    void subtractScores_ShouldStoreWeightedUnionAndDropNonPositiveScores() {
         // Arrange
-        when(redisTemplate.keys("*")).thenReturn(new HashSet<>());
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
 
         // Act
-        redisUtil.clearAllCaches();
+        redisUtil.subtractScores("board:24h", "board:h:1");
+
+        // Assert
+        verify(zSetOperations).unionAndStore("board:24h", List.of("board:h:1"), "board:24h", Aggregate.SUM, Weights.of(1, -1));
+        verify(zSetOperations).removeRangeByScore("board:24h", Double.NEGATIVE_INFINITY, 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pipelined_ShouldRunCallsInsideOnePipeline() {
+        // Arrange
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            ((SessionCallback<Object>) invocation.getArgument(0)).execute(redisTemplate);
+            return List.of();
+        });
+        List<String> calls = new ArrayList<>();
+
+        // Act
+        redisUtil.pipelined(() -> calls.add("called"));
 
         // Assert
-        verify(redisTemplate).keys("*");
-        verify(redisTemplate, never()).delete(any(Set.class));
+        assertEquals(List.of("called"), calls);
+        verify(redisTemplate).executePipelined(any(SessionCallback.class));
     }
 }
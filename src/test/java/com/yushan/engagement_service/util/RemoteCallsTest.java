@@ -0,0 +1,186 @@
+package com.yushan.engagement_service.util;
+
+import com.yushan.engagement_service.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RemoteCalls on a real thread pool.
+ */
+class RemoteCallsTest {
+
+    private ExecutorService executor;
+    private RemoteCalls remoteCalls;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        remoteCalls = new RemoteCalls();
+        ReflectionTestUtils.setField(remoteCalls, "remoteCallExecutor", executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void join_ShouldRunForkedCallsConcurrently() {
+        // Arrange
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        RemoteCalls.Scope scope = remoteCalls.open();
+
+        // Act
+        Supplier<String> first = scope.fork(() -> awaitThenReturn(bothStarted, "first"));
+        Supplier<String> second = scope.fork(() -> awaitThenReturn(bothStarted, "second"));
+        scope.join(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals("first", first.get());
+        assertEquals("second", second.get());
+    }
+
+    @Test
+    void join_WhenOneCallFails_ShouldRethrowAndInterruptTheOther() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        RemoteCalls.Scope scope = remoteCalls.open();
+        scope.fork(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "slow";
+        });
+        scope.fork(() -> {
+            awaitQuietly(started);
+            throw new IllegalArgumentException("bad request");
+        });
+
+        // Act
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> scope.join(Duration.ofSeconds(5)));
+
+        // Assert
+        assertEquals("bad request", exception.getMessage());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void join_WhenDeadlinePasses_ShouldThrowServiceUnavailable() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        RemoteCalls.Scope scope = remoteCalls.open();
+        Supplier<String> slow = scope.fork(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "slow";
+        });
+
+        awaitQuietly(started);
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> scope.join(Duration.ofMillis(50)));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertThrows(ServiceUnavailableException.class, slow::get);
+    }
+
+    @Test
+    void join_ShouldNotOutwaitRequestDeadline() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestDeadline.start(request, Duration.ofMillis(50));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        CountDownLatch release = new CountDownLatch(1);
+        RemoteCalls.Scope scope = remoteCalls.open();
+        scope.fork(() -> {
+            awaitQuietly(release);
+            return "slow";
+        });
+
+        // Act
+        long start = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class, () -> scope.join(Duration.ofSeconds(10)));
+        release.countDown();
+
+        // Assert
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    void fork_ShouldExposeCallerRequestAttributes() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        RemoteCalls.Scope scope = remoteCalls.open();
+
+        // Act
+        Supplier<String> header = scope.fork(() -> ((ServletRequestAttributes) RequestContextHolder
+                .currentRequestAttributes()).getRequest().getHeader("Authorization"));
+        scope.join(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals("Bearer token", header.get());
+    }
+
+    @Test
+    void fork_AfterFailure_ShouldNotStartCall() {
+        // Arrange
+        ReflectionTestUtils.setField(remoteCalls, "remoteCallExecutor", (Executor) Runnable::run);
+        RemoteCalls.Scope scope = remoteCalls.open();
+        boolean[] started = {false};
+
+        // Act
+        scope.fork(() -> {
+            throw new IllegalStateException("down");
+        });
+        scope.fork(() -> started[0] = true);
+
+        // Assert
+        assertThrows(IllegalStateException.class, () -> scope.join(Duration.ofSeconds(1)));
+        assertFalse(started[0]);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String awaitThenReturn(CountDownLatch latch, String value) {
+        latch.countDown();
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "Calls did not run concurrently");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
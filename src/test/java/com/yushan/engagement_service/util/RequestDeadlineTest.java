@@ -0,0 +1,74 @@
+package com.yushan.engagement_service.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlineTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void remaining_OutsideRequest_ShouldBeNull() {
+        // Act & Assert
+        assertNull(RequestDeadline.remaining());
+        assertEquals(Duration.ofSeconds(3), RequestDeadline.clamp(Duration.ofSeconds(3)));
+    }
+
+    @Test
+    void remaining_WithoutStartedBudget_ShouldBeNull() {
+        // Arrange
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // Act & Assert
+        assertNull(RequestDeadline.remaining());
+    }
+
+    @Test
+    void remaining_ShouldCountDownFromBudget() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestDeadline.start(request, Duration.ofSeconds(2));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act
+        Duration remaining = RequestDeadline.remaining();
+
+        // Assert
+        assertTrue(remaining.compareTo(Duration.ofSeconds(2)) <= 0);
+        assertTrue(remaining.compareTo(Duration.ofSeconds(1)) > 0);
+        assertEquals(Duration.ofMillis(100), RequestDeadline.clamp(Duration.ofMillis(100)));
+        assertTrue(RequestDeadline.clamp(Duration.ofSeconds(10)).compareTo(Duration.ofSeconds(2)) <= 0);
+    }
+
+    @Test
+    void clamp_AfterDeadline_ShouldBeZero() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestDeadline.start(request, Duration.ofMillis(-5));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act & Assert
+        assertTrue(RequestDeadline.remaining().isNegative());
+        assertEquals(Duration.ZERO, RequestDeadline.clamp(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void parse_ShouldReadMillisAndIgnoreMalformedValues() {
+        // Act & Assert
+        assertEquals(Duration.ofMillis(1500), RequestDeadline.parse(" 1500 "));
+        assertEquals(Duration.ZERO, RequestDeadline.parse("0"));
+        assertNull(RequestDeadline.parse(null));
+        assertNull(RequestDeadline.parse(""));
+        assertNull(RequestDeadline.parse("soon"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.yushan.engagement_service.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpoolFile against a temporary directory.
+ */
+class SpoolFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void poll_ShouldReturnRecordsInAppendOrder() throws IOException {
+        // Arrange
+        try (SpoolFile spool = new SpoolFile(directory, 64, 4)) {
+            spool.append(bytes("first"));
+            spool.append(bytes("second"));
+
+            // Act & Assert
+            assertEquals(2, spool.pendingRecords());
+            assertEquals("first", string(spool.poll()));
+            assertEquals("second", string(spool.poll()));
+            assertNull(spool.poll());
+            assertEquals(0, spool.pendingRecords());
+        }
+    }
+
+    @Test
+    void append_ShouldRollOverToNewSegmentsAndDeleteDrainedOnes() throws IOException {
+        // Arrange
+        try (SpoolFile spool = new SpoolFile(directory, 32, 4)) {
+            for (int i = 0; i < 6; i++) {
+                assertTrue(spool.append(bytes("record" + i)));
+            }
+            assertEquals(3, spool.segmentCount());
+
+            // Act
+            for (int i = 0; i < 6; i++) {
+                assertEquals("record" + i, string(spool.poll()));
+            }
+            assertNull(spool.poll());
+
+            // Assert
+            assertEquals(1, spool.segmentCount());
+            assertEquals(1, segmentFiles());
+        }
+    }
+
+    @Test
+    void append_WhenAllSegmentsFull_ShouldRejectRecord() throws IOException {
+        // Arrange
+        try (SpoolFile spool = new SpoolFile(directory, 32, 1)) {
+            assertTrue(spool.append(bytes("record0")));
+            assertTrue(spool.append(bytes("record1")));
+
+            // Act & Assert
+            assertFalse(spool.append(bytes("record2")));
+            assertFalse(spool.append(new byte[64]));
+            assertEquals(2, spool.pendingRecords());
+        }
+    }
+
+    @Test
+    void reopen_ShouldResumeFromLastReadRecord() throws IOException {
+        // Arrange
+        try (SpoolFile spool = new SpoolFile(directory, 32, 4)) {
+            for (int i = 0; i < 4; i++) {
+                spool.append(bytes("record" + i));
+            }
+            spool.poll();
+        }
+
+        // Act
+        try (SpoolFile reopened = new SpoolFile(directory, 32, 4)) {
+            reopened.append(bytes("record4"));
+
+            // Assert
+            assertEquals(4, reopened.pendingRecords());
+            for (int i = 1; i <= 4; i++) {
+                assertEquals("record" + i, string(reopened.poll()));
+            }
+            assertNull(reopened.poll());
+        }
+    }
+
+    @Test
+    void reopen_WithoutCommit_ShouldReplayPeekedRecords() throws IOException {
+        // Arrange
+        try (SpoolFile spool = new SpoolFile(directory, 32, 4)) {
+            for (int i = 0; i < 3; i++) {
+                spool.append(bytes("record" + i));
+            }
+            assertEquals(List.of("record0", "record1"), spool.peek(2).stream().map(SpoolFileTest::string).toList());
+            spool.commit(1);
+            spool.peek(2);
+        }
+
+        // Act
+        try (SpoolFile reopened = new SpoolFile(directory, 32, 4)) {
+
+            // Assert
+            assertEquals(2, reopened.pendingRecords());
+            assertEquals("record1", string(reopened.poll()));
+            assertEquals("record2", string(reopened.poll()));
+            assertNull(reopened.poll());
+        }
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,225 @@
+package com.yushan.engagement_service.util;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TwoTierCache with a mocked Redis tier.
+ */
+class TwoTierCacheTest {
+
+    private RedisUtil redisUtil;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        redisUtil = mock(RedisUtil.class);
+        cache = new TwoTierCache("users",
+                Caffeine.newBuilder().maximumSize(100).recordStats().build(),
+                redisUtil, Duration.ofMinutes(10),
+                value -> !"Unknown User".equals(value));
+    }
+
+    @Test
+    void get_WithLoader_ShouldLoadOnceAndWriteThroughToRedis() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        String first = cache.get("u1", () -> "alice" + loads.incrementAndGet());
+        String second = cache.get("u1", () -> "alice" + loads.incrementAndGet());
+
+        // Assert
+        assertEquals("alice1", first);
+        assertEquals("alice1", second);
+        assertEquals(1, loads.get());
+        verify(redisUtil).get("metadata:users:u1");
+        verify(redisUtil).set("metadata:users:u1", "alice1", Duration.ofMinutes(10));
+    }
+
+    @Test
+    void get_WithLoader_ShouldPreferRedisOverLoader() {
+        // Arrange
+        when(redisUtil.get("metadata:users:u1")).thenReturn("alice");
+
+        // Act
+        String result = cache.get("u1", () -> fail("Loader should not run on a Redis hit"));
+
+        // Assert
+        assertEquals("alice", result);
+        assertEquals(1, cache.getRedisHitCount());
+        verify(redisUtil, never()).set(anyString(), any(), any(Duration.class));
+    }
+
+    @Test
+    void get_WithLoader_ShouldNotKeepUncacheableValues() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.get("u1", () -> {
+            loads.incrementAndGet();
+            return "Unknown User";
+        });
+        cache.get("u1", () -> {
+            loads.incrementAndGet();
+            return "Unknown User";
+        });
+
+        // Assert
+        assertEquals(2, loads.get());
+        verify(redisUtil, never()).set(anyString(), any(), any(Duration.class));
+    }
+
+    @Test
+    void get_WithLoader_ShouldCoalesceConcurrentMisses() throws Exception {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get("u1", () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "alice";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("alice", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WithLoader_ShouldNotHoldTheLocalCacheWhileLoading() throws Exception {
+        // Arrange
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act
+        try {
+            Future<String> slowLoad = executor.submit(() -> cache.get("u1", () -> {
+                loading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return "alice";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            // A loader running inside Caffeine's compute would block this write until it returned
+            CompletableFuture.runAsync(() -> cache.getNativeCache().put("u1", "bob"))
+                    .get(1, TimeUnit.SECONDS);
+            release.countDown();
+            slowLoad.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_WhenRedisFails_ShouldFallBackToLoader() {
+        // Arrange
+        when(redisUtil.get(anyString())).thenThrow(new RuntimeException("Connection refused"));
+
+        // Act
+        String first = cache.get("u1", () -> "alice");
+        String second = cache.get("u2", () -> "bob");
+
+        // Assert
+        assertEquals("alice", first);
+        assertEquals("bob", second);
+        assertEquals(1, cache.getRedisErrorCount());
+        // Redis is bypassed after the first failure instead of being retried on every miss
+        verify(redisUtil, times(1)).get(anyString());
+    }
+
+    @Test
+    void get_WithoutLoader_ShouldPopulateLocalTierFromRedis() {
+        // Arrange
+        when(redisUtil.get("metadata:users:u1")).thenReturn("alice");
+
+        // Act
+        Cache.ValueWrapper first = cache.get("u1");
+        Cache.ValueWrapper second = cache.get("u1");
+
+        // Assert
+        assertNotNull(first);
+        assertEquals("alice", second.get());
+        verify(redisUtil, times(1)).get("metadata:users:u1");
+    }
+
+    @Test
+    void evict_ShouldRemoveFromBothTiers() {
+        // Arrange
+        cache.put("u1", "alice");
+
+        // Act
+        cache.evict("u1");
+
+        // Assert
+        assertNull(cache.getNativeCache().getIfPresent("u1"));
+        verify(redisUtil).delete("metadata:users:u1");
+    }
+
+    @Test
+    void clear_ShouldEmptyLocalTierAndScanDeleteRedisTier() {
+        // Arrange
+        cache.put("u1", "alice");
+
+        // Act
+        cache.clear();
+
+        // Assert
+        assertNull(cache.getNativeCache().getIfPresent("u1"));
+        verify(redisUtil).deleteByPattern("metadata:users:*");
+    }
+
+    @Test
+    void metrics_ShouldReportCombinedAndPerTierCounts() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new TwoTierCacheMetrics(cache, Tags.empty()).bindTo(registry);
+
+        // Act
+        cache.get("u1", () -> "alice");
+        cache.get("u1", () -> "alice");
+
+        // Assert
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.tier.gets").tag("tier", "local").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.tier.gets").tag("tier", "redis").tag("result", "miss")
+                .functionCounter().count());
+    }
+}
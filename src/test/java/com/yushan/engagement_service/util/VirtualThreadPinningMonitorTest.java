@@ -0,0 +1,79 @@
+package com.yushan.engagement_service.util;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VirtualThreadPinningMonitor, including a real pin observed through JFR.
+ */
+class VirtualThreadPinningMonitorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor();
+        ReflectionTestUtils.setField(monitor, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(monitor, "pinningThreshold", Duration.ofMillis(5));
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void onPinned_ShouldRecordEveryPinAndReportEachStackOnce() {
+        // Act
+        monitor.onPinned(Duration.ofMillis(30), List.of("com.example.Client.call:10"));
+        monitor.onPinned(Duration.ofMillis(40), List.of("com.example.Client.call:10"));
+        monitor.onPinned(Duration.ofMillis(50), List.of("com.example.Dao.query:20"));
+
+        // Assert
+        Timer pinned = meterRegistry.get("engagement.virtual-threads.pinned").timer();
+        assertEquals(3, pinned.count());
+        assertEquals(120, pinned.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        @SuppressWarnings("unchecked")
+        Set<String> reported = (Set<String>) ReflectionTestUtils.getField(monitor, "reportedStacks");
+        assertEquals(2, reported.size());
+    }
+
+    @Test
+    void start_ShouldObserveVirtualThreadBlockingInsideMonitor() throws Exception {
+        // Arrange
+        Object lock = new Object();
+
+        // Act
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        // Assert
+        Timer pinned = meterRegistry.get("engagement.virtual-threads.pinned").timer();
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (pinned.count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertTrue(pinned.count() >= 1, "Expected the pinned virtual thread to be reported");
+    }
+}